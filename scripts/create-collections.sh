@@ -6,12 +6,16 @@ COUCHBASE_ADMINISTRATOR_USERNAME=${COUCHBASE_ADMINISTRATOR_USERNAME:-Administrat
 COUCHBASE_ADMINISTRATOR_PASSWORD=${COUCHBASE_ADMINISTRATOR_PASSWORD:-123456}
 COUCHBASE_BUCKET=${COUCHBASE_BUCKET:-todo_list}
 
-# Define collections to be created
-declare -A COLLECTIONS=(
-  ["user-scope"]="user-collection"
-  ["task-scope"]="task-collection"
-  ["invalid-token-scope"]="invalid-token-collection"
-  ["log-scope"]="log-collection"
+# Define collections to be created, as "scope:collection" (a scope may hold several collections)
+COLLECTIONS=(
+  "user-scope:user-collection"
+  "user-scope:user-email-collection"
+  "task-scope:task-collection"
+  "task-scope:task-name-collection"
+  "invalid-token-scope:invalid-token-collection"
+  "invalid-token-scope:revocation-epoch-collection"
+  "log-scope:log-collection"
+  "log-scope:log-policy-collection"
 )
 
 echo "Starting Couchbase collections setup process..."
@@ -25,8 +29,9 @@ done
 echo "Query Service is ready."
 
 # Iterate over the scopes and collections
-for SCOPE in "${!COLLECTIONS[@]}"; do
-  COLLECTION=${COLLECTIONS[$SCOPE]}
+for ENTRY in "${COLLECTIONS[@]}"; do
+  SCOPE=${ENTRY%%:*}
+  COLLECTION=${ENTRY#*:}
   echo "Creating collection '$COLLECTION' in scope '$SCOPE'..."
   curl -s -u $COUCHBASE_ADMINISTRATOR_USERNAME:$COUCHBASE_ADMINISTRATOR_PASSWORD \
     -X POST http://$COUCHBASE_HOST:8093/query/service \
@@ -0,0 +1,34 @@
+#!/bin/bash
+set -e
+
+# Runs the k6 load test comparing the blocking and the reactive task API against a running application.
+# Uses a local k6 if one is installed, and the grafana/k6 image otherwise.
+
+SCRIPT_DIR=$(cd "$(dirname "$0")" && pwd)
+BASE_URL=${BASE_URL:-http://localhost:2323}
+RATE=${RATE:-500}
+DURATION=${DURATION:-2m}
+MAX_VUS=${MAX_VUS:-5000}
+SUMMARY_FILE=${SUMMARY_FILE:-load-test-summary.json}
+
+echo "Waiting for the application at $BASE_URL..."
+until curl -s -o /dev/null "$BASE_URL/actuator/health"; do
+  echo "Application is not ready yet. Retrying in 5 seconds..."
+  sleep 5
+done
+echo "Application is ready."
+
+echo "Loading each task API with $RATE requests per second for $DURATION..."
+if command -v k6 > /dev/null; then
+  k6 run \
+    -e BASE_URL="$BASE_URL" -e RATE="$RATE" -e DURATION="$DURATION" -e MAX_VUS="$MAX_VUS" \
+    --summary-export "$SUMMARY_FILE" \
+    "$SCRIPT_DIR/task-api-mvc-vs-reactive.js"
+else
+  docker run --rm -i --network host \
+    -v "$SCRIPT_DIR":/scripts -v "$PWD":/output -w /output \
+    -e BASE_URL="$BASE_URL" -e RATE="$RATE" -e DURATION="$DURATION" -e MAX_VUS="$MAX_VUS" \
+    grafana/k6 run --summary-export "/output/$SUMMARY_FILE" /scripts/task-api-mvc-vs-reactive.js
+fi
+
+echo "Load test complete! Summary written to $SUMMARY_FILE."
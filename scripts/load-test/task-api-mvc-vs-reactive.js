@@ -0,0 +1,152 @@
+// k6 load test comparing the blocking task API (api/v1/tasks) with its reactive counterpart (api/v1/reactive/tasks).
+//
+// Both APIs run in the same application against the same Couchbase cluster, one after the other, with the same
+// open arrival rate. The arrival rate does not wait for responses, so once Couchbase slows down the number of
+// requests in flight grows; compare how each API copes with it through the per-API metrics in the summary:
+//
+//   http_req_duration{api:mvc}      vs  http_req_duration{api:reactive}
+//   http_req_failed{api:mvc}        vs  http_req_failed{api:reactive}
+//   dropped_iterations                 (requests k6 could not start because every VU was busy)
+//
+// Watch the thread count of the application while it runs, for example through the jvm.threads.live metric of
+// /actuator/prometheus. Run it with scripts/load-test/run-load-test.sh, or directly:
+//
+//   k6 run -e BASE_URL=http://localhost:2323 scripts/load-test/task-api-mvc-vs-reactive.js
+//
+// Environment variables:
+//   BASE_URL        base URL of the application                          (default http://localhost:2323)
+//   ADMIN_EMAIL     email of the admin user, registered if it is missing   (default loadtest-admin@example.com)
+//   ADMIN_PASSWORD  password of the admin user                            (default loadtest-password)
+//   RATE            requests started per second for each API              (default 500)
+//   DURATION        how long each API is loaded                           (default 2m)
+//   MAX_VUS         upper bound of concurrent requests k6 may open        (default 5000)
+//   SEED_TASKS      number of tasks created up front and read by the test (default 200)
+//   WRITE_RATIO     share of requests that create a task instead of reading one (default 0.2)
+
+import http from 'k6/http';
+import { check, fail } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:2323';
+const ADMIN_EMAIL = __ENV.ADMIN_EMAIL || 'loadtest-admin@example.com';
+const ADMIN_PASSWORD = __ENV.ADMIN_PASSWORD || 'loadtest-password';
+const RATE = parseInt(__ENV.RATE || '500', 10);
+const DURATION = __ENV.DURATION || '2m';
+const MAX_VUS = parseInt(__ENV.MAX_VUS || '5000', 10);
+const SEED_TASKS = parseInt(__ENV.SEED_TASKS || '200', 10);
+const WRITE_RATIO = parseFloat(__ENV.WRITE_RATIO || '0.2');
+
+// The reactive API is loaded after the blocking one, with a pause in between for in-flight requests to drain.
+const PAUSE_BETWEEN_APIS_SECONDS = 30;
+
+function scenario(api, exec, startTime) {
+    return {
+        executor: 'constant-arrival-rate',
+        exec: exec,
+        rate: RATE,
+        timeUnit: '1s',
+        duration: DURATION,
+        preAllocatedVUs: Math.min(MAX_VUS, RATE),
+        maxVUs: MAX_VUS,
+        startTime: startTime,
+        tags: { api: api },
+    };
+}
+
+function durationSeconds(duration) {
+    const match = /^(\d+)(s|m|h)$/.exec(duration);
+    if (!match) {
+        fail(`DURATION must look like 90s, 2m or 1h, got ${duration}`);
+    }
+    return parseInt(match[1], 10) * { s: 1, m: 60, h: 3600 }[match[2]];
+}
+
+export const options = {
+    setupTimeout: '5m',
+    scenarios: {
+        mvc: scenario('mvc', 'mvc', '0s'),
+        reactive: scenario('reactive', 'reactive', `${durationSeconds(DURATION) + PAUSE_BETWEEN_APIS_SECONDS}s`),
+    },
+    // These thresholds always pass; they only make k6 report the metrics of each API separately.
+    thresholds: {
+        'http_req_duration{api:mvc}': ['p(95)>=0'],
+        'http_req_duration{api:reactive}': ['p(95)>=0'],
+        'http_req_failed{api:mvc}': ['rate>=0'],
+        'http_req_failed{api:reactive}': ['rate>=0'],
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(90)', 'p(95)', 'p(99)', 'max'],
+};
+
+function jsonParams(token, tags) {
+    const headers = { 'Content-Type': 'application/json' };
+    if (token) {
+        headers.Authorization = `Bearer ${token}`;
+    }
+    return { headers: headers, tags: tags };
+}
+
+function login() {
+    const credentials = JSON.stringify({ email: ADMIN_EMAIL, password: ADMIN_PASSWORD });
+    const response = http.post(`${BASE_URL}/api/v1/authentication/user/login`, credentials, jsonParams(null, { api: 'setup' }));
+    return response.status === 200 ? response.json('response.accessToken') : null;
+}
+
+export function setup() {
+    let token = login();
+
+    if (!token) {
+        const registration = JSON.stringify({
+            email: ADMIN_EMAIL,
+            password: ADMIN_PASSWORD,
+            firstName: 'Load',
+            lastName: 'Test',
+            phoneNumber: '100000000000',
+            userType: 'ADMIN',
+        });
+        http.post(`${BASE_URL}/api/v1/authentication/user/register`, registration, jsonParams(null, { api: 'setup' }));
+        token = login();
+    }
+
+    if (!token) {
+        fail(`could not log in as ${ADMIN_EMAIL}`);
+    }
+
+    const runId = Date.now();
+    const taskIds = [];
+    for (let index = 0; index < SEED_TASKS; index++) {
+        const body = JSON.stringify({ name: `load-test-seed-${runId}-${index}` });
+        const response = http.post(`${BASE_URL}/api/v1/tasks`, body, jsonParams(token, { api: 'setup' }));
+        if (response.status !== 200) {
+            fail(`could not create seed task: ${response.status} ${response.body}`);
+        }
+        taskIds.push(response.json('response'));
+    }
+
+    return { token: token, taskIds: taskIds, runId: runId };
+}
+
+function exercise(data, basePath, api) {
+    const params = jsonParams(data.token, { api: api });
+
+    if (Math.random() < WRITE_RATIO) {
+        const body = JSON.stringify({ name: `load-test-${api}-${data.runId}-${__VU}-${__ITER}` });
+        const response = http.post(`${BASE_URL}${basePath}`, body, Object.assign({}, params, {
+            tags: { api: api, name: `POST ${basePath}` },
+        }));
+        check(response, { 'task created': (r) => r.status === 200 });
+        return;
+    }
+
+    const taskId = data.taskIds[Math.floor(Math.random() * data.taskIds.length)];
+    const response = http.get(`${BASE_URL}${basePath}/${taskId}`, Object.assign({}, params, {
+        tags: { api: api, name: `GET ${basePath}/{id}` },
+    }));
+    check(response, { 'task read': (r) => r.status === 200 });
+}
+
+export function mvc(data) {
+    exercise(data, '/api/v1/tasks', 'mvc');
+}
+
+export function reactive(data) {
+    exercise(data, '/api/v1/reactive/tasks', 'reactive');
+}
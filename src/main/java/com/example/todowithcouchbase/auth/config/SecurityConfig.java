@@ -1,8 +1,11 @@
 package com.example.todowithcouchbase.auth.config;
 
 import com.example.todowithcouchbase.auth.filter.CustomBearerTokenAuthenticationFilter;
+import com.example.todowithcouchbase.auth.security.BoundedPasswordEncoder;
 import com.example.todowithcouchbase.auth.security.CustomAuthenticationEntryPoint;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -103,13 +106,29 @@ public class SecurityConfig {
 
     /**
      * Provides the password encoder for the application.
-     * Configures a {@link BCryptPasswordEncoder} for securely hashing passwords.
+     * Configures a {@link BCryptPasswordEncoder} with the configured cost factor for securely hashing passwords,
+     * and runs it on a {@link BoundedPasswordEncoder} so that hashing does not occupy request threads without limit.
+     * The number of hashing threads defaults to the number of available processors.
      *
+     * @param strength      the BCrypt cost factor (log rounds).
+     * @param poolSize      the number of hashing threads, or {@code 0} to use the number of available processors.
+     * @param queueCapacity the maximum number of hashing calls waiting for a thread.
+     * @param meterRegistry the registry the hashing metrics are exported to.
      * @return the {@link PasswordEncoder} to be used.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${auth.password-hashing.bcrypt-strength:10}") final int strength,
+            @Value("${auth.password-hashing.pool-size:0}") final int poolSize,
+            @Value("${auth.password-hashing.queue-capacity:64}") final int queueCapacity,
+            final MeterRegistry meterRegistry
+    ) {
+        return new BoundedPasswordEncoder(
+                new BCryptPasswordEncoder(strength),
+                poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors(),
+                queueCapacity,
+                meterRegistry
+        );
     }
 
 }
@@ -3,16 +3,24 @@ package com.example.todowithcouchbase.auth.config;
 import com.example.todowithcouchbase.auth.model.enums.ConfigurationParameter;
 import com.example.todowithcouchbase.auth.utils.KeyConverter;
 import lombok.Getter;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.context.annotation.Configuration;
 
 import java.security.PrivateKey;
 import java.security.PublicKey;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Configuration class for token-related parameters.
  * This class retrieves and initializes token configuration settings, including
  * issuer, access token expiration, refresh token expiration, public key, and private key.
- * The parameters are loaded from predefined configuration constants.
+ * The parameters are loaded from predefined configuration constants, each of which can be
+ * overridden by an environment variable with the same name.
+ * The signing key pair is identified by a key ID that is written to the {@code kid} header of every issued token.
+ * During a key rotation the public key of the previous key pair can be configured as well, so that tokens
+ * signed before the rotation keep verifying until they expire.
  */
 @Getter
 @Configuration
@@ -21,8 +29,10 @@ public class TokenConfigurationParameter {
     private final String issuer;
     private final int accessTokenExpireMinute;
     private final int refreshTokenExpireDay;
+    private final String keyId;
     private final PublicKey publicKey;
     private final PrivateKey privateKey;
+    private final Map<String, PublicKey> publicKeys;
 
     /**
      * Initializes the token configuration parameters.
@@ -32,32 +42,60 @@ public class TokenConfigurationParameter {
      *   <li>Issuer: {@code ConfigurationParameter.ISSUER}</li>
      *   <li>Access token expiration (minutes): {@code ConfigurationParameter.AUTH_ACCESS_TOKEN_EXPIRE_MINUTE}</li>
      *   <li>Refresh token expiration (days): {@code ConfigurationParameter.AUTH_REFRESH_TOKEN_EXPIRE_DAY}</li>
+     *   <li>Key ID: {@code ConfigurationParameter.AUTH_KEY_ID}</li>
      *   <li>Public key: {@code ConfigurationParameter.AUTH_PUBLIC_KEY}</li>
      *   <li>Private key: {@code ConfigurationParameter.AUTH_PRIVATE_KEY}</li>
+     *   <li>Previous key ID: {@code ConfigurationParameter.AUTH_PREVIOUS_KEY_ID}</li>
+     *   <li>Previous public key: {@code ConfigurationParameter.AUTH_PREVIOUS_PUBLIC_KEY}</li>
      * </ul>
      * Key values are converted using the {@link KeyConverter} utility class.
      * </p>
      */
     public TokenConfigurationParameter() {
 
-        this.issuer = ConfigurationParameter.ISSUER.getDefaultValue();
+        this.issuer = getValue(ConfigurationParameter.ISSUER);
 
         this.accessTokenExpireMinute = Integer.parseInt(
-                ConfigurationParameter.AUTH_ACCESS_TOKEN_EXPIRE_MINUTE.getDefaultValue()
+                getValue(ConfigurationParameter.AUTH_ACCESS_TOKEN_EXPIRE_MINUTE)
         );
 
         this.refreshTokenExpireDay = Integer.parseInt(
-                ConfigurationParameter.AUTH_REFRESH_TOKEN_EXPIRE_DAY.getDefaultValue()
+                getValue(ConfigurationParameter.AUTH_REFRESH_TOKEN_EXPIRE_DAY)
         );
 
+        this.keyId = getValue(ConfigurationParameter.AUTH_KEY_ID);
+
         this.publicKey = KeyConverter.convertPublicKey(
-                ConfigurationParameter.AUTH_PUBLIC_KEY.getDefaultValue()
+                getValue(ConfigurationParameter.AUTH_PUBLIC_KEY)
         );
 
         this.privateKey = KeyConverter.convertPrivateKey(
-                ConfigurationParameter.AUTH_PRIVATE_KEY.getDefaultValue()
+                getValue(ConfigurationParameter.AUTH_PRIVATE_KEY)
         );
 
+        final Map<String, PublicKey> keys = new LinkedHashMap<>();
+        keys.put(this.keyId, this.publicKey);
+
+        final String previousKeyId = getValue(ConfigurationParameter.AUTH_PREVIOUS_KEY_ID);
+        final String previousPublicKey = getValue(ConfigurationParameter.AUTH_PREVIOUS_PUBLIC_KEY);
+        if (StringUtils.isNotBlank(previousKeyId) && StringUtils.isNotBlank(previousPublicKey)) {
+            keys.putIfAbsent(previousKeyId, KeyConverter.convertPublicKey(previousPublicKey));
+        }
+
+        this.publicKeys = Collections.unmodifiableMap(keys);
+
+    }
+
+    /**
+     * Returns the value of the given configuration parameter.
+     * The environment variable with the same name as the parameter takes precedence over its default value.
+     *
+     * @param configurationParameter The configuration parameter to resolve.
+     * @return The configured value of the parameter.
+     */
+    private static String getValue(final ConfigurationParameter configurationParameter) {
+        final String value = System.getenv(configurationParameter.name());
+        return StringUtils.isNotBlank(value) ? value : configurationParameter.getDefaultValue();
     }
 
 }
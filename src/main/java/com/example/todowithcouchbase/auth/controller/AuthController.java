@@ -12,6 +12,8 @@ import com.example.todowithcouchbase.auth.service.LogoutService;
 import com.example.todowithcouchbase.auth.service.RefreshTokenService;
 import com.example.todowithcouchbase.auth.service.RegisterService;
 import com.example.todowithcouchbase.common.model.dto.response.CustomResponse;
+import com.example.todowithcouchbase.logging.aop.LogResponse;
+import com.example.todowithcouchbase.logging.model.enums.ResponseCaptureMode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -82,6 +84,7 @@ public class AuthController {
             }
     )
     @PostMapping("/login")
+    @LogResponse(ResponseCaptureMode.NONE)
     public CustomResponse<TokenResponse> loginAdmin(@RequestBody @Valid final LoginRequest loginRequest) {
         final Token token = loginService.login(loginRequest);
         final TokenResponse tokenResponse = tokenToTokenResponseMapper.map(token);
@@ -104,6 +107,7 @@ public class AuthController {
             }
     )
     @PostMapping("/refresh-token")
+    @LogResponse(ResponseCaptureMode.NONE)
     public CustomResponse<TokenResponse> refreshToken(@RequestBody @Valid final TokenRefreshRequest tokenRefreshRequest) {
         final Token token = refreshTokenService.refreshToken(tokenRefreshRequest);
         final TokenResponse tokenResponse = tokenToTokenResponseMapper.map(token);
@@ -130,4 +134,24 @@ public class AuthController {
         return CustomResponse.SUCCESS;
     }
 
+    /**
+     * Endpoint to log out a user from every session.
+     *
+     * @param tokenInvalidateRequest The {@link TokenInvalidateRequest} object containing the tokens of the user.
+     * @return A {@link CustomResponse} indicating the success of the logout operation.
+     */
+    @Operation(
+            summary = "Log out a user from every session",
+            description = "Revokes every token issued to the user of the provided token, logging the user out of all sessions.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Logout from all sessions successful"),
+                    @ApiResponse(responseCode = "400", description = "Invalid token provided")
+            }
+    )
+    @PostMapping("/logout-all")
+    public CustomResponse<Void> logoutFromAllSessions(@RequestBody @Valid final TokenInvalidateRequest tokenInvalidateRequest) {
+        logoutService.logoutFromAllSessions(tokenInvalidateRequest);
+        return CustomResponse.SUCCESS;
+    }
+
 }
@@ -0,0 +1,71 @@
+package com.example.todowithcouchbase.auth.controller;
+
+import com.example.todowithcouchbase.auth.service.UserEmailService;
+import com.example.todowithcouchbase.common.model.BackfillPage;
+import com.example.todowithcouchbase.common.model.dto.request.BackfillPageRequest;
+import com.example.todowithcouchbase.common.model.dto.response.BackfillPageResponse;
+import com.example.todowithcouchbase.common.model.dto.response.CustomResponse;
+import com.example.todowithcouchbase.common.model.mapper.BackfillPageToBackfillPageResponseMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller that handles the administration of the email lookup documents of users.
+ * It lives outside the authentication path, which is open to anonymous requests, so that every endpoint
+ * requires an authenticated administrator. It delegates the business logic to {@link UserEmailService}.
+ */
+@RestController
+@RequestMapping("api/v1/users/email-lookups")
+@RequiredArgsConstructor
+@Validated
+@Tag(name = "User Email Lookups", description = "Endpoints for administering the email lookup documents of users.")
+public class UserEmailController {
+
+    private final UserEmailService userEmailService;
+
+    private final BackfillPageToBackfillPageResponseMapper backfillPageToBackfillPageResponseMapper =
+            BackfillPageToBackfillPageResponseMapper.initialize();
+
+    /**
+     * Creates the missing email lookup documents for one page of the users registered before lookup
+     * documents were introduced.
+     * This is a one-off migration; it is repeated with the returned {@code nextAfter} key until no key is returned.
+     *
+     * @param backfillPageRequest the request body containing the key to continue after and the page size.
+     * @return a response containing the number of scanned users, created lookup documents, and the key to continue after.
+     */
+    @Operation(
+            summary = "Backfill user email lookups",
+            description = "Creates the missing email lookups for one page of users and returns the key to continue " +
+                    "after, which is null once every user has been scanned. Accessible by ADMIN only.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Page backfilled"),
+                    @ApiResponse(responseCode = "400", description = "Invalid page size provided"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized, authentication is required"),
+                    @ApiResponse(responseCode = "403", description = "Access forbidden")
+            }
+    )
+    @PostMapping("/backfill")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public CustomResponse<BackfillPageResponse> backfillUserEmails(
+            @RequestBody @Valid final BackfillPageRequest backfillPageRequest) {
+
+        final BackfillPage backfillPage = userEmailService.backfillUserEmails(
+                backfillPageRequest.getAfter(),
+                backfillPageRequest.getLimit()
+        );
+
+        return CustomResponse.successOf(backfillPageToBackfillPageResponseMapper.map(backfillPage));
+
+    }
+
+}
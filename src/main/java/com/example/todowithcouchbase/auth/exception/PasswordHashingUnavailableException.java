@@ -0,0 +1,40 @@
+package com.example.todowithcouchbase.auth.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.io.Serial;
+
+/**
+ * Custom exception thrown when a password cannot be hashed or checked because the password hashing queue is full.
+ * This exception extends {@link RuntimeException} and provides a default message
+ * asking the client to retry later. It also allows for custom messages to be appended to the default message.
+ */
+public class PasswordHashingUnavailableException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 3795413725094625047L;
+
+    public static final HttpStatus STATUS = HttpStatus.SERVICE_UNAVAILABLE;
+
+    private static final String DEFAULT_MESSAGE = """
+            Too many authentication requests, please try again later!
+            """;
+
+    /**
+     * Constructs a new {@code PasswordHashingUnavailableException} with the default message.
+     */
+    public PasswordHashingUnavailableException() {
+        super(DEFAULT_MESSAGE);
+    }
+
+    /**
+     * Constructs a new {@code PasswordHashingUnavailableException} with the default message
+     * and appends a custom message.
+     *
+     * @param message the custom message to append to the default message.
+     */
+    public PasswordHashingUnavailableException(final String message) {
+        super(DEFAULT_MESSAGE + " " + message);
+    }
+
+}
@@ -1,7 +1,11 @@
 package com.example.todowithcouchbase.auth.filter;
 
+import com.example.todowithcouchbase.auth.model.CachedAuthentication;
 import com.example.todowithcouchbase.auth.model.Token;
+import com.example.todowithcouchbase.auth.model.VerifiedToken;
+import com.example.todowithcouchbase.auth.service.AuthenticationCacheService;
 import com.example.todowithcouchbase.auth.service.InvalidTokenService;
+import com.example.todowithcouchbase.auth.service.RevocationEpochService;
 import com.example.todowithcouchbase.auth.service.TokenService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -17,12 +21,20 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 /**
  * Custom filter for handling Bearer token authentication.
  * This filter extracts the Bearer token from the HTTP `Authorization` header, validates the token,
  * checks if it has been invalidated, and sets the authentication in the {@link SecurityContextHolder}.
+ * The token is parsed and its signature is verified only once per request; the resulting {@link VerifiedToken}
+ * is reused for the invalidation check and for building the authentication.
+ * The built authentication is cached per token, so a repeated request with the same token skips signature
+ * verification and only runs the invalidation and revocation checks, which are answered from memory.
  * Extends {@link OncePerRequestFilter} to ensure the filter is executed only once per request.
+ * It also runs on the async dispatch that writes the result of an endpoint returning a
+ * {@link reactor.core.publisher.Mono} or a streamed body, because that dispatch is authorized again
+ * and the authentication set on the initial dispatch is not kept between them.
  */
 @Slf4j
 @Component
@@ -31,6 +43,19 @@ public class CustomBearerTokenAuthenticationFilter extends OncePerRequestFilter
 
     private final TokenService tokenService;
     private final InvalidTokenService invalidTokenService;
+    private final RevocationEpochService revocationEpochService;
+    private final AuthenticationCacheService authenticationCacheService;
+
+    /**
+     * Lets the filter run on async dispatches as well, so the security context is set again when the result of
+     * an asynchronous request is written. Repeated runs are answered from the authentication cache.
+     *
+     * @return {@code false}, so async dispatches are filtered.
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
 
     /**
      * Performs filtering logic for each HTTP request to validate Bearer tokens.
@@ -54,14 +79,24 @@ public class CustomBearerTokenAuthenticationFilter extends OncePerRequestFilter
 
             final String jwt = Token.getJwt(authorizationHeader);
 
-            tokenService.verifyAndValidate(jwt);
+            final Optional<CachedAuthentication> cachedAuthentication = authenticationCacheService.get(jwt);
+
+            final VerifiedToken verifiedToken = cachedAuthentication
+                    .map(CachedAuthentication::getVerifiedToken)
+                    .orElseGet(() -> tokenService.verify(jwt));
 
-            final String tokenId = tokenService.getId(jwt);
+            invalidTokenService.checkForInvalidityOfToken(verifiedToken.getId());
 
-            invalidTokenService.checkForInvalidityOfToken(tokenId);
+            revocationEpochService.checkForRevocation(verifiedToken);
 
-            final UsernamePasswordAuthenticationToken authentication = tokenService
-                    .getAuthentication(jwt);
+            final UsernamePasswordAuthenticationToken authentication = cachedAuthentication
+                    .map(CachedAuthentication::getAuthentication)
+                    .orElseGet(() -> {
+                        final UsernamePasswordAuthenticationToken builtAuthentication = tokenService
+                                .getAuthentication(verifiedToken);
+                        authenticationCacheService.put(verifiedToken, builtAuthentication);
+                        return builtAuthentication;
+                    });
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
 
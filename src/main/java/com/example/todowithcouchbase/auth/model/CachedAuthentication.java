@@ -0,0 +1,32 @@
+package com.example.todowithcouchbase.auth.model;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.time.Instant;
+
+/**
+ * Represents an authentication that was built from a verified bearer token and kept for reuse.
+ * This class holds the ready-built {@link UsernamePasswordAuthenticationToken} together with the
+ * verified token it was built from, so that a cached entry can still be checked for invalidation
+ * and revocation and dropped once the token expires.
+ */
+@Getter
+@Builder
+public class CachedAuthentication {
+
+    private final VerifiedToken verifiedToken;
+    private final UsernamePasswordAuthenticationToken authentication;
+
+    /**
+     * Checks whether the token this authentication was built from has expired.
+     *
+     * @param now The current point in time.
+     * @return {@code true} if the token has expired, {@code false} otherwise.
+     */
+    public boolean isExpired(final Instant now) {
+        return !verifiedToken.getExpiresAt().isAfter(now);
+    }
+
+}
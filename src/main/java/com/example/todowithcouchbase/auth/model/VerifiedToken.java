@@ -0,0 +1,42 @@
+package com.example.todowithcouchbase.auth.model;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Represents a JWT whose signature and expiration have already been verified.
+ * This class keeps the raw compact token together with its parsed header and payload so that
+ * a token is parsed and signature-checked only once per request and can then be handed to
+ * other components without being parsed again.
+ */
+@Getter
+@Builder
+public class VerifiedToken {
+
+    private final String jwt;
+    private final JwsHeader header;
+    private final Claims payload;
+
+    /**
+     * Returns the unique identifier ({@code jti}) of the token.
+     *
+     * @return the token ID.
+     */
+    public String getId() {
+        return payload.getId();
+    }
+
+    /**
+     * Returns the instant at which the token expires.
+     *
+     * @return the expiration time of the token.
+     */
+    public Instant getExpiresAt() {
+        return payload.getExpiration().toInstant();
+    }
+
+}
@@ -5,16 +5,20 @@ import lombok.*;
 import lombok.experimental.SuperBuilder;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.couchbase.core.mapping.Document;
+import org.springframework.data.couchbase.core.mapping.Expiration;
 import org.springframework.data.couchbase.core.mapping.Field;
-import org.springframework.data.couchbase.core.mapping.id.GeneratedValue;
-import org.springframework.data.couchbase.core.mapping.id.GenerationStrategy;
 import org.springframework.data.couchbase.repository.Collection;
 import org.springframework.data.couchbase.repository.Scope;
 
+import java.time.LocalDateTime;
+
 /**
  * Represents an entity that stores information about invalidated tokens.
  * This class is used to store a record of tokens that have been invalidated
  * in a MongoDB collection. Each invalid token is identified by a unique token ID.
+ * The token ID ({@code jti}) is used as the document key, so checking whether a token is invalidated
+ * is a single key-value lookup, and each document carries an expiry equal to the remaining lifetime
+ * of its token so that Couchbase removes the record once the token can no longer be presented.
  * This entity extends from {@link BaseEntity}, inheriting common fields such as
  * created and updated timestamps.
  */
@@ -31,10 +35,12 @@ public class InvalidTokenEntity extends BaseEntity {
 
     @Id
     @Field(name = "ID")
-    @GeneratedValue(strategy = GenerationStrategy.UNIQUE)
     private String id;
 
-    @Field(name = "TOKEN_ID")
-    private String tokenId;
+    @Field(name = "EXPIRES_AT")
+    private LocalDateTime expiresAt;
+
+    @Expiration
+    private long expiration;
 
 }
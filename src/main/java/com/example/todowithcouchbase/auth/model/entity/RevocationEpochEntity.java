@@ -0,0 +1,44 @@
+package com.example.todowithcouchbase.auth.model.entity;
+
+import com.example.todowithcouchbase.common.model.entity.BaseEntity;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.couchbase.core.mapping.Document;
+import org.springframework.data.couchbase.core.mapping.Field;
+import org.springframework.data.couchbase.repository.Collection;
+import org.springframework.data.couchbase.repository.Scope;
+
+/**
+ * Represents the revocation epoch of a user.
+ * Every token carries the epoch of its user at the time it was issued, and a token whose epoch is older
+ * than the current one is rejected. Increasing the epoch therefore revokes every token of the user with
+ * a single write. The user ID is used as the document key, and users whose tokens were never revoked
+ * this way have no document, which means their epoch is zero.
+ * The version is the CAS value of the document, so an epoch is only written over the value it was increased from.
+ * This entity extends from {@link BaseEntity}, inheriting common fields such as
+ * created and updated timestamps.
+ */
+@Getter
+@Setter
+@SuperBuilder
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Document
+@Scope("invalid-token-scope")
+@Collection("revocation-epoch-collection")
+public class RevocationEpochEntity extends BaseEntity {
+
+    @Id
+    @Field(name = "ID")
+    private String id;
+
+    @Field(name = "EPOCH")
+    private long epoch;
+
+    @Version
+    private Long version;
+
+}
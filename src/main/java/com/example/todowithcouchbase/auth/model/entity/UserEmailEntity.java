@@ -0,0 +1,63 @@
+package com.example.todowithcouchbase.auth.model.entity;
+
+import com.example.todowithcouchbase.common.model.entity.BaseEntity;
+import com.example.todowithcouchbase.common.util.DocumentKeyUtil;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.couchbase.core.mapping.Document;
+import org.springframework.data.couchbase.core.mapping.Field;
+import org.springframework.data.couchbase.repository.Collection;
+import org.springframework.data.couchbase.repository.Scope;
+
+import java.util.Locale;
+
+/**
+ * Represents a lookup document that maps an email address to the ID of the user registered with it.
+ * The normalized email address, hashed if it is too long for a document key, is used as the document key,
+ * so a user can be found by email with key-value operations only, and inserting the document fails
+ * if the email address is already taken.
+ * This entity extends from {@link BaseEntity}, inheriting common fields such as
+ * created and updated timestamps.
+ */
+@Getter
+@Setter
+@SuperBuilder
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Document
+@Scope("user-scope")
+@Collection("user-email-collection")
+public class UserEmailEntity extends BaseEntity {
+
+    @Id
+    @Field(name = "ID")
+    private String id;
+
+    @Field(name = "USER_ID")
+    private String userId;
+
+    /**
+     * Normalizes the given email address so that it can be used as a document key.
+     * Surrounding whitespace is removed and the address is lower-cased.
+     *
+     * @param email The email address to normalize.
+     * @return The normalized email address.
+     */
+    public static String normalize(final String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Builds the document key of the given email address.
+     * The key is the normalized email address, or its hash if it is too long for a document key.
+     *
+     * @param email The email address to build the key of.
+     * @return The document key.
+     */
+    public static String toKey(final String email) {
+        return DocumentKeyUtil.toDocumentKey(normalize(email));
+    }
+
+}
@@ -7,6 +7,9 @@ import lombok.RequiredArgsConstructor;
  * Enum representing the configuration parameters used in the application.
  * Each parameter corresponds to a specific configuration value, such as issuer, token expiration times,
  * and keys used for authentication and encryption.
+ * The signing algorithm follows the type of the configured key pair: an RSA key signs with RS256,
+ * an EC P-256 key with ES256 and an Ed25519 key with EdDSA.
+ * Every parameter can be overridden by an environment variable with the same name.
  */
 @Getter
 @RequiredArgsConstructor
@@ -16,6 +19,9 @@ public enum ConfigurationParameter {
 
     AUTH_ACCESS_TOKEN_EXPIRE_MINUTE("30"),
     AUTH_REFRESH_TOKEN_EXPIRE_DAY("1"),
+    AUTH_KEY_ID("todo-rsa-1"),
+    AUTH_PREVIOUS_KEY_ID(""),
+    AUTH_PREVIOUS_PUBLIC_KEY(""),
     AUTH_PUBLIC_KEY("""
             -----BEGIN PUBLIC KEY-----
             MIIBIjANBgkqhkiG9w0BAQEFAAOCAQ8AMIIBCgKCAQEA1HmZ3A379M6Rv9UnMt9R
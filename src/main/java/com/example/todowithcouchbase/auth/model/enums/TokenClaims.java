@@ -21,6 +21,7 @@ public enum TokenClaims {
     USER_EMAIL("userEmail"),
     USER_PHONE_NUMBER("userPhoneNumber"),
     STORE_TITLE("storeTitle"),
+    REVOCATION_EPOCH("revocationEpoch"),
     ISSUED_AT("iat"),
     EXPIRES_AT("exp"),
     ALGORITHM("alg"),
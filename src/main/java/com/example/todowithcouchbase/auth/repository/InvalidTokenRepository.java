@@ -3,22 +3,25 @@ package com.example.todowithcouchbase.auth.repository;
 import com.example.todowithcouchbase.auth.model.entity.InvalidTokenEntity;
 import org.springframework.data.couchbase.repository.CouchbaseRepository;
 
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Repository interface for managing {@link InvalidTokenEntity} objects in Couchbase.
  * This interface extends {@link CouchbaseRepository} to provide CRUD operations for the {@link InvalidTokenEntity}.
  * It also includes custom query methods to interact with the data store.
+ * Invalid tokens are keyed by their token ID, so single-token lookups go through
+ * {@link CouchbaseRepository#existsById(Object)} as a key-value operation instead of a query.
  */
 public interface InvalidTokenRepository extends CouchbaseRepository<InvalidTokenEntity, String> {
 
     /**
-     * Finds an {@link InvalidTokenEntity} by its token ID.
-     * This method is used to retrieve an invalid token entity based on the unique token ID.
+     * Finds all {@link InvalidTokenEntity} objects whose token has not expired yet.
+     * This method is used to load the invalidated tokens that can still be presented by a client.
      *
-     * @param tokenId The unique ID of the token to search for.
-     * @return An {@link Optional} containing the {@link InvalidTokenEntity} if found, or {@link Optional#empty()} if not found.
+     * @param dateTime The point in time after which the token expiration must fall.
+     * @return A list of {@link InvalidTokenEntity} objects expiring after the given time.
      */
-    Optional<InvalidTokenEntity> findByTokenId(final String tokenId);
+    List<InvalidTokenEntity> findAllByExpiresAtAfter(final LocalDateTime dateTime);
 
 }
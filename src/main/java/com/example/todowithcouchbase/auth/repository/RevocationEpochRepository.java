@@ -0,0 +1,25 @@
+package com.example.todowithcouchbase.auth.repository;
+
+import com.example.todowithcouchbase.auth.model.entity.RevocationEpochEntity;
+import org.springframework.data.couchbase.repository.CouchbaseRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for managing {@link RevocationEpochEntity} objects in Couchbase.
+ * This interface extends {@link CouchbaseRepository} to provide CRUD operations for the {@link RevocationEpochEntity}.
+ * Revocation epochs are keyed by user ID, so reading the epoch of a single user is a key-value operation.
+ */
+public interface RevocationEpochRepository extends CouchbaseRepository<RevocationEpochEntity, String> {
+
+    /**
+     * Finds all {@link RevocationEpochEntity} objects written after the given point in time.
+     * This method is used to pick up the epochs increased on other nodes without reading every epoch document.
+     *
+     * @param dateTime The point in time after which the epoch must have been written.
+     * @return A list of {@link RevocationEpochEntity} objects updated after the given time.
+     */
+    List<RevocationEpochEntity> findAllByUpdatedAtAfter(final LocalDateTime dateTime);
+
+}
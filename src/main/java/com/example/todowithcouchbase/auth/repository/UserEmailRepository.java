@@ -0,0 +1,14 @@
+package com.example.todowithcouchbase.auth.repository;
+
+import com.example.todowithcouchbase.auth.model.entity.UserEmailEntity;
+import org.springframework.data.couchbase.repository.CouchbaseRepository;
+
+/**
+ * Repository interface for managing {@link UserEmailEntity} objects in Couchbase.
+ * This interface extends {@link CouchbaseRepository} to provide CRUD operations for the {@link UserEmailEntity}
+ * and {@link UserEmailRepositoryCustom} for inserting a lookup document only if its key is not taken yet.
+ * Lookup documents are keyed by normalized email, so they are read with key-value operations only.
+ */
+public interface UserEmailRepository extends CouchbaseRepository<UserEmailEntity, String>, UserEmailRepositoryCustom {
+
+}
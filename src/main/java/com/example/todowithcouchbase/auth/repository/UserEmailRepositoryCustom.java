@@ -0,0 +1,21 @@
+package com.example.todowithcouchbase.auth.repository;
+
+import com.example.todowithcouchbase.auth.model.entity.UserEmailEntity;
+
+/**
+ * Custom repository interface for {@link UserEmailEntity} operations that are not covered by
+ * {@link org.springframework.data.couchbase.repository.CouchbaseRepository}.
+ */
+public interface UserEmailRepositoryCustom {
+
+    /**
+     * Inserts the given {@link UserEmailEntity} only if no document exists with the same key.
+     * Unlike {@code save}, which replaces an existing document, this method fails if the email is already taken.
+     *
+     * @param userEmailEntity The lookup document to insert.
+     * @return The inserted {@link UserEmailEntity}.
+     * @throws org.springframework.dao.DuplicateKeyException If a document with the same key already exists.
+     */
+    UserEmailEntity insert(final UserEmailEntity userEmailEntity);
+
+}
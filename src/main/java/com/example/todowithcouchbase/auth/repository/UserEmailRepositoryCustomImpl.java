@@ -0,0 +1,29 @@
+package com.example.todowithcouchbase.auth.repository;
+
+import com.example.todowithcouchbase.auth.model.entity.UserEmailEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.couchbase.core.CouchbaseTemplate;
+
+/**
+ * Implementation of {@link UserEmailRepositoryCustom} backed by {@link CouchbaseTemplate}.
+ * The insert is a single key-value insert, which Couchbase rejects atomically if the key already exists.
+ */
+@RequiredArgsConstructor
+public class UserEmailRepositoryCustomImpl implements UserEmailRepositoryCustom {
+
+    private final CouchbaseTemplate couchbaseTemplate;
+
+    /**
+     * Inserts the given {@link UserEmailEntity} only if no document exists with the same key.
+     *
+     * @param userEmailEntity The lookup document to insert.
+     * @return The inserted {@link UserEmailEntity}.
+     * @throws org.springframework.dao.DuplicateKeyException If a document with the same key already exists.
+     */
+    @Override
+    public UserEmailEntity insert(UserEmailEntity userEmailEntity) {
+        return couchbaseTemplate.insertById(UserEmailEntity.class)
+                .one(userEmailEntity);
+    }
+
+}
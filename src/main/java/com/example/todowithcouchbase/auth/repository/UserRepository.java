@@ -2,32 +2,39 @@ package com.example.todowithcouchbase.auth.repository;
 
 import com.example.todowithcouchbase.auth.model.entity.UserEntity;
 import org.springframework.data.couchbase.repository.CouchbaseRepository;
+import org.springframework.data.couchbase.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Repository interface for managing {@link UserEntity} objects in Couchbase.
  * This interface extends {@link CouchbaseRepository} to provide CRUD operations for the {@link UserEntity}.
- * It also includes custom query methods to interact with the data store related to user entities.
+ * Users are looked up by email through {@link UserEmailRepository}, which maps normalized email addresses to user IDs.
+ * Users registered before lookup documents were introduced are still found with an email query.
+ * It also defines a query for walking the users one page at a time in document key order, which is served by
+ * a secondary index on {@code META().id} in the user collection.
  */
 public interface UserRepository extends CouchbaseRepository<UserEntity, String> {
 
-    /**
-     * Checks whether a {@link UserEntity} exists in the database with the specified email.
-     * This method is used to verify if a user with the given email already exists in the database.
-     *
-     * @param email The email address to check for the existence of a user.
-     * @return {@code true} if a user with the specified email exists, otherwise {@code false}.
-     */
-    boolean existsUserEntityByEmail(final String email);
-
     /**
      * Finds a {@link UserEntity} by its email address.
-     * This method is used to retrieve a user entity based on the unique email address.
+     * This method is used to find users that have no email lookup document yet.
      *
      * @param email The email address of the user to search for.
      * @return An {@link Optional} containing the {@link UserEntity} if found, or {@link Optional#empty()} if not found.
      */
     Optional<UserEntity> findUserEntityByEmail(final String email);
 
+    /**
+     * Finds the users whose document key comes after the given key, in document key order.
+     * It is used by one-off migrations to walk every user one page at a time.
+     *
+     * @param afterId the document key of the last user of the previous page, or an empty string for the first page.
+     * @param limit the maximum number of users to return.
+     * @return a list of at most {@code limit} {@link UserEntity} objects.
+     */
+    @Query("#{#n1ql.selectEntity} WHERE #{#n1ql.filter} AND META().id > $1 ORDER BY META().id LIMIT $2")
+    List<UserEntity> findPageAfterId(String afterId, int limit);
+
 }
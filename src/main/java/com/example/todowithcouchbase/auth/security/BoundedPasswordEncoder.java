@@ -0,0 +1,162 @@
+package com.example.todowithcouchbase.auth.security;
+
+import com.example.todowithcouchbase.auth.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * {@link PasswordEncoder} that runs the hashing work of a delegate encoder on a dedicated, bounded executor.
+ * The executor has a fixed number of threads and a bounded queue. When the queue is full, a call is rejected
+ * right away with a {@link PasswordHashingUnavailableException} instead of waiting, so that a burst of logins or
+ * registrations cannot tie up every request thread behind expensive hashing work.
+ * The queue depth, the time spent hashing and the number of rejected calls are exported as Micrometer metrics.
+ * The hashing threads are platform threads. When requests run on virtual threads, the CPU-bound hashing therefore
+ * stays off the carrier threads, and a caller waiting for its result is unmounted instead of pinned.
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private static final String METRIC_PREFIX = "auth.password.hashing";
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejectedCounter;
+
+    /**
+     * Constructs a new {@code BoundedPasswordEncoder}.
+     *
+     * @param delegate      The password encoder doing the actual hashing.
+     * @param poolSize      The number of hashing threads.
+     * @param queueCapacity The maximum number of hashing calls waiting for a thread.
+     * @param meterRegistry The registry the hashing metrics are exported to.
+     */
+    public BoundedPasswordEncoder(final PasswordEncoder delegate,
+                                  final int poolSize,
+                                  final int queueCapacity,
+                                  final MeterRegistry meterRegistry) {
+
+        this.delegate = delegate;
+
+        final AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    final Thread thread = new Thread(runnable, "password-hashing-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        Gauge.builder(METRIC_PREFIX + ".queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Number of password hashing calls waiting for a thread")
+                .register(meterRegistry);
+
+        this.encodeTimer = Timer.builder(METRIC_PREFIX + ".time")
+                .description("Time spent hashing passwords")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+
+        this.matchesTimer = Timer.builder(METRIC_PREFIX + ".time")
+                .description("Time spent hashing passwords")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+
+        this.rejectedCounter = Counter.builder(METRIC_PREFIX + ".rejected")
+                .description("Number of password hashing calls rejected because the queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Encodes the raw password on the hashing executor.
+     *
+     * @param rawPassword The password to encode.
+     * @return The encoded password.
+     * @throws PasswordHashingUnavailableException If the hashing queue is full.
+     */
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return this.execute(() -> encodeTimer.record(() -> delegate.encode(rawPassword)));
+    }
+
+    /**
+     * Checks on the hashing executor whether the raw password matches the encoded password.
+     *
+     * @param rawPassword     The raw password to check.
+     * @param encodedPassword The encoded password to check against.
+     * @return {@code true} if the passwords match, {@code false} otherwise.
+     * @throws PasswordHashingUnavailableException If the hashing queue is full.
+     */
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return this.execute(() -> matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * Checks whether the encoded password should be encoded again, for example after the cost factor changed.
+     * This check does not hash anything, so it runs on the calling thread.
+     *
+     * @param encodedPassword The encoded password to check.
+     * @return {@code true} if the password should be encoded again, {@code false} otherwise.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Shuts down the hashing executor.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * Submits the given hashing work to the executor and waits for its result.
+     *
+     * @param work The hashing work to run.
+     * @param <T>  The type of the result.
+     * @return The result of the hashing work.
+     * @throws PasswordHashingUnavailableException If the hashing queue is full or the wait is interrupted.
+     */
+    private <T> T execute(final Supplier<T> work) {
+
+        final Future<T> future;
+        try {
+            future = executor.submit(work::get);
+        } catch (RejectedExecutionException exception) {
+            rejectedCounter.increment();
+            log.warn("Password hashing call rejected, queue depth: {}", executor.getQueue().size());
+            throw new PasswordHashingUnavailableException();
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException exception) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException();
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(exception.getCause());
+        }
+    }
+
+}
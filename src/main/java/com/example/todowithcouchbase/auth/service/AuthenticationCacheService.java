@@ -0,0 +1,40 @@
+package com.example.todowithcouchbase.auth.service;
+
+import com.example.todowithcouchbase.auth.model.CachedAuthentication;
+import com.example.todowithcouchbase.auth.model.VerifiedToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.Optional;
+
+/**
+ * Service interface for caching authentications built from verified bearer tokens.
+ * This service keeps the authentication built for a bearer token so that repeated requests carrying the
+ * same token do not need to verify its signature and build the authentication again.
+ */
+public interface AuthenticationCacheService {
+
+    /**
+     * Returns the cached authentication for the given bearer token, if present and not expired.
+     *
+     * @param jwt The raw bearer token.
+     * @return An {@link Optional} containing the {@link CachedAuthentication}, or {@link Optional#empty()} if not cached.
+     */
+    Optional<CachedAuthentication> get(final String jwt);
+
+    /**
+     * Caches the authentication built from the given verified token until the token expires.
+     *
+     * @param verifiedToken  The verified token the authentication was built from.
+     * @param authentication The authentication to cache.
+     */
+    void put(final VerifiedToken verifiedToken, final UsernamePasswordAuthenticationToken authentication);
+
+    /**
+     * Removes the cached authentication for the given bearer token.
+     * This method is used when a token is revoked so that it is no longer served from the cache.
+     *
+     * @param jwt The raw bearer token.
+     */
+    void evict(final String jwt);
+
+}
@@ -1,5 +1,7 @@
 package com.example.todowithcouchbase.auth.service;
 
+import com.example.todowithcouchbase.auth.model.VerifiedToken;
+
 import java.util.Set;
 
 /**
@@ -10,13 +12,14 @@ import java.util.Set;
 public interface InvalidTokenService {
 
     /**
-     * Invalidates the tokens with the given token IDs.
+     * Invalidates the given verified tokens.
      * This method marks the tokens as invalid, making them unusable for authentication or authorization.
      * It can be used to invalidate tokens that have been revoked or are no longer valid.
+     * The expiration of each token is kept so that the invalidation record can be dropped once the token expires.
      *
-     * @param tokenIds A set of token IDs to invalidate.
+     * @param verifiedTokens A set of verified tokens to invalidate.
      */
-    void invalidateTokens(final Set<String> tokenIds);
+    void invalidateTokens(final Set<VerifiedToken> verifiedTokens);
 
     /**
      * Checks if the given token ID is invalidated.
@@ -27,4 +30,13 @@ public interface InvalidTokenService {
      */
     void checkForInvalidityOfToken(final String tokenId);
 
+    /**
+     * Checks if the given token ID is invalidated by looking it up in the database.
+     * Unlike {@link #checkForInvalidityOfToken(String)}, this method also rejects tokens that were invalidated
+     * on another node and have not been picked up locally yet.
+     *
+     * @param tokenId The token ID to check for invalidity.
+     */
+    void checkForInvalidityOfTokenInDatabase(final String tokenId);
+
 }
@@ -18,4 +18,13 @@ public interface LogoutService {
      */
     void logout(final TokenInvalidateRequest tokenInvalidateRequest);
 
+    /**
+     * Logs out a user from every session by revoking all tokens issued to the user so far.
+     * The access token in the request identifies the user; after this call no previously issued access or refresh
+     * token of that user can be used any more.
+     *
+     * @param tokenInvalidateRequest The request containing the tokens of the user to be logged out from every session.
+     */
+    void logoutFromAllSessions(final TokenInvalidateRequest tokenInvalidateRequest);
+
 }
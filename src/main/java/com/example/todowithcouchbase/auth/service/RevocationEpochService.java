@@ -0,0 +1,46 @@
+package com.example.todowithcouchbase.auth.service;
+
+import com.example.todowithcouchbase.auth.model.VerifiedToken;
+
+/**
+ * Service interface for managing the revocation epochs of users.
+ * Every token carries the revocation epoch of its user at the time it was issued. Increasing the epoch of a user
+ * revokes all tokens issued to that user before, which allows logging a user out of every session at once.
+ */
+public interface RevocationEpochService {
+
+    /**
+     * Returns the current revocation epoch of the given user, read from the database.
+     * This method is used when issuing tokens, so that new tokens always carry the latest epoch.
+     *
+     * @param userId The ID of the user.
+     * @return The current revocation epoch of the user.
+     */
+    long getCurrentEpoch(final String userId);
+
+    /**
+     * Revokes every token issued to the given user so far by increasing the revocation epoch of the user.
+     *
+     * @param userId The ID of the user whose tokens are revoked.
+     */
+    void revokeAllTokens(final String userId);
+
+    /**
+     * Checks if the given token was issued before the current revocation epoch of its user.
+     * The check is answered from the node-local copy of the revocation epochs without querying the database.
+     *
+     * @param verifiedToken The token to check.
+     * @throws com.example.todowithcouchbase.auth.exception.TokenAlreadyInvalidatedException If the token is revoked.
+     */
+    void checkForRevocation(final VerifiedToken verifiedToken);
+
+    /**
+     * Checks if the given token was issued before the current revocation epoch of its user,
+     * reading the epoch from the database.
+     *
+     * @param verifiedToken The token to check.
+     * @throws com.example.todowithcouchbase.auth.exception.TokenAlreadyInvalidatedException If the token is revoked.
+     */
+    void checkForRevocationInDatabase(final VerifiedToken verifiedToken);
+
+}
@@ -1,6 +1,7 @@
 package com.example.todowithcouchbase.auth.service;
 
 import com.example.todowithcouchbase.auth.model.Token;
+import com.example.todowithcouchbase.auth.model.VerifiedToken;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -46,6 +47,27 @@ public interface TokenService {
      */
     UsernamePasswordAuthenticationToken getAuthentication(final String token);
 
+    /**
+     * Builds the authentication information from an already verified JWT token.
+     * This method does not parse the token or check its signature again, so it should be used
+     * when the token has been verified earlier in the same request via {@link #verify(String)}.
+     *
+     * @param verifiedToken The verified JWT token to extract the authentication information from.
+     * @return A {@link UsernamePasswordAuthenticationToken} containing the extracted authentication information.
+     */
+    UsernamePasswordAuthenticationToken getAuthentication(final VerifiedToken verifiedToken);
+
+    /**
+     * Parses the provided JWT token and verifies its signature and expiration exactly once.
+     * The returned {@link VerifiedToken} carries the parsed header and claims so that callers can
+     * read the token ID and build the authentication without parsing the token again.
+     *
+     * @param jwt The JWT token to verify.
+     * @return A {@link VerifiedToken} holding the raw token, its header and its claims.
+     * @throws SecurityException If the token is invalid or cannot be verified.
+     */
+    VerifiedToken verify(final String jwt);
+
     /**
      * Verifies the validity of the provided JWT token.
      * This method checks if the provided JWT token is valid, including verifying its signature, expiration, and other factors.
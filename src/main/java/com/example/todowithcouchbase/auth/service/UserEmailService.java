@@ -0,0 +1,55 @@
+package com.example.todowithcouchbase.auth.service;
+
+import com.example.todowithcouchbase.common.model.BackfillPage;
+
+import java.util.Optional;
+
+/**
+ * Service interface for managing the email lookup documents of users.
+ * This service maps normalized email addresses to user IDs with key-value operations, so that a user can be
+ * found by email and a duplicate email can be rejected without running a query.
+ */
+public interface UserEmailService {
+
+    /**
+     * Reserves the given email address for the given user.
+     * The reservation is an insert-if-absent, so of two concurrent registrations with the same email address
+     * only one succeeds. An email address of a user that has no lookup document yet is rejected as well.
+     *
+     * @param email  The email address to reserve.
+     * @param userId The ID of the user the email address belongs to.
+     * @throws com.example.todowithcouchbase.auth.exception.UserAlreadyExistException If the email address is already taken.
+     */
+    void reserve(final String email, final String userId);
+
+    /**
+     * Releases the reservation of the given email address.
+     * This method is used to undo a reservation when the user it was made for could not be saved.
+     *
+     * @param email The email address to release.
+     */
+    void release(final String email);
+
+    /**
+     * Finds the ID of the user registered with the given email address.
+     * Users that have no lookup document yet are found with an email query, and their lookup document is created.
+     *
+     * @param email The email address to look up.
+     * @return An {@link Optional} containing the user ID, or {@link Optional#empty()} if no user is registered with it.
+     */
+    Optional<String> findUserIdByEmail(final String email);
+
+    /**
+     * Creates the missing lookup documents for one page of the users that were registered before lookup
+     * documents were introduced.
+     * This is a one-off migration triggered by an administrator. It walks the users in document key order,
+     * one page per call, and the caller continues with the returned key until no key is returned.
+     *
+     * @param after The document key of the last user of the previous page, or {@code null} for the first page.
+     * @param limit The maximum number of users to scan.
+     * @return A {@link BackfillPage} holding the number of scanned users, the number of created lookup documents,
+     *         and the key to continue after.
+     */
+    BackfillPage backfillUserEmails(final String after, final int limit);
+
+}
@@ -0,0 +1,115 @@
+package com.example.todowithcouchbase.auth.service.impl;
+
+import com.example.todowithcouchbase.auth.model.CachedAuthentication;
+import com.example.todowithcouchbase.auth.model.VerifiedToken;
+import com.example.todowithcouchbase.auth.service.AuthenticationCacheService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service implementation for caching authentications built from verified bearer tokens.
+ * Entries are keyed by the SHA-256 digest of the token, so raw tokens are not kept as map keys,
+ * and each entry is dropped once its token expires. The number of entries is capped; when the cache
+ * is full, expired entries are purged and, if there is still no room, the new authentication is not cached.
+ */
+@Service
+public class AuthenticationCacheServiceImpl implements AuthenticationCacheService {
+
+    private final int maxSize;
+
+    private final Map<String, CachedAuthentication> cachedAuthentications = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new {@code AuthenticationCacheServiceImpl}.
+     *
+     * @param maxSize The maximum number of authentications kept in the cache.
+     */
+    public AuthenticationCacheServiceImpl(@Value("${auth.authentication-cache.max-size:10000}") final int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the cached authentication for the given bearer token, if present and not expired.
+     * An expired entry is removed when it is found.
+     *
+     * @param jwt The raw bearer token.
+     * @return An {@link Optional} containing the {@link CachedAuthentication}, or {@link Optional#empty()} if not cached.
+     */
+    @Override
+    public Optional<CachedAuthentication> get(String jwt) {
+        final String key = digest(jwt);
+        final CachedAuthentication cachedAuthentication = cachedAuthentications.get(key);
+
+        if (cachedAuthentication == null) {
+            return Optional.empty();
+        }
+
+        if (cachedAuthentication.isExpired(Instant.now())) {
+            cachedAuthentications.remove(key, cachedAuthentication);
+            return Optional.empty();
+        }
+
+        return Optional.of(cachedAuthentication);
+    }
+
+    /**
+     * Caches the authentication built from the given verified token until the token expires.
+     *
+     * @param verifiedToken  The verified token the authentication was built from.
+     * @param authentication The authentication to cache.
+     */
+    @Override
+    public void put(VerifiedToken verifiedToken, UsernamePasswordAuthenticationToken authentication) {
+        final Instant now = Instant.now();
+
+        if (cachedAuthentications.size() >= maxSize) {
+            cachedAuthentications.values().removeIf(cachedAuthentication -> cachedAuthentication.isExpired(now));
+            if (cachedAuthentications.size() >= maxSize) {
+                return;
+            }
+        }
+
+        final CachedAuthentication cachedAuthentication = CachedAuthentication.builder()
+                .verifiedToken(verifiedToken)
+                .authentication(authentication)
+                .build();
+
+        cachedAuthentications.put(digest(verifiedToken.getJwt()), cachedAuthentication);
+    }
+
+    /**
+     * Removes the cached authentication for the given bearer token.
+     *
+     * @param jwt The raw bearer token.
+     */
+    @Override
+    public void evict(String jwt) {
+        cachedAuthentications.remove(digest(jwt));
+    }
+
+    /**
+     * Calculates the hex encoded SHA-256 digest of the given token.
+     *
+     * @param jwt The raw bearer token.
+     * @return The digest of the token.
+     */
+    private String digest(final String jwt) {
+        try {
+            final MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(messageDigest.digest(jwt.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm is not available", e);
+        }
+    }
+
+}
@@ -1,59 +1,146 @@
 package com.example.todowithcouchbase.auth.service.impl;
 
 import com.example.todowithcouchbase.auth.exception.TokenAlreadyInvalidatedException;
+import com.example.todowithcouchbase.auth.model.VerifiedToken;
 import com.example.todowithcouchbase.auth.model.entity.InvalidTokenEntity;
 import com.example.todowithcouchbase.auth.repository.InvalidTokenRepository;
 import com.example.todowithcouchbase.auth.service.InvalidTokenService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
  * Service implementation for managing and validating invalidated tokens.
  * This service is responsible for invalidating tokens and checking the validity of tokens.
  * It provides methods to mark tokens as invalid and to check if a given token has already been invalidated.
+ * Invalidated token IDs are kept in a node-local set together with their expiration, so checking a token
+ * does not need a round trip to Couchbase. The set is loaded from Couchbase at startup, refreshed periodically
+ * to pick up tokens invalidated on other nodes, and entries are dropped once their token has expired.
+ * In Couchbase each invalidated token is stored under its token ID with a document expiry equal to
+ * the remaining lifetime of the token, so an authoritative check is a single key-value lookup.
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class InvalidTokenServiceImpl implements InvalidTokenService {
 
     private final InvalidTokenRepository invalidTokenRepository;
 
+    private final Map<String, LocalDateTime> invalidTokenIds = new ConcurrentHashMap<>();
+
     /**
-     * Invalidates the tokens with the given token IDs.
+     * Invalidates the given verified tokens.
      * This method marks the tokens as invalid, making them unusable for authentication or authorization.
      * It can be used to invalidate tokens that have been revoked or are no longer valid.
+     * The expiration of each token is kept so that the invalidation record can be dropped once the token expires.
+     * Each record is stored with the token ID as its key and a document expiry equal to the remaining lifetime
+     * of the token.
      *
-     * @param tokenIds A set of token IDs to invalidate.
+     * @param verifiedTokens A set of verified tokens to invalidate.
      */
     @Override
-    public void invalidateTokens(Set<String> tokenIds) {
-        final Set<InvalidTokenEntity> invalidTokenEntities = tokenIds.stream()
-                .map(tokenId -> InvalidTokenEntity.builder()
-                        .tokenId(tokenId)
+    public void invalidateTokens(Set<VerifiedToken> verifiedTokens) {
+        final Instant now = Instant.now();
+
+        final Set<InvalidTokenEntity> invalidTokenEntities = verifiedTokens.stream()
+                .map(verifiedToken -> InvalidTokenEntity.builder()
+                        .id(verifiedToken.getId())
+                        .expiresAt(LocalDateTime.ofInstant(verifiedToken.getExpiresAt(), ZoneId.systemDefault()))
+                        .expiration(getRemainingLifetimeInSeconds(verifiedToken, now))
                         .build()
                 )
                 .collect(Collectors.toSet());
 
         invalidTokenRepository.saveAll(invalidTokenEntities);
+
+        invalidTokenEntities.forEach(
+                invalidTokenEntity -> invalidTokenIds.put(invalidTokenEntity.getId(), invalidTokenEntity.getExpiresAt())
+        );
     }
 
     /**
      * Checks if the given token ID is invalidated.
      * This method checks whether a specific token has been invalidated and is no longer valid for use.
      * It is typically used to validate if a token is still active before allowing access to protected resources.
+     * The check is answered from the node-local set of invalidated tokens without querying Couchbase.
      *
      * @param tokenId The token ID to check for invalidity.
      */
     @Override
     public void checkForInvalidityOfToken(String tokenId) {
-        final boolean isTokenInvalid = invalidTokenRepository.findByTokenId(tokenId).isPresent();
+        final LocalDateTime expiresAt = invalidTokenIds.get(tokenId);
+
+        if (expiresAt == null) {
+            return;
+        }
+
+        if (expiresAt.isBefore(LocalDateTime.now())) {
+            invalidTokenIds.remove(tokenId);
+            return;
+        }
 
-        if (isTokenInvalid) {
+        throw new TokenAlreadyInvalidatedException(tokenId);
+    }
+
+    /**
+     * Checks if the given token ID is invalidated by looking it up in Couchbase.
+     * This method is used where a token invalidated on another node must be rejected immediately,
+     * such as when a refresh token is exchanged or a token is logged out. The check is a single
+     * key-value existence lookup on the token ID.
+     *
+     * @param tokenId The token ID to check for invalidity.
+     */
+    @Override
+    public void checkForInvalidityOfTokenInDatabase(String tokenId) {
+        if (invalidTokenRepository.existsById(tokenId)) {
             throw new TokenAlreadyInvalidatedException(tokenId);
         }
     }
 
+    /**
+     * Loads the tokens that are invalidated and not yet expired from Couchbase into the node-local set,
+     * and drops the entries whose token has already expired.
+     * This method runs once when scheduling starts and then periodically, so that tokens invalidated on other
+     * nodes are picked up within the configured interval.
+     */
+    @Scheduled(fixedDelayString = "${auth.invalid-token.refresh-interval-millis:30000}")
+    public void refreshInvalidTokens() {
+        final LocalDateTime now = LocalDateTime.now();
+
+        try {
+            final List<InvalidTokenEntity> invalidTokenEntities = invalidTokenRepository.findAllByExpiresAtAfter(now);
+            invalidTokenEntities.forEach(
+                    invalidTokenEntity -> invalidTokenIds.put(invalidTokenEntity.getId(), invalidTokenEntity.getExpiresAt())
+            );
+        } catch (Exception e) {
+            log.error("Invalid tokens could not be loaded from the database", e);
+        }
+
+        invalidTokenIds.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+    }
+
+    /**
+     * Calculates the remaining lifetime of the given token in seconds, to be used as the document expiry.
+     * A token that has already expired gets the minimum expiry of one second, since an expiry of zero
+     * would keep the document forever.
+     *
+     * @param verifiedToken The token whose remaining lifetime is calculated.
+     * @param now The current point in time.
+     * @return The remaining lifetime of the token in seconds, at least one.
+     */
+    private long getRemainingLifetimeInSeconds(final VerifiedToken verifiedToken, final Instant now) {
+        return Math.max(1L, Duration.between(now, verifiedToken.getExpiresAt()).toSeconds());
+    }
+
 }
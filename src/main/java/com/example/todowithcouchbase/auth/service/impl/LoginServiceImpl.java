@@ -8,6 +8,7 @@ import com.example.todowithcouchbase.auth.model.entity.UserEntity;
 import com.example.todowithcouchbase.auth.repository.UserRepository;
 import com.example.todowithcouchbase.auth.service.LoginService;
 import com.example.todowithcouchbase.auth.service.TokenService;
+import com.example.todowithcouchbase.auth.service.UserEmailService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -16,12 +17,16 @@ import org.springframework.stereotype.Service;
  * Service implementation for handling user login functionality.
  * This interface defines the method responsible for logging in a user by validating their credentials
  * and generating a token for subsequent authentication requests.
+ * The user is found with two key-value gets: the email lookup document gives the user ID,
+ * which is then used to read the user document. Users registered before lookup documents were introduced
+ * are found with an email query once, which also creates their lookup document.
  */
 @Service
 @RequiredArgsConstructor
 public class LoginServiceImpl implements LoginService {
 
     private final UserRepository userRepository;
+    private final UserEmailService userEmailService;
     private final PasswordEncoder passwordEncoder;
     private final TokenService tokenService;
 
@@ -36,8 +41,9 @@ public class LoginServiceImpl implements LoginService {
     @Override
     public Token login(LoginRequest loginRequest) {
 
-        final UserEntity userEntityFromDB = userRepository
-                .findUserEntityByEmail(loginRequest.getEmail())
+        final UserEntity userEntityFromDB = userEmailService
+                .findUserIdByEmail(loginRequest.getEmail())
+                .flatMap(userRepository::findById)
                 .orElseThrow(
                         () -> new UserNotFoundException(loginRequest.getEmail())
                 );
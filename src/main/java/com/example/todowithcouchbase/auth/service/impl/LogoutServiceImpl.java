@@ -1,8 +1,12 @@
 package com.example.todowithcouchbase.auth.service.impl;
 
+import com.example.todowithcouchbase.auth.model.VerifiedToken;
 import com.example.todowithcouchbase.auth.model.dto.request.TokenInvalidateRequest;
+import com.example.todowithcouchbase.auth.model.enums.TokenClaims;
+import com.example.todowithcouchbase.auth.service.AuthenticationCacheService;
 import com.example.todowithcouchbase.auth.service.InvalidTokenService;
 import com.example.todowithcouchbase.auth.service.LogoutService;
+import com.example.todowithcouchbase.auth.service.RevocationEpochService;
 import com.example.todowithcouchbase.auth.service.TokenService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -20,38 +24,56 @@ public class LogoutServiceImpl implements LogoutService {
 
     private final TokenService tokenService;
     private final InvalidTokenService invalidTokenService;
+    private final RevocationEpochService revocationEpochService;
+    private final AuthenticationCacheService authenticationCacheService;
 
     /**
      * Logs out a user by invalidating their authentication token.
      * This method accepts a request containing the token information to be invalidated. Once the token is invalidated,
      * it can no longer be used for authentication, ensuring that the user is effectively logged out.
+     * The cached authentication of the access token is dropped as well.
      *
      * @param tokenInvalidateRequest The request containing the token to be invalidated for logging out the user.
      */
     @Override
     public void logout(TokenInvalidateRequest tokenInvalidateRequest) {
 
-        tokenService.verifyAndValidate(
-                Set.of(
-                        tokenInvalidateRequest.getAccessToken(),
-                        tokenInvalidateRequest.getRefreshToken()
-                )
-        );
+        final VerifiedToken accessToken = tokenService.verify(tokenInvalidateRequest.getAccessToken());
 
-        final String accessTokenId = tokenService
-                .getPayload(tokenInvalidateRequest.getAccessToken())
-                .getId();
+        final VerifiedToken refreshToken = tokenService.verify(tokenInvalidateRequest.getRefreshToken());
 
-        invalidTokenService.checkForInvalidityOfToken(accessTokenId);
+        invalidTokenService.checkForInvalidityOfTokenInDatabase(accessToken.getId());
 
+        invalidTokenService.checkForInvalidityOfTokenInDatabase(refreshToken.getId());
 
-        final String refreshTokenId = tokenService
-                .getPayload(tokenInvalidateRequest.getRefreshToken())
-                .getId();
+        invalidTokenService.invalidateTokens(Set.of(accessToken, refreshToken));
 
-        invalidTokenService.checkForInvalidityOfToken(refreshTokenId);
+        authenticationCacheService.evict(accessToken.getJwt());
 
-        invalidTokenService.invalidateTokens(Set.of(accessTokenId,refreshTokenId));
+    }
+
+    /**
+     * Logs out a user from every session by revoking all tokens issued to the user so far.
+     * The access token is verified and checked against the database before the revocation epoch of its user
+     * is increased, so a token that is already invalid cannot be used to log the user out.
+     * The cached authentication of the access token is dropped as well.
+     *
+     * @param tokenInvalidateRequest The request containing the tokens of the user to be logged out from every session.
+     */
+    @Override
+    public void logoutFromAllSessions(TokenInvalidateRequest tokenInvalidateRequest) {
+
+        final VerifiedToken accessToken = tokenService.verify(tokenInvalidateRequest.getAccessToken());
+
+        invalidTokenService.checkForInvalidityOfTokenInDatabase(accessToken.getId());
+
+        revocationEpochService.checkForRevocationInDatabase(accessToken);
+
+        final String userId = accessToken.getPayload().get(TokenClaims.USER_ID.getValue(), String.class);
+
+        revocationEpochService.revokeAllTokens(userId);
+
+        authenticationCacheService.evict(accessToken.getJwt());
 
     }
 
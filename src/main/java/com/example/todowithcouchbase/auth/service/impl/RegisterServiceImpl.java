@@ -1,6 +1,5 @@
 package com.example.todowithcouchbase.auth.service.impl;
 
-import com.example.todowithcouchbase.auth.exception.UserAlreadyExistException;
 import com.example.todowithcouchbase.auth.model.User;
 import com.example.todowithcouchbase.auth.model.dto.request.RegisterRequest;
 import com.example.todowithcouchbase.auth.model.entity.UserEntity;
@@ -8,14 +7,19 @@ import com.example.todowithcouchbase.auth.model.mapper.RegisterRequestToUserEnti
 import com.example.todowithcouchbase.auth.model.mapper.UserEntityToUserMapper;
 import com.example.todowithcouchbase.auth.repository.UserRepository;
 import com.example.todowithcouchbase.auth.service.RegisterService;
+import com.example.todowithcouchbase.auth.service.UserEmailService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.UUID;
+
 /**
  * Service implementation for handling user registration functionality.
  * This interface defines the method responsible for registering a new user in the system.
  * It processes the registration request, validates the data, and creates a new user entity.
+ * The email address is reserved through an insert-if-absent of its lookup document before the user is saved,
+ * so two concurrent registrations with the same email address cannot both succeed.
  */
 @Service
 @RequiredArgsConstructor
@@ -23,6 +27,8 @@ public class RegisterServiceImpl implements RegisterService {
 
     private final UserRepository userRepository;
 
+    private final UserEmailService userEmailService;
+
     private final RegisterRequestToUserEntityMapper registerRequestToUserEntityMapper =
             RegisterRequestToUserEntityMapper.initialize();
 
@@ -41,15 +47,20 @@ public class RegisterServiceImpl implements RegisterService {
     @Override
     public User registerUser(RegisterRequest registerRequest) {
 
-        if (userRepository.existsUserEntityByEmail(registerRequest.getEmail())) {
-            throw new UserAlreadyExistException("The email is already used for another user : " + registerRequest.getEmail());
-        }
-
         final UserEntity userEntityToBeSaved = registerRequestToUserEntityMapper.mapForSaving(registerRequest);
 
-        userEntityToBeSaved.setPassword(passwordEncoder.encode(registerRequest.getPassword()));
+        userEntityToBeSaved.setId(UUID.randomUUID().toString());
+
+        userEmailService.reserve(registerRequest.getEmail(), userEntityToBeSaved.getId());
 
-        final UserEntity savedUserEntity = userRepository.save(userEntityToBeSaved);
+        final UserEntity savedUserEntity;
+        try {
+            userEntityToBeSaved.setPassword(passwordEncoder.encode(registerRequest.getPassword()));
+            savedUserEntity = userRepository.save(userEntityToBeSaved);
+        } catch (RuntimeException exception) {
+            userEmailService.release(registerRequest.getEmail());
+            throw exception;
+        }
 
         return userEntityToUserMapper.map(savedUserEntity);
 
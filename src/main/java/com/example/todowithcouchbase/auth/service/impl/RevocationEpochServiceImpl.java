@@ -0,0 +1,191 @@
+package com.example.todowithcouchbase.auth.service.impl;
+
+import com.example.todowithcouchbase.auth.exception.TokenAlreadyInvalidatedException;
+import com.example.todowithcouchbase.auth.model.VerifiedToken;
+import com.example.todowithcouchbase.auth.model.entity.RevocationEpochEntity;
+import com.example.todowithcouchbase.auth.model.enums.TokenClaims;
+import com.example.todowithcouchbase.auth.repository.RevocationEpochRepository;
+import com.example.todowithcouchbase.auth.service.RevocationEpochService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service implementation for managing the revocation epochs of users.
+ * Revocation epochs are kept in a node-local map so that checking a token does not need a round trip to Couchbase.
+ * The map is loaded from Couchbase at startup and refreshed periodically to pick up epochs increased on other nodes.
+ * Only users whose tokens were revoked this way have an epoch document, so the map stays small.
+ * Epochs only ever grow, so a value read from Couchbase never replaces a newer value already known locally.
+ * Only the first refresh reads every epoch document; later refreshes read the documents updated since the
+ * previous successful refresh, reaching back by a configured overlap so that writes stamped by a node whose
+ * clock runs behind are not missed.
+ */
+@Slf4j
+@Service
+public class RevocationEpochServiceImpl implements RevocationEpochService {
+
+    private final RevocationEpochRepository revocationEpochRepository;
+
+    private final Duration refreshOverlap;
+
+    private final Map<String, Long> revocationEpochs = new ConcurrentHashMap<>();
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    private volatile LocalDateTime lastRefreshedAt;
+
+    /**
+     * Constructs the service with the repository of revocation epochs and the overlap of incremental refreshes.
+     *
+     * @param revocationEpochRepository The repository of revocation epochs.
+     * @param refreshOverlapMillis      How far before the previous refresh an incremental refresh starts reading,
+     *                                  in milliseconds.
+     */
+    public RevocationEpochServiceImpl(final RevocationEpochRepository revocationEpochRepository,
+                                      @Value("${auth.revocation-epoch.refresh-overlap-millis:60000}") final long refreshOverlapMillis) {
+        this.revocationEpochRepository = revocationEpochRepository;
+        this.refreshOverlap = Duration.ofMillis(refreshOverlapMillis);
+    }
+
+    /**
+     * Returns the current revocation epoch of the given user, read from the database.
+     *
+     * @param userId The ID of the user.
+     * @return The current revocation epoch of the user, or {@code 0} if it was never increased.
+     */
+    @Override
+    public long getCurrentEpoch(String userId) {
+        final long epoch = revocationEpochRepository.findById(userId)
+                .map(RevocationEpochEntity::getEpoch)
+                .orElse(0L);
+
+        if (epoch > 0) {
+            revocationEpochs.merge(userId, epoch, Math::max);
+        }
+
+        return epoch;
+    }
+
+    /**
+     * Revokes every token issued to the given user so far by increasing the revocation epoch of the user.
+     * The new epoch is written over the document it was read from, conditional on its CAS value, or inserted
+     * if the user has no epoch yet. If another revocation wrote the epoch in between, the write fails and
+     * the epoch is read and increased again, so concurrent revocations never write the same epoch.
+     * The new epoch is applied locally right away.
+     *
+     * @param userId The ID of the user whose tokens are revoked.
+     */
+    @Override
+    public void revokeAllTokens(String userId) {
+        while (true) {
+            final RevocationEpochEntity revocationEpochEntity = revocationEpochRepository.findById(userId)
+                    .orElseGet(() -> RevocationEpochEntity.builder().id(userId).build());
+
+            final long epoch = revocationEpochEntity.getEpoch() + 1;
+            revocationEpochEntity.setEpoch(epoch);
+
+            try {
+                revocationEpochRepository.save(revocationEpochEntity);
+            } catch (OptimisticLockingFailureException | DuplicateKeyException exception) {
+                log.debug("Revocation epoch of user {} was changed concurrently, retrying", userId);
+                continue;
+            }
+
+            revocationEpochs.merge(userId, epoch, Math::max);
+            return;
+        }
+    }
+
+    /**
+     * Checks if the given token was issued before the current revocation epoch of its user.
+     * The check is answered from the node-local map of revocation epochs.
+     *
+     * @param verifiedToken The token to check.
+     * @throws TokenAlreadyInvalidatedException If the token is revoked.
+     */
+    @Override
+    public void checkForRevocation(VerifiedToken verifiedToken) {
+        final Object userId = verifiedToken.getPayload().get(TokenClaims.USER_ID.getValue());
+
+        if (userId == null) {
+            return;
+        }
+
+        this.checkForRevocation(verifiedToken, revocationEpochs.getOrDefault(userId.toString(), 0L));
+    }
+
+    /**
+     * Checks if the given token was issued before the current revocation epoch of its user,
+     * reading the epoch from the database.
+     *
+     * @param verifiedToken The token to check.
+     * @throws TokenAlreadyInvalidatedException If the token is revoked.
+     */
+    @Override
+    public void checkForRevocationInDatabase(VerifiedToken verifiedToken) {
+        final Object userId = verifiedToken.getPayload().get(TokenClaims.USER_ID.getValue());
+
+        if (userId == null) {
+            return;
+        }
+
+        this.checkForRevocation(verifiedToken, this.getCurrentEpoch(userId.toString()));
+    }
+
+    /**
+     * Loads the revocation epochs from Couchbase into the node-local map.
+     * This method runs once when scheduling starts and then periodically, so that epochs increased on other
+     * nodes are picked up within the configured interval. The first successful run loads every epoch document,
+     * and every later run only loads the documents updated since the previous successful run minus the
+     * configured overlap. A failed run is retried from the same point on the next run.
+     */
+    @Scheduled(fixedDelayString = "${auth.revocation-epoch.refresh-interval-millis:30000}")
+    public void refreshRevocationEpochs() {
+        final LocalDateTime now = LocalDateTime.now(clock);
+        final LocalDateTime since = lastRefreshedAt;
+
+        try {
+            final Iterable<RevocationEpochEntity> revocationEpochEntities = since == null
+                    ? revocationEpochRepository.findAll()
+                    : revocationEpochRepository.findAllByUpdatedAtAfter(since.minus(refreshOverlap));
+
+            revocationEpochEntities.forEach(
+                    revocationEpochEntity -> revocationEpochs.merge(
+                            revocationEpochEntity.getId(), revocationEpochEntity.getEpoch(), Math::max
+                    )
+            );
+
+            lastRefreshedAt = now;
+        } catch (Exception e) {
+            log.error("Revocation epochs could not be loaded from the database", e);
+        }
+    }
+
+    /**
+     * Compares the revocation epoch carried by the given token with the current epoch of its user.
+     * Tokens issued before revocation epochs were introduced carry no epoch and are treated as epoch {@code 0}.
+     *
+     * @param verifiedToken The token to check.
+     * @param currentEpoch  The current revocation epoch of the user of the token.
+     * @throws TokenAlreadyInvalidatedException If the token carries an older epoch than the current one.
+     */
+    private void checkForRevocation(final VerifiedToken verifiedToken, final long currentEpoch) {
+        final Object tokenEpoch = verifiedToken.getPayload().get(TokenClaims.REVOCATION_EPOCH.getValue());
+
+        final long epoch = tokenEpoch instanceof Number number ? number.longValue() : 0L;
+
+        if (epoch < currentEpoch) {
+            throw new TokenAlreadyInvalidatedException(verifiedToken.getId());
+        }
+    }
+
+}
@@ -2,41 +2,78 @@ package com.example.todowithcouchbase.auth.service.impl;
 
 import com.example.todowithcouchbase.auth.config.TokenConfigurationParameter;
 import com.example.todowithcouchbase.auth.model.Token;
-import com.example.todowithcouchbase.auth.model.enums.ConfigurationParameter;
+import com.example.todowithcouchbase.auth.model.VerifiedToken;
 import com.example.todowithcouchbase.auth.model.enums.TokenClaims;
 import com.example.todowithcouchbase.auth.model.enums.TokenType;
 import com.example.todowithcouchbase.auth.model.enums.UserType;
 import com.example.todowithcouchbase.auth.service.InvalidTokenService;
+import com.example.todowithcouchbase.auth.service.RevocationEpochService;
 import com.example.todowithcouchbase.auth.service.TokenService;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Header;
 import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import lombok.RequiredArgsConstructor;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.UnsupportedJwtException;
 import org.apache.commons.lang3.time.DateUtils;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 
+import java.security.Key;
+import java.security.PublicKey;
 import java.util.*;
 
 /**
  * Service implementation for handling JWT token-related operations.
  * This interface defines methods for generating, validating, and extracting information from JWT tokens.
  * It provides functionality to create tokens, verify their validity, retrieve claims, and authenticate users.
+ * Issued tokens carry the ID of the signing key in their {@code kid} header, and the signing algorithm follows the
+ * type of the configured key pair. Verification picks the public key by {@code kid}, so tokens signed with the
+ * previous key pair keep verifying during a key rotation.
+ * Every token carries the revocation epoch of its user, so that all tokens of a user can be revoked at once
+ * by increasing the epoch.
  */
 @Service
-@RequiredArgsConstructor
 public class TokenServiceImpl implements TokenService {
 
     private final TokenConfigurationParameter tokenConfigurationParameter;
     private final InvalidTokenService invalidTokenService;
+    private final RevocationEpochService revocationEpochService;
+    private final PublicKey defaultPublicKey;
+    private final Map<String, PublicKey> publicKeys;
+    private final JwtParser jwtParser;
+
+    /**
+     * Constructs a new {@code TokenServiceImpl}.
+     * The {@link JwtParser} is built once here and reused for every verification, since it is immutable
+     * and thread-safe. It locates the verification key by the {@code kid} header of each token.
+     *
+     * @param tokenConfigurationParameter The token configuration holding the keys and expiration settings.
+     * @param invalidTokenService         The service used to check whether a token has been invalidated.
+     * @param revocationEpochService      The service providing the revocation epochs of users.
+     */
+    public TokenServiceImpl(final TokenConfigurationParameter tokenConfigurationParameter,
+                            final InvalidTokenService invalidTokenService,
+                            final RevocationEpochService revocationEpochService) {
+        this.tokenConfigurationParameter = tokenConfigurationParameter;
+        this.invalidTokenService = invalidTokenService;
+        this.revocationEpochService = revocationEpochService;
+        this.defaultPublicKey = tokenConfigurationParameter.getPublicKey();
+        this.publicKeys = tokenConfigurationParameter.getPublicKeys();
+        this.jwtParser = Jwts.parser()
+                .keyLocator(this::locateVerificationKey)
+                .build();
+    }
 
     /**
      * Generates a new authentication token based on the provided claims.
      * This method creates a new JWT token using the specified claims.
      * The claims typically contain user-specific information such as the username, roles, and other custom attributes.
+     * Both tokens carry the current revocation epoch of the user.
      *
      * @param claims The claims to be included in the JWT token.
      * @return A {@link Token} object containing the generated JWT token.
@@ -46,6 +83,12 @@ public class TokenServiceImpl implements TokenService {
 
         final long currentTimeMillis = System.currentTimeMillis();
 
+        final Object userId = claims.get(TokenClaims.USER_ID.getValue());
+
+        final long revocationEpoch = userId != null
+                ? revocationEpochService.getCurrentEpoch(userId.toString())
+                : 0L;
+
         final Date tokenIssuedAt = new Date(currentTimeMillis);
 
         final Date accessTokenExpiresAt = DateUtils.addMinutes(
@@ -56,13 +99,15 @@ public class TokenServiceImpl implements TokenService {
         final String accessToken = Jwts.builder()
                 .header()
                 .type(TokenType.BEARER.getValue())
+                .keyId(tokenConfigurationParameter.getKeyId())
                 .and()
                 .id(UUID.randomUUID().toString())
-                .issuer(ConfigurationParameter.ISSUER.getDefaultValue())
+                .issuer(tokenConfigurationParameter.getIssuer())
                 .issuedAt(tokenIssuedAt)
                 .expiration(accessTokenExpiresAt)
                 .signWith(tokenConfigurationParameter.getPrivateKey())
                 .claims(claims)
+                .claim(TokenClaims.REVOCATION_EPOCH.getValue(), revocationEpoch)
                 .compact();
 
         final Date refreshTokenExpiresAt = DateUtils.addDays(
@@ -73,13 +118,15 @@ public class TokenServiceImpl implements TokenService {
         final String refreshToken = Jwts.builder()
                 .header()
                 .type(TokenType.BEARER.getValue())
+                .keyId(tokenConfigurationParameter.getKeyId())
                 .and()
                 .id(UUID.randomUUID().toString())
                 .issuer(tokenConfigurationParameter.getIssuer())
                 .issuedAt(tokenIssuedAt)
                 .expiration(refreshTokenExpiresAt)
                 .signWith(tokenConfigurationParameter.getPrivateKey())
-                .claim(TokenClaims.USER_ID.getValue(), claims.get(TokenClaims.USER_ID.getValue()))
+                .claim(TokenClaims.USER_ID.getValue(), userId)
+                .claim(TokenClaims.REVOCATION_EPOCH.getValue(), revocationEpoch)
                 .compact();
 
         return Token.builder()
@@ -93,6 +140,8 @@ public class TokenServiceImpl implements TokenService {
      * Generates a new authentication token based on the provided claims and a refresh token.
      * This method creates a new JWT token using the specified claims and includes the provided refresh token as part of the payload.
      * It is typically used when refreshing the user's authentication token.
+     * The refresh token is rejected if it was invalidated or issued before the current revocation epoch of the user,
+     * and the new access token carries the same revocation epoch as the refresh token.
      *
      * @param claims The claims to be included in the JWT token.
      * @param refreshToken The refresh token to include in the generated JWT token.
@@ -103,9 +152,11 @@ public class TokenServiceImpl implements TokenService {
 
         final long currentTimeMillis = System.currentTimeMillis();
 
-        final String refreshTokenId = this.getId(refreshToken);
+        final VerifiedToken verifiedRefreshToken = this.verify(refreshToken);
+
+        invalidTokenService.checkForInvalidityOfTokenInDatabase(verifiedRefreshToken.getId());
 
-        invalidTokenService.checkForInvalidityOfToken(refreshTokenId);
+        revocationEpochService.checkForRevocationInDatabase(verifiedRefreshToken);
 
         final Date accessTokenIssuedAt = new Date(currentTimeMillis);
 
@@ -117,6 +168,7 @@ public class TokenServiceImpl implements TokenService {
         final String accessToken = Jwts.builder()
                 .header()
                 .type(TokenType.BEARER.getValue())
+                .keyId(tokenConfigurationParameter.getKeyId())
                 .and()
                 .id(UUID.randomUUID().toString())
                 .issuer(tokenConfigurationParameter.getIssuer())
@@ -124,6 +176,10 @@ public class TokenServiceImpl implements TokenService {
                 .expiration(accessTokenExpiresAt)
                 .signWith(tokenConfigurationParameter.getPrivateKey())
                 .claims(claims)
+                .claim(
+                        TokenClaims.REVOCATION_EPOCH.getValue(),
+                        verifiedRefreshToken.getPayload().get(TokenClaims.REVOCATION_EPOCH.getValue())
+                )
                 .compact();
 
         return Token.builder()
@@ -143,17 +199,25 @@ public class TokenServiceImpl implements TokenService {
      */
     @Override
     public UsernamePasswordAuthenticationToken getAuthentication(String token) {
+        return this.getAuthentication(this.verify(token));
+    }
 
-        final Jws<Claims> claimsJws = Jwts.parser()
-                .verifyWith(tokenConfigurationParameter.getPublicKey())
-                .build()
-                .parseSignedClaims(token);
+    /**
+     * Builds the authentication information from an already verified JWT token.
+     * This method does not parse the token or check its signature again, so it should be used
+     * when the token has been verified earlier in the same request via {@link #verify(String)}.
+     *
+     * @param verifiedToken The verified JWT token to extract the authentication information from.
+     * @return A {@link UsernamePasswordAuthenticationToken} containing the extracted authentication information.
+     */
+    @Override
+    public UsernamePasswordAuthenticationToken getAuthentication(VerifiedToken verifiedToken) {
 
-        final JwsHeader jwsHeader = claimsJws.getHeader();
-        final Claims payload = claimsJws.getPayload();
+        final JwsHeader jwsHeader = verifiedToken.getHeader();
+        final Claims payload = verifiedToken.getPayload();
 
         final Jwt jwt = new org.springframework.security.oauth2.jwt.Jwt(
-                token,
+                verifiedToken.getJwt(),
                 payload.getIssuedAt().toInstant(),
                 payload.getExpiration().toInstant(),
                 Map.of(
@@ -173,6 +237,27 @@ public class TokenServiceImpl implements TokenService {
                 .authenticated(jwt, null, authorities);
     }
 
+    /**
+     * Parses the provided JWT token and verifies its signature and expiration exactly once.
+     * The returned {@link VerifiedToken} carries the parsed header and claims so that callers can
+     * read the token ID and build the authentication without parsing the token again.
+     *
+     * @param jwt The JWT token to verify.
+     * @return A {@link VerifiedToken} holding the raw token, its header and its claims.
+     * @throws SecurityException If the token is invalid or cannot be verified.
+     */
+    @Override
+    public VerifiedToken verify(String jwt) {
+
+        final Jws<Claims> claimsJws = jwtParser.parseSignedClaims(jwt);
+
+        return VerifiedToken.builder()
+                .jwt(jwt)
+                .header(claimsJws.getHeader())
+                .payload(claimsJws.getPayload())
+                .build();
+    }
+
     /**
      * Verifies the validity of the provided JWT token.
      * This method checks if the provided JWT token is valid, including verifying its signature, expiration, and other factors.
@@ -182,10 +267,7 @@ public class TokenServiceImpl implements TokenService {
      */
     @Override
     public void verifyAndValidate(String jwt) {
-        Jwts.parser()
-                .verifyWith(tokenConfigurationParameter.getPublicKey())
-                .build()
-                .parseSignedClaims(jwt);
+        jwtParser.parseSignedClaims(jwt);
     }
 
     /**
@@ -211,10 +293,7 @@ public class TokenServiceImpl implements TokenService {
      */
     @Override
     public Jws<Claims> getClaims(String jwt) {
-        return Jwts.parser()
-                .verifyWith(tokenConfigurationParameter.getPublicKey())
-                .build()
-                .parseSignedClaims(jwt);
+        return jwtParser.parseSignedClaims(jwt);
     }
 
     /**
@@ -226,10 +305,7 @@ public class TokenServiceImpl implements TokenService {
      */
     @Override
     public Claims getPayload(String jwt) {
-        return Jwts.parser()
-                .verifyWith(tokenConfigurationParameter.getPublicKey())
-                .build()
-                .parseSignedClaims(jwt)
+        return jwtParser.parseSignedClaims(jwt)
                 .getPayload();
     }
 
@@ -242,12 +318,37 @@ public class TokenServiceImpl implements TokenService {
      */
     @Override
     public String getId(String jwt) {
-        return Jwts.parser()
-                .verifyWith(tokenConfigurationParameter.getPublicKey())
-                .build()
-                .parseSignedClaims(jwt)
+        return jwtParser.parseSignedClaims(jwt)
                 .getPayload()
                 .getId();
     }
 
+    /**
+     * Locates the public key to verify a token with, based on the {@code kid} header of the token.
+     * Tokens without a {@code kid} header, which were issued before key IDs were introduced,
+     * are verified with the current public key.
+     *
+     * @param header The header of the token to verify.
+     * @return The public key registered for the key ID of the token.
+     * @throws UnsupportedJwtException If the token was signed with an unknown key ID.
+     */
+    private Key locateVerificationKey(final Header header) {
+
+        final String keyId = header instanceof ProtectedHeader protectedHeader
+                ? protectedHeader.getKeyId()
+                : null;
+
+        if (keyId == null) {
+            return defaultPublicKey;
+        }
+
+        final PublicKey publicKey = publicKeys.get(keyId);
+
+        if (publicKey == null) {
+            throw new UnsupportedJwtException("Unknown key id: " + keyId);
+        }
+
+        return publicKey;
+    }
+
 }
@@ -0,0 +1,156 @@
+package com.example.todowithcouchbase.auth.service.impl;
+
+import com.example.todowithcouchbase.auth.exception.UserAlreadyExistException;
+import com.example.todowithcouchbase.auth.model.entity.UserEmailEntity;
+import com.example.todowithcouchbase.auth.model.entity.UserEntity;
+import com.example.todowithcouchbase.auth.repository.UserEmailRepository;
+import com.example.todowithcouchbase.auth.repository.UserRepository;
+import com.example.todowithcouchbase.auth.service.UserEmailService;
+import com.example.todowithcouchbase.common.model.BackfillPage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service implementation for managing the email lookup documents of users.
+ * Each lookup document is keyed by the normalized email address, or its hash if it is too long,
+ * and holds the ID of the user registered with it.
+ * Reserving an email address is a key-value insert that Couchbase rejects if the key already exists, and
+ * finding a user ID by email is a key-value get. Users registered before lookup documents were introduced
+ * are backfilled by a one-off migration that an administrator runs page by page, so no node scans every user on startup.
+ * Until then, a missing lookup document falls back to an email query, and the lookup document is created
+ * for the user found that way.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserEmailServiceImpl implements UserEmailService {
+
+    private final UserEmailRepository userEmailRepository;
+    private final UserRepository userRepository;
+
+    /**
+     * Reserves the given email address for the given user.
+     *
+     * @param email  The email address to reserve.
+     * @param userId The ID of the user the email address belongs to.
+     * @throws UserAlreadyExistException If the email address is already taken.
+     */
+    @Override
+    public void reserve(String email, String userId) {
+
+        if (findUserIdByEmail(email).isPresent()) {
+            throw new UserAlreadyExistException("The email is already used for another user : " + email);
+        }
+
+        try {
+            userEmailRepository.insert(
+                    UserEmailEntity.builder()
+                            .id(UserEmailEntity.toKey(email))
+                            .userId(userId)
+                            .build()
+            );
+        } catch (DuplicateKeyException exception) {
+            throw new UserAlreadyExistException("The email is already used for another user : " + email);
+        }
+
+    }
+
+    /**
+     * Releases the reservation of the given email address.
+     *
+     * @param email The email address to release.
+     */
+    @Override
+    public void release(String email) {
+        userEmailRepository.deleteById(UserEmailEntity.toKey(email));
+    }
+
+    /**
+     * Finds the ID of the user registered with the given email address.
+     * If there is no lookup document, the user is searched with an email query, and the lookup document
+     * is created for the user found, so later lookups of the same email address are key-value gets.
+     *
+     * @param email The email address to look up.
+     * @return An {@link Optional} containing the user ID, or {@link Optional#empty()} if no user is registered with it.
+     */
+    @Override
+    public Optional<String> findUserIdByEmail(String email) {
+
+        final Optional<String> userId = userEmailRepository.findById(UserEmailEntity.toKey(email))
+                .map(UserEmailEntity::getUserId);
+
+        if (userId.isPresent()) {
+            return userId;
+        }
+
+        return userRepository.findUserEntityByEmail(email)
+                .map(userEntity -> {
+                    createLookup(userEntity);
+                    return userEntity.getId();
+                });
+
+    }
+
+    /**
+     * Creates the missing lookup documents for one page of the users that were registered before lookup
+     * documents were introduced.
+     * Each lookup document is a plain insert, so existing lookup documents are left untouched and running
+     * the same page again, or on several nodes at once, is safe.
+     *
+     * @param after The document key of the last user of the previous page, or {@code null} for the first page.
+     * @param limit The maximum number of users to scan.
+     * @return A {@link BackfillPage} holding the number of scanned users, the number of created lookup documents,
+     *         and the key to continue after, which is {@code null} once every user has been scanned.
+     */
+    @Override
+    public BackfillPage backfillUserEmails(String after, int limit) {
+
+        final List<UserEntity> userEntities = userRepository.findPageAfterId(after == null ? "" : after, limit);
+
+        int createdCount = 0;
+        for (final UserEntity userEntity : userEntities) {
+            if (createLookup(userEntity)) {
+                createdCount++;
+            }
+        }
+
+        final String nextAfter = userEntities.size() < limit
+                ? null
+                : userEntities.get(userEntities.size() - 1).getId();
+
+        log.info("User email backfill scanned {} users and created {} lookup documents", userEntities.size(), createdCount);
+
+        return BackfillPage.builder()
+                .scannedCount(userEntities.size())
+                .createdCount(createdCount)
+                .nextAfter(nextAfter)
+                .build();
+
+    }
+
+    /**
+     * Creates the lookup document of the given user unless it already exists.
+     *
+     * @param userEntity The user to create the lookup document for.
+     * @return {@code true} if the lookup document was created, {@code false} if it already existed.
+     */
+    private boolean createLookup(final UserEntity userEntity) {
+        try {
+            userEmailRepository.insert(
+                    UserEmailEntity.builder()
+                            .id(UserEmailEntity.toKey(userEntity.getEmail()))
+                            .userId(userEntity.getId())
+                            .build()
+            );
+            return true;
+        } catch (DuplicateKeyException exception) {
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.example.todowithcouchbase.common.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation that sets the timeout of the asynchronous request of a REST controller method, such as one returning a
+ * {@link org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody}.
+ * Methods without this annotation use the default timeout, which is {@code spring.mvc.async.request-timeout}
+ * or the 30 seconds of the servlet container. It is applied by {@link AsyncTimeoutInterceptor}.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AsyncTimeout {
+
+    /**
+     * Returns the timeout of the asynchronous request in milliseconds, which may be a property placeholder
+     * such as {@code ${task.export.timeout-millis:1800000}}. A value of zero or less means no timeout.
+     *
+     * @return The timeout of the asynchronous request in milliseconds.
+     */
+    String value();
+
+}
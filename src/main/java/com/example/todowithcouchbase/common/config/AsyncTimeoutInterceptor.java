@@ -0,0 +1,54 @@
+package com.example.todowithcouchbase.common.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.env.Environment;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Interceptor that applies the timeout of {@link AsyncTimeout} to the asynchronous request of the annotated
+ * REST controller method.
+ * It runs right before the asynchronous request is started, after Spring MVC has applied its default timeout,
+ * and finds the handler method among the attributes of the request.
+ */
+@RequiredArgsConstructor
+public class AsyncTimeoutInterceptor implements CallableProcessingInterceptor {
+
+    private final Environment environment;
+
+    /**
+     * Sets the timeout of the asynchronous request if its handler method is annotated with {@link AsyncTimeout}.
+     *
+     * @param request The current request, which is the asynchronous request about to be started.
+     * @param task    The task that is about to run concurrently.
+     * @param <T>     The type of the result of the task.
+     */
+    @Override
+    public <T> void beforeConcurrentHandling(final NativeWebRequest request, final Callable<T> task) {
+
+        if (!(request instanceof AsyncWebRequest asyncWebRequest)) {
+            return;
+        }
+
+        final Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+
+        final AsyncTimeout asyncTimeout = handlerMethod.getMethodAnnotation(AsyncTimeout.class);
+        if (asyncTimeout == null) {
+            return;
+        }
+
+        final long timeoutMillis = Long.parseLong(environment.resolveRequiredPlaceholders(asyncTimeout.value()).trim());
+        asyncWebRequest.setTimeout(timeoutMillis > 0 ? timeoutMillis : -1L);
+
+    }
+
+}
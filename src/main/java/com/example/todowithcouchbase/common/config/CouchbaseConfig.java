@@ -9,13 +9,20 @@ import com.couchbase.client.java.env.ClusterEnvironment;
 import com.couchbase.client.java.manager.bucket.BucketManager;
 import com.couchbase.client.java.manager.bucket.BucketSettings;
 import com.couchbase.client.java.manager.bucket.BucketType;
+import com.example.todowithcouchbase.auth.model.entity.InvalidTokenEntity;
+import com.example.todowithcouchbase.auth.model.entity.RevocationEpochEntity;
+import com.example.todowithcouchbase.auth.model.entity.UserEntity;
 import com.example.todowithcouchbase.common.exception.BucketConfigException;
+import com.example.todowithcouchbase.common.model.CouchbaseIndexDefinition;
+import com.example.todowithcouchbase.common.util.CouchbaseCollectionUtil;
+import com.example.todowithcouchbase.task.model.entity.TaskEntity;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.couchbase.config.AbstractCouchbaseConfiguration;
 
 import java.time.Duration;
+import java.util.List;
 
 /**
  * Configuration class for setting up the Couchbase connection and bucket management.
@@ -113,7 +120,8 @@ public class CouchbaseConfig extends AbstractCouchbaseConfiguration {
 
     /**
      * Creates and configures the {@link Bucket} bean for the specified Couchbase bucket.
-     * If the bucket does not exist, it creates the bucket and the necessary scopes and collections.
+     * If the bucket does not exist, it is created. The scopes and collections the application needs are then
+     * created if missing, whether or not the bucket already existed.
      *
      * @return The {@link Bucket} instance connected to the specified Couchbase bucket.
      */
@@ -130,23 +138,39 @@ public class CouchbaseConfig extends AbstractCouchbaseConfiguration {
 
             log.info("Creating Couchbase bucket: {}", getBucketName());
             bucketManager.createBucket(bucketSettings);
-
-            Bucket bucket = cluster.bucket(getBucketName());
-            bucket.waitUntilReady(Duration.ofSeconds(10));
-            createScopeAndCollection(bucket, couchbaseProperties.getScopes().getUserScope(), couchbaseProperties.getCollections().getUserCollection());
-            createScopeAndCollection(bucket, couchbaseProperties.getScopes().getTaskScope(), couchbaseProperties.getCollections().getTaskCollection());
-            createScopeAndCollection(bucket, couchbaseProperties.getScopes().getInvalidTokenScope(), couchbaseProperties.getCollections().getInvalidTokenCollection());
-            createScopeAndCollection(bucket, couchbaseProperties.getScopes().getLogScope(), couchbaseProperties.getCollections().getLogCollection());
-            return bucket;
         } else {
             log.info("Couchbase bucket '{}' already exists", getBucketName());
         }
-        return cluster.bucket(getBucketName());
+
+        Bucket bucket = cluster.bucket(getBucketName());
+        bucket.waitUntilReady(Duration.ofSeconds(10));
+        createScopesAndCollections(bucket);
+        return bucket;
+    }
+
+    /**
+     * Creates the scopes and collections of the application that are missing in the given {@link Bucket}.
+     *
+     * @param bucket The {@link Bucket} where the scopes and collections will be created.
+     */
+    private void createScopesAndCollections(Bucket bucket) {
+        final CouchbaseProperties.Scopes scopes = couchbaseProperties.getScopes();
+        final CouchbaseProperties.Collections collections = couchbaseProperties.getCollections();
+
+        createScopeAndCollection(bucket, scopes.getUserScope(), collections.getUserCollection());
+        createScopeAndCollection(bucket, scopes.getUserScope(), collections.getUserEmailCollection());
+        createScopeAndCollection(bucket, scopes.getTaskScope(), collections.getTaskCollection());
+        createScopeAndCollection(bucket, scopes.getTaskScope(), collections.getTaskNameCollection());
+        createScopeAndCollection(bucket, scopes.getInvalidTokenScope(), collections.getInvalidTokenCollection());
+        createScopeAndCollection(bucket, scopes.getInvalidTokenScope(), collections.getRevocationEpochCollection());
+        createScopeAndCollection(bucket, scopes.getLogScope(), collections.getLogCollection());
+        createScopeAndCollection(bucket, scopes.getLogScope(), collections.getLogPolicyCollection());
     }
 
     /**
      * Creates the specified scope and collection in the given {@link Bucket}.
-     * If the scope does not exist, it will be created. Similarly, the collection will be created if it does not exist.
+     * If the scope does not exist, it will be created. Similarly, the collection will be created if it does not exist,
+     * and waited for until it is usable.
      *
      * @param bucket The {@link Bucket} where the scope and collection will be created.
      * @param scopeName The name of the scope to be created.
@@ -154,12 +178,7 @@ public class CouchbaseConfig extends AbstractCouchbaseConfiguration {
      */
     private void createScopeAndCollection(Bucket bucket, String scopeName, String collectionName) {
         try {
-            Scope scope = bucket.scope(scopeName);
-            if (scope == null) {
-                log.info("Scope {} does not exist. Creating it now", scopeName);
-                bucket.collections().createScope(scopeName);
-                bucket.collections().createCollection(scopeName, collectionName);
-            }
+            CouchbaseCollectionUtil.createCollectionIfMissing(bucket, scopeName, collectionName);
         } catch (Exception e) {
             log.error("Error creating scope or collection. Scope: {}, Collection: {}", scopeName, collectionName, e);
             throw new BucketConfigException();
@@ -206,5 +225,127 @@ public class CouchbaseConfig extends AbstractCouchbaseConfiguration {
         return couchbaseBucket().scope(couchbaseProperties.getScopes().getLogScope());
     }
 
-}
+    /**
+     * Declares the secondary indexes the queries of the application need.
+     * Lookups by ID, task name, token ID and email are key-value reads and need no index; the remaining queries
+     * either select whole entities of a collection or page through the tasks in keyset order.
+     * The email query on users only serves users that have no email lookup document yet.
+     * The user email, task name, log and log policy collections are only ever read and written by key,
+     * so no index is declared on them.
+     * Fields are indexed under the name they are stored with, which is the {@code @Field} name of the entity property,
+     * so that the queries Spring Data derives from the repository methods can use them.
+     * Every index is restricted to the type of the entity, in the same way as the filter Spring Data adds to its queries,
+     * and the index on the type itself covers counting the documents of a collection.
+     *
+     * @return The list of {@link CouchbaseIndexDefinition} objects to create at startup.
+     */
+    @Bean
+    public List<CouchbaseIndexDefinition> couchbaseIndexDefinitions() {
+        final CouchbaseProperties.Scopes scopes = couchbaseProperties.getScopes();
+        final CouchbaseProperties.Collections collections = couchbaseProperties.getCollections();
+
+        final String taskCondition = CouchbaseIndexDefinition.classCondition(TaskEntity.class);
+        final String invalidTokenCondition = CouchbaseIndexDefinition.classCondition(InvalidTokenEntity.class);
+
+        return List.of(
+                CouchbaseIndexDefinition.builder()
+                        .name("idx_task_class")
+                        .scope(scopes.getTaskScope())
+                        .collection(collections.getTaskCollection())
+                        .field("_class")
+                        .query("SELECT COUNT(*) FROM %s WHERE " + taskCondition)
+                        .build(),
+                CouchbaseIndexDefinition.builder()
+                        .name("idx_task_created_at_id")
+                        .scope(scopes.getTaskScope())
+                        .collection(collections.getTaskCollection())
+                        .field("createdAt")
+                        .field("META().id")
+                        .condition(taskCondition)
+                        .query("SELECT META().id FROM %s WHERE " + taskCondition
+                                + " AND createdAt IS NOT MISSING ORDER BY createdAt, META().id LIMIT 10")
+                        .build(),
+                CouchbaseIndexDefinition.builder()
+                        .name("idx_task_id")
+                        .scope(scopes.getTaskScope())
+                        .collection(collections.getTaskCollection())
+                        .field("META().id")
+                        .condition(taskCondition)
+                        .query("SELECT META().id FROM %s WHERE " + taskCondition
+                                + " AND META().id > \"\" ORDER BY META().id LIMIT 10")
+                        .build(),
+                CouchbaseIndexDefinition.builder()
+                        .name("idx_invalid_token_expires_at")
+                        .scope(scopes.getInvalidTokenScope())
+                        .collection(collections.getInvalidTokenCollection())
+                        .field("`EXPIRES_AT`")
+                        .condition(invalidTokenCondition)
+                        .query("SELECT META().id FROM %s WHERE " + invalidTokenCondition + " AND `EXPIRES_AT` > 0")
+                        .build(),
+                CouchbaseIndexDefinition.builder()
+                        .name("idx_revocation_epoch_class")
+                        .scope(scopes.getInvalidTokenScope())
+                        .collection(collections.getRevocationEpochCollection())
+                        .field("_class")
+                        .query("SELECT META().id FROM %s WHERE "
+                                + CouchbaseIndexDefinition.classCondition(RevocationEpochEntity.class))
+                        .build(),
+                CouchbaseIndexDefinition.builder()
+                        .name("idx_revocation_epoch_updated_at")
+                        .scope(scopes.getInvalidTokenScope())
+                        .collection(collections.getRevocationEpochCollection())
+                        .field("updatedAt")
+                        .condition(CouchbaseIndexDefinition.classCondition(RevocationEpochEntity.class))
+                        .query("SELECT META().id FROM %s WHERE "
+                                + CouchbaseIndexDefinition.classCondition(RevocationEpochEntity.class)
+                                + " AND updatedAt > 0")
+                        .build(),
+                CouchbaseIndexDefinition.builder()
+                        .name("idx_user_class")
+                        .scope(scopes.getUserScope())
+                        .collection(collections.getUserCollection())
+                        .field("_class")
+                        .query("SELECT META().id FROM %s WHERE "
+                                + CouchbaseIndexDefinition.classCondition(UserEntity.class))
+                        .build(),
+                CouchbaseIndexDefinition.builder()
+                        .name("idx_user_id")
+                        .scope(scopes.getUserScope())
+                        .collection(collections.getUserCollection())
+                        .field("META().id")
+                        .condition(CouchbaseIndexDefinition.classCondition(UserEntity.class))
+                        .query("SELECT META().id FROM %s WHERE "
+                                + CouchbaseIndexDefinition.classCondition(UserEntity.class)
+                                + " AND META().id > \"\" ORDER BY META().id LIMIT 10")
+                        .build(),
+                CouchbaseIndexDefinition.builder()
+                        .name("idx_user_email")
+                        .scope(scopes.getUserScope())
+                        .collection(collections.getUserCollection())
+                        .field("`EMAIL`")
+                        .condition(CouchbaseIndexDefinition.classCondition(UserEntity.class))
+                        .query("SELECT META().id FROM %s WHERE "
+                                + CouchbaseIndexDefinition.classCondition(UserEntity.class)
+                                + " AND `EMAIL` = \"user@example.com\"")
+                        .build()
+        );
+    }
 
+    /**
+     * Provides the {@link CouchbaseIndexManager} that creates the declared secondary indexes once the application is ready.
+     * Missing indexes are created with a deferred build and built together, and queries that would still use
+     * a primary scan are reported.
+     *
+     * @return The {@link CouchbaseIndexManager} for the bucket of the application.
+     */
+    @Bean
+    public CouchbaseIndexManager couchbaseIndexManager() {
+        return new CouchbaseIndexManager(
+                couchbaseCluster(),
+                couchbaseBucket(),
+                couchbaseIndexDefinitions(),
+                Duration.ofMillis(couchbaseProperties.getIndexes().getBuildTimeoutMillis())
+        );
+    }
+
+}
@@ -6,6 +6,7 @@ import org.springframework.context.event.EventListener;
 import org.springframework.data.couchbase.core.mapping.event.BeforeConvertEvent;
 import org.springframework.data.couchbase.core.mapping.event.BeforeSaveEvent;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Component;
@@ -58,7 +59,19 @@ public class CouchbaseEntityListener {
      * @return the email of the current user or "anonymousUser" if not authenticated
      */
     private String getCurrentUser() {
-        return Optional.ofNullable(SecurityContextHolder.getContext().getAuthentication())
+        return getUser(SecurityContextHolder.getContext());
+    }
+
+    /**
+     * Retrieves the email of the user authenticated in the given security context, the same way the audit fields
+     * are filled. This lets an entity written later, outside of the request, name the user of that request.
+     *
+     * @param securityContext the security context of the request
+     * @return the email of the user or "anonymousUser" if not authenticated
+     */
+    public static String getUser(SecurityContext securityContext) {
+        return Optional.ofNullable(securityContext)
+                .map(SecurityContext::getAuthentication)
                 .map(Authentication::getPrincipal)
                 .filter(user -> !"anonymousUser".equals(user))
                 .map(Jwt.class::cast)
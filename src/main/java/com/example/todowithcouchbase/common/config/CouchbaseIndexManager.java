@@ -0,0 +1,138 @@
+package com.example.todowithcouchbase.common.config;
+
+import com.couchbase.client.java.Bucket;
+import com.couchbase.client.java.Cluster;
+import com.couchbase.client.java.json.JsonObject;
+import com.couchbase.client.java.manager.query.CollectionQueryIndexManager;
+import com.couchbase.client.java.manager.query.QueryIndex;
+import com.example.todowithcouchbase.common.model.CouchbaseIndexDefinition;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Creates the secondary (GSI) indexes declared by the application and reports queries that would use a primary scan.
+ * When the application is ready, the missing indexes of every collection are created with a deferred build,
+ * built together in one pass per collection, and awaited up to the configured timeout.
+ * Afterwards the query each index is declared for is explained, and every query whose plan still contains a
+ * primary scan is logged as a warning. Existing indexes are left untouched, so running this on several nodes is safe.
+ */
+@Slf4j
+public class CouchbaseIndexManager {
+
+    private static final String PRIMARY_SCAN_OPERATOR = "\"#operator\":\"PrimaryScan";
+
+    private final Cluster cluster;
+    private final Bucket bucket;
+    private final List<CouchbaseIndexDefinition> indexDefinitions;
+    private final Duration buildTimeout;
+
+    /**
+     * Constructs a new {@code CouchbaseIndexManager}.
+     *
+     * @param cluster          The cluster the index statements are run on.
+     * @param bucket           The bucket holding the indexed collections.
+     * @param indexDefinitions The indexes the application needs.
+     * @param buildTimeout     The maximum time to wait for the indexes of one collection to come online.
+     */
+    public CouchbaseIndexManager(final Cluster cluster,
+                                 final Bucket bucket,
+                                 final List<CouchbaseIndexDefinition> indexDefinitions,
+                                 final Duration buildTimeout) {
+        this.cluster = cluster;
+        this.bucket = bucket;
+        this.indexDefinitions = indexDefinitions;
+        this.buildTimeout = buildTimeout;
+    }
+
+    /**
+     * Creates the missing indexes and reports the queries that would use a primary scan.
+     * Failures are logged instead of stopping the application, since queries still work without the indexes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void createMissingIndexes() {
+
+        final Map<String, List<CouchbaseIndexDefinition>> definitionsByKeyspace = indexDefinitions.stream()
+                .collect(Collectors.groupingBy(
+                        definition -> definition.keyspace(bucket.name()),
+                        LinkedHashMap::new,
+                        Collectors.toList()
+                ));
+
+        definitionsByKeyspace.forEach(this::createMissingIndexes);
+
+        reportPrimaryScans();
+
+    }
+
+    /**
+     * Creates the missing indexes of one collection, builds them and waits until they are online.
+     *
+     * @param keyspace    The keyspace of the collection.
+     * @param definitions The indexes declared on the collection.
+     */
+    private void createMissingIndexes(final String keyspace, final List<CouchbaseIndexDefinition> definitions) {
+
+        try {
+            final CouchbaseIndexDefinition first = definitions.get(0);
+            final CollectionQueryIndexManager queryIndexManager = bucket.scope(first.getScope())
+                    .collection(first.getCollection())
+                    .queryIndexes();
+
+            final Set<String> existingIndexNames = queryIndexManager.getAllIndexes().stream()
+                    .map(QueryIndex::name)
+                    .collect(Collectors.toSet());
+
+            final List<CouchbaseIndexDefinition> missingDefinitions = definitions.stream()
+                    .filter(definition -> !existingIndexNames.contains(definition.getName()))
+                    .toList();
+
+            for (final CouchbaseIndexDefinition definition : missingDefinitions) {
+                log.info("Creating index {} on {}", definition.getName(), keyspace);
+                cluster.query(definition.toCreateStatement(bucket.name()));
+            }
+
+            if (!missingDefinitions.isEmpty()) {
+                queryIndexManager.buildDeferredIndexes();
+            }
+
+            queryIndexManager.watchIndexes(
+                    definitions.stream().map(CouchbaseIndexDefinition::getName).toList(),
+                    buildTimeout
+            );
+        } catch (Exception e) {
+            log.error("Indexes on {} could not be created", keyspace, e);
+        }
+
+    }
+
+    /**
+     * Explains the query of every declared index and logs the queries whose plan contains a primary scan.
+     */
+    private void reportPrimaryScans() {
+
+        for (final CouchbaseIndexDefinition definition : indexDefinitions) {
+            final String statement = definition.toExplainStatement(bucket.name());
+            try {
+                final boolean primaryScan = cluster.query(statement).rowsAsObject().stream()
+                        .map(JsonObject::toString)
+                        .anyMatch(plan -> plan.contains(PRIMARY_SCAN_OPERATOR));
+
+                if (primaryScan) {
+                    log.warn("Query would use a primary scan instead of index {}: {}", definition.getName(), statement);
+                }
+            } catch (Exception e) {
+                log.error("Query could not be explained: {}", statement, e);
+            }
+        }
+
+    }
+
+}
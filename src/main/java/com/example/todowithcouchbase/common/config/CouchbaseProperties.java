@@ -41,9 +41,23 @@ public class CouchbaseProperties {
     @Data
     public static class Collections {
         private String userCollection;
+        private String userEmailCollection;
         private String taskCollection;
+        private String taskNameCollection;
         private String invalidTokenCollection;
+        private String revocationEpochCollection;
         private String logCollection;
+        private String logPolicyCollection;
+    }
+
+    private Indexes indexes = new Indexes();
+
+    /**
+     * Nested class that holds the settings used when the secondary indexes are created at startup.
+     */
+    @Data
+    public static class Indexes {
+        private long buildTimeoutMillis = 60000;
     }
 
 }
@@ -0,0 +1,15 @@
+package com.example.todowithcouchbase.common.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration class that enables Spring's scheduled task execution.
+ * Background jobs such as refreshing node-local caches from Couchbase are declared with
+ * {@link org.springframework.scheduling.annotation.Scheduled} on the beans that own them.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+}
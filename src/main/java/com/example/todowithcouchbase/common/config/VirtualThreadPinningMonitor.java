@@ -0,0 +1,133 @@
+package com.example.todowithcouchbase.common.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * Component that reports virtual threads pinned to their carrier thread, captured through the JFR
+ * {@code jdk.VirtualThreadPinned} event. A virtual thread is pinned when it blocks while it cannot be unmounted,
+ * for example inside a {@code synchronized} block or a native frame, and then holds a carrier thread for as long
+ * as it blocks. Every pinning longer than the configured threshold is logged with the stack trace that caused it
+ * and counted in Micrometer metrics.
+ * The monitor is only created when {@code diagnostics.virtual-thread-pinning.enabled} is {@code true}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "diagnostics.virtual-thread-pinning", name = "enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    static final String VIRTUAL_THREAD_PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final String METRIC_PREFIX = "jvm.threads.virtual.pinned";
+    private static final int MAX_LOGGED_FRAMES = 16;
+
+    private final Duration threshold;
+    private final Counter pinnedCounter;
+    private final Timer pinnedTimer;
+
+    private RecordingStream recordingStream;
+
+    /**
+     * Constructs a new {@code VirtualThreadPinningMonitor}.
+     *
+     * @param thresholdMillis The minimum time in milliseconds a virtual thread has to be pinned to be reported.
+     * @param meterRegistry   The registry the pinning metrics are exported to.
+     */
+    public VirtualThreadPinningMonitor(
+            @Value("${diagnostics.virtual-thread-pinning.threshold-millis:20}") final long thresholdMillis,
+            final MeterRegistry meterRegistry) {
+
+        this.threshold = Duration.ofMillis(thresholdMillis);
+
+        this.pinnedCounter = Counter.builder(METRIC_PREFIX)
+                .description("Number of times a virtual thread was pinned to its carrier thread longer than the threshold")
+                .register(meterRegistry);
+
+        this.pinnedTimer = Timer.builder(METRIC_PREFIX + ".time")
+                .description("Time virtual threads were pinned to their carrier thread")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts streaming the pinning events of this JVM once the application is ready.
+     * The stream is consumed on its own thread, so reporting does not run on the pinned threads.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(VIRTUAL_THREAD_PINNED_EVENT)
+                .withThreshold(threshold)
+                .withStackTrace();
+        recordingStream.onEvent(VIRTUAL_THREAD_PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+
+        log.info("Virtual thread pinning monitor started with a threshold of {} ms", threshold.toMillis());
+    }
+
+    /**
+     * Stops streaming the pinning events.
+     */
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    /**
+     * Counts the given pinning event and logs it with the frames that pinned the thread.
+     *
+     * @param event The {@code jdk.VirtualThreadPinned} event.
+     */
+    void onPinned(final RecordedEvent event) {
+        pinnedCounter.increment();
+        pinnedTimer.record(event.getDuration());
+
+        log.warn("Virtual thread was pinned to its carrier thread for {} ms at:\n{}",
+                event.getDuration().toMillis(), format(event.getStackTrace()));
+    }
+
+    /**
+     * Formats the top frames of the given stack trace, one frame per line.
+     *
+     * @param stackTrace The recorded stack trace, or {@code null} if none was recorded.
+     * @return The formatted frames.
+     */
+    private static String format(final RecordedStackTrace stackTrace) {
+
+        if (stackTrace == null) {
+            return "\tno stack trace recorded";
+        }
+
+        return stackTrace.getFrames().stream()
+                .limit(MAX_LOGGED_FRAMES)
+                .map(VirtualThreadPinningMonitor::format)
+                .collect(Collectors.joining("\n"));
+    }
+
+    /**
+     * Formats a single frame as {@code class.method:line}.
+     *
+     * @param frame The recorded frame.
+     * @return The formatted frame.
+     */
+    private static String format(final RecordedFrame frame) {
+        return "\t" + frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+}
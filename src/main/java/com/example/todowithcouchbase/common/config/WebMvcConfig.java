@@ -0,0 +1,30 @@
+package com.example.todowithcouchbase.common.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuration class that customizes Spring MVC.
+ * It lets REST controller methods that answer asynchronously, such as the task export, set their own timeout
+ * with {@link AsyncTimeout} instead of being cut off by the default timeout of every asynchronous request.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final Environment environment;
+
+    /**
+     * Registers the {@link AsyncTimeoutInterceptor} for asynchronous requests.
+     *
+     * @param configurer The configurer of the asynchronous request processing.
+     */
+    @Override
+    public void configureAsyncSupport(final AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new AsyncTimeoutInterceptor(environment));
+    }
+
+}
@@ -169,6 +169,25 @@ class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Handles PasswordHashingUnavailableException, which is thrown when the password hashing queue is full.
+     * The response contains the error message and a 503 SERVICE_UNAVAILABLE status.
+     *
+     * @param ex The PasswordHashingUnavailableException that is thrown.
+     * @return ResponseEntity containing the custom error message.
+     */
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    protected ResponseEntity<CustomError> handlePasswordHashingUnavailableException(final PasswordHashingUnavailableException ex) {
+        CustomError error = CustomError.builder()
+                .time(LocalDateTime.now())
+                .httpStatus(PasswordHashingUnavailableException.STATUS)
+                .header(CustomError.Header.PROCESS_ERROR.getName())
+                .message(ex.getMessage())
+                .isSuccess(false)
+                .build();
+        return new ResponseEntity<>(error, PasswordHashingUnavailableException.STATUS);
+    }
+
     /**
      * Handles TokenAlreadyInvalidatedException, which is thrown when a token has already been invalidated.
      * The response contains the error message and a 400 BAD_REQUEST status.
@@ -260,6 +279,45 @@ class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles InvalidCursorException, which is thrown when a paging cursor cannot be decoded.
+     * The response contains the error message and a 400 BAD_REQUEST status.
+     *
+     * @param ex The InvalidCursorException that is thrown.
+     * @return ResponseEntity containing the custom error message.
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    protected ResponseEntity<CustomError> handleInvalidCursorException(final InvalidCursorException ex) {
+        CustomError error = CustomError.builder()
+                .time(LocalDateTime.now())
+                .httpStatus(HttpStatus.BAD_REQUEST)
+                .header(CustomError.Header.VALIDATION_ERROR.getName())
+                .message(ex.getMessage())
+                .isSuccess(false)
+                .build();
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles PreconditionFailedException, which is thrown when a conditional request cannot be applied
+     * because the stored document has a different version than the one the client expected.
+     * The response contains the error message and a 412 PRECONDITION_FAILED status.
+     *
+     * @param ex The PreconditionFailedException that was thrown.
+     * @return ResponseEntity containing the custom error message and PRECONDITION_FAILED status.
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    protected ResponseEntity<CustomError> handlePreconditionFailedException(final PreconditionFailedException ex) {
+        CustomError error = CustomError.builder()
+                .time(LocalDateTime.now())
+                .httpStatus(PreconditionFailedException.STATUS)
+                .header(CustomError.Header.PRECONDITION_FAILED.getName())
+                .message(ex.getMessage())
+                .isSuccess(false)
+                .build();
+        return new ResponseEntity<>(error, PreconditionFailedException.STATUS);
+    }
+
     /**
      * Handles UnauthorizedAttemptException, which is thrown when an unauthorized access attempt is detected.
      * The response contains an "Unauthorized" message and a 401 UNAUTHORIZED status.
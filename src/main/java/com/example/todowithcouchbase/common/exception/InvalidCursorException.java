@@ -0,0 +1,39 @@
+package com.example.todowithcouchbase.common.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.io.Serial;
+
+/**
+ * Custom exception thrown when a paging cursor cannot be decoded.
+ * This exception is typically used when a client sends a cursor that was not issued by the application
+ * or was altered on the way.
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = -2838540418315418093L;
+
+    public static final HttpStatus STATUS = HttpStatus.BAD_REQUEST;
+
+    private static final String DEFAULT_MESSAGE = """
+            Paging cursor is not valid!
+            """;
+
+    /**
+     * Constructs a new InvalidCursorException with the default error message.
+     */
+    public InvalidCursorException() {
+        super(DEFAULT_MESSAGE);
+    }
+
+    /**
+     * Constructs a new InvalidCursorException with a custom error message.
+     *
+     * @param message the custom message to be appended to the default error message.
+     */
+    public InvalidCursorException(final String message) {
+        super(DEFAULT_MESSAGE + " " + message);
+    }
+
+}
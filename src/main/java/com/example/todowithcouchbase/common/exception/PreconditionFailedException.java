@@ -0,0 +1,39 @@
+package com.example.todowithcouchbase.common.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.io.Serial;
+
+/**
+ * Custom exception thrown when a conditional request cannot be applied.
+ * This exception is typically used when the version given in an {@code If-Match} header no longer matches
+ * the stored document, or when the document was changed by another request while it was being written.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 5349152236580513474L;
+
+    public static final HttpStatus STATUS = HttpStatus.PRECONDITION_FAILED;
+
+    private static final String DEFAULT_MESSAGE = """
+            Precondition failed!
+            """;
+
+    /**
+     * Constructs a new PreconditionFailedException with the default error message.
+     */
+    public PreconditionFailedException() {
+        super(DEFAULT_MESSAGE);
+    }
+
+    /**
+     * Constructs a new PreconditionFailedException with a custom error message.
+     *
+     * @param message the custom message to be appended to the default error message.
+     */
+    public PreconditionFailedException(final String message) {
+        super(DEFAULT_MESSAGE + " " + message);
+    }
+
+}
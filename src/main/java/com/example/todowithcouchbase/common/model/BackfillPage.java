@@ -0,0 +1,20 @@
+package com.example.todowithcouchbase.common.model;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Represents the outcome of backfilling one page of a one-off migration.
+ * A migration walks a collection in document key order, one page per call, so no call holds more than one page
+ * in memory or runs longer than one page takes. The caller passes the returned key to the next call and is done
+ * once no key is returned.
+ */
+@Getter
+@Builder
+public class BackfillPage {
+
+    private final int scannedCount;
+    private final int createdCount;
+    private final String nextAfter;
+
+}
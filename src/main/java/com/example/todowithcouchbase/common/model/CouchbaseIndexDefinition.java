@@ -0,0 +1,86 @@
+package com.example.todowithcouchbase.common.model;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+
+import java.util.List;
+
+/**
+ * A class declaring a secondary (GSI) index the application needs on one collection.
+ * Besides the index keys and an optional partial-index condition, each definition names a query the index
+ * is meant to serve, so that it can be checked with {@code EXPLAIN} that the query does not fall back to a primary scan.
+ * Statements use {@code %s} as the placeholder for the keyspace of the collection.
+ */
+@Getter
+@Builder
+public class CouchbaseIndexDefinition {
+
+    private final String name;
+
+    private final String scope;
+
+    private final String collection;
+
+    @Singular
+    private final List<String> fields;
+
+    private final String condition;
+
+    private final String query;
+
+    /**
+     * Builds the condition that matches the documents of the given entity class,
+     * in the same way as the type filter Spring Data adds to its queries.
+     *
+     * @param entityClass The entity class stored in the collection.
+     * @return The condition on the type key of the documents.
+     */
+    public static String classCondition(final Class<?> entityClass) {
+        return "_class = \"" + entityClass.getName() + "\"";
+    }
+
+    /**
+     * Builds the fully qualified keyspace of the collection of this index.
+     *
+     * @param bucketName The name of the bucket.
+     * @return The keyspace, such as {@code `bucket`.`scope`.`collection`}.
+     */
+    public String keyspace(final String bucketName) {
+        return "`" + bucketName + "`.`" + scope + "`.`" + collection + "`";
+    }
+
+    /**
+     * Builds the statement creating this index with a deferred build,
+     * so that several indexes of a collection can be built in a single pass afterwards.
+     *
+     * @param bucketName The name of the bucket.
+     * @return The {@code CREATE INDEX} statement.
+     */
+    public String toCreateStatement(final String bucketName) {
+        final StringBuilder statement = new StringBuilder("CREATE INDEX `")
+                .append(name)
+                .append("` ON ")
+                .append(keyspace(bucketName))
+                .append("(")
+                .append(String.join(", ", fields))
+                .append(")");
+
+        if (condition != null && !condition.isBlank()) {
+            statement.append(" WHERE ").append(condition);
+        }
+
+        return statement.append(" WITH {\"defer_build\": true}").toString();
+    }
+
+    /**
+     * Builds the statement explaining the query this index is meant to serve.
+     *
+     * @param bucketName The name of the bucket.
+     * @return The {@code EXPLAIN} statement.
+     */
+    public String toExplainStatement(final String bucketName) {
+        return "EXPLAIN " + query.formatted(keyspace(bucketName));
+    }
+
+}
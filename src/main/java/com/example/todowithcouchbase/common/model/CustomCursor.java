@@ -0,0 +1,64 @@
+package com.example.todowithcouchbase.common.model;
+
+import com.example.todowithcouchbase.common.exception.InvalidCursorException;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * A class representing the position of the last item of a page in keyset (cursor) pagination.
+ * The position is made of the value of the sort key and the document ID of the item, the latter
+ * breaking ties between items with the same sort key value.
+ * The cursor is handed to clients as an opaque URL-safe Base64 string and decoded again when the next page is requested,
+ * so the next page is read by seeking past this position instead of skipping all previous items.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class CustomCursor {
+
+    private static final String SEPARATOR = ":";
+
+    private final long sortKey;
+
+    private final String id;
+
+    /**
+     * Encodes this cursor into the opaque string handed to clients.
+     *
+     * @return The encoded cursor.
+     */
+    public String encode() {
+        final String value = sortKey + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously created by {@link #encode()}.
+     *
+     * @param cursor The encoded cursor.
+     * @return The decoded {@link CustomCursor}.
+     * @throws InvalidCursorException If the given string is not a valid cursor.
+     */
+    public static CustomCursor decode(final String cursor) {
+        try {
+            final String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            final int separatorIndex = value.indexOf(SEPARATOR);
+
+            if (separatorIndex <= 0 || separatorIndex == value.length() - 1) {
+                throw new InvalidCursorException("Cursor = " + cursor);
+            }
+
+            return CustomCursor.builder()
+                    .sortKey(Long.parseLong(value.substring(0, separatorIndex)))
+                    .id(value.substring(separatorIndex + 1))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Cursor = " + cursor);
+        }
+    }
+
+}
@@ -77,6 +77,8 @@ public class CustomError {
 
         AUTH_ERROR("AUTH ERROR"),
 
+        PRECONDITION_FAILED("PRECONDITION FAILED"),
+
         BAD_REQUEST("BAD_REQUEST");
 
 
@@ -11,6 +11,8 @@ import java.util.List;
  * page size, total number of elements, and total number of pages.
  * This is typically used in APIs to return large sets of data in chunks, while providing metadata
  * about the pagination (e.g., for implementing pagination in front-end applications).
+ * For keyset (cursor) pagination, the page carries the cursor of the next page instead of a page number,
+ * and the total counts are only present when they were requested.
  *
  * @param <T> The type of items contained in the page (e.g., `User`, `Product`).
  */
@@ -30,6 +32,8 @@ public class CustomPage<T> {
 
     private Integer totalPageCount;
 
+    private String nextCursor;
+
     /**
      * A utility method to create a `CustomPage` instance from a list of domain models and a Spring Data `Page` object.
      * <p>
@@ -52,4 +56,31 @@ public class CustomPage<T> {
                 .build();
     }
 
+    /**
+     * A utility method to create a `CustomPage` instance for keyset (cursor) pagination.
+     * <p>
+     * The total page count is derived from the total element count when it was calculated.
+     *
+     * @param <C> The type of the content in the new `CustomPage`.
+     * @param domainModels A list of domain models to include in the page's content.
+     * @param pageSize The requested page size.
+     * @param nextCursor The cursor of the next page, or {@code null} if this is the last page.
+     * @param totalElementCount The total number of elements, or {@code null} if it was not calculated.
+     * @return A new `CustomPage` instance containing the domain models and the cursor of the next page.
+     */
+    public static <C> CustomPage<C> of(final List<C> domainModels,
+                                       final Integer pageSize,
+                                       final String nextCursor,
+                                       final Long totalElementCount) {
+        return CustomPage.<C>builder()
+                .content(domainModels)
+                .pageSize(pageSize)
+                .nextCursor(nextCursor)
+                .totalElementCount(totalElementCount)
+                .totalPageCount(totalElementCount == null
+                        ? null
+                        : Math.toIntExact((totalElementCount + pageSize - 1) / pageSize))
+                .build();
+    }
+
 }
@@ -1,6 +1,7 @@
 package com.example.todowithcouchbase.common.model;
 
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -13,6 +14,10 @@ import lombok.experimental.SuperBuilder;
  * It is typically used in APIs to handle pagination for large datasets, where only a subset of data is returned at a time.
  * This class ensures that the page number and page size provided by the user meet the minimum constraints.
  * The page number is expected to be 1-based, but internally it is converted to 0-based indexing.
+ * The page size is always required. Keyset (cursor) pagination is the default: when no page number is given,
+ * or a cursor is given, the request is paged by cursor instead of by page number:
+ * the first page is requested without a cursor, and every following page with the {@code nextCursor} of the previous one.
+ * In this mode the total element count is only calculated when {@code includeTotalCount} is set.
  *
  * @see #getPageNumber() for how the page number is adjusted.
  */
@@ -26,9 +31,14 @@ public class CustomPaging {
     @Min(value = 1, message = "Page number must be bigger than 0")
     private Integer pageNumber;
 
+    @NotNull(message = "Page size must not be null")
     @Min(value = 1, message = "Page size must be bigger than 0")
     private Integer pageSize;
 
+    private String cursor;
+
+    private Boolean includeTotalCount;
+
     /**
      * Returns the 0-based page number for internal use in pagination.
      * This method adjusts the page number by subtracting 1 from the provided 1-based index.
@@ -37,7 +47,25 @@ public class CustomPaging {
      * @return The adjusted 0-based page number.
      */
     public Integer getPageNumber() {
-        return pageNumber - 1;
+        return pageNumber == null ? null : pageNumber - 1;
+    }
+
+    /**
+     * Checks whether this request uses keyset (cursor) pagination instead of page numbers.
+     *
+     * @return {@code true} if no page number or a cursor is given, {@code false} otherwise.
+     */
+    public boolean usesCursor() {
+        return pageNumber == null || cursor != null;
+    }
+
+    /**
+     * Checks whether the total element count should be calculated for a cursor based request.
+     *
+     * @return {@code true} if the total element count was requested, {@code false} otherwise.
+     */
+    public boolean shouldIncludeTotalCount() {
+        return Boolean.TRUE.equals(includeTotalCount);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.example.todowithcouchbase.common.model.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.*;
+
+/**
+ * Request class used to backfill the next page of a one-off migration.
+ * The page starts after the given document key, or at the first document if no key is given,
+ * and holds at most the given number of documents.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+public class BackfillPageRequest {
+
+    private String after;
+
+    @Builder.Default
+    @Min(value = 1, message = "limit field cannot be less than 1")
+    @Max(value = 1000, message = "limit field cannot be greater than 1000")
+    private int limit = 500;
+
+}
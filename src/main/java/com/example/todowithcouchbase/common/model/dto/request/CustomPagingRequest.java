@@ -1,6 +1,8 @@
 package com.example.todowithcouchbase.common.model.dto.request;
 
 import com.example.todowithcouchbase.common.model.CustomPaging;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -12,6 +14,7 @@ import org.springframework.data.domain.Pageable;
  * Abstract class that represents a custom paging request.
  * This class provides pagination details through a `CustomPaging` object
  * and includes a method to convert the pagination information into a `Pageable` object.
+ * The pagination is validated together with the request, so a missing page size is rejected as a bad request.
  * It is intended to be extended by other classes that require paging functionality.
  */
 @Getter
@@ -20,6 +23,8 @@ import org.springframework.data.domain.Pageable;
 @NoArgsConstructor
 public abstract class CustomPagingRequest {
 
+    @Valid
+    @NotNull(message = "Pagination must not be null")
     private CustomPaging pagination;
 
     /**
@@ -0,0 +1,23 @@
+package com.example.todowithcouchbase.common.model.dto.response;
+
+import lombok.*;
+
+/**
+ * Response class representing the outcome of backfilling one page of a one-off migration.
+ * This class is used to send the number of scanned documents, the number of documents created for them,
+ * and the key to continue after, which is {@code null} once the migration is complete.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+public class BackfillPageResponse {
+
+    private int scannedCount;
+
+    private int createdCount;
+
+    private String nextAfter;
+
+}
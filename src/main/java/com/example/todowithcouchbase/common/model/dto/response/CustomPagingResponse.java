@@ -9,7 +9,7 @@ import java.util.List;
 /**
  * Represents a custom paging response that holds paginated data along with
  * pagination details such as the current page number, page size, total element count,
- * and total page count.
+ * and total page count. For keyset (cursor) pagination it also holds the cursor of the next page.
  * This class is used to encapsulate the response for a paginated query.
  *
  * @param <T> The type of the elements in the paginated response.
@@ -28,6 +28,8 @@ public class CustomPagingResponse<T> {
 
     private Integer totalPageCount;
 
+    private String nextCursor;
+
     /**
      * Builder class for {@link CustomPagingResponse}. It provides a custom builder method
      * to create a {@link CustomPagingResponse} from a {@link CustomPage}.
@@ -41,7 +43,8 @@ public class CustomPagingResponse<T> {
                     .pageNumber(customPage.getPageNumber())
                     .pageSize(customPage.getPageSize())
                     .totalElementCount(customPage.getTotalElementCount())
-                    .totalPageCount(customPage.getTotalPageCount());
+                    .totalPageCount(customPage.getTotalPageCount())
+                    .nextCursor(customPage.getNextCursor());
         }
 
     }
@@ -0,0 +1,24 @@
+package com.example.todowithcouchbase.common.model.mapper;
+
+import com.example.todowithcouchbase.common.model.BackfillPage;
+import com.example.todowithcouchbase.common.model.dto.response.BackfillPageResponse;
+import org.mapstruct.Mapper;
+import org.mapstruct.factory.Mappers;
+
+/**
+ * Mapper interface that converts a {@link BackfillPage} to a {@link BackfillPageResponse}.
+ * It leverages MapStruct for automatic mapping between domain and DTO objects.
+ */
+@Mapper
+public interface BackfillPageToBackfillPageResponseMapper extends BaseMapper<BackfillPage, BackfillPageResponse> {
+
+    /**
+     * Initializes and returns an instance of the {@link BackfillPageToBackfillPageResponseMapper}.
+     *
+     * @return an instance of the mapper
+     */
+    static BackfillPageToBackfillPageResponseMapper initialize() {
+        return Mappers.getMapper(BackfillPageToBackfillPageResponseMapper.class);
+    }
+
+}
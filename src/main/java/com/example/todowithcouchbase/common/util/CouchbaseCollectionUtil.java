@@ -0,0 +1,105 @@
+package com.example.todowithcouchbase.common.util;
+
+import com.couchbase.client.core.error.CollectionExistsException;
+import com.couchbase.client.core.error.CollectionNotFoundException;
+import com.couchbase.client.core.error.ScopeExistsException;
+import com.couchbase.client.core.error.TimeoutException;
+import com.couchbase.client.java.Bucket;
+import com.couchbase.client.java.Collection;
+import com.couchbase.client.java.manager.collection.CollectionManager;
+import com.couchbase.client.java.manager.collection.CollectionSpec;
+import com.couchbase.client.java.manager.collection.ScopeSpec;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static com.couchbase.client.java.kv.ExistsOptions.existsOptions;
+
+/**
+ * Utility class that creates missing scopes and collections in a bucket.
+ * A collection created through the collection manager is not usable right away, so after creating one
+ * this waits until the data service accepts operations on it.
+ */
+@Slf4j
+@UtilityClass
+public class CouchbaseCollectionUtil {
+
+    private static final Duration READY_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration PROBE_TIMEOUT = Duration.ofSeconds(1);
+    private static final String PROBE_ID = "collection-ready-probe";
+
+    /**
+     * Creates the given collection, and its scope if needed, unless it already exists,
+     * and waits until the new collection is usable.
+     *
+     * @param bucket         The bucket the scope belongs to.
+     * @param scopeName      The name of the scope.
+     * @param collectionName The name of the collection.
+     * @return {@code true} if the collection was created, {@code false} if it already existed.
+     */
+    public boolean createCollectionIfMissing(final Bucket bucket, final String scopeName, final String collectionName) {
+
+        final CollectionManager collectionManager = bucket.collections();
+
+        final Optional<ScopeSpec> scopeSpec = collectionManager.getAllScopes().stream()
+                .filter(spec -> spec.name().equals(scopeName))
+                .findFirst();
+
+        if (scopeSpec.isEmpty()) {
+            try {
+                collectionManager.createScope(scopeName);
+                log.info("Scope created: {}", scopeName);
+            } catch (ScopeExistsException exception) {
+                log.debug("Scope already exists: {}", scopeName);
+            }
+        }
+
+        final boolean collectionExists = scopeSpec
+                .map(spec -> spec.collections().stream().map(CollectionSpec::name).anyMatch(collectionName::equals))
+                .orElse(false);
+
+        if (collectionExists) {
+            return false;
+        }
+
+        try {
+            collectionManager.createCollection(scopeName, collectionName);
+            log.info("Collection created: {}.{}", scopeName, collectionName);
+        } catch (CollectionExistsException exception) {
+            log.debug("Collection already exists: {}.{}", scopeName, collectionName);
+        }
+
+        waitUntilUsable(bucket.scope(scopeName).collection(collectionName));
+        return true;
+
+    }
+
+    /**
+     * Waits until the data service accepts operations on the given collection.
+     *
+     * @param collection The collection to wait for.
+     * @throws IllegalStateException If the collection is still not usable once the timeout has passed.
+     */
+    public void waitUntilUsable(final Collection collection) {
+
+        final long deadline = System.nanoTime() + READY_TIMEOUT.toNanos();
+
+        while (true) {
+            try {
+                collection.exists(PROBE_ID, existsOptions().timeout(PROBE_TIMEOUT));
+                return;
+            } catch (CollectionNotFoundException | TimeoutException exception) {
+                if (System.nanoTime() - deadline >= 0) {
+                    throw new IllegalStateException(
+                            "Collection is not usable: " + collection.scopeName() + "." + collection.name(),
+                            exception
+                    );
+                }
+            }
+        }
+
+    }
+
+}
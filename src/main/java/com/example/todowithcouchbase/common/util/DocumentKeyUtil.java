@@ -0,0 +1,49 @@
+package com.example.todowithcouchbase.common.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Utility class that turns values such as normalized task names and email addresses into Couchbase document keys.
+ * A document key may hold at most 250 bytes, so a value whose UTF-8 form is longer is replaced by its SHA-256 hash.
+ * Values that already start with the prefix of hashed keys are hashed as well, so a value can never
+ * collide with the hashed key of another value.
+ */
+@UtilityClass
+public class DocumentKeyUtil {
+
+    static final int MAX_KEY_BYTES = 250;
+
+    private static final String HASHED_KEY_PREFIX = "sha256:";
+
+    /**
+     * Converts the given value to a document key.
+     *
+     * @param value The value the document is keyed by.
+     * @return The value itself if it fits into a document key, otherwise the prefixed hex SHA-256 hash of the value.
+     */
+    public String toDocumentKey(final String value) {
+
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+        if (bytes.length <= MAX_KEY_BYTES && !value.startsWith(HASHED_KEY_PREFIX)) {
+            return value;
+        }
+
+        return HASHED_KEY_PREFIX + HexFormat.of().formatHex(sha256(bytes));
+
+    }
+
+    private byte[] sha256(final byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(bytes);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
+    }
+
+}
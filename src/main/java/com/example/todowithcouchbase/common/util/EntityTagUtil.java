@@ -0,0 +1,55 @@
+package com.example.todowithcouchbase.common.util;
+
+import com.example.todowithcouchbase.common.exception.PreconditionFailedException;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Utility class that converts document versions to and from HTTP entity tags.
+ * The version of a document is its Couchbase CAS value, which is sent to clients as a strong {@code ETag}
+ * and read back from the {@code If-Match} header of conditional requests.
+ */
+@UtilityClass
+public class EntityTagUtil {
+
+    private static final String ANY = "*";
+
+    /**
+     * Converts the given document version to a strong entity tag.
+     *
+     * @param version The version of the document.
+     * @return The quoted entity tag, or {@code null} if the version is unknown.
+     */
+    public String toEntityTag(final Long version) {
+        return version == null ? null : "\"" + version + "\"";
+    }
+
+    /**
+     * Reads the document version expected by the given {@code If-Match} header.
+     * A missing header or {@code *} expects no particular version. Weak entity tags and tags that were not issued
+     * by this application can never match a version, so they fail the precondition right away.
+     *
+     * @param ifMatch The value of the {@code If-Match} header, or {@code null} if it was not sent.
+     * @return The expected version, or {@code null} if any version is accepted.
+     * @throws PreconditionFailedException If the header does not hold a single strong entity tag of a version.
+     */
+    public Long toExpectedVersion(final String ifMatch) {
+
+        if (ifMatch == null || ifMatch.isBlank() || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+
+        final String entityTag = ifMatch.trim();
+
+        if (entityTag.length() < 3 || !entityTag.startsWith("\"") || !entityTag.endsWith("\"")) {
+            throw new PreconditionFailedException("If-Match header does not hold a strong entity tag: " + entityTag);
+        }
+
+        try {
+            return Long.parseLong(entityTag.substring(1, entityTag.length() - 1));
+        } catch (NumberFormatException exception) {
+            throw new PreconditionFailedException("If-Match header does not match any version: " + entityTag);
+        }
+
+    }
+
+}
@@ -0,0 +1,138 @@
+package com.example.todowithcouchbase.logging.aop;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * {@link Writer} that keeps at most a fixed number of characters and fails as soon as more are written.
+ * Serializing a response into it stops right after the limit is reached, so neither the time spent serializing
+ * nor the memory held grows with the size of the response. The characters kept up to that point stay readable.
+ * A writer can be reset and used again, keeping the capacity its buffer has grown to.
+ */
+class BoundedStringWriter extends Writer {
+
+    private final StringBuilder buffer;
+    private final int maxSize;
+
+    private boolean truncated;
+
+    /**
+     * Constructs a new {@code BoundedStringWriter}.
+     *
+     * @param maxSize The maximum number of characters kept.
+     */
+    BoundedStringWriter(final int maxSize) {
+        this.maxSize = maxSize;
+        this.buffer = new StringBuilder(Math.min(maxSize, 256));
+    }
+
+    /**
+     * Keeps as many of the given characters as still fit.
+     *
+     * @param chars  The characters to write.
+     * @param offset The position of the first character to write.
+     * @param length The number of characters to write.
+     * @throws LimitReachedException If not every character fit.
+     */
+    @Override
+    public void write(char[] chars, int offset, int length) throws IOException {
+        final int room = maxSize - buffer.length();
+
+        if (length > room) {
+            buffer.append(chars, offset, room);
+            truncated = true;
+            throw new LimitReachedException();
+        }
+
+        buffer.append(chars, offset, length);
+    }
+
+    /**
+     * Keeps as many characters of the given string as still fit.
+     *
+     * @param string The string to write.
+     * @param offset The position of the first character to write.
+     * @param length The number of characters to write.
+     * @throws LimitReachedException If not every character fit.
+     */
+    @Override
+    public void write(String string, int offset, int length) throws IOException {
+        final int room = maxSize - buffer.length();
+
+        if (length > room) {
+            buffer.append(string, offset, offset + room);
+            truncated = true;
+            throw new LimitReachedException();
+        }
+
+        buffer.append(string, offset, offset + length);
+    }
+
+    /**
+     * Does nothing, since the characters are only kept in memory.
+     */
+    @Override
+    public void flush() {
+
+    }
+
+    /**
+     * Does nothing, since the characters are only kept in memory.
+     */
+    @Override
+    public void close() {
+
+    }
+
+    /**
+     * Discards the characters kept so far, so the writer can be used again.
+     */
+    void reset() {
+        buffer.setLength(0);
+        truncated = false;
+    }
+
+    /**
+     * Checks whether characters were left out because the limit was reached.
+     *
+     * @return {@code true} if the written value was cut off, {@code false} otherwise.
+     */
+    boolean isTruncated() {
+        return truncated;
+    }
+
+    /**
+     * Returns the characters kept so far.
+     *
+     * @return The kept characters.
+     */
+    @Override
+    public String toString() {
+        return buffer.toString();
+    }
+
+    /**
+     * Signals that the limit was reached. It carries no stack trace, since it ends serialization on purpose.
+     */
+    static class LimitReachedException extends IOException {
+
+        /**
+         * Constructs a new {@code LimitReachedException} without a stack trace.
+         */
+        LimitReachedException() {
+            super("Response capture limit reached", null);
+        }
+
+        /**
+         * Skips filling in the stack trace.
+         *
+         * @return This exception.
+         */
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.example.todowithcouchbase.logging.aop;
+
+import com.example.todowithcouchbase.logging.model.enums.ResponseCaptureMode;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation that overrides how much of the response of a REST controller method {@link LoggerAspectJ} records.
+ * Methods without this annotation use the default mode configured under {@code log.response-capture.default-mode}.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface LogResponse {
+
+    /**
+     * Returns how much of the response of the annotated method is recorded.
+     *
+     * @return The {@link ResponseCaptureMode} of the annotated method.
+     */
+    ResponseCaptureMode value();
+
+}
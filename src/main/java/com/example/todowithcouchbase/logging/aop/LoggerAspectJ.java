@@ -1,37 +1,62 @@
 package com.example.todowithcouchbase.logging.aop;
 
 import com.example.todowithcouchbase.auth.exception.*;
+import com.example.todowithcouchbase.common.exception.InvalidCursorException;
+import com.example.todowithcouchbase.common.exception.PreconditionFailedException;
+import com.example.todowithcouchbase.common.model.dto.response.CustomPagingResponse;
+import com.example.todowithcouchbase.common.model.dto.response.CustomResponse;
+import com.example.todowithcouchbase.logging.config.ResponseCaptureProperties;
 import com.example.todowithcouchbase.logging.entity.LogEntity;
+import com.example.todowithcouchbase.logging.model.LogPolicy;
+import com.example.todowithcouchbase.logging.model.enums.ResponseCaptureMode;
+import com.example.todowithcouchbase.logging.service.LogPolicyService;
 import com.example.todowithcouchbase.logging.service.LogService;
 import com.example.todowithcouchbase.task.exception.TaskNotFoundException;
 import com.example.todowithcouchbase.task.exception.TaskWithThisNameAlreadyExistException;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
 import org.aspectj.lang.annotation.AfterReturning;
 import org.aspectj.lang.annotation.AfterThrowing;
+import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.reactivestreams.Publisher;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * Aspect for logging method execution and exceptions in REST controllers.
  * This class intercepts all method calls and exception throws in any class annotated with {@link org.springframework.web.bind.annotation.RestController}.
  * It logs information about the HTTP request, response, and any exceptions that are thrown.
- * The logs are saved to the database using the {@link LogService}.
+ * The logs are saved to the database using the {@link LogService}. Exceptions are always logged, while successful
+ * calls are sampled and rate limited according to the {@link LogPolicyService}. Methods returning a {@link Mono}
+ * are logged once the {@link Mono} completes, so their log entry reflects the value or the error it signals.
+ * Responses are serialized once with the shared {@link ObjectMapper} into a buffer reused by each platform thread and
+ * recorded up to a configured maximum size, so neither the allocations of the advice nor the size of a log entry grow
+ * with the size of a response. Statuses are recorded by the name of the {@link HttpStatus}, such as {@code NOT_FOUND}.
  */
 @Aspect
 @Slf4j
@@ -39,7 +64,14 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class LoggerAspectJ {
 
+    private static final String TRUNCATED_MARKER = "...[truncated]";
+
     private final LogService logService;
+    private final LogPolicyService logPolicyService;
+    private final ObjectMapper objectMapper;
+    private final ResponseCaptureProperties responseCaptureProperties;
+
+    private final ThreadLocal<BoundedStringWriter> writers = ThreadLocal.withInitial(this::newWriter);
 
     /**
      * Pointcut that matches methods within classes annotated with {@link org.springframework.web.bind.annotation.RestController}.
@@ -49,6 +81,15 @@ public class LoggerAspectJ {
 
     }
 
+    /**
+     * Pointcut that matches methods returning a {@link Mono}, whose outcome is only known once the {@link Mono}
+     * completes, after the method has returned.
+     */
+    @Pointcut("execution(reactor.core.publisher.Mono *(..))")
+    public void monoReturningPointcut() {
+
+    }
+
     /**
      * After throwing advice that logs exception details when an exception is thrown from a REST controller method.
      * This method logs details such as the HTTP request URL, HTTP method, exception message, and the operation that threw the exception.
@@ -68,28 +109,14 @@ public class LoggerAspectJ {
 
             final HttpServletRequest request = requestAttributes.get().getRequest();
 
-            LogEntity logEntity = LogEntity.builder()
-                    .endpoint(request.getRequestURL().toString())
-                    .method(request.getMethod())
-                    .message(ex.getMessage())
-                    .errorType(ex.getClass().getName())
-                    .status(getHttpStatusFromException(ex))
-                    .operation(joinPoint.getSignature().getName())
-                    .response(ex.getMessage())
-                    .build();
-
-            // Get the username from SecurityContextHolder and set it in logEntity
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication != null && !(authentication instanceof AnonymousAuthenticationToken)) {
-                String username = authentication.getName();
-                logEntity.setUserInfo(username);
-            }
+            recordFailure(
+                    request.getRequestURL().toString(),
+                    request.getMethod(),
+                    joinPoint.getSignature().getName(),
+                    getCurrentUsername(),
+                    ex
+            );
 
-            try {
-                logService.saveLogToDatabase(logEntity);
-            } catch (Exception e) {
-                log.error(e.getMessage(), e);
-            }
         } else {
             log.error("Request Attributes are null!");
         }
@@ -100,13 +127,18 @@ public class LoggerAspectJ {
      * After returning advice that logs response details when a REST controller method successfully returns a result.
      * This method logs information such as the HTTP request URL, HTTP method, operation, and response message.
      * It also includes the HTTP status code in the log.
+     * Whether the call is recorded at all is decided by the {@link LogPolicyService}, before anything is built, so
+     * suppressed calls cost no serialization. How much of the result is recorded depends on the
+     * {@link ResponseCaptureMode} of the method, and the recorded response is stored once and never exceeds the
+     * configured maximum size.
+     * Methods returning a {@link Mono} are logged by {@link #logMonoOutcome(ProceedingJoinPoint)} instead, once the
+     * {@link Mono} completes.
      *
      * @param joinPoint The join point representing the method execution.
      * @param result    The result returned by the method.
-     * @throws IOException If there is an issue serializing the response object.
      */
-    @AfterReturning(value = "restControllerPointcut()", returning = "result")
-    public void logAfterReturning(JoinPoint joinPoint, Object result) throws IOException {
+    @AfterReturning(value = "restControllerPointcut() && !monoReturningPointcut()", returning = "result")
+    public void logAfterReturning(JoinPoint joinPoint, Object result) {
 
         Optional<ServletRequestAttributes> requestAttributes = Optional.ofNullable(
                 (ServletRequestAttributes) RequestContextHolder.getRequestAttributes()
@@ -114,41 +146,327 @@ public class LoggerAspectJ {
 
         if (requestAttributes.isPresent()) {
 
+            final String username = getCurrentUsername();
+
+            if (!logPolicyService.shouldRecordSuccess(getEndpointKey(joinPoint), username)) {
+                return;
+            }
+
             final HttpServletRequest request = requestAttributes.get().getRequest();
             final HttpServletResponse response = requestAttributes.get().getResponse();
 
-            String responseObject = "";
+            recordSuccess(
+                    joinPoint,
+                    request.getRequestURL().toString(),
+                    request.getMethod(),
+                    username,
+                    response == null ? null : response.getStatus(),
+                    result
+            );
 
-            LogEntity logEntity = LogEntity.builder()
-                    .endpoint(request.getRequestURL().toString())
-                    .method(request.getMethod())
-                    .operation(joinPoint.getSignature().getName())
-                    .build();
+        } else {
+            log.error("Request Attributes are null!");
+        }
+    }
 
-            if (result instanceof JsonNode) {
-                ObjectMapper objectMapper = new ObjectMapper();
-                responseObject = objectMapper.writeValueAsString(result);
-            } else {
-                responseObject = result.toString();
-            }
+    /**
+     * Around advice that logs the outcome of a REST controller method returning a {@link Mono} once the {@link Mono}
+     * completes, rather than when the method returns it.
+     * A value or an empty completion is logged like a returned result, and an error signalled through the
+     * {@link Mono} is logged like a thrown exception. The request details and the security context are read while
+     * the method is called, since the {@link Mono} may complete on another thread, where neither is bound any more;
+     * the security context is bound again while the log entry is saved, so its audit fields name the same user.
+     * Exceptions thrown by the method itself are logged by {@link #logAfterThrowing(JoinPoint, Exception)}.
+     *
+     * @param joinPoint The join point representing the method execution.
+     * @return The {@link Mono} returned by the method, logging its outcome when it completes.
+     * @throws Throwable If the method throws.
+     */
+    @Around("restControllerPointcut() && monoReturningPointcut()")
+    public Object logMonoOutcome(ProceedingJoinPoint joinPoint) throws Throwable {
+
+        final Object result = joinPoint.proceed();
+
+        if (!(result instanceof Mono<?> mono)) {
+            return result;
+        }
+
+        Optional<ServletRequestAttributes> requestAttributes = Optional.ofNullable(
+                (ServletRequestAttributes) RequestContextHolder.getRequestAttributes()
+        );
+
+        if (requestAttributes.isEmpty()) {
+            log.error("Request Attributes are null!");
+            return result;
+        }
+
+        final HttpServletRequest request = requestAttributes.get().getRequest();
+        final String endpoint = request.getRequestURL().toString();
+        final String method = request.getMethod();
+        final String operation = joinPoint.getSignature().getName();
+        final String endpointKey = getEndpointKey(joinPoint);
+        final String username = getCurrentUsername();
+        final SecurityContext securityContext = SecurityContextHolder.getContext();
+
+        return mono
+                .doOnSuccess(value -> {
+                    if (logPolicyService.shouldRecordSuccess(endpointKey, username)) {
+                        new DelegatingSecurityContextRunnable(
+                                () -> recordSuccess(joinPoint, endpoint, method, username, HttpStatus.OK.value(), value),
+                                securityContext
+                        ).run();
+                    }
+                })
+                .doOnError(error -> new DelegatingSecurityContextRunnable(
+                        () -> recordFailure(endpoint, method, operation, username, error),
+                        securityContext
+                ).run());
 
-            logEntity.setResponse(responseObject);
-            logEntity.setMessage(responseObject);
-            Optional.ofNullable(response).ifPresent(
-                    httpServletResponse -> logEntity.setStatus(
-                            String.valueOf(HttpStatus.valueOf(httpServletResponse.getStatus()
-                            ))
-                    ));
-
-            try {
-                logService.saveLogToDatabase(logEntity);
-            } catch (Exception e) {
-                log.error(e.getMessage(), e);
+    }
+
+    /**
+     * Saves the log entry of a REST controller method that failed.
+     *
+     * @param endpoint  The URL of the request.
+     * @param method    The HTTP method of the request.
+     * @param operation The name of the controller method.
+     * @param username  The name of the user, or {@code null} if the call is anonymous.
+     * @param ex        The exception the method failed with.
+     */
+    private void recordFailure(final String endpoint,
+                               final String method,
+                               final String operation,
+                               final String username,
+                               final Throwable ex) {
+
+        LogEntity logEntity = LogEntity.builder()
+                .endpoint(endpoint)
+                .method(method)
+                .message(ex.getMessage())
+                .errorType(ex.getClass().getName())
+                .status(getHttpStatusFromException(ex))
+                .operation(operation)
+                .userInfo(username)
+                .response(ex.getMessage())
+                .build();
+
+        try {
+            logService.saveLogToDatabase(logEntity);
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+        }
+
+    }
+
+    /**
+     * Saves the log entry of a REST controller method that succeeded. The caller has already asked the
+     * {@link LogPolicyService} whether the call is recorded.
+     *
+     * @param joinPoint The join point representing the method execution.
+     * @param endpoint  The URL of the request.
+     * @param method    The HTTP method of the request.
+     * @param username  The name of the user, or {@code null} if the call is anonymous.
+     * @param status    The status code of the response, or {@code null} if it is unknown. The status of a
+     *                  {@link ResponseEntity} result takes precedence.
+     * @param result    The result of the method.
+     */
+    private void recordSuccess(final JoinPoint joinPoint,
+                               final String endpoint,
+                               final String method,
+                               final String username,
+                               final Integer status,
+                               final Object result) {
+
+        LogEntity logEntity = LogEntity.builder()
+                .endpoint(endpoint)
+                .method(method)
+                .operation(joinPoint.getSignature().getName())
+                .userInfo(username)
+                .response(captureResponse(joinPoint, result))
+                .build();
+
+        if (result instanceof ResponseEntity<?> responseEntity) {
+            logEntity.setStatus(HttpStatus.valueOf(responseEntity.getStatusCode().value()).name());
+        } else if (status != null) {
+            logEntity.setStatus(HttpStatus.valueOf(status).name());
+        }
+
+        try {
+            logService.saveLogToDatabase(logEntity);
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+        }
+
+    }
+
+    /**
+     * Retrieves the name of the authenticated user from the {@link SecurityContextHolder}.
+     *
+     * @return The name of the user, or {@code null} if the call is anonymous.
+     */
+    private String getCurrentUsername() {
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return authentication.getName();
+        }
+        return null;
+    }
+
+    /**
+     * Records the result of a controller method according to its {@link ResponseCaptureMode}.
+     * The body of a {@link ResponseEntity} is recorded instead of the entity itself. Results that are written
+     * asynchronously, such as streams and publishers, cannot be read without consuming them, so only their type is recorded.
+     *
+     * @param joinPoint The join point representing the method execution.
+     * @param result    The result returned by the method.
+     * @return The recorded response, or {@code null} if nothing is recorded.
+     */
+    private String captureResponse(final JoinPoint joinPoint, final Object result) {
+
+        final ResponseCaptureMode mode = getResponseCaptureMode(joinPoint);
+
+        if (mode == ResponseCaptureMode.NONE) {
+            return null;
+        }
+
+        final Object body = result instanceof ResponseEntity<?> responseEntity ? responseEntity.getBody() : result;
+
+        if (body == null) {
+            return null;
+        }
+
+        if (body instanceof Publisher<?> || body instanceof StreamingResponseBody) {
+            return body.getClass().getSimpleName();
+        }
+
+        if (mode == ResponseCaptureMode.SUMMARY) {
+            return serialize(summarize(body));
+        }
+
+        return body instanceof CharSequence text ? truncate(text) : serialize(body);
+
+    }
+
+    /**
+     * Builds the key the {@link LogPolicyService} identifies the endpoint of the intercepted method by, from the
+     * controller class declaring the method and the name of the method.
+     *
+     * @param joinPoint The join point representing the method execution.
+     * @return The key of the endpoint, in the form {@code DeclaringType#method}.
+     */
+    private String getEndpointKey(final JoinPoint joinPoint) {
+        final Signature signature = joinPoint.getSignature();
+        return LogPolicy.endpointKey(signature.getDeclaringType(), signature.getName());
+    }
+
+    /**
+     * Resolves the {@link ResponseCaptureMode} of the intercepted method from its {@link LogResponse} annotation,
+     * falling back to the configured default mode.
+     *
+     * @param joinPoint The join point representing the method execution.
+     * @return The {@link ResponseCaptureMode} of the method.
+     */
+    private ResponseCaptureMode getResponseCaptureMode(final JoinPoint joinPoint) {
+        if (joinPoint.getSignature() instanceof MethodSignature methodSignature) {
+            final LogResponse logResponse = methodSignature.getMethod().getAnnotation(LogResponse.class);
+            if (logResponse != null) {
+                return logResponse.value();
             }
+        }
+        return responseCaptureProperties.getDefaultMode();
+    }
+
+    /**
+     * Builds a short summary of the given response body. The body of a {@link CustomResponse} is summarized instead
+     * of the wrapper, a page is summarized by its item count and paging details, and a collection by its size.
+     * Any other value is summarized by its type.
+     *
+     * @param body The response body.
+     * @return The summary, which is serialized in place of the body.
+     */
+    private Map<String, Object> summarize(final Object body) {
 
+        final Object content = body instanceof CustomResponse<?> customResponse ? customResponse.getResponse() : body;
+        final Map<String, Object> summary = new LinkedHashMap<>();
+
+        if (content instanceof CustomPagingResponse<?> pagingResponse) {
+            summary.put("itemCount", pagingResponse.getContent() == null ? 0 : pagingResponse.getContent().size());
+            summary.put("pageNumber", pagingResponse.getPageNumber());
+            summary.put("pageSize", pagingResponse.getPageSize());
+            summary.put("totalElementCount", pagingResponse.getTotalElementCount());
+        } else if (content instanceof Collection<?> collection) {
+            summary.put("itemCount", collection.size());
         } else {
-            log.error("Request Attributes are null!");
+            summary.put("type", content == null ? null : content.getClass().getSimpleName());
         }
+
+        return summary;
+
+    }
+
+    /**
+     * Serializes the given value to JSON with the shared {@link ObjectMapper}, keeping at most the configured maximum
+     * number of characters. Serialization stops as soon as the limit is reached, and a cut-off value ends with a marker.
+     * A value that cannot be serialized is recorded by its type.
+     *
+     * @param value The value to serialize.
+     * @return The serialized value.
+     */
+    private String serialize(final Object value) {
+
+        final BoundedStringWriter writer = getWriter();
+
+        try {
+            objectMapper.writeValue(writer, value);
+        } catch (IOException e) {
+            if (!writer.isTruncated()) {
+                log.debug("Response could not be serialized for logging", e);
+                return value.getClass().getSimpleName();
+            }
+        }
+
+        return writer.isTruncated() ? writer + TRUNCATED_MARKER : writer.toString();
+
+    }
+
+    /**
+     * Returns an empty {@link BoundedStringWriter} to serialize a response into. Platform threads reuse a writer of
+     * their own, while virtual threads, which are not pooled, get a new one instead of holding a buffer each.
+     *
+     * @return The empty writer.
+     */
+    private BoundedStringWriter getWriter() {
+
+        if (Thread.currentThread().isVirtual()) {
+            return newWriter();
+        }
+
+        final BoundedStringWriter writer = writers.get();
+        writer.reset();
+        return writer;
+
+    }
+
+    /**
+     * Creates a {@link BoundedStringWriter} keeping at most the configured maximum number of characters.
+     *
+     * @return The new writer.
+     */
+    private BoundedStringWriter newWriter() {
+        return new BoundedStringWriter(responseCaptureProperties.getMaxSize());
+    }
+
+    /**
+     * Keeps at most the configured maximum number of characters of the given text, and marks a cut-off text.
+     *
+     * @param text The text to keep.
+     * @return The kept text.
+     */
+    private String truncate(final CharSequence text) {
+        final int maxSize = responseCaptureProperties.getMaxSize();
+        return text.length() > maxSize
+                ? text.subSequence(0, maxSize) + TRUNCATED_MARKER
+                : text.toString();
     }
 
     /**
@@ -158,9 +476,10 @@ public class LoggerAspectJ {
      * @param ex The exception thrown.
      * @return The HTTP status as a string corresponding to the exception type.
      */
-    private String getHttpStatusFromException(Exception ex) {
+    private String getHttpStatusFromException(Throwable ex) {
         return switch (ex.getClass().getSimpleName()) {
             case "PasswordNotValidException" -> PasswordNotValidException.STATUS.name();
+            case "PasswordHashingUnavailableException" -> PasswordHashingUnavailableException.STATUS.name();
             case "RoleNotFoundException" -> RoleNotFoundException.STATUS.name();
             case "TokenAlreadyInvalidatedException" -> TokenAlreadyInvalidatedException.STATUS.name();
             case "UserAlreadyExistException" -> UserAlreadyExistException.STATUS.name();
@@ -168,6 +487,8 @@ public class LoggerAspectJ {
             case "UserStatusNotValidException" -> UserStatusNotValidException.STATUS.name();
             case "TaskNotFoundException" -> TaskNotFoundException.STATUS.name();
             case "TaskWithThisNameAlreadyExistException" -> TaskWithThisNameAlreadyExistException.STATUS.name();
+            case "PreconditionFailedException" -> PreconditionFailedException.STATUS.name();
+            case "InvalidCursorException" -> InvalidCursorException.STATUS.name();
             default -> HttpStatus.INTERNAL_SERVER_ERROR.name();
         };
     }
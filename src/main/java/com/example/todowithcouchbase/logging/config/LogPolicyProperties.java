@@ -0,0 +1,27 @@
+package com.example.todowithcouchbase.logging.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class holds the configuration properties of the policy deciding which successful REST calls are recorded.
+ * They are used until a policy is stored in Couchbase, and again if the stored policy is deleted.
+ * Endpoint sample rates are keyed by {@code DeclaringType#method}, for example {@code TaskController#getAllTasks},
+ * and a cap of {@code 0} means no cap. Since the key contains {@code #}, it has to be written in brackets, as in
+ * {@code log.policy.endpoint-sample-rates[TaskController#getAllTasks]=0.1}, or the character is dropped on binding.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "log.policy")
+public class LogPolicyProperties {
+
+    private double successSampleRate = 1.0;
+    private Map<String, Double> endpointSampleRates = new HashMap<>();
+    private int maxPerSecondPerUser = 0;
+    private int maxPerSecondPerEndpoint = 0;
+
+}
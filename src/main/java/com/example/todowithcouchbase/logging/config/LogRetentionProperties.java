@@ -0,0 +1,41 @@
+package com.example.todowithcouchbase.logging.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * This class holds the configuration properties of log retention.
+ * Each log document is written with an expiry chosen by the status class of the call, and, when daily collections
+ * are enabled, into a collection holding only the log entries of its day, so that a whole day can be dropped at once.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "log.retention")
+public class LogRetentionProperties {
+
+    private Duration successTtl = Duration.ofDays(7);
+    private Duration clientErrorTtl = Duration.ofDays(30);
+    private Duration serverErrorTtl = Duration.ofDays(90);
+    private boolean dailyCollections = false;
+    private int precreateDays = 1;
+
+    /**
+     * Returns the longest of the configured expiries, which is how long a daily collection can still hold live entries.
+     *
+     * @return The longest expiry.
+     */
+    public Duration getMaxTtl() {
+        Duration maxTtl = successTtl;
+        if (clientErrorTtl.compareTo(maxTtl) > 0) {
+            maxTtl = clientErrorTtl;
+        }
+        if (serverErrorTtl.compareTo(maxTtl) > 0) {
+            maxTtl = serverErrorTtl;
+        }
+        return maxTtl;
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.example.todowithcouchbase.logging.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * This class holds the configuration properties of the local spill file of the log writer.
+ * Log entries that cannot be handed to Couchbase are appended to memory-mapped segment files in the configured
+ * directory, and uploaded from there once Couchbase accepts writes again. The size and the number of full segments
+ * bound the disk space the spill file can take, plus the segment being written and the one created ahead of time.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "log.spill")
+public class LogSpillProperties {
+
+    private boolean enabled = true;
+    private String directory = Path.of(System.getProperty("java.io.tmpdir"), "todowithcouchbase", "log-spill").toString();
+    private int segmentSizeBytes = 16 * 1024 * 1024;
+    private int maxSegments = 16;
+    private int replayConcurrency = 16;
+
+}
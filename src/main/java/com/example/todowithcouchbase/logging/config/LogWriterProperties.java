@@ -0,0 +1,27 @@
+package com.example.todowithcouchbase.logging.config;
+
+import com.example.todowithcouchbase.logging.model.enums.LogOverflowPolicy;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * This class holds the configuration properties of the asynchronous log writer.
+ * They decide how many log entries can wait to be written, how entries are grouped into batches,
+ * and what happens to new entries while the writer falls behind.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "log.writer")
+public class LogWriterProperties {
+
+    private int queueCapacity = 10000;
+    private int batchSize = 100;
+    private long flushIntervalMillis = 200;
+    private int concurrency = 16;
+    private LogOverflowPolicy overflowPolicy = LogOverflowPolicy.DROP;
+    private int sampleRate = 10;
+    private long blockTimeoutMillis = 1000;
+    private long shutdownTimeoutMillis = 10000;
+
+}
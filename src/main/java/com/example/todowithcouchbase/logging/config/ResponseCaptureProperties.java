@@ -0,0 +1,21 @@
+package com.example.todowithcouchbase.logging.config;
+
+import com.example.todowithcouchbase.logging.model.enums.ResponseCaptureMode;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * This class holds the configuration properties of how responses are recorded in log entries.
+ * They decide how much of a response is kept when a controller method does not choose a mode itself,
+ * and the maximum number of characters recorded for a single response.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "log.response-capture")
+public class ResponseCaptureProperties {
+
+    private ResponseCaptureMode defaultMode = ResponseCaptureMode.FULL;
+    private int maxSize = 2048;
+
+}
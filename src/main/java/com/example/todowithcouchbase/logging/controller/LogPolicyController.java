@@ -0,0 +1,81 @@
+package com.example.todowithcouchbase.logging.controller;
+
+import com.example.todowithcouchbase.common.model.dto.response.CustomResponse;
+import com.example.todowithcouchbase.logging.model.LogPolicy;
+import com.example.todowithcouchbase.logging.model.dto.request.UpdateLogPolicyRequest;
+import com.example.todowithcouchbase.logging.model.dto.response.LogPolicyResponse;
+import com.example.todowithcouchbase.logging.model.mapper.LogPolicyToLogPolicyResponseMapper;
+import com.example.todowithcouchbase.logging.service.LogPolicyService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for managing the policy deciding which successful REST calls are recorded as log entries.
+ * Provides endpoints for reading the policy applied on the node and for replacing the stored policy.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("api/v1/logs/policy")
+@Validated
+@Tag(name = "Log Policy Management", description = "Endpoints for reading and replacing the audit log sampling and rate-limiting policy.")
+public class LogPolicyController {
+
+    private final LogPolicyService logPolicyService;
+
+    private final LogPolicyToLogPolicyResponseMapper logPolicyToLogPolicyResponseMapper =
+            LogPolicyToLogPolicyResponseMapper.initialize();
+
+    /**
+     * Retrieves the policy currently applied on the node handling the request.
+     *
+     * @return a response containing the current policy.
+     */
+    @Operation(
+            summary = "Get the log policy",
+            description = "Retrieves the sample rates and per-second caps currently applied to successful calls. Accessible by ADMIN only.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Log policy retrieved successfully"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized, authentication is required"),
+                    @ApiResponse(responseCode = "403", description = "Access forbidden")
+            }
+    )
+    @GetMapping
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public CustomResponse<LogPolicyResponse> getPolicy() {
+        final LogPolicy logPolicy = logPolicyService.getPolicy();
+
+        return CustomResponse.successOf(logPolicyToLogPolicyResponseMapper.map(logPolicy));
+    }
+
+    /**
+     * Replaces the stored policy. The new policy applies on the node handling the request right away
+     * and on the other nodes once they next read the stored policy.
+     *
+     * @param updateLogPolicyRequest the request body containing the new policy.
+     * @return a response containing the policy now applied.
+     */
+    @Operation(
+            summary = "Update the log policy",
+            description = "Replaces the sample rates and per-second caps applied to successful calls, without a restart. Accessible by ADMIN only.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Log policy updated successfully"),
+                    @ApiResponse(responseCode = "400", description = "Invalid policy provided"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized, authentication is required"),
+                    @ApiResponse(responseCode = "403", description = "Access forbidden")
+            }
+    )
+    @PutMapping
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public CustomResponse<LogPolicyResponse> updatePolicy(@RequestBody @Valid final UpdateLogPolicyRequest updateLogPolicyRequest) {
+        final LogPolicy logPolicy = logPolicyService.updatePolicy(updateLogPolicyRequest);
+
+        return CustomResponse.successOf(logPolicyToLogPolicyResponseMapper.map(logPolicy));
+    }
+
+}
@@ -18,6 +18,8 @@ import java.time.LocalDateTime;
  * This class is used for logging operations such as method calls, status codes, messages, user information,
  * error details, and other relevant data. The logs are stored in a MongoDB collection for persistence and auditing purposes.
  * It extends {@link BaseEntity} to inherit common entity properties.
+ * Log documents are written with an expiry, and may be written to a daily collection instead of the declared one,
+ * as decided by {@link com.example.todowithcouchbase.logging.service.LogRetentionService}.
  */
 @Getter
 @Setter
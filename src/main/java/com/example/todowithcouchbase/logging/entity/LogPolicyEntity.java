@@ -0,0 +1,51 @@
+package com.example.todowithcouchbase.logging.entity;
+
+import com.example.todowithcouchbase.common.model.entity.BaseEntity;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.couchbase.core.mapping.Document;
+import org.springframework.data.couchbase.core.mapping.Field;
+import org.springframework.data.couchbase.repository.Collection;
+import org.springframework.data.couchbase.repository.Scope;
+
+import java.util.Map;
+
+/**
+ * Represents the stored policy deciding which successful REST calls are recorded as log entries.
+ * There is a single policy document, stored under {@link #ID}, which every node reads periodically,
+ * so a changed policy takes effect on all nodes without a restart. Without the document, the policy
+ * configured in the application properties applies.
+ * This entity extends from {@link BaseEntity}, inheriting common fields such as
+ * created and updated timestamps.
+ */
+@Getter
+@Setter
+@SuperBuilder
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Document
+@Scope("log-scope")
+@Collection("log-policy-collection")
+public class LogPolicyEntity extends BaseEntity {
+
+    public static final String ID = "log-policy";
+
+    @Id
+    @Field(name = "ID")
+    private String id;
+
+    @Field(name = "SUCCESS_SAMPLE_RATE")
+    private double successSampleRate;
+
+    @Field(name = "ENDPOINT_SAMPLE_RATES")
+    private Map<String, Double> endpointSampleRates;
+
+    @Field(name = "MAX_PER_SECOND_PER_USER")
+    private int maxPerSecondPerUser;
+
+    @Field(name = "MAX_PER_SECOND_PER_ENDPOINT")
+    private int maxPerSecondPerEndpoint;
+
+}
@@ -0,0 +1,49 @@
+package com.example.todowithcouchbase.logging.model;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * Represents the policy deciding which successful REST calls are recorded as log entries.
+ * Successful calls are sampled at a rate per endpoint, and the number of entries recorded per second is capped
+ * per user and per endpoint. A cap of {@code 0} means no cap. Failed calls are always recorded and are not
+ * affected by this policy.
+ * Endpoints are identified by {@link #endpointKey(Class, String)}, the simple name of the controller and the name
+ * of its method, so that methods of the same name on different controllers are sampled and capped separately.
+ */
+@Getter
+@Builder
+public class LogPolicy {
+
+    private final double successSampleRate;
+    private final Map<String, Double> endpointSampleRates;
+    private final int maxPerSecondPerUser;
+    private final int maxPerSecondPerEndpoint;
+
+    /**
+     * Builds the key identifying an endpoint in the policy, in the form {@code DeclaringType#method},
+     * for example {@code TaskController#getAllTasks}.
+     *
+     * @param declaringType The controller class declaring the method of the endpoint.
+     * @param methodName    The name of the controller method of the endpoint.
+     * @return The key of the endpoint.
+     */
+    public static String endpointKey(final Class<?> declaringType, final String methodName) {
+        return declaringType.getSimpleName() + "#" + methodName;
+    }
+
+    /**
+     * Returns the share of successful calls of the given endpoint that are recorded.
+     * Endpoints without their own rate use the rate for all successful calls.
+     *
+     * @param endpointKey The key of the endpoint, as built by {@link #endpointKey(Class, String)}.
+     * @return The sample rate, between {@code 0} and {@code 1}.
+     */
+    public double getSampleRate(final String endpointKey) {
+        final Double endpointSampleRate = endpointSampleRates == null ? null : endpointSampleRates.get(endpointKey);
+        return endpointSampleRate != null ? endpointSampleRate : successSampleRate;
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.example.todowithcouchbase.logging.model;
+
+/**
+ * Represents the number of log entries recorded for one user or endpoint within the current second.
+ * The window starts over when a new second begins, so a cap of {@code n} lets through at most {@code n}
+ * entries per calendar second.
+ */
+public class LogRateWindow {
+
+    private long second;
+    private int count;
+
+    /**
+     * Takes one of the entries allowed in the given second, if any is left.
+     *
+     * @param currentSecond The current time in epoch seconds.
+     * @param limit         The number of entries allowed per second.
+     * @return {@code true} if the entry may be recorded, {@code false} if the limit is reached.
+     */
+    public synchronized boolean tryAcquire(final long currentSecond, final int limit) {
+        if (second != currentSecond) {
+            second = currentSecond;
+            count = 0;
+        }
+
+        if (count >= limit) {
+            return false;
+        }
+
+        count++;
+        return true;
+    }
+
+    /**
+     * Checks whether this window belongs to a second before the given one, which means it holds no entries
+     * that still count against a limit.
+     *
+     * @param currentSecond The current time in epoch seconds.
+     * @return {@code true} if the window is outdated, {@code false} otherwise.
+     */
+    public synchronized boolean isBefore(final long currentSecond) {
+        return second < currentSecond;
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.example.todowithcouchbase.logging.model;
+
+import com.example.todowithcouchbase.logging.entity.LogEntity;
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.security.core.context.SecurityContext;
+
+/**
+ * Represents a log entry waiting in the queue of the log writer.
+ * This class holds the entry together with the security context of the request that produced it,
+ * so that the audit fields of the entry name the same user when it is written later on another thread.
+ */
+@Getter
+@Builder
+public class QueuedLog {
+
+    private final LogEntity logEntity;
+    private final SecurityContext securityContext;
+
+}
@@ -0,0 +1,46 @@
+package com.example.todowithcouchbase.logging.model.dto.request;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.*;
+
+import java.util.Map;
+
+/**
+ * Request class used to replace the policy deciding which successful REST calls are recorded as log entries.
+ * Sample rates are shares between {@code 0} and {@code 1}, endpoint sample rates are keyed by
+ * {@code DeclaringType#method}, for example {@code TaskController#getAllTasks}, and a cap of {@code 0} means no cap.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+public class UpdateLogPolicyRequest {
+
+    @NotNull(message = "successSampleRate field cannot be null")
+    @DecimalMin(value = "0.0", message = "successSampleRate field cannot be less than 0")
+    @DecimalMax(value = "1.0", message = "successSampleRate field cannot be greater than 1")
+    private Double successSampleRate;
+
+    private Map<
+            @NotBlank(message = "endpointSampleRates keys cannot be blank")
+            @Pattern(regexp = "[\\w$]+#[\\w$]+",
+                    message = "endpointSampleRates keys must have the form DeclaringType#method") String,
+            @NotNull(message = "endpointSampleRates values cannot be null")
+            @DecimalMin(value = "0.0", message = "endpointSampleRates values cannot be less than 0")
+            @DecimalMax(value = "1.0", message = "endpointSampleRates values cannot be greater than 1") Double> endpointSampleRates;
+
+    @NotNull(message = "maxPerSecondPerUser field cannot be null")
+    @PositiveOrZero(message = "maxPerSecondPerUser field cannot be negative")
+    private Integer maxPerSecondPerUser;
+
+    @NotNull(message = "maxPerSecondPerEndpoint field cannot be null")
+    @PositiveOrZero(message = "maxPerSecondPerEndpoint field cannot be negative")
+    private Integer maxPerSecondPerEndpoint;
+
+}
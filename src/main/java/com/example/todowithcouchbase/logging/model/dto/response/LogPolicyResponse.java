@@ -0,0 +1,26 @@
+package com.example.todowithcouchbase.logging.model.dto.response;
+
+import lombok.*;
+
+import java.util.Map;
+
+/**
+ * Response class representing the policy deciding which successful REST calls are recorded as log entries.
+ * This class is used to send the sample rates and the per-second caps currently applied.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+public class LogPolicyResponse {
+
+    private double successSampleRate;
+
+    private Map<String, Double> endpointSampleRates;
+
+    private int maxPerSecondPerUser;
+
+    private int maxPerSecondPerEndpoint;
+
+}
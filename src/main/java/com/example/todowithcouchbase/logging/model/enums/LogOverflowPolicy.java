@@ -0,0 +1,26 @@
+package com.example.todowithcouchbase.logging.model.enums;
+
+/**
+ * Enum representing what happens to a log entry when the queue of the log writer cannot take it right away.
+ * Every entry that is not queued is counted as dropped, tagged with the reason it was dropped.
+ */
+public enum LogOverflowPolicy {
+
+    /**
+     * Entries are dropped while the queue is full. Requests never wait for the log writer.
+     */
+    DROP,
+
+    /**
+     * Once the queue is half full, only one in every configured number of entries is queued and the rest are dropped,
+     * so a burst still leaves a representative trace without filling the queue. Entries are dropped while the queue is full.
+     */
+    SAMPLE,
+
+    /**
+     * Requests wait for room in the queue up to the configured timeout, and the entry is dropped if none frees up.
+     * No entry is lost to a short burst, at the cost of slower responses while the writer catches up.
+     */
+    BLOCK
+
+}
@@ -0,0 +1,69 @@
+package com.example.todowithcouchbase.logging.model.enums;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Enum representing the class of the HTTP status a log entry was recorded with.
+ * Each class has its own retention, so errors can be kept for longer than successful calls.
+ */
+public enum LogStatusClass {
+
+    /**
+     * Calls answered with a 1xx, 2xx or 3xx status.
+     */
+    SUCCESS,
+
+    /**
+     * Calls answered with a 4xx status.
+     */
+    CLIENT_ERROR,
+
+    /**
+     * Calls answered with a 5xx status, and failed calls whose status is unknown.
+     */
+    SERVER_ERROR;
+
+    /**
+     * Resolves the status class of a log entry from the name of the status it was recorded with, such as {@code NOT_FOUND}.
+     *
+     * @param status    The status recorded in the log entry, which may be {@code null}.
+     * @param errorType The type of the exception recorded in the log entry, or {@code null} if the call succeeded.
+     * @return The {@link LogStatusClass} of the log entry.
+     */
+    public static LogStatusClass of(final String status, final String errorType) {
+        final HttpStatus httpStatus = parse(status);
+
+        if (httpStatus == null) {
+            return errorType == null ? SUCCESS : SERVER_ERROR;
+        }
+
+        if (httpStatus.is5xxServerError()) {
+            return SERVER_ERROR;
+        }
+
+        if (httpStatus.is4xxClientError()) {
+            return CLIENT_ERROR;
+        }
+
+        return errorType == null ? SUCCESS : SERVER_ERROR;
+    }
+
+    /**
+     * Parses the name of a recorded status.
+     *
+     * @param status The recorded status.
+     * @return The parsed {@link HttpStatus}, or {@code null} if the status is missing or unknown.
+     */
+    private static HttpStatus parse(final String status) {
+        if (status == null) {
+            return null;
+        }
+
+        try {
+            return HttpStatus.valueOf(status);
+        } catch (IllegalArgumentException exception) {
+            return null;
+        }
+    }
+
+}
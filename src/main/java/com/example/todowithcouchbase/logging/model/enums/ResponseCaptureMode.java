@@ -0,0 +1,24 @@
+package com.example.todowithcouchbase.logging.model.enums;
+
+/**
+ * Enum representing how much of the value returned by a REST controller method is recorded in its log entry.
+ */
+public enum ResponseCaptureMode {
+
+    /**
+     * The returned value is serialized to JSON and recorded up to the configured maximum size.
+     */
+    FULL,
+
+    /**
+     * Only a short summary of the returned value is recorded, such as the number of items of a page,
+     * so the log entry stays small however large the response is.
+     */
+    SUMMARY,
+
+    /**
+     * Nothing of the returned value is recorded, for responses that are too large or too sensitive to keep.
+     */
+    NONE
+
+}
@@ -0,0 +1,26 @@
+package com.example.todowithcouchbase.logging.model.mapper;
+
+import com.example.todowithcouchbase.common.model.mapper.BaseMapper;
+import com.example.todowithcouchbase.logging.entity.LogPolicyEntity;
+import com.example.todowithcouchbase.logging.model.LogPolicy;
+import org.mapstruct.Mapper;
+import org.mapstruct.factory.Mappers;
+
+/**
+ * Mapper interface for converting a {@link LogPolicyEntity} to a {@link LogPolicy}.
+ * This interface extends the {@link BaseMapper} interface, enabling automatic mapping
+ * between {@link LogPolicyEntity} and {@link LogPolicy} objects.
+ */
+@Mapper
+public interface LogPolicyEntityToLogPolicyMapper extends BaseMapper<LogPolicyEntity, LogPolicy> {
+
+    /**
+     * Initializes and returns an instance of the {@link LogPolicyEntityToLogPolicyMapper}.
+     *
+     * @return an instance of the mapper
+     */
+    static LogPolicyEntityToLogPolicyMapper initialize() {
+        return Mappers.getMapper(LogPolicyEntityToLogPolicyMapper.class);
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.example.todowithcouchbase.logging.model.mapper;
+
+import com.example.todowithcouchbase.common.model.mapper.BaseMapper;
+import com.example.todowithcouchbase.logging.model.LogPolicy;
+import com.example.todowithcouchbase.logging.model.dto.response.LogPolicyResponse;
+import org.mapstruct.Mapper;
+import org.mapstruct.factory.Mappers;
+
+/**
+ * Mapper interface for converting a {@link LogPolicy} to a {@link LogPolicyResponse}.
+ * This interface extends the {@link BaseMapper} interface, enabling automatic mapping
+ * between {@link LogPolicy} and {@link LogPolicyResponse} objects.
+ */
+@Mapper
+public interface LogPolicyToLogPolicyResponseMapper extends BaseMapper<LogPolicy, LogPolicyResponse> {
+
+    /**
+     * Initializes and returns an instance of the {@link LogPolicyToLogPolicyResponseMapper}.
+     *
+     * @return an instance of the mapper
+     */
+    static LogPolicyToLogPolicyResponseMapper initialize() {
+        return Mappers.getMapper(LogPolicyToLogPolicyResponseMapper.class);
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.example.todowithcouchbase.logging.model.mapper;
+
+import com.example.todowithcouchbase.common.model.mapper.BaseMapper;
+import com.example.todowithcouchbase.logging.entity.LogPolicyEntity;
+import com.example.todowithcouchbase.logging.model.dto.request.UpdateLogPolicyRequest;
+import org.mapstruct.Mapper;
+import org.mapstruct.Named;
+import org.mapstruct.factory.Mappers;
+
+import java.util.Map;
+
+/**
+ * Mapper interface for converting an {@link UpdateLogPolicyRequest} to a {@link LogPolicyEntity}.
+ * This interface extends the {@link BaseMapper} interface, allowing automatic mapping
+ * between the {@link UpdateLogPolicyRequest} and {@link LogPolicyEntity} objects.
+ */
+@Mapper
+public interface UpdateLogPolicyRequestToLogPolicyEntityMapper extends BaseMapper<UpdateLogPolicyRequest, LogPolicyEntity> {
+
+    /**
+     * Converts an {@link UpdateLogPolicyRequest} to the {@link LogPolicyEntity} stored under the fixed policy key.
+     * A missing map of endpoint sample rates is stored as an empty map.
+     *
+     * @param request the {@link UpdateLogPolicyRequest} to be mapped
+     * @return the resulting {@link LogPolicyEntity} containing the mapped fields
+     */
+    @Named("mapForSaving")
+    default LogPolicyEntity mapForSaving(UpdateLogPolicyRequest request) {
+        return LogPolicyEntity.builder()
+                .id(LogPolicyEntity.ID)
+                .successSampleRate(request.getSuccessSampleRate())
+                .endpointSampleRates(request.getEndpointSampleRates() == null ? Map.of() : Map.copyOf(request.getEndpointSampleRates()))
+                .maxPerSecondPerUser(request.getMaxPerSecondPerUser())
+                .maxPerSecondPerEndpoint(request.getMaxPerSecondPerEndpoint())
+                .build();
+    }
+
+    /**
+     * Initializes and returns an instance of the {@link UpdateLogPolicyRequestToLogPolicyEntityMapper}.
+     *
+     * @return an instance of the mapper
+     */
+    static UpdateLogPolicyRequestToLogPolicyEntityMapper initialize() {
+        return Mappers.getMapper(UpdateLogPolicyRequestToLogPolicyEntityMapper.class);
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.example.todowithcouchbase.logging.repository;
+
+import com.example.todowithcouchbase.logging.entity.LogPolicyEntity;
+import org.springframework.data.couchbase.repository.CouchbaseRepository;
+
+/**
+ * Repository interface for managing the {@link LogPolicyEntity} in Couchbase.
+ * This interface extends {@link CouchbaseRepository} to provide CRUD operations for the {@link LogPolicyEntity}.
+ * The policy is stored under a fixed key, so reading it is a key-value operation.
+ */
+public interface LogPolicyRepository extends CouchbaseRepository<LogPolicyEntity, String> {
+
+}
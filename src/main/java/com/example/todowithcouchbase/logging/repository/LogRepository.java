@@ -8,8 +8,8 @@ import org.springframework.data.couchbase.repository.CouchbaseRepository;
  * This interface extends {@link CouchbaseRepository} and provides methods for interacting with
  * the Couchbase database for storing and retrieving {@link LogEntity} instances.
  * The repository will automatically inherit basic CRUD operations such as save, find, and delete
- * from {@link CouchbaseRepository}.
+ * from {@link CouchbaseRepository}, and {@link LogRepositoryCustom} for non-blocking upserts.
  */
-public interface LogRepository extends CouchbaseRepository<LogEntity,String> {
+public interface LogRepository extends CouchbaseRepository<LogEntity,String>, LogRepositoryCustom {
 
 }
@@ -0,0 +1,25 @@
+package com.example.todowithcouchbase.logging.repository;
+
+import com.example.todowithcouchbase.logging.entity.LogEntity;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Custom repository interface for {@link LogEntity} operations that are not covered by derived queries.
+ */
+public interface LogRepositoryCustom {
+
+    /**
+     * Upserts the given {@link LogEntity} into the given collection of the log scope without blocking the calling thread.
+     * Several upserts can be in flight at once, which lets the log writer pipeline the writes of a batch to Couchbase.
+     * The document expires after the given duration, so Couchbase removes it without a separate purge.
+     *
+     * @param logEntity      The log entry to write.
+     * @param collectionName The name of the collection in the log scope to write to.
+     * @param expiry         The duration after which the document expires.
+     * @return A {@link Mono} emitting the written {@link LogEntity}.
+     */
+    Mono<LogEntity> upsertReactive(final LogEntity logEntity, final String collectionName, final Duration expiry);
+
+}
@@ -0,0 +1,38 @@
+package com.example.todowithcouchbase.logging.repository;
+
+import com.example.todowithcouchbase.logging.entity.LogEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.couchbase.core.CouchbaseTemplate;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Implementation of {@link LogRepositoryCustom} backed by the reactive side of {@link CouchbaseTemplate}.
+ * Each upsert is a single key-value write of a log document.
+ */
+@RequiredArgsConstructor
+public class LogRepositoryCustomImpl implements LogRepositoryCustom {
+
+    private final CouchbaseTemplate couchbaseTemplate;
+
+    /**
+     * Upserts the given {@link LogEntity} into the given collection without blocking the calling thread.
+     * The entity is converted, and its ID and audit fields filled, when the returned {@link Mono} is subscribed.
+     * The collection overrides the one declared on {@link LogEntity}, while the scope declared on it is kept.
+     *
+     * @param logEntity      The log entry to write.
+     * @param collectionName The name of the collection in the log scope to write to.
+     * @param expiry         The duration after which the document expires.
+     * @return A {@link Mono} emitting the written {@link LogEntity}.
+     */
+    @Override
+    public Mono<LogEntity> upsertReactive(LogEntity logEntity, String collectionName, Duration expiry) {
+        return couchbaseTemplate.reactive()
+                .upsertById(LogEntity.class)
+                .withExpiry(expiry)
+                .inCollection(collectionName)
+                .one(logEntity);
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.example.todowithcouchbase.logging.service;
+
+import com.example.todowithcouchbase.logging.model.LogPolicy;
+import com.example.todowithcouchbase.logging.model.dto.request.UpdateLogPolicyRequest;
+
+/**
+ * Service interface for the policy deciding which successful REST calls are recorded as log entries.
+ * Failed calls are always recorded, so this service is only consulted for successful ones.
+ */
+public interface LogPolicyService {
+
+    /**
+     * Decides whether a successful call should be recorded, sampling it at the rate of its endpoint and
+     * counting it against the per-second caps of its user and endpoint. Calls that are not recorded are counted
+     * by the reason they were suppressed for.
+     *
+     * @param endpointKey The key of the endpoint that handled the call, in the form {@code DeclaringType#method}.
+     * @param username    The name of the authenticated user, or {@code null} for anonymous calls.
+     * @return {@code true} if the call should be recorded, {@code false} otherwise.
+     */
+    boolean shouldRecordSuccess(String endpointKey, String username);
+
+    /**
+     * Returns the policy currently applied on this node.
+     *
+     * @return The current {@link LogPolicy}.
+     */
+    LogPolicy getPolicy();
+
+    /**
+     * Replaces the stored policy. The new policy applies on this node right away and on other nodes
+     * once they next read the stored policy.
+     *
+     * @param updateLogPolicyRequest The new policy.
+     * @return The {@link LogPolicy} now applied.
+     */
+    LogPolicy updatePolicy(UpdateLogPolicyRequest updateLogPolicyRequest);
+
+}
@@ -0,0 +1,36 @@
+package com.example.todowithcouchbase.logging.service;
+
+import com.example.todowithcouchbase.logging.entity.LogEntity;
+
+import java.time.Duration;
+
+/**
+ * Service interface for the retention of log entries.
+ * This interface decides how long a log entry is kept and which collection it is written to,
+ * and removes the collections whose entries have all expired.
+ */
+public interface LogRetentionService {
+
+    /**
+     * Returns the expiry a log entry is written with, chosen by the status class of the call it records.
+     *
+     * @param logEntity The log entry to be written.
+     * @return The expiry of the log document.
+     */
+    Duration getExpiry(LogEntity logEntity);
+
+    /**
+     * Returns the name of the collection a log entry is written to, without creating or looking up any collection.
+     *
+     * @param logEntity The log entry to be written.
+     * @return The name of the collection in the log scope.
+     */
+    String getCollectionName(LogEntity logEntity);
+
+    /**
+     * Creates the daily collections of the coming days ahead of time and drops the daily collections
+     * whose entries have all expired.
+     */
+    void rollCollections();
+
+}
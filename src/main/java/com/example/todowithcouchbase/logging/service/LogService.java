@@ -11,6 +11,7 @@ public interface LogService {
 
     /**
      * Saves the provided {@link LogEntity} to the database.
+     * The entry may be written after this method returns, so a caller must not rely on it being stored yet.
      *
      * @param logEntity the {@link LogEntity} to be saved
      */
@@ -0,0 +1,43 @@
+package com.example.todowithcouchbase.logging.service;
+
+import com.example.todowithcouchbase.logging.model.QueuedLog;
+
+/**
+ * Service interface for the local spill file of the log writer.
+ * This interface keeps log entries on local disk while they cannot be written to Couchbase,
+ * and uploads them to Couchbase once it accepts writes again.
+ */
+public interface LogSpillService {
+
+    /**
+     * Appends a log entry to the spill file, because the queue of the log writer could not take it.
+     *
+     * @param queuedLog The log entry together with the security context of the request that produced it.
+     * @return {@code true} if the entry was spilled, {@code false} if it could not be kept and is lost.
+     */
+    boolean spill(QueuedLog queuedLog);
+
+    /**
+     * Appends a log entry to the spill file, because writing it to Couchbase failed.
+     * Couchbase is treated as unavailable until the spill file has been uploaded again.
+     *
+     * @param queuedLog The log entry together with the security context of the request that produced it.
+     * @return {@code true} if the entry was spilled, {@code false} if it could not be kept and is lost.
+     */
+    boolean spillAfterFailure(QueuedLog queuedLog);
+
+    /**
+     * Tells whether Couchbase is treated as unavailable, in which case new log entries go to the spill file
+     * instead of waiting for writes that are likely to time out.
+     *
+     * @return {@code true} if Couchbase is treated as unavailable, {@code false} otherwise.
+     */
+    boolean isStoreUnavailable();
+
+    /**
+     * Uploads the spilled log entries to Couchbase, oldest segment first, and deletes each segment once all of its
+     * entries are written. Stops at the first segment that cannot be uploaded completely.
+     */
+    void replay();
+
+}
@@ -0,0 +1,179 @@
+package com.example.todowithcouchbase.logging.service.impl;
+
+import com.example.todowithcouchbase.logging.config.LogPolicyProperties;
+import com.example.todowithcouchbase.logging.entity.LogPolicyEntity;
+import com.example.todowithcouchbase.logging.model.LogPolicy;
+import com.example.todowithcouchbase.logging.model.LogRateWindow;
+import com.example.todowithcouchbase.logging.model.dto.request.UpdateLogPolicyRequest;
+import com.example.todowithcouchbase.logging.model.mapper.LogPolicyEntityToLogPolicyMapper;
+import com.example.todowithcouchbase.logging.model.mapper.UpdateLogPolicyRequestToLogPolicyEntityMapper;
+import com.example.todowithcouchbase.logging.repository.LogPolicyRepository;
+import com.example.todowithcouchbase.logging.service.LogPolicyService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Service implementation for the policy deciding which successful REST calls are recorded as log entries.
+ * The policy is kept on each node and decided without a round trip to Couchbase. It is loaded from Couchbase
+ * at startup and refreshed periodically, so a policy stored by any node takes effect on every node without
+ * a restart. Without a stored policy, the policy configured in {@link LogPolicyProperties} applies.
+ * Per-second caps are counted per node. Suppressed calls are exported as a Micrometer counter tagged with
+ * the reason and the endpoint; users are not used as a tag, since there is no bound on their number.
+ * Endpoints are keyed by {@code DeclaringType#method}, so the sample rate, the cap and the counter of an endpoint
+ * are not shared with a method of the same name on another controller.
+ */
+@Slf4j
+@Service
+public class LogPolicyServiceImpl implements LogPolicyService {
+
+    private static final String SUPPRESSED_METRIC = "log.policy.suppressed";
+
+    private final LogPolicyRepository logPolicyRepository;
+    private final LogPolicyProperties logPolicyProperties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, LogRateWindow> userWindows = new ConcurrentHashMap<>();
+    private final Map<String, LogRateWindow> endpointWindows = new ConcurrentHashMap<>();
+
+    private final LogPolicyEntityToLogPolicyMapper logPolicyEntityToLogPolicyMapper =
+            LogPolicyEntityToLogPolicyMapper.initialize();
+
+    private final UpdateLogPolicyRequestToLogPolicyEntityMapper updateLogPolicyRequestToLogPolicyEntityMapper =
+            UpdateLogPolicyRequestToLogPolicyEntityMapper.initialize();
+
+    private Clock clock = Clock.systemUTC();
+
+    private volatile LogPolicy policy;
+
+    /**
+     * Constructs a new {@code LogPolicyServiceImpl} applying the configured policy until a stored policy is loaded.
+     *
+     * @param logPolicyRepository The repository the policy is stored in.
+     * @param logPolicyProperties The policy applied while no policy is stored.
+     * @param meterRegistry       The registry the suppression counters are exported to.
+     */
+    public LogPolicyServiceImpl(final LogPolicyRepository logPolicyRepository,
+                                final LogPolicyProperties logPolicyProperties,
+                                final MeterRegistry meterRegistry) {
+        this.logPolicyRepository = logPolicyRepository;
+        this.logPolicyProperties = logPolicyProperties;
+        this.meterRegistry = meterRegistry;
+        this.policy = configuredPolicy();
+    }
+
+    /**
+     * Decides whether a successful call should be recorded.
+     * The call is sampled first, so calls left out by sampling do not use up the per-second caps.
+     *
+     * @param endpointKey The key of the endpoint that handled the call, in the form {@code DeclaringType#method}.
+     * @param username    The name of the authenticated user, or {@code null} for anonymous calls.
+     * @return {@code true} if the call should be recorded, {@code false} otherwise.
+     */
+    @Override
+    public boolean shouldRecordSuccess(String endpointKey, String username) {
+        final LogPolicy currentPolicy = policy;
+
+        final double sampleRate = currentPolicy.getSampleRate(endpointKey);
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            suppressed("sampled", endpointKey);
+            return false;
+        }
+
+        final long currentSecond = clock.millis() / 1000;
+
+        if (username != null && currentPolicy.getMaxPerSecondPerUser() > 0
+                && !userWindows.computeIfAbsent(username, key -> new LogRateWindow())
+                .tryAcquire(currentSecond, currentPolicy.getMaxPerSecondPerUser())) {
+            suppressed("user-rate", endpointKey);
+            return false;
+        }
+
+        if (currentPolicy.getMaxPerSecondPerEndpoint() > 0
+                && !endpointWindows.computeIfAbsent(endpointKey, key -> new LogRateWindow())
+                .tryAcquire(currentSecond, currentPolicy.getMaxPerSecondPerEndpoint())) {
+            suppressed("endpoint-rate", endpointKey);
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the policy currently applied on this node.
+     *
+     * @return The current {@link LogPolicy}.
+     */
+    @Override
+    public LogPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Stores the given policy under the fixed policy key and applies it on this node right away.
+     *
+     * @param updateLogPolicyRequest The new policy.
+     * @return The {@link LogPolicy} now applied.
+     */
+    @Override
+    public LogPolicy updatePolicy(UpdateLogPolicyRequest updateLogPolicyRequest) {
+        final LogPolicyEntity savedLogPolicyEntity = logPolicyRepository.save(
+                updateLogPolicyRequestToLogPolicyEntityMapper.mapForSaving(updateLogPolicyRequest)
+        );
+
+        policy = logPolicyEntityToLogPolicyMapper.map(savedLogPolicyEntity);
+        return policy;
+    }
+
+    /**
+     * Loads the stored policy from Couchbase, falling back to the configured policy if none is stored.
+     * This method runs once when scheduling starts and then periodically, so that a policy stored on another node
+     * is picked up within the configured interval. It also drops the rate windows of past seconds, so users and
+     * endpoints that stopped calling do not stay in memory.
+     */
+    @Scheduled(fixedDelayString = "${log.policy.refresh-interval-millis:30000}")
+    public void refreshPolicy() {
+        try {
+            policy = logPolicyRepository.findById(LogPolicyEntity.ID)
+                    .map(logPolicyEntityToLogPolicyMapper::map)
+                    .orElseGet(this::configuredPolicy);
+        } catch (Exception e) {
+            log.error("Log policy could not be loaded from the database", e);
+        }
+
+        final long currentSecond = clock.millis() / 1000;
+        userWindows.values().removeIf(window -> window.isBefore(currentSecond));
+        endpointWindows.values().removeIf(window -> window.isBefore(currentSecond));
+    }
+
+    /**
+     * Builds the policy configured in the application properties.
+     *
+     * @return The configured {@link LogPolicy}.
+     */
+    private LogPolicy configuredPolicy() {
+        return LogPolicy.builder()
+                .successSampleRate(logPolicyProperties.getSuccessSampleRate())
+                .endpointSampleRates(Map.copyOf(logPolicyProperties.getEndpointSampleRates()))
+                .maxPerSecondPerUser(logPolicyProperties.getMaxPerSecondPerUser())
+                .maxPerSecondPerEndpoint(logPolicyProperties.getMaxPerSecondPerEndpoint())
+                .build();
+    }
+
+    /**
+     * Counts a call that was not recorded.
+     *
+     * @param reason      The reason the call was suppressed for.
+     * @param endpointKey The key of the endpoint that handled the call.
+     */
+    private void suppressed(final String reason, final String endpointKey) {
+        meterRegistry.counter(SUPPRESSED_METRIC, "reason", reason, "operation", endpointKey).increment();
+    }
+
+}
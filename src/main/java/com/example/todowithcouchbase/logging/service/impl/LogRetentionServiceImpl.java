@@ -0,0 +1,237 @@
+package com.example.todowithcouchbase.logging.service.impl;
+
+import com.couchbase.client.core.error.CollectionExistsException;
+import com.couchbase.client.core.error.CollectionNotFoundException;
+import com.couchbase.client.java.Bucket;
+import com.couchbase.client.java.manager.collection.CollectionSpec;
+import com.couchbase.client.java.manager.collection.ScopeSpec;
+import com.example.todowithcouchbase.common.config.CouchbaseProperties;
+import com.example.todowithcouchbase.common.util.CouchbaseCollectionUtil;
+import com.example.todowithcouchbase.logging.config.LogRetentionProperties;
+import com.example.todowithcouchbase.logging.entity.LogEntity;
+import com.example.todowithcouchbase.logging.model.enums.LogStatusClass;
+import com.example.todowithcouchbase.logging.service.LogRetentionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Service implementation for the retention of log entries.
+ * Every log document is written with an expiry chosen by its {@link LogStatusClass}, so Couchbase removes it on its own
+ * once it is no longer needed. When daily collections are enabled, the entries of each day are written to a collection
+ * of their own, named after the log collection and the day, such as {@code log-collection-20261016}. Once every entry
+ * of a day has expired, its collection is dropped as a whole, which also removes the tombstones and index entries left
+ * behind by the expired documents, so the storage used for logs stays flat over time instead of growing with traffic.
+ * The collections of today and the coming days are created at startup and on every rollover, off the write path,
+ * so choosing the collection of an entry never waits for Couchbase.
+ */
+@Slf4j
+@Service
+public class LogRetentionServiceImpl implements LogRetentionService {
+
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final Bucket bucket;
+    private final LogRetentionProperties logRetentionProperties;
+    private final String scopeName;
+    private final String collectionName;
+
+    private final Set<String> existingCollections = ConcurrentHashMap.newKeySet();
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    /**
+     * Constructs a new {@code LogRetentionServiceImpl}.
+     *
+     * @param bucket                 The bucket the log scope belongs to.
+     * @param couchbaseProperties    The properties naming the log scope and the log collection.
+     * @param logRetentionProperties The expiries and the collection layout of log entries.
+     */
+    public LogRetentionServiceImpl(final Bucket bucket,
+                                   final CouchbaseProperties couchbaseProperties,
+                                   final LogRetentionProperties logRetentionProperties) {
+        this.bucket = bucket;
+        this.logRetentionProperties = logRetentionProperties;
+        this.scopeName = couchbaseProperties.getScopes().getLogScope();
+        this.collectionName = couchbaseProperties.getCollections().getLogCollection();
+    }
+
+    /**
+     * Returns the expiry configured for the status class of the given log entry.
+     *
+     * @param logEntity The log entry to be written.
+     * @return The expiry of the log document.
+     */
+    @Override
+    public Duration getExpiry(LogEntity logEntity) {
+        return switch (LogStatusClass.of(logEntity.getStatus(), logEntity.getErrorType())) {
+            case SUCCESS -> logRetentionProperties.getSuccessTtl();
+            case CLIENT_ERROR -> logRetentionProperties.getClientErrorTtl();
+            case SERVER_ERROR -> logRetentionProperties.getServerErrorTtl();
+        };
+    }
+
+    /**
+     * Returns the daily collection of the day the given log entry was recorded on, or the log collection itself
+     * when daily collections are disabled. An entry of a day whose collection has not been created yet,
+     * such as one recorded before the first rollover, is written to the log collection instead.
+     *
+     * @param logEntity The log entry to be written.
+     * @return The name of the collection in the log scope.
+     */
+    @Override
+    public String getCollectionName(LogEntity logEntity) {
+        if (!logRetentionProperties.isDailyCollections()) {
+            return collectionName;
+        }
+
+        final LocalDate day = Optional.ofNullable(logEntity.getTime())
+                .map(LocalDateTime::toLocalDate)
+                .orElseGet(() -> LocalDate.now(clock));
+
+        final String dailyCollectionName = dailyCollectionName(day);
+        return existingCollections.contains(dailyCollectionName) ? dailyCollectionName : collectionName;
+    }
+
+    /**
+     * Creates the daily collections of today and the coming days once the application is ready,
+     * so the first writes of the day already find their collection.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void createCollectionsAtStartup() {
+        rollCollections();
+    }
+
+    /**
+     * Runs periodically, creating the daily collections of today and the configured number of coming days,
+     * and dropping every daily collection whose entries have all expired.
+     * A daily collection is dropped once the longest expiry has passed since the end of its day.
+     */
+    @Override
+    @Scheduled(
+            initialDelayString = "${log.retention.rollover-interval-millis:3600000}",
+            fixedDelayString = "${log.retention.rollover-interval-millis:3600000}"
+    )
+    public void rollCollections() {
+        final LocalDate today = LocalDate.now(clock);
+
+        try {
+            final Set<String> collectionNames = bucket.collections().getAllScopes().stream()
+                    .filter(scopeSpec -> scopeSpec.name().equals(scopeName))
+                    .map(ScopeSpec::collections)
+                    .flatMap(Set::stream)
+                    .map(CollectionSpec::name)
+                    .collect(Collectors.toSet());
+
+            if (logRetentionProperties.isDailyCollections()) {
+                for (int offset = 0; offset <= logRetentionProperties.getPrecreateDays(); offset++) {
+                    final String name = dailyCollectionName(today.plusDays(offset));
+                    if (!collectionNames.contains(name)) {
+                        createCollection(name);
+                    }
+                    existingCollections.add(name);
+                }
+            }
+
+            final long retentionDays = ceilDays(logRetentionProperties.getMaxTtl());
+
+            collectionNames.forEach(name -> parseDay(name)
+                    .ifPresent(day -> {
+                        if (!day.plusDays(1 + retentionDays).isAfter(today)) {
+                            dropCollection(name);
+                        } else {
+                            existingCollections.add(name);
+                        }
+                    }));
+        } catch (Exception exception) {
+            log.error("Log collections could not be rolled over", exception);
+        }
+    }
+
+    /**
+     * Creates the given collection in the log scope and waits until it is usable.
+     *
+     * @param name The name of the collection.
+     */
+    private void createCollection(final String name) {
+        try {
+            bucket.collections().createCollection(scopeName, name);
+            log.info("Log collection created: {}.{}", scopeName, name);
+        } catch (CollectionExistsException exception) {
+            log.debug("Log collection already exists: {}.{}", scopeName, name);
+        }
+
+        CouchbaseCollectionUtil.waitUntilUsable(bucket.scope(scopeName).collection(name));
+    }
+
+    /**
+     * Drops the given collection from the log scope, together with every document and index entry it holds.
+     *
+     * @param name The name of the collection.
+     */
+    private void dropCollection(final String name) {
+        try {
+            bucket.collections().dropCollection(scopeName, name);
+            log.info("Expired log collection dropped: {}.{}", scopeName, name);
+        } catch (CollectionNotFoundException exception) {
+            log.debug("Expired log collection already dropped: {}.{}", scopeName, name);
+        }
+
+        existingCollections.remove(name);
+    }
+
+    /**
+     * Returns the name of the daily collection of the given day.
+     *
+     * @param day The day.
+     * @return The name of the daily collection.
+     */
+    private String dailyCollectionName(final LocalDate day) {
+        return collectionName + "-" + DAY_FORMAT.format(day);
+    }
+
+    /**
+     * Reads the day back from the name of a daily collection.
+     *
+     * @param name The name of a collection in the log scope.
+     * @return The day of the collection, or {@link Optional#empty()} if it is not a daily collection.
+     */
+    private Optional<LocalDate> parseDay(final String name) {
+        final String prefix = collectionName + "-";
+
+        if (!name.startsWith(prefix)) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(LocalDate.parse(name.substring(prefix.length()), DAY_FORMAT));
+        } catch (DateTimeParseException exception) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Rounds the given duration up to whole days.
+     *
+     * @param duration The duration.
+     * @return The number of days, rounded up.
+     */
+    private static long ceilDays(final Duration duration) {
+        final long days = duration.toDays();
+        return duration.equals(Duration.ofDays(days)) ? days : days + 1;
+    }
+
+}
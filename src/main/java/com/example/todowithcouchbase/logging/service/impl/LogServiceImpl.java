@@ -1,33 +1,345 @@
 package com.example.todowithcouchbase.logging.service.impl;
 
+import com.example.todowithcouchbase.logging.config.LogWriterProperties;
 import com.example.todowithcouchbase.logging.entity.LogEntity;
+import com.example.todowithcouchbase.logging.model.QueuedLog;
 import com.example.todowithcouchbase.logging.repository.LogRepository;
+import com.example.todowithcouchbase.logging.service.LogRetentionService;
 import com.example.todowithcouchbase.logging.service.LogService;
-import lombok.RequiredArgsConstructor;
+import com.example.todowithcouchbase.logging.service.LogSpillService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Service implementation for handling log-related operations.
- * This interface defines a method for saving log entries to the database.
- * It abstracts the logic for logging and allows interaction with a persistence layer to store log data.
+ * Log entries are not written on the calling thread. They are put on a bounded queue and written by a background
+ * writer thread, so a response does not wait for the log write. The writer takes entries off the queue in batches,
+ * flushing a batch once it holds the configured number of entries or once the flush interval has passed since its
+ * first entry, and writes every batch through concurrent non-blocking upserts.
+ * When the queue cannot take an entry right away, the configured {@link com.example.todowithcouchbase.logging.model.enums.LogOverflowPolicy}
+ * decides whether it is dropped, sampled or waited for. The queue depth and the number of dropped and failed
+ * entries are exported as Micrometer metrics. On shutdown, the writer flushes every entry still queued before it stops.
+ * The collection and the expiry of every entry are chosen by the {@link LogRetentionService}.
+ * Entries that do not fit into the queue, that arrive after shutdown began, or that Couchbase fails to write are
+ * handed to the {@link LogSpillService}, which keeps them on local disk until Couchbase accepts writes again, and
+ * are only dropped if the spill file cannot take them either. While Couchbase is treated as unavailable, batches go
+ * straight to the spill file, so neither requests nor the writer wait on a stalled cluster.
  */
+@Slf4j
 @Service
-@RequiredArgsConstructor
-public class LogServiceImpl implements LogService {
+public class LogServiceImpl implements LogService, AutoCloseable {
+
+    private static final String METRIC_PREFIX = "log.writer";
+    private static final long STOP_CHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
 
     private final LogRepository logRepository;
+    private final LogRetentionService logRetentionService;
+    private final LogSpillService logSpillService;
+    private final LogWriterProperties logWriterProperties;
+
+    private final BlockingQueue<QueuedLog> queue;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Thread writerThread;
+    private final AtomicLong sampleCounter = new AtomicLong();
+
+    private final Counter fullDroppedCounter;
+    private final Counter sampledDroppedCounter;
+    private final Counter timeoutDroppedCounter;
+    private final Counter stoppedDroppedCounter;
+    private final Counter unavailableDroppedCounter;
+    private final Counter failedCounter;
+
+    private volatile boolean running = true;
+
+    /**
+     * Constructs a new {@code LogServiceImpl} and starts its writer thread.
+     *
+     * @param logRepository       The repository used to write log entries.
+     * @param logRetentionService The service choosing the collection and the expiry of log entries.
+     * @param logSpillService     The service keeping log entries on local disk while they cannot be written.
+     * @param logWriterProperties The settings of the queue and the writer.
+     * @param meterRegistry       The registry the writer metrics are exported to.
+     */
+    public LogServiceImpl(final LogRepository logRepository,
+                          final LogRetentionService logRetentionService,
+                          final LogSpillService logSpillService,
+                          final LogWriterProperties logWriterProperties,
+                          final MeterRegistry meterRegistry) {
+
+        this.logRepository = logRepository;
+        this.logRetentionService = logRetentionService;
+        this.logSpillService = logSpillService;
+        this.logWriterProperties = logWriterProperties;
+        this.queue = new ArrayBlockingQueue<>(logWriterProperties.getQueueCapacity());
+
+        Gauge.builder(METRIC_PREFIX + ".queue.depth", queue, BlockingQueue::size)
+                .description("Number of log entries waiting to be written")
+                .register(meterRegistry);
+
+        this.fullDroppedCounter = droppedCounter(meterRegistry, "full");
+        this.sampledDroppedCounter = droppedCounter(meterRegistry, "sampled");
+        this.timeoutDroppedCounter = droppedCounter(meterRegistry, "timeout");
+        this.stoppedDroppedCounter = droppedCounter(meterRegistry, "stopped");
+        this.unavailableDroppedCounter = droppedCounter(meterRegistry, "unavailable");
+
+        this.failedCounter = Counter.builder(METRIC_PREFIX + ".failed")
+                .description("Number of log entries that could not be written")
+                .register(meterRegistry);
+
+        this.writerThread = new Thread(this::drain, "log-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
 
     /**
-     * Saves the provided {@link LogEntity} to the database.
+     * Queues the provided {@link LogEntity} to be written to the database by the writer thread.
+     * The time of the entry is set here, so it records when the request finished rather than when the entry was written.
      *
      * @param logEntity the {@link LogEntity} to be saved
      */
     @Override
     public void saveLogToDatabase(LogEntity logEntity) {
         logEntity.setTime(LocalDateTime.now());
-        logRepository.save(logEntity);
+
+        final QueuedLog queuedLog = QueuedLog.builder()
+                .logEntity(logEntity)
+                .securityContext(SecurityContextHolder.getContext())
+                .build();
+
+        if (!running) {
+            spillOrCount(queuedLog, stoppedDroppedCounter);
+            return;
+        }
+
+        switch (logWriterProperties.getOverflowPolicy()) {
+            case DROP -> offer(queuedLog);
+            case SAMPLE -> offerSampled(queuedLog);
+            case BLOCK -> offerBlocking(queuedLog);
+        }
+    }
+
+    /**
+     * Stops the writer thread once it has written every entry still queued, waiting at most the shutdown timeout,
+     * and then stops the threads that run the batch writes once the writes still in flight are done.
+     * Entries logged after this point are spilled.
+     */
+    @PreDestroy
+    @Override
+    public void close() {
+        running = false;
+
+        try {
+            writerThread.join(logWriterProperties.getShutdownTimeoutMillis());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (writerThread.isAlive()) {
+            log.warn("Log writer did not finish within the shutdown timeout, queue depth: {}", queue.size());
+        }
+
+        executor.shutdown();
+        try {
+            executor.awaitTermination(logWriterProperties.getShutdownTimeoutMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Queues the entry if there is room, and spills it otherwise.
+     *
+     * @param queuedLog The entry to queue.
+     */
+    private void offer(final QueuedLog queuedLog) {
+        if (!queue.offer(queuedLog)) {
+            spillOrCount(queuedLog, fullDroppedCounter);
+        }
+    }
+
+    /**
+     * Queues the entry while the queue is less than half full. From then on, only one in every
+     * {@code sampleRate} entries is queued, and the entry is spilled if the queue is full.
+     *
+     * @param queuedLog The entry to queue.
+     */
+    private void offerSampled(final QueuedLog queuedLog) {
+        if (queue.size() * 2 >= logWriterProperties.getQueueCapacity()
+                && sampleCounter.getAndIncrement() % logWriterProperties.getSampleRate() != 0) {
+            sampledDroppedCounter.increment();
+            return;
+        }
+
+        offer(queuedLog);
+    }
+
+    /**
+     * Queues the entry, waiting up to the block timeout for room, and spills it if none frees up.
+     *
+     * @param queuedLog The entry to queue.
+     */
+    private void offerBlocking(final QueuedLog queuedLog) {
+        try {
+            if (!queue.offer(queuedLog, logWriterProperties.getBlockTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                spillOrCount(queuedLog, timeoutDroppedCounter);
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            spillOrCount(queuedLog, timeoutDroppedCounter);
+        }
+    }
+
+    /**
+     * Spills an entry that could not be queued, and counts it as dropped if the spill file cannot take it either.
+     *
+     * @param queuedLog      The entry to spill.
+     * @param droppedCounter The counter of the reason the entry could not be queued.
+     */
+    private void spillOrCount(final QueuedLog queuedLog, final Counter droppedCounter) {
+        if (!logSpillService.spill(queuedLog)) {
+            droppedCounter.increment();
+        }
+    }
+
+    /**
+     * Runs on the writer thread, writing batches until the writer is stopped and the queue is empty.
+     * While Couchbase is treated as unavailable, batches are spilled instead of written.
+     */
+    private void drain() {
+        while (running || !queue.isEmpty()) {
+            try {
+                final List<QueuedLog> batch = nextBatch();
+                if (batch.isEmpty()) {
+                    continue;
+                }
+
+                if (logSpillService.isStoreUnavailable()) {
+                    batch.forEach(queuedLog -> spillOrCount(queuedLog, unavailableDroppedCounter));
+                } else {
+                    write(batch);
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception exception) {
+                log.error("Log batch could not be written", exception);
+            }
+        }
+    }
+
+    /**
+     * Takes the next batch off the queue. The batch is complete once it holds {@code batchSize} entries or once the
+     * flush interval has passed since its first entry arrived. Waits are cut into slices of at most 100 milliseconds,
+     * so a stopping writer notices it quickly even with a long flush interval. While the writer is stopping, only the
+     * entries already queued are taken, without waiting for more.
+     *
+     * @return The next batch, which is empty if no entry arrived while waiting.
+     * @throws InterruptedException If the writer thread is interrupted while waiting.
+     */
+    private List<QueuedLog> nextBatch() throws InterruptedException {
+        final int batchSize = logWriterProperties.getBatchSize();
+        final long flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(logWriterProperties.getFlushIntervalMillis());
+        final List<QueuedLog> batch = new ArrayList<>(batchSize);
+
+        final QueuedLog first = running
+                ? queue.poll(Math.min(flushIntervalNanos, STOP_CHECK_NANOS), TimeUnit.NANOSECONDS)
+                : queue.poll();
+
+        if (first == null) {
+            return batch;
+        }
+
+        batch.add(first);
+        final long deadline = System.nanoTime() + flushIntervalNanos;
+
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+
+            final long remainingNanos = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remainingNanos <= 0 || !running) {
+                break;
+            }
+
+            final QueuedLog next = queue.poll(Math.min(remainingNanos, STOP_CHECK_NANOS), TimeUnit.NANOSECONDS);
+            if (next != null) {
+                batch.add(next);
+            }
+        }
+
+        return batch;
+    }
+
+    /**
+     * Writes a batch with up to {@code concurrency} upserts in flight at once and waits until all of them completed.
+     * Each upsert is subscribed on a thread carrying the security context of the request that produced the entry,
+     * because the entity is converted, and its audit fields filled, when the upsert is subscribed. The collection of
+     * an entry is resolved on that thread as well, since the first entry of a new day may have to create it.
+     * A failed upsert is counted and logged without failing the rest of the batch, and its entry is spilled.
+     *
+     * @param batch The entries to write.
+     */
+    private void write(final List<QueuedLog> batch) {
+        Flux.fromIterable(batch)
+                .flatMap(queuedLog -> Mono.defer(() -> upsert(queuedLog.getLogEntity()))
+                        .subscribeOn(Schedulers.fromExecutor(
+                                new DelegatingSecurityContextExecutor(executor, queuedLog.getSecurityContext())
+                        ))
+                        .then()
+                        .onErrorResume(exception -> {
+                            failedCounter.increment();
+                            log.error("Log entry could not be written: {}", queuedLog.getLogEntity().getOperation(), exception);
+                            logSpillService.spillAfterFailure(queuedLog);
+                            return Mono.empty();
+                        }), logWriterProperties.getConcurrency())
+                .then()
+                .block();
+    }
+
+    /**
+     * Upserts a log entry into the collection and with the expiry chosen for it.
+     *
+     * @param logEntity The log entry to write.
+     * @return A {@link Mono} emitting the written {@link LogEntity}.
+     */
+    private Mono<LogEntity> upsert(final LogEntity logEntity) {
+        return logRepository.upsertReactive(
+                logEntity,
+                logRetentionService.getCollectionName(logEntity),
+                logRetentionService.getExpiry(logEntity)
+        );
+    }
+
+    /**
+     * Registers the counter of log entries dropped for the given reason.
+     *
+     * @param meterRegistry The registry the counter is registered with.
+     * @param reason        The reason entries were dropped for.
+     * @return The registered {@link Counter}.
+     */
+    private static Counter droppedCounter(final MeterRegistry meterRegistry, final String reason) {
+        return Counter.builder(METRIC_PREFIX + ".dropped")
+                .description("Number of log entries dropped instead of written")
+                .tag("reason", reason)
+                .register(meterRegistry);
     }
 
 }
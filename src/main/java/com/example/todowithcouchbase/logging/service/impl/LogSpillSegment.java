@@ -0,0 +1,260 @@
+package com.example.todowithcouchbase.logging.service.impl;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An append-only segment of the log spill file, memory-mapped at its full size when it is created.
+ * Each record is a four-byte length followed by that many bytes of payload, and the unused rest of the segment
+ * is zero. The payload of a record is written before its length, so a record cut short by a crash reads as the
+ * end of the segment instead of as a corrupt record. Appends only copy into the mapped memory, which the operating
+ * system writes back on its own; {@link #force()} writes it back right away.
+ * A segment goes through these states, in order:
+ * <ul>
+ *     <li>open: created or reopened, and mapped; records are appended by one owner at a time,</li>
+ *     <li>sealed: no longer appended to; it is only forced and read, by the replayer,</li>
+ *     <li>closed: unmapped by {@link #close()}, after which the segment must not be used any more,</li>
+ *     <li>deleted: its file is removed by {@link #delete()}, which closes the segment first.</li>
+ * </ul>
+ * A mapping is otherwise only released when its buffer is garbage collected, which keeps the file's pages
+ * mapped, and on some platforms the file itself, long after it is deleted. Closing unmaps the buffer right away,
+ * so the caller must make sure no other thread still uses the segment; accessing an unmapped buffer crashes the JVM.
+ * This class is not thread-safe; appends are serialized by its owner.
+ */
+@Slf4j
+final class LogSpillSegment {
+
+    private static final int LENGTH_BYTES = Integer.BYTES;
+
+    private static final MethodHandle UNMAPPER = unmapper();
+
+    @Getter(AccessLevel.PACKAGE)
+    private final Path path;
+
+    @Getter(AccessLevel.PACKAGE)
+    private final long sequence;
+
+    private final MappedByteBuffer buffer;
+
+    private int position;
+
+    @Getter(AccessLevel.PACKAGE)
+    private int recordCount;
+
+    private boolean closed;
+
+    private LogSpillSegment(final Path path, final long sequence, final MappedByteBuffer buffer) {
+        this.path = path;
+        this.sequence = sequence;
+        this.buffer = buffer;
+        scan();
+    }
+
+    /**
+     * Creates a new, empty segment file of the given size.
+     *
+     * @param path      The path of the segment file, which must not exist yet.
+     * @param sequence  The sequence number of the segment, which orders segments by age.
+     * @param sizeBytes The size of the segment in bytes.
+     * @return The new segment.
+     * @throws IOException If the file cannot be created or mapped.
+     */
+    static LogSpillSegment create(final Path path, final long sequence, final int sizeBytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new LogSpillSegment(path, sequence, channel.map(FileChannel.MapMode.READ_WRITE, 0, sizeBytes));
+        }
+    }
+
+    /**
+     * Opens a segment file left behind by an earlier run, positioned after its last complete record.
+     *
+     * @param path     The path of the segment file.
+     * @param sequence The sequence number of the segment.
+     * @return The opened segment.
+     * @throws IOException If the file cannot be opened or mapped.
+     */
+    static LogSpillSegment open(final Path path, final long sequence) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new LogSpillSegment(path, sequence, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Appends a record holding the given payload.
+     *
+     * @param payload The payload of the record.
+     * @return {@code true} if the record was appended, {@code false} if the segment has no room left for it.
+     */
+    boolean append(final byte[] payload) {
+        ensureOpen();
+
+        if ((long) position + LENGTH_BYTES + payload.length > buffer.capacity()) {
+            return false;
+        }
+
+        buffer.put(position + LENGTH_BYTES, payload);
+        buffer.putInt(position, payload.length);
+        position += LENGTH_BYTES + payload.length;
+        recordCount++;
+        return true;
+    }
+
+    /**
+     * Reads the payloads of all records in the segment, in the order they were appended.
+     *
+     * @return The payloads of the records.
+     */
+    List<byte[]> readRecords() {
+        ensureOpen();
+
+        final List<byte[]> records = new ArrayList<>(recordCount);
+        int offset = 0;
+        int length;
+
+        while ((length = recordLength(offset)) > 0) {
+            final byte[] payload = new byte[length];
+            buffer.get(offset + LENGTH_BYTES, payload);
+            records.add(payload);
+            offset += LENGTH_BYTES + length;
+        }
+
+        return records;
+    }
+
+    /**
+     * Writes the mapped memory of the segment back to its file.
+     */
+    void force() {
+        ensureOpen();
+        buffer.force();
+    }
+
+    /**
+     * Unmaps the segment. Calling it again has no effect.
+     * The segment must not be used after it is closed.
+     */
+    void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        if (UNMAPPER == null) {
+            return;
+        }
+
+        try {
+            UNMAPPER.invokeExact((ByteBuffer) buffer);
+        } catch (Throwable throwable) {
+            log.warn("Log spill segment could not be unmapped, it is released once garbage collected: {}", path, throwable);
+        }
+    }
+
+    /**
+     * Closes the segment and deletes the segment file.
+     *
+     * @throws IOException If the file cannot be deleted.
+     */
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+    }
+
+    /**
+     * Returns whether a record holding the given payload fits into an empty segment of the given size.
+     *
+     * @param payload   The payload of the record.
+     * @param sizeBytes The size of a segment in bytes.
+     * @return {@code true} if the record fits into an empty segment, {@code false} otherwise.
+     */
+    static boolean fits(final byte[] payload, final int sizeBytes) {
+        return (long) LENGTH_BYTES + payload.length <= sizeBytes;
+    }
+
+    /**
+     * Returns whether the segment holds no record.
+     *
+     * @return {@code true} if the segment is empty, {@code false} otherwise.
+     */
+    boolean isEmpty() {
+        return recordCount == 0;
+    }
+
+    /**
+     * Looks up the JDK method that unmaps a mapped buffer right away, which has no public API in this Java version.
+     *
+     * @return A handle taking the buffer to unmap, or {@code null} if the method is not accessible.
+     */
+    private static MethodHandle unmapper() {
+        try {
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(theUnsafe.get(null));
+        } catch (ReflectiveOperationException | RuntimeException exception) {
+            log.warn("Log spill segments cannot be unmapped explicitly and are released once garbage collected", exception);
+            return null;
+        }
+    }
+
+    /**
+     * Finds the end of the last complete record, so that appends continue after it.
+     */
+    private void scan() {
+        int length;
+        while ((length = recordLength(position)) > 0) {
+            position += LENGTH_BYTES + length;
+            recordCount++;
+        }
+    }
+
+    /**
+     * Fails if the segment is closed, since its buffer is unmapped then.
+     *
+     * @throws IllegalStateException If the segment is closed.
+     */
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Log spill segment is closed: " + path);
+        }
+    }
+
+    /**
+     * Reads the length of the record starting at the given offset.
+     *
+     * @param offset The offset of the record.
+     * @return The length of the payload, or {@code 0} if no complete record starts at the offset.
+     */
+    private int recordLength(final int offset) {
+        if ((long) offset + LENGTH_BYTES > buffer.capacity()) {
+            return 0;
+        }
+
+        final int length = buffer.getInt(offset);
+        if (length <= 0 || (long) offset + LENGTH_BYTES + length > buffer.capacity()) {
+            return 0;
+        }
+
+        return length;
+    }
+
+}
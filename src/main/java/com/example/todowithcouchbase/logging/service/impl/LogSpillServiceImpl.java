@@ -0,0 +1,586 @@
+package com.example.todowithcouchbase.logging.service.impl;
+
+import com.example.todowithcouchbase.common.config.CouchbaseEntityListener;
+import com.example.todowithcouchbase.logging.config.LogSpillProperties;
+import com.example.todowithcouchbase.logging.entity.LogEntity;
+import com.example.todowithcouchbase.logging.model.QueuedLog;
+import com.example.todowithcouchbase.logging.repository.LogRepository;
+import com.example.todowithcouchbase.logging.service.LogRetentionService;
+import com.example.todowithcouchbase.logging.service.LogSpillService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Service implementation for the local spill file of the log writer.
+ * Log entries that the log writer cannot queue, or that Couchbase failed to write, are appended to memory-mapped
+ * segment files, and a scheduled replayer uploads the sealed segments, oldest first, and deletes each uploaded one.
+ * The segments left behind by an earlier run are picked up at startup.
+ */
+@Slf4j
+@Service
+public class LogSpillServiceImpl implements LogSpillService, AutoCloseable {
+
+    private static final String METRIC_PREFIX = "log.spill";
+    private static final Pattern SEGMENT_NAME = Pattern.compile("log-spill-(\\d{20})\\.seg");
+
+    private final LogRepository logRepository;
+    private final LogRetentionService logRetentionService;
+    private final ObjectMapper objectMapper;
+    private final LogSpillProperties logSpillProperties;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<LogSpillSegment> sealedSegments = new ArrayDeque<>();
+    private final Deque<LogSpillSegment> unforcedSegments = new ArrayDeque<>();
+    private final AtomicLong pendingRecords = new AtomicLong();
+    private final AtomicBoolean allocating = new AtomicBoolean();
+
+    private final Counter spilledCounter;
+    private final Counter replayedCounter;
+    private final Counter expiredCounter;
+    private final Counter fullDroppedCounter;
+    private final Counter errorDroppedCounter;
+    private final Counter unallocatedDroppedCounter;
+
+    private final boolean available;
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    private Executor segmentAllocator = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("log-spill-allocator").daemon().factory()
+    );
+
+    private LogSpillSegment activeSegment;
+    private LogSpillSegment spareSegment;
+    private long nextSequence;
+
+    private volatile boolean storeUnavailable;
+
+    /**
+     * Constructs a new {@code LogSpillServiceImpl} and recovers the segments left behind by an earlier run.
+     *
+     * @param logRepository       The repository used to upload spilled log entries.
+     * @param logRetentionService The service choosing the collection and the expiry of log entries.
+     * @param objectMapper        The mapper used to serialize log entries.
+     * @param logSpillProperties  The location and the limits of the spill file.
+     * @param meterRegistry       The registry the spill metrics are exported to.
+     */
+    public LogSpillServiceImpl(final LogRepository logRepository,
+                               final LogRetentionService logRetentionService,
+                               final ObjectMapper objectMapper,
+                               final LogSpillProperties logSpillProperties,
+                               final MeterRegistry meterRegistry) {
+
+        this.logRepository = logRepository;
+        this.logRetentionService = logRetentionService;
+        this.objectMapper = objectMapper;
+        this.logSpillProperties = logSpillProperties;
+
+        Gauge.builder(METRIC_PREFIX + ".pending", pendingRecords, AtomicLong::get)
+                .description("Number of spilled log entries waiting to be uploaded")
+                .register(meterRegistry);
+
+        this.spilledCounter = Counter.builder(METRIC_PREFIX + ".written")
+                .description("Number of log entries written to the spill file")
+                .register(meterRegistry);
+
+        this.replayedCounter = Counter.builder(METRIC_PREFIX + ".replayed")
+                .description("Number of spilled log entries uploaded to Couchbase")
+                .register(meterRegistry);
+
+        this.expiredCounter = Counter.builder(METRIC_PREFIX + ".expired")
+                .description("Number of spilled log entries skipped because they expired before they were uploaded")
+                .register(meterRegistry);
+
+        this.fullDroppedCounter = droppedCounter(meterRegistry, "full");
+        this.errorDroppedCounter = droppedCounter(meterRegistry, "error");
+        this.unallocatedDroppedCounter = droppedCounter(meterRegistry, "unallocated");
+
+        this.available = logSpillProperties.isEnabled() && recover();
+
+        if (available) {
+            createSpareSegment();
+        }
+    }
+
+    /**
+     * Appends a log entry the queue of the log writer could not take to the spill file.
+     *
+     * @param queuedLog The log entry together with the security context of the request that produced it.
+     * @return {@code true} if the entry was spilled, {@code false} if it could not be kept and is lost.
+     */
+    @Override
+    public boolean spill(QueuedLog queuedLog) {
+        if (!available) {
+            return false;
+        }
+
+        final byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(prepare(queuedLog));
+        } catch (IOException exception) {
+            errorDroppedCounter.increment();
+            log.error("Log entry could not be serialized for the spill file: {}",
+                    queuedLog.getLogEntity().getOperation(), exception);
+            return false;
+        }
+
+        if (!LogSpillSegment.fits(payload, logSpillProperties.getSegmentSizeBytes())) {
+            errorDroppedCounter.increment();
+            log.warn("Log entry is larger than a spill segment: {} bytes", payload.length);
+            return false;
+        }
+
+        lock.lock();
+        try {
+            if (activeSegment == null || !activeSegment.append(payload)) {
+                final Counter droppedCounter = rotate();
+                if (droppedCounter != null) {
+                    droppedCounter.increment();
+                    return false;
+                }
+                activeSegment.append(payload);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        pendingRecords.incrementAndGet();
+        spilledCounter.increment();
+        return true;
+    }
+
+    /**
+     * Treats Couchbase as unavailable and appends the log entry it failed to write to the spill file.
+     *
+     * @param queuedLog The log entry together with the security context of the request that produced it.
+     * @return {@code true} if the entry was spilled, {@code false} if it could not be kept and is lost.
+     */
+    @Override
+    public boolean spillAfterFailure(QueuedLog queuedLog) {
+        if (available) {
+            storeUnavailable = true;
+        }
+        return spill(queuedLog);
+    }
+
+    /**
+     * Tells whether Couchbase is treated as unavailable since a failed write that no replay has succeeded after.
+     *
+     * @return {@code true} if Couchbase is treated as unavailable, {@code false} otherwise.
+     */
+    @Override
+    public boolean isStoreUnavailable() {
+        return storeUnavailable;
+    }
+
+    /**
+     * Runs periodically, sealing the active segment and uploading every sealed segment, oldest first.
+     * Before uploading, it makes sure the next segment is ready and writes the sealed segments back to disk,
+     * both outside the lock.
+     * Each segment is deleted once all of its entries are written, and the run stops at the first segment that
+     * cannot be uploaded completely, keeping it for the next run. Couchbase is treated as available again once
+     * every segment has been uploaded.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${log.spill.replay-interval-millis:5000}")
+    public void replay() {
+        if (!available) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            sealActiveSegment();
+        } finally {
+            lock.unlock();
+        }
+
+        createSpareSegment();
+        forceSealedSegments();
+
+        LogSpillSegment segment;
+        while ((segment = oldestSealedSegment()) != null) {
+            if (!upload(segment)) {
+                return;
+            }
+
+            lock.lock();
+            try {
+                sealedSegments.removeFirst();
+                unforcedSegments.remove(segment);
+            } finally {
+                lock.unlock();
+            }
+            pendingRecords.addAndGet(-segment.getRecordCount());
+
+            try {
+                segment.delete();
+            } catch (IOException exception) {
+                log.error("Uploaded log spill segment could not be deleted: {}", segment.getPath(), exception);
+            }
+        }
+
+        storeUnavailable = false;
+    }
+
+    /**
+     * Stops the allocator thread and writes the active and the sealed segments back to disk, so entries spilled
+     * shortly before shutdown survive it. The segments stay mapped until the JVM exits, since a replay may still
+     * be reading them.
+     */
+    @PreDestroy
+    @Override
+    public void close() {
+        if (segmentAllocator instanceof ExecutorService executorService) {
+            executorService.shutdown();
+            try {
+                executorService.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        final LogSpillSegment segment;
+        lock.lock();
+        try {
+            segment = activeSegment;
+        } finally {
+            lock.unlock();
+        }
+
+        if (segment != null) {
+            segment.force();
+        }
+        forceSealedSegments();
+    }
+
+    /**
+     * Gives the log entry its ID and audit fields, so that it is written as the same document however often it is
+     * uploaded, and names the user of the original request rather than the replayer.
+     *
+     * @param queuedLog The log entry together with the security context of the request that produced it.
+     * @return The prepared log entry.
+     */
+    private LogEntity prepare(final QueuedLog queuedLog) {
+        final LogEntity logEntity = queuedLog.getLogEntity();
+
+        if (logEntity.getId() == null) {
+            logEntity.setId(UUID.randomUUID().toString());
+        }
+
+        if (logEntity.getCreatedAt() == null) {
+            logEntity.setCreatedAt(Optional.ofNullable(logEntity.getTime()).orElseGet(() -> LocalDateTime.now(clock)));
+            logEntity.setCreatedBy(CouchbaseEntityListener.getUser(queuedLog.getSecurityContext()));
+        }
+
+        return logEntity;
+    }
+
+    /**
+     * Uploads the entries of a segment with up to {@code replayConcurrency} writes in flight at once.
+     * Entries that cannot be read back are dropped, since uploading the segment again would not change that.
+     *
+     * @param segment The segment to upload.
+     * @return {@code true} if every entry was written or skipped, {@code false} if a write failed.
+     */
+    private boolean upload(final LogSpillSegment segment) {
+        try {
+            Flux.fromIterable(segment.readRecords())
+                    .flatMap(payload -> Mono.justOrEmpty(read(payload)))
+                    .flatMap(this::upload, logSpillProperties.getReplayConcurrency())
+                    .then()
+                    .block();
+            return true;
+        } catch (Exception exception) {
+            log.warn("Log spill segment could not be uploaded yet, retrying later: {}", segment.getPath(), exception);
+            return false;
+        }
+    }
+
+    /**
+     * Uploads a spilled log entry with the expiry it has left, or skips it if it has already expired.
+     *
+     * @param logEntity The log entry to upload.
+     * @return A {@link Mono} completing once the entry is written or skipped.
+     */
+    private Mono<Void> upload(final LogEntity logEntity) {
+        Duration expiry = logRetentionService.getExpiry(logEntity);
+
+        if (logEntity.getTime() != null) {
+            expiry = expiry.minus(Duration.between(logEntity.getTime(), LocalDateTime.now(clock)));
+        }
+
+        if (expiry.compareTo(Duration.ofSeconds(1)) < 0) {
+            expiredCounter.increment();
+            return Mono.empty();
+        }
+
+        final Duration remainingExpiry = expiry;
+        return Mono.defer(() -> logRepository.upsertReactive(
+                        logEntity,
+                        logRetentionService.getCollectionName(logEntity),
+                        remainingExpiry
+                ))
+                .doOnSuccess(written -> replayedCounter.increment())
+                .then();
+    }
+
+    /**
+     * Reads a log entry back from the payload of a record.
+     *
+     * @param payload The payload of the record.
+     * @return The log entry, or {@link Optional#empty()} if the payload cannot be read.
+     */
+    private Optional<LogEntity> read(final byte[] payload) {
+        try {
+            return Optional.of(objectMapper.readValue(payload, LogEntity.class));
+        } catch (IOException exception) {
+            errorDroppedCounter.increment();
+            log.error("Spilled log entry could not be read and is dropped", exception);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Seals the active segment and swaps in the segment created ahead of time, then asks the allocator for the
+     * next one. It never creates or writes back a file, so it is cheap enough to run on request threads.
+     * Must be called while holding the lock.
+     *
+     * @return {@code null} if a new active segment was swapped in, or the counter of the reason the entry is dropped:
+     *         the spill file is full, or the next segment is not ready yet.
+     */
+    private Counter rotate() {
+        sealActiveSegment();
+
+        if (sealedSegments.size() >= logSpillProperties.getMaxSegments()) {
+            return fullDroppedCounter;
+        }
+
+        if (spareSegment == null) {
+            allocateSpareSegment();
+            return unallocatedDroppedCounter;
+        }
+
+        activeSegment = spareSegment;
+        spareSegment = null;
+        allocateSpareSegment();
+        return null;
+    }
+
+    /**
+     * Hands the active segment to the replayer, if it holds any record. The segment is written back to disk
+     * later by the replayer, outside the lock.
+     * Must be called while holding the lock.
+     */
+    private void sealActiveSegment() {
+        if (activeSegment != null && !activeSegment.isEmpty()) {
+            sealedSegments.addLast(activeSegment);
+            unforcedSegments.addLast(activeSegment);
+            activeSegment = null;
+        }
+    }
+
+    /**
+     * Writes the segments sealed since the last call back to disk. The segments are taken under the lock and
+     * written back outside it, which is safe since sealed segments are no longer appended to.
+     */
+    private void forceSealedSegments() {
+        final List<LogSpillSegment> segments;
+        lock.lock();
+        try {
+            segments = new ArrayList<>(unforcedSegments);
+            unforcedSegments.clear();
+        } finally {
+            lock.unlock();
+        }
+
+        segments.forEach(LogSpillSegment::force);
+    }
+
+    /**
+     * Asks the allocator thread to create the next segment, unless it is already doing so.
+     */
+    private void allocateSpareSegment() {
+        if (!allocating.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            segmentAllocator.execute(() -> {
+                try {
+                    createSpareSegment();
+                } finally {
+                    allocating.set(false);
+                }
+            });
+        } catch (RejectedExecutionException exception) {
+            allocating.set(false);
+        }
+    }
+
+    /**
+     * Creates and maps the next segment, unless one is already waiting. The file is created outside the lock,
+     * and the lock is only taken to reserve its sequence number and to hand it over. If the allocator and the
+     * replayer both created one, the later one is deleted again.
+     */
+    private void createSpareSegment() {
+        final long sequence;
+        lock.lock();
+        try {
+            if (spareSegment != null) {
+                return;
+            }
+            sequence = nextSequence++;
+        } finally {
+            lock.unlock();
+        }
+
+        final LogSpillSegment segment;
+        try {
+            segment = LogSpillSegment.create(segmentPath(sequence), sequence, logSpillProperties.getSegmentSizeBytes());
+        } catch (IOException exception) {
+            log.error("Log spill segment could not be created", exception);
+            return;
+        }
+
+        final boolean handedOver;
+        lock.lock();
+        try {
+            handedOver = spareSegment == null;
+            if (handedOver) {
+                spareSegment = segment;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (!handedOver) {
+            try {
+                segment.delete();
+            } catch (IOException exception) {
+                log.error("Unused log spill segment could not be deleted: {}", segment.getPath(), exception);
+            }
+        }
+    }
+
+    /**
+     * Returns the oldest sealed segment, without removing it.
+     *
+     * @return The oldest sealed segment, or {@code null} if there is none.
+     */
+    private LogSpillSegment oldestSealedSegment() {
+        lock.lock();
+        try {
+            return sealedSegments.peekFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Creates the spill directory and reopens the segments an earlier run left in it as sealed segments,
+     * deleting the empty ones. The lock is held, so the recovered state is visible to every thread that takes it.
+     *
+     * @return {@code true} if the directory can be used, {@code false} if spilling is disabled.
+     */
+    private boolean recover() {
+        final Path directory = Path.of(logSpillProperties.getDirectory());
+
+        lock.lock();
+        try {
+            Files.createDirectories(directory);
+
+            final List<Path> segmentPaths;
+            try (Stream<Path> paths = Files.list(directory)) {
+                segmentPaths = paths
+                        .filter(path -> SEGMENT_NAME.matcher(path.getFileName().toString()).matches())
+                        .sorted(Comparator.comparing(path -> path.getFileName().toString()))
+                        .toList();
+            }
+
+            for (final Path path : segmentPaths) {
+                final Matcher matcher = SEGMENT_NAME.matcher(path.getFileName().toString());
+                matcher.matches();
+                final long sequence = Long.parseLong(matcher.group(1));
+                nextSequence = Math.max(nextSequence, sequence + 1);
+
+                final LogSpillSegment segment = LogSpillSegment.open(path, sequence);
+                if (segment.isEmpty()) {
+                    segment.delete();
+                } else {
+                    sealedSegments.addLast(segment);
+                    pendingRecords.addAndGet(segment.getRecordCount());
+                }
+            }
+
+            if (!sealedSegments.isEmpty()) {
+                log.info("Recovered {} spilled log entries in {} segments", pendingRecords.get(), sealedSegments.size());
+            }
+
+            return true;
+        } catch (IOException exception) {
+            log.error("Log spill directory could not be used, spilling is disabled: {}", directory, exception);
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the path of the segment file with the given sequence number.
+     *
+     * @param sequence The sequence number of the segment.
+     * @return The path of the segment file.
+     */
+    private Path segmentPath(final long sequence) {
+        return Path.of(logSpillProperties.getDirectory(), String.format("log-spill-%020d.seg", sequence));
+    }
+
+    /**
+     * Registers the counter of log entries that could not be spilled for the given reason.
+     *
+     * @param meterRegistry The registry the counter is registered with.
+     * @param reason        The reason entries were dropped for.
+     * @return The registered {@link Counter}.
+     */
+    private static Counter droppedCounter(final MeterRegistry meterRegistry, final String reason) {
+        return Counter.builder(METRIC_PREFIX + ".dropped")
+                .description("Number of log entries that could not be spilled and were lost")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+}
@@ -0,0 +1,160 @@
+package com.example.todowithcouchbase.task.controller;
+
+import com.example.todowithcouchbase.common.model.dto.response.CustomResponse;
+import com.example.todowithcouchbase.common.util.EntityTagUtil;
+import com.example.todowithcouchbase.task.model.dto.request.SaveTaskRequest;
+import com.example.todowithcouchbase.task.model.dto.request.UpdateTaskRequest;
+import com.example.todowithcouchbase.task.model.dto.response.TaskResponse;
+import com.example.todowithcouchbase.task.model.mapper.TaskToTaskResponseMapper;
+import com.example.todowithcouchbase.task.service.ReactiveTaskService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.validator.constraints.UUID;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * REST controller for the reactive variant of the task API, active in the {@code reactive} profile only.
+ * Provides the same endpoints for creating, retrieving, updating and deleting single tasks as {@link TaskController},
+ * but returns {@link Mono} results, so the servlet thread is handed back while Couchbase is working on the request
+ * and the response is written once the result is available.
+ * It is served next to {@link TaskController} under its own path, so both variants can be compared on one node.
+ */
+@RestController
+@Profile("reactive")
+@RequiredArgsConstructor
+@RequestMapping("api/v1/reactive/tasks")
+@Validated
+@Tag(name = "Reactive Task Management", description = "Non-blocking endpoints for managing single tasks")
+public class ReactiveTaskController {
+
+    private final ReactiveTaskService reactiveTaskService;
+
+    private final TaskToTaskResponseMapper taskToTaskResponseMapper = TaskToTaskResponseMapper.initialize();
+
+    /**
+     * Creates a new task and saves it to the database.
+     *
+     * @param saveTaskRequest the request body containing the task details to be created.
+     * @return a {@link Mono} emitting a response containing the ID of the created task.
+     */
+    @Operation(
+            summary = "Create a new task without blocking",
+            description = "Creates a new task and saves it to the database. Accessible by ADMIN only.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Task successfully created"),
+                    @ApiResponse(responseCode = "400", description = "Invalid task details provided"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized, authentication is required"),
+                    @ApiResponse(responseCode = "403", description = "Access forbidden")
+            }
+    )
+    @PostMapping
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public Mono<CustomResponse<String>> saveTask(@RequestBody @Valid final SaveTaskRequest saveTaskRequest){
+        return reactiveTaskService.saveTaskToDatabase(saveTaskRequest)
+                .map(createdTask -> CustomResponse.successOf(createdTask.getId()));
+    }
+
+    /**
+     * Retrieves a task by its ID.
+     * The version of the task is returned in the {@code ETag} header.
+     *
+     * @param id the ID of the task to be retrieved.
+     * @return a {@link Mono} emitting a response containing the task details.
+     */
+    @Operation(
+            summary = "Get a task by ID without blocking",
+            description = "Retrieves a task by its ID. Accessible by both ADMIN and USER roles.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Task successfully retrieved"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized, authentication is required"),
+                    @ApiResponse(responseCode = "403", description = "Access forbidden"),
+                    @ApiResponse(responseCode = "404", description = "Task not found")
+            }
+    )
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAnyAuthority('ADMIN','USER')")
+    public Mono<ResponseEntity<CustomResponse<TaskResponse>>> getTaskById(@PathVariable @Valid @UUID final String id){
+        return reactiveTaskService.getTaskById(id)
+                .map(task -> ResponseEntity.ok()
+                        .eTag(EntityTagUtil.toEntityTag(task.getVersion()))
+                        .body(CustomResponse.successOf(taskToTaskResponseMapper.map(task))));
+    }
+
+    /**
+     * Updates an existing task by its ID.
+     * If an {@code If-Match} header is sent, the task is only updated if it still has that version.
+     * The new version of the task is returned in the {@code ETag} header.
+     *
+     * @param id the ID of the task to be updated.
+     * @param ifMatch the optional {@code If-Match} header holding the expected version of the task.
+     * @param updateTaskRequest the request body containing the updated task details.
+     * @return a {@link Mono} emitting a response containing the updated task details.
+     */
+    @Operation(
+            summary = "Update a task without blocking",
+            description = "Updates an existing task by its ID. If an If-Match header is sent, the task is only updated " +
+                    "if it still has that version. Accessible by ADMIN only.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Task successfully updated"),
+                    @ApiResponse(responseCode = "400", description = "Invalid update details provided"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized, authentication is required"),
+                    @ApiResponse(responseCode = "403", description = "Access forbidden"),
+                    @ApiResponse(responseCode = "404", description = "Task not found"),
+                    @ApiResponse(responseCode = "412", description = "Task was changed by another request")
+            }
+    )
+    @PutMapping("/{id}")
+    @PreAuthorize("hasAnyAuthority('ADMIN')")
+    public Mono<ResponseEntity<CustomResponse<TaskResponse>>> updateTaskById(
+            @PathVariable @Valid @UUID final String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch,
+            @RequestBody @Valid final UpdateTaskRequest updateTaskRequest){
+
+        return reactiveTaskService.updateTaskById(id, updateTaskRequest, EntityTagUtil.toExpectedVersion(ifMatch))
+                .map(task -> ResponseEntity.ok()
+                        .eTag(EntityTagUtil.toEntityTag(task.getVersion()))
+                        .body(CustomResponse.successOf(taskToTaskResponseMapper.map(task))));
+
+    }
+
+    /**
+     * Deletes a task by its ID.
+     * If an {@code If-Match} header is sent, the task is only deleted if it still has that version.
+     *
+     * @param id the ID of the task to be deleted.
+     * @param ifMatch the optional {@code If-Match} header holding the expected version of the task.
+     * @return a {@link Mono} emitting a response containing a success message.
+     */
+    @Operation(
+            summary = "Delete a task without blocking",
+            description = "Deletes a task by its ID. If an If-Match header is sent, the task is only deleted " +
+                    "if it still has that version. Accessible by ADMIN only.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Task successfully deleted"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized, authentication is required"),
+                    @ApiResponse(responseCode = "403", description = "Access forbidden"),
+                    @ApiResponse(responseCode = "404", description = "Task not found"),
+                    @ApiResponse(responseCode = "412", description = "Task was changed by another request")
+            }
+    )
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasAnyAuthority('ADMIN')")
+    public Mono<CustomResponse<String>> deleteTaskById(
+            @PathVariable @Valid final String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch){
+
+        return reactiveTaskService.deleteTaskById(id, EntityTagUtil.toExpectedVersion(ifMatch))
+                .thenReturn(CustomResponse.successOf("Task with id "+ id + "is deleted"));
+
+    }
+
+}
@@ -1,16 +1,39 @@
 package com.example.todowithcouchbase.task.controller;
 
+import com.example.todowithcouchbase.common.config.AsyncTimeout;
+import com.example.todowithcouchbase.common.model.BackfillPage;
 import com.example.todowithcouchbase.common.model.CustomPage;
+import com.example.todowithcouchbase.common.model.dto.request.BackfillPageRequest;
+import com.example.todowithcouchbase.common.model.dto.response.BackfillPageResponse;
 import com.example.todowithcouchbase.common.model.dto.response.CustomPagingResponse;
 import com.example.todowithcouchbase.common.model.dto.response.CustomResponse;
+import com.example.todowithcouchbase.common.model.mapper.BackfillPageToBackfillPageResponseMapper;
+import com.example.todowithcouchbase.common.util.EntityTagUtil;
+import com.example.todowithcouchbase.logging.aop.LogResponse;
+import com.example.todowithcouchbase.logging.model.enums.ResponseCaptureMode;
+import com.example.todowithcouchbase.task.model.BulkTaskResult;
 import com.example.todowithcouchbase.task.model.Task;
+import com.example.todowithcouchbase.task.model.TaskBatch;
+import com.example.todowithcouchbase.task.model.TaskImportSummary;
 import com.example.todowithcouchbase.task.model.dto.request.GetTaskByNameRequest;
+import com.example.todowithcouchbase.task.model.dto.request.GetTasksByIdsRequest;
+import com.example.todowithcouchbase.task.model.dto.request.PatchTaskRequest;
 import com.example.todowithcouchbase.task.model.dto.request.SaveTaskRequest;
+import com.example.todowithcouchbase.task.model.dto.request.SaveTasksRequest;
 import com.example.todowithcouchbase.task.model.dto.request.TaskPagingRequest;
 import com.example.todowithcouchbase.task.model.dto.request.UpdateTaskRequest;
+import com.example.todowithcouchbase.task.model.dto.response.BulkTaskResultResponse;
+import com.example.todowithcouchbase.task.model.dto.response.TaskBatchResponse;
+import com.example.todowithcouchbase.task.model.dto.response.TaskImportSummaryResponse;
 import com.example.todowithcouchbase.task.model.dto.response.TaskResponse;
+import com.example.todowithcouchbase.task.model.mapper.BulkTaskResultToBulkTaskResultResponseMapper;
 import com.example.todowithcouchbase.task.model.mapper.CustomPageTaskToCustomPagingTaskResponseMapper;
+import com.example.todowithcouchbase.task.model.mapper.TaskBatchToTaskBatchResponseMapper;
+import com.example.todowithcouchbase.task.model.mapper.TaskImportSummaryToTaskImportSummaryResponseMapper;
 import com.example.todowithcouchbase.task.model.mapper.TaskToTaskResponseMapper;
+import com.example.todowithcouchbase.task.service.TaskBulkService;
+import com.example.todowithcouchbase.task.service.TaskExportService;
+import com.example.todowithcouchbase.task.service.TaskNameService;
 import com.example.todowithcouchbase.task.service.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -18,9 +41,16 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.hibernate.validator.constraints.UUID;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.util.List;
 
 /**
  * REST controller for managing tasks.
@@ -34,11 +64,26 @@ import org.springframework.web.bind.annotation.*;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskBulkService taskBulkService;
+    private final TaskExportService taskExportService;
+    private final TaskNameService taskNameService;
     private final TaskToTaskResponseMapper taskToTaskResponseMapper =  TaskToTaskResponseMapper.initialize();
 
     private final CustomPageTaskToCustomPagingTaskResponseMapper customPageTaskToCustomPagingTaskResponseMapper =
             CustomPageTaskToCustomPagingTaskResponseMapper.initialize();
 
+    private final BulkTaskResultToBulkTaskResultResponseMapper bulkTaskResultToBulkTaskResultResponseMapper =
+            BulkTaskResultToBulkTaskResultResponseMapper.initialize();
+
+    private final TaskBatchToTaskBatchResponseMapper taskBatchToTaskBatchResponseMapper =
+            TaskBatchToTaskBatchResponseMapper.initialize();
+
+    private final TaskImportSummaryToTaskImportSummaryResponseMapper taskImportSummaryToTaskImportSummaryResponseMapper =
+            TaskImportSummaryToTaskImportSummaryResponseMapper.initialize();
+
+    private final BackfillPageToBackfillPageResponseMapper backfillPageToBackfillPageResponseMapper =
+            BackfillPageToBackfillPageResponseMapper.initialize();
+
     /**
      * Creates a new task and saves it to the database.
      *
@@ -63,6 +108,91 @@ public class TaskController {
         return CustomResponse.successOf(createdTask.getId());
     }
 
+    /**
+     * Creates several new tasks and saves them to the database.
+     * Each task is saved on its own, so the response reports the outcome of every task in the order they were sent.
+     *
+     * @param saveTasksRequest the request body containing the details of the tasks to be created.
+     * @return a response containing the outcome of saving each task.
+     */
+    @Operation(
+            summary = "Create tasks in bulk",
+            description = "Creates several tasks at once and reports for each task whether it was created. " +
+                    "Tasks with a name that is taken or repeated in the request are skipped. Accessible by ADMIN only.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Tasks processed, see the result of each task"),
+                    @ApiResponse(responseCode = "400", description = "Invalid task details provided"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized, authentication is required"),
+                    @ApiResponse(responseCode = "403", description = "Access forbidden")
+            }
+    )
+    @PostMapping("/bulk")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @LogResponse(ResponseCaptureMode.SUMMARY)
+    public CustomResponse<List<BulkTaskResultResponse>> saveTasks(@RequestBody @Valid final SaveTasksRequest saveTasksRequest){
+        final List<BulkTaskResult> results = taskBulkService.saveTasksToDatabase(saveTasksRequest.getTasks());
+
+        return CustomResponse.successOf(bulkTaskResultToBulkTaskResultResponseMapper.map(results));
+    }
+
+    /**
+     * Creates the tasks of a newline-delimited JSON upload, one task per line.
+     * The upload is read while the tasks are saved, so it is never held in memory as a whole.
+     *
+     * @param inputStream the request body containing one task per line.
+     * @return a response containing the number of accepted and rejected lines.
+     */
+    @Operation(
+            summary = "Import tasks",
+            description = "Creates the tasks of a newline-delimited JSON upload, one task per line, and reports how many " +
+                    "lines were accepted and why lines were rejected. Accessible by ADMIN only.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Upload processed, see the summary of the import"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized, authentication is required"),
+                    @ApiResponse(responseCode = "403", description = "Access forbidden")
+            }
+    )
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public CustomResponse<TaskImportSummaryResponse> importTasks(final InputStream inputStream){
+        final TaskImportSummary summary = taskBulkService.importTasks(inputStream);
+
+        return CustomResponse.successOf(taskImportSummaryToTaskImportSummaryResponseMapper.toTaskImportSummaryResponse(summary));
+    }
+
+    /**
+     * Creates the missing name reservation documents for one page of the tasks saved before reservation
+     * documents were introduced.
+     * This is a one-off migration; it is repeated with the returned {@code nextAfter} key until no key is returned.
+     *
+     * @param backfillPageRequest the request body containing the key to continue after and the page size.
+     * @return a response containing the number of scanned tasks, created reservations, and the key to continue after.
+     */
+    @Operation(
+            summary = "Backfill task name reservations",
+            description = "Creates the missing name reservations for one page of tasks and returns the key to continue " +
+                    "after, which is null once every task has been scanned. Accessible by ADMIN only.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Page backfilled"),
+                    @ApiResponse(responseCode = "400", description = "Invalid page size provided"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized, authentication is required"),
+                    @ApiResponse(responseCode = "403", description = "Access forbidden")
+            }
+    )
+    @PostMapping("/name-reservations/backfill")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public CustomResponse<BackfillPageResponse> backfillTaskNames(
+            @RequestBody @Valid final BackfillPageRequest backfillPageRequest){
+
+        final BackfillPage backfillPage = taskNameService.backfillTaskNames(
+                backfillPageRequest.getAfter(),
+                backfillPageRequest.getLimit()
+        );
+
+        return CustomResponse.successOf(backfillPageToBackfillPageResponseMapper.map(backfillPage));
+
+    }
+
     /**
      * Retrieves a paginated list of tasks.
      *
@@ -71,7 +201,9 @@ public class TaskController {
      */
     @Operation(
             summary = "Get all tasks",
-            description = "Retrieves a paginated list of tasks. Accessible by both ADMIN and USER roles.",
+            description = "Retrieves a paginated list of tasks. The page size is required. Paging by cursor is the default: " +
+                    "requests without a page number, or with a cursor, are paged by cursor and return the cursor " +
+                    "of the next page. Accessible by both ADMIN and USER roles.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Tasks successfully retrieved"),
                     @ApiResponse(responseCode = "400", description = "Invalid update details provided"),
@@ -82,6 +214,7 @@ public class TaskController {
     )
     @GetMapping
     @PreAuthorize("hasAnyAuthority('ADMIN','USER')")
+    @LogResponse(ResponseCaptureMode.SUMMARY)
     public CustomResponse<CustomPagingResponse<TaskResponse>> getAllTasks(@RequestBody @Valid final TaskPagingRequest request){
         final CustomPage<Task> taskPage= taskService.getAllTasks(request);
 
@@ -120,13 +253,16 @@ public class TaskController {
 
     /**
      * Retrieves a task by its ID.
+     * The version of the task is returned in the {@code ETag} header, so it can be sent back in {@code If-Match}
+     * to update or delete the task only if nobody changed it in the meantime.
      *
      * @param id the ID of the task to be retrieved.
      * @return a response containing the task details.
      */
     @Operation(
             summary = "Get task by ID",
-            description = "Retrieves a task by its ID. Accessible by both ADMIN and USER roles.",
+            description = "Retrieves a task by its ID and returns its version in the ETag header. " +
+                    "Accessible by both ADMIN and USER roles.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Task successfully retrieved"),
                     @ApiResponse(responseCode = "400", description = "Invalid update details provided"),
@@ -137,68 +273,184 @@ public class TaskController {
     )
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyAuthority('ADMIN','USER')")
-    public CustomResponse<TaskResponse> getTaskById(@PathVariable @Valid @UUID final String id){
+    public ResponseEntity<CustomResponse<TaskResponse>> getTaskById(@PathVariable @Valid @UUID final String id){
         final Task task = taskService.getTaskById(id);
 
         final TaskResponse response = taskToTaskResponseMapper.map(task);
 
+        return ResponseEntity.ok()
+                .eTag(EntityTagUtil.toEntityTag(task.getVersion()))
+                .body(CustomResponse.successOf(response));
+    }
+
+    /**
+     * Exports every task as newline-delimited JSON.
+     * The tasks are written to the response while they are read, so the response is not built up in memory.
+     * An export of many tasks outlasts the default timeout of asynchronous requests, so it has its own timeout,
+     * configured under {@code task.export.timeout-millis}.
+     *
+     * @return a streamed response containing one task per line.
+     */
+    @Operation(
+            summary = "Export all tasks",
+            description = "Streams every task as newline-delimited JSON, one task per line. " +
+                    "Accessible by both ADMIN and USER roles.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Tasks successfully exported"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized, authentication is required"),
+                    @ApiResponse(responseCode = "403", description = "Access forbidden")
+            }
+    )
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyAuthority('ADMIN','USER')")
+    @AsyncTimeout("${task.export.timeout-millis:1800000}")
+    public ResponseEntity<StreamingResponseBody> exportTasks() {
+
+        final StreamingResponseBody body = taskExportService::exportTasks;
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+
+    }
+
+    /**
+     * Retrieves several tasks by their IDs.
+     *
+     * @param getTasksByIdsRequest the request body containing the IDs of the tasks to be retrieved.
+     * @return a response containing the found tasks and the IDs without a matching task.
+     */
+    @Operation(
+            summary = "Get tasks by IDs",
+            description = "Retrieves several tasks by their IDs in one call. IDs without a matching task are listed " +
+                    "as missing instead of failing the request. Accessible by both ADMIN and USER roles.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Tasks successfully retrieved"),
+                    @ApiResponse(responseCode = "400", description = "Invalid IDs provided"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized, authentication is required"),
+                    @ApiResponse(responseCode = "403", description = "Access forbidden")
+            }
+    )
+    @PostMapping("/batch-get")
+    @PreAuthorize("hasAnyAuthority('ADMIN','USER')")
+    public CustomResponse<TaskBatchResponse> getTasksByIds(@RequestBody @Valid final GetTasksByIdsRequest getTasksByIdsRequest){
+        final TaskBatch taskBatch = taskService.getTasksByIds(getTasksByIdsRequest.getIds());
+
+        final TaskBatchResponse response = taskBatchToTaskBatchResponseMapper.toTaskBatchResponse(taskBatch);
+
         return CustomResponse.successOf(response);
     }
 
     /**
      * Updates an existing task by its ID.
+     * If an {@code If-Match} header is sent, the task is only updated if it still has that version.
+     * The new version of the task is returned in the {@code ETag} header.
      *
      * @param id the ID of the task to be updated.
+     * @param ifMatch the optional {@code If-Match} header holding the expected version of the task.
      * @param updateTaskRequest the request body containing the updated task details.
      * @return a response containing the updated task details.
      */
     @Operation(
             summary = "Update a task",
-            description = "Updates an existing task by its ID. Accessible by ADMIN only.",
+            description = "Updates an existing task by its ID. If an If-Match header is sent, the task is only updated " +
+                    "if it still has that version. Accessible by ADMIN only.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Task successfully updated"),
                     @ApiResponse(responseCode = "400", description = "Invalid update details provided"),
                     @ApiResponse(responseCode = "401", description = "Unauthorized, authentication is required"),
                     @ApiResponse(responseCode = "403", description = "Access forbidden"),
-                    @ApiResponse(responseCode = "404", description = "Task not found")
+                    @ApiResponse(responseCode = "404", description = "Task not found"),
+                    @ApiResponse(responseCode = "412", description = "Task was changed by another request")
             }
     )
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyAuthority('ADMIN')")
-    public CustomResponse<TaskResponse> updateTaskById(
+    public ResponseEntity<CustomResponse<TaskResponse>> updateTaskById(
             @PathVariable @Valid @UUID final String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch,
             @RequestBody @Valid final UpdateTaskRequest updateTaskRequest){
 
-        final Task task = taskService.updateTaskById(id, updateTaskRequest);
+        final Task task = taskService.updateTaskById(id, updateTaskRequest, EntityTagUtil.toExpectedVersion(ifMatch));
 
         final TaskResponse response = taskToTaskResponseMapper.map(task);
 
-        return CustomResponse.successOf(response);
+        return ResponseEntity.ok()
+                .eTag(EntityTagUtil.toEntityTag(task.getVersion()))
+                .body(CustomResponse.successOf(response));
+
+    }
+
+    /**
+     * Partially updates an existing task by its ID.
+     * Only the fields sent in the request body are written to the task.
+     * If an {@code If-Match} header is sent, the task is only updated if it still has that version.
+     * The new version of the task is returned in the {@code ETag} header.
+     *
+     * @param id the ID of the task to be updated.
+     * @param ifMatch the optional {@code If-Match} header holding the expected version of the task.
+     * @param patchTaskRequest the request body containing the fields of the task to be changed.
+     * @return a response containing the updated task details.
+     */
+    @Operation(
+            summary = "Partially update a task",
+            description = "Changes only the given fields of an existing task by its ID. If an If-Match header is sent, " +
+                    "the task is only updated if it still has that version. Accessible by ADMIN only.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Task successfully updated"),
+                    @ApiResponse(responseCode = "400", description = "Invalid update details provided"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized, authentication is required"),
+                    @ApiResponse(responseCode = "403", description = "Access forbidden"),
+                    @ApiResponse(responseCode = "404", description = "Task not found"),
+                    @ApiResponse(responseCode = "412", description = "Task was changed by another request")
+            }
+    )
+    @PatchMapping("/{id}")
+    @PreAuthorize("hasAnyAuthority('ADMIN')")
+    public ResponseEntity<CustomResponse<TaskResponse>> patchTaskById(
+            @PathVariable @Valid @UUID final String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch,
+            @RequestBody @Valid final PatchTaskRequest patchTaskRequest){
+
+        final Task task = taskService.patchTaskById(id, patchTaskRequest, EntityTagUtil.toExpectedVersion(ifMatch));
+
+        final TaskResponse response = taskToTaskResponseMapper.map(task);
+
+        return ResponseEntity.ok()
+                .eTag(EntityTagUtil.toEntityTag(task.getVersion()))
+                .body(CustomResponse.successOf(response));
 
     }
 
     /**
      * Deletes a task by its ID.
+     * If an {@code If-Match} header is sent, the task is only deleted if it still has that version,
+     * which is checked and applied in a single conditional remove.
      *
      * @param id the ID of the task to be deleted.
+     * @param ifMatch the optional {@code If-Match} header holding the expected version of the task.
      * @return a response containing a success message.
      */
     @Operation(
             summary = "Delete a task",
-            description = "Deletes a task by its ID. Accessible by ADMIN only.",
+            description = "Deletes a task by its ID. If an If-Match header is sent, the task is only deleted " +
+                    "if it still has that version. Accessible by ADMIN only.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Task successfully deleted"),
                     @ApiResponse(responseCode = "400", description = "Invalid update details provided"),
                     @ApiResponse(responseCode = "401", description = "Unauthorized, authentication is required"),
                     @ApiResponse(responseCode = "403", description = "Access forbidden"),
-                    @ApiResponse(responseCode = "404", description = "Task not found")
+                    @ApiResponse(responseCode = "404", description = "Task not found"),
+                    @ApiResponse(responseCode = "412", description = "Task was changed by another request")
             }
     )
     @DeleteMapping("/{id}")
     @PreAuthorize("hasAnyAuthority('ADMIN')")
-    public CustomResponse<String> deleteTaskById(@PathVariable @Valid final String id){
+    public CustomResponse<String> deleteTaskById(
+            @PathVariable @Valid final String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch){
 
-        taskService.deleteTaskById(id);
+        taskService.deleteTaskById(id, EntityTagUtil.toExpectedVersion(ifMatch));
 
         return CustomResponse.successOf("Task with id "+ id + "is deleted");
 
@@ -0,0 +1,61 @@
+package com.example.todowithcouchbase.task.model;
+
+import lombok.*;
+
+/**
+ * Represents the outcome of saving one task of a bulk save.
+ * The index refers to the position of the task in the request, so that a client can match each outcome
+ * with the task it sent. A successful outcome carries the ID of the created task, a failed one carries the reason.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+public class BulkTaskResult {
+
+    private int index;
+
+    private String name;
+
+    private String id;
+
+    private boolean success;
+
+    private String message;
+
+    /**
+     * Creates a successful outcome for the task at the given position.
+     *
+     * @param index the position of the task in the request.
+     * @param name the name of the task.
+     * @param id the ID of the created task.
+     * @return the successful {@link BulkTaskResult}.
+     */
+    public static BulkTaskResult success(final int index, final String name, final String id) {
+        return BulkTaskResult.builder()
+                .index(index)
+                .name(name)
+                .id(id)
+                .success(true)
+                .build();
+    }
+
+    /**
+     * Creates a failed outcome for the task at the given position.
+     *
+     * @param index the position of the task in the request.
+     * @param name the name of the task.
+     * @param message the reason the task could not be saved.
+     * @return the failed {@link BulkTaskResult}.
+     */
+    public static BulkTaskResult failure(final int index, final String name, final String message) {
+        return BulkTaskResult.builder()
+                .index(index)
+                .name(name)
+                .success(false)
+                .message(message)
+                .build();
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.example.todowithcouchbase.task.model;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Represents a task kept in the in-process task cache.
+ * This class holds the cached {@link Task} together with the version stamp of the document it was read from
+ * and the point in time the entry expires.
+ */
+@Getter
+@Builder
+public class CachedTask {
+
+    private final Task task;
+    private final long versionStamp;
+    private final Instant expiresAt;
+
+    /**
+     * Checks whether this entry has expired.
+     *
+     * @param now The current point in time.
+     * @return {@code true} if the entry has expired, {@code false} otherwise.
+     */
+    public boolean isExpired(final Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+
+}
@@ -23,4 +23,6 @@ public class Task extends BaseDomainModel {
     private String id;
 
     private String name;
+
+    private Long version;
 }
@@ -0,0 +1,23 @@
+package com.example.todowithcouchbase.task.model;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Represents the outcome of retrieving several tasks by their IDs.
+ * It holds the tasks that were found, in the order their IDs were requested, and the requested IDs
+ * for which no task exists.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+public class TaskBatch {
+
+    private List<Task> tasks;
+
+    private List<String> missingIds;
+
+}
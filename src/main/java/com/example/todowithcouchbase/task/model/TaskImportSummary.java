@@ -0,0 +1,48 @@
+package com.example.todowithcouchbase.task.model;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents the outcome of importing tasks from a newline-delimited JSON upload.
+ * Every line is counted as accepted or rejected, but only the first rejections are kept with their reason,
+ * so the summary stays small however long the upload is.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+public class TaskImportSummary {
+
+    private long acceptedCount;
+
+    private long rejectedCount;
+
+    @Builder.Default
+    private List<BulkTaskResult> rejections = new ArrayList<>();
+
+    /**
+     * Counts the outcome of importing one line. A failed outcome is kept as a rejection
+     * as long as fewer than the given number of rejections are kept.
+     *
+     * @param result the outcome of importing the line.
+     * @param maxRejections the maximum number of rejections to keep.
+     */
+    public void record(final BulkTaskResult result, final int maxRejections) {
+
+        if (result.isSuccess()) {
+            acceptedCount++;
+            return;
+        }
+
+        rejectedCount++;
+        if (rejections.size() < maxRejections) {
+            rejections.add(result);
+        }
+
+    }
+
+}
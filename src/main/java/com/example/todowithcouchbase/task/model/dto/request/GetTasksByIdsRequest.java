@@ -0,0 +1,25 @@
+package com.example.todowithcouchbase.task.model.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Request class used to retrieve several tasks by their IDs in one call.
+ * The list of IDs cannot be empty and is limited in size, so that one request cannot hold an unbounded amount of work.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+public class GetTasksByIdsRequest {
+
+    @NotEmpty(message = "ids field cannot be empty")
+    @Size(max = 100, message = "ids field cannot contain more than 100 IDs")
+    private List<@NotBlank(message = "id cannot be empty") String> ids;
+
+}
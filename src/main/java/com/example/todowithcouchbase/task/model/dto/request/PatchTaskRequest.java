@@ -0,0 +1,34 @@
+package com.example.todowithcouchbase.task.model.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Pattern;
+import lombok.*;
+
+/**
+ * Request class used to partially update an existing task.
+ * Every field is optional; only the fields that are sent are written to the task, and at least one field must be sent.
+ * The name field, if sent, cannot be empty.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+public class PatchTaskRequest {
+
+    @Pattern(regexp = ".*\\S.*", message = "name field cannot be empty")
+    private String name;
+
+    /**
+     * Checks whether at least one field of the task is sent to be changed.
+     *
+     * @return {@code true} if at least one field is sent, {@code false} otherwise.
+     */
+    @JsonIgnore
+    @AssertTrue(message = "at least one field must be given")
+    public boolean isAnyFieldGiven() {
+        return name != null;
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.example.todowithcouchbase.task.model.dto.request;
+
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Request class used to save several new tasks at once.
+ * Contains the list of tasks to be created, each validated like a single {@link SaveTaskRequest}.
+ * The list cannot be empty and is limited in size, so that one request cannot hold an unbounded amount of work.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+public class SaveTasksRequest {
+
+    @NotEmpty(message = "tasks field cannot be empty")
+    @Size(max = 1000, message = "tasks field cannot contain more than 1000 tasks")
+    private List<@Valid SaveTaskRequest> tasks;
+
+}
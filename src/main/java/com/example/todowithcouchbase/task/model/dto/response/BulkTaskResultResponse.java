@@ -0,0 +1,27 @@
+package com.example.todowithcouchbase.task.model.dto.response;
+
+import lombok.*;
+
+/**
+ * Response class representing the outcome of saving one task of a bulk save.
+ * This class is used to send the position of the task in the request, its name, and either the ID
+ * of the created task or the reason it could not be saved.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+public class BulkTaskResultResponse {
+
+    private int index;
+
+    private String name;
+
+    private String id;
+
+    private boolean success;
+
+    private String message;
+
+}
@@ -0,0 +1,22 @@
+package com.example.todowithcouchbase.task.model.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Response class representing the outcome of retrieving several tasks by their IDs.
+ * This class is used to send the tasks that were found together with the requested IDs for which no task exists.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+public class TaskBatchResponse {
+
+    private List<TaskResponse> tasks;
+
+    private List<String> missingIds;
+
+}
@@ -0,0 +1,24 @@
+package com.example.todowithcouchbase.task.model.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Response class representing the outcome of importing tasks from a newline-delimited JSON upload.
+ * This class is used to send the number of accepted and rejected lines together with the reasons of the first rejections.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+public class TaskImportSummaryResponse {
+
+    private long acceptedCount;
+
+    private long rejectedCount;
+
+    private List<BulkTaskResultResponse> rejections;
+
+}
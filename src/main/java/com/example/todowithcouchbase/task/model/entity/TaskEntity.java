@@ -5,6 +5,7 @@ import com.example.todowithcouchbase.common.model.entity.BaseEntity;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.couchbase.core.mapping.Field;
 import org.springframework.data.couchbase.core.mapping.id.GeneratedValue;
 import org.springframework.data.couchbase.core.mapping.id.GenerationStrategy;
@@ -15,6 +16,8 @@ import org.springframework.data.couchbase.repository.Scope;
  * Entity class representing a task in the system.
  * This class is mapped to a MongoDB document, and it extends from {@link BaseEntity} to inherit common entity behavior.
  * It contains the task's unique identifier and name, and is used to interact with the underlying database.
+ * The version holds the Couchbase CAS value of the document, so replacing or removing a loaded task only
+ * succeeds if nobody changed it in the meantime.
  */
 @NoArgsConstructor
 @AllArgsConstructor
@@ -34,4 +37,7 @@ public class TaskEntity extends BaseEntity {
     @Field
     private String name;
 
+    @Version
+    private Long version;
+
 }
@@ -0,0 +1,67 @@
+package com.example.todowithcouchbase.task.model.entity;
+
+import com.example.todowithcouchbase.common.model.entity.BaseEntity;
+import com.example.todowithcouchbase.common.util.DocumentKeyUtil;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.couchbase.core.mapping.Document;
+import org.springframework.data.couchbase.core.mapping.Field;
+import org.springframework.data.couchbase.repository.Collection;
+import org.springframework.data.couchbase.repository.Scope;
+
+import java.util.Locale;
+
+/**
+ * Represents a reservation document that maps a task name to the ID of the task that owns it.
+ * The normalized task name, hashed if it is too long for a document key, is used as the document key,
+ * so a task can be found by name with key-value operations only, and inserting the document fails
+ * if the name is already taken.
+ * This entity extends from {@link BaseEntity}, inheriting common fields such as
+ * created and updated timestamps.
+ */
+@Getter
+@Setter
+@SuperBuilder
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Document
+@Scope("task-scope")
+@Collection("task-name-collection")
+public class TaskNameEntity extends BaseEntity {
+
+    @Id
+    @Field(name = "ID")
+    private String id;
+
+    @Field(name = "TASK_ID")
+    private String taskId;
+
+    @Version
+    private Long version;
+
+    /**
+     * Normalizes the given task name so that it can be used as a document key.
+     * Surrounding whitespace is removed and the name is lower-cased.
+     *
+     * @param name The task name to normalize.
+     * @return The normalized task name.
+     */
+    public static String normalize(final String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Builds the document key of the given task name.
+     * The key is the normalized task name, or its hash if it is too long for a document key.
+     *
+     * @param name The task name to build the key of.
+     * @return The document key.
+     */
+    public static String toKey(final String name) {
+        return DocumentKeyUtil.toDocumentKey(normalize(name));
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.example.todowithcouchbase.task.model.enums;
+
+/**
+ * Enum representing how the in-process task cache stays consistent with changes made on other nodes.
+ * Changes made on the local node always invalidate the cache right away; this mode only decides how
+ * changes made elsewhere are picked up.
+ */
+public enum TaskCacheConsistencyMode {
+
+    /**
+     * Cached tasks are served until their time to live passes, so changes made on other nodes are seen
+     * at most one time to live later. Cache hits do not touch Couchbase.
+     */
+    TTL,
+
+    /**
+     * Every cache hit compares the CAS value the task was cached with against the current CAS value of the
+     * document, which is a metadata-only key-value lookup. Changes made on other nodes are seen right away,
+     * at the cost of one small round trip per hit.
+     */
+    VERSION_STAMP
+
+}
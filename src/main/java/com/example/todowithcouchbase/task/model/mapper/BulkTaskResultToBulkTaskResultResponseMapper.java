@@ -0,0 +1,26 @@
+package com.example.todowithcouchbase.task.model.mapper;
+
+import com.example.todowithcouchbase.common.model.mapper.BaseMapper;
+import com.example.todowithcouchbase.task.model.BulkTaskResult;
+import com.example.todowithcouchbase.task.model.dto.response.BulkTaskResultResponse;
+import org.mapstruct.Mapper;
+import org.mapstruct.factory.Mappers;
+
+/**
+ * Mapper interface for converting a {@link BulkTaskResult} to a {@link BulkTaskResultResponse}.
+ * This interface extends the {@link BaseMapper} interface, enabling automatic mapping
+ * between {@link BulkTaskResult} and {@link BulkTaskResultResponse} objects.
+ */
+@Mapper
+public interface BulkTaskResultToBulkTaskResultResponseMapper extends BaseMapper<BulkTaskResult, BulkTaskResultResponse> {
+
+    /**
+     * Initializes and returns an instance of the {@link BulkTaskResultToBulkTaskResultResponseMapper}.
+     *
+     * @return an instance of the {@link BulkTaskResultToBulkTaskResultResponseMapper} mapper
+     */
+    static BulkTaskResultToBulkTaskResultResponseMapper initialize() {
+        return Mappers.getMapper(BulkTaskResultToBulkTaskResultResponseMapper.class);
+    }
+
+}
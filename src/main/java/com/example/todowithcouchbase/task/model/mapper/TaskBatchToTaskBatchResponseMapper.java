@@ -0,0 +1,45 @@
+package com.example.todowithcouchbase.task.model.mapper;
+
+import com.example.todowithcouchbase.task.model.TaskBatch;
+import com.example.todowithcouchbase.task.model.dto.response.TaskBatchResponse;
+import org.mapstruct.Mapper;
+import org.mapstruct.factory.Mappers;
+
+/**
+ * Mapper interface that converts a {@link TaskBatch} to a {@link TaskBatchResponse}.
+ * It leverages MapStruct for automatic mapping between domain and DTO objects.
+ */
+@Mapper
+public interface TaskBatchToTaskBatchResponseMapper {
+
+    TaskToTaskResponseMapper taskToTaskResponseMapper = Mappers.getMapper(TaskToTaskResponseMapper.class);
+
+    /**
+     * Converts a {@link TaskBatch} to a {@link TaskBatchResponse}.
+     *
+     * @param taskBatch the {@link TaskBatch} containing the found tasks and the missing IDs
+     * @return a {@link TaskBatchResponse} with the mapped tasks, or {@code null} if {@code taskBatch} is {@code null}
+     */
+    default TaskBatchResponse toTaskBatchResponse(TaskBatch taskBatch) {
+
+        if (taskBatch == null) {
+            return null;
+        }
+
+        return TaskBatchResponse.builder()
+                .tasks(taskToTaskResponseMapper.map(taskBatch.getTasks()))
+                .missingIds(taskBatch.getMissingIds())
+                .build();
+
+    }
+
+    /**
+     * Initializes and returns an instance of the {@link TaskBatchToTaskBatchResponseMapper}.
+     *
+     * @return an instance of the mapper
+     */
+    static TaskBatchToTaskBatchResponseMapper initialize() {
+        return Mappers.getMapper(TaskBatchToTaskBatchResponseMapper.class);
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.example.todowithcouchbase.task.model.mapper;
+
+import com.example.todowithcouchbase.task.model.TaskImportSummary;
+import com.example.todowithcouchbase.task.model.dto.response.TaskImportSummaryResponse;
+import org.mapstruct.Mapper;
+import org.mapstruct.factory.Mappers;
+
+/**
+ * Mapper interface that converts a {@link TaskImportSummary} to a {@link TaskImportSummaryResponse}.
+ * It leverages MapStruct for automatic mapping between domain and DTO objects.
+ */
+@Mapper
+public interface TaskImportSummaryToTaskImportSummaryResponseMapper {
+
+    BulkTaskResultToBulkTaskResultResponseMapper bulkTaskResultToBulkTaskResultResponseMapper =
+            Mappers.getMapper(BulkTaskResultToBulkTaskResultResponseMapper.class);
+
+    /**
+     * Converts a {@link TaskImportSummary} to a {@link TaskImportSummaryResponse}.
+     *
+     * @param taskImportSummary the {@link TaskImportSummary} containing the counts and the kept rejections
+     * @return a {@link TaskImportSummaryResponse} with the mapped rejections, or {@code null} if {@code taskImportSummary} is {@code null}
+     */
+    default TaskImportSummaryResponse toTaskImportSummaryResponse(TaskImportSummary taskImportSummary) {
+
+        if (taskImportSummary == null) {
+            return null;
+        }
+
+        return TaskImportSummaryResponse.builder()
+                .acceptedCount(taskImportSummary.getAcceptedCount())
+                .rejectedCount(taskImportSummary.getRejectedCount())
+                .rejections(bulkTaskResultToBulkTaskResultResponseMapper.map(taskImportSummary.getRejections()))
+                .build();
+
+    }
+
+    /**
+     * Initializes and returns an instance of the {@link TaskImportSummaryToTaskImportSummaryResponseMapper}.
+     *
+     * @return an instance of the mapper
+     */
+    static TaskImportSummaryToTaskImportSummaryResponseMapper initialize() {
+        return Mappers.getMapper(TaskImportSummaryToTaskImportSummaryResponseMapper.class);
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.example.todowithcouchbase.task.repository;
+
+import com.example.todowithcouchbase.task.model.entity.TaskEntity;
+import org.springframework.data.couchbase.repository.ReactiveCouchbaseRepository;
+
+/**
+ * Reactive repository interface for managing {@link TaskEntity} entities in the Couchbase database.
+ * This interface extends {@link ReactiveCouchbaseRepository}, providing non-blocking CRUD operations for {@link TaskEntity}
+ * that return {@link reactor.core.publisher.Mono} and {@link reactor.core.publisher.Flux} instead of waiting for Couchbase.
+ * Saving or removing an entity that carries a version only succeeds if the document still has that CAS value.
+ */
+public interface ReactiveTaskRepository extends ReactiveCouchbaseRepository<TaskEntity, String> {
+
+}
@@ -0,0 +1,14 @@
+package com.example.todowithcouchbase.task.repository;
+
+import com.example.todowithcouchbase.task.model.entity.TaskNameEntity;
+import org.springframework.data.couchbase.repository.CouchbaseRepository;
+
+/**
+ * Repository interface for managing {@link TaskNameEntity} objects in Couchbase.
+ * This interface extends {@link CouchbaseRepository} to provide CRUD operations for the {@link TaskNameEntity}
+ * and {@link TaskNameRepositoryCustom} for inserting a reservation document only if its key is not taken yet.
+ * Reservation documents are keyed by normalized task name, so they are read with key-value operations only.
+ */
+public interface TaskNameRepository extends CouchbaseRepository<TaskNameEntity, String>, TaskNameRepositoryCustom {
+
+}
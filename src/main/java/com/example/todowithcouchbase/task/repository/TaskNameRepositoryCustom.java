@@ -0,0 +1,54 @@
+package com.example.todowithcouchbase.task.repository;
+
+import com.example.todowithcouchbase.task.model.entity.TaskNameEntity;
+import reactor.core.publisher.Mono;
+
+/**
+ * Custom repository interface for {@link TaskNameEntity} operations that are not covered by
+ * {@link org.springframework.data.couchbase.repository.CouchbaseRepository}.
+ */
+public interface TaskNameRepositoryCustom {
+
+    /**
+     * Inserts the given {@link TaskNameEntity} only if no document exists with the same key.
+     * Unlike {@code save}, which replaces an existing document, this method fails if the task name is already taken.
+     *
+     * @param taskNameEntity The reservation document to insert.
+     * @return The inserted {@link TaskNameEntity}.
+     * @throws org.springframework.dao.DuplicateKeyException If a document with the same key already exists.
+     */
+    TaskNameEntity insert(final TaskNameEntity taskNameEntity);
+
+    /**
+     * Inserts the given {@link TaskNameEntity} only if no document exists with the same key, without blocking
+     * the calling thread.
+     *
+     * @param taskNameEntity The reservation document to insert.
+     * @return A {@link Mono} emitting the inserted {@link TaskNameEntity}, or failing with
+     *         {@link org.springframework.dao.DuplicateKeyException} if a document with the same key already exists.
+     */
+    Mono<TaskNameEntity> insertReactive(final TaskNameEntity taskNameEntity);
+
+    /**
+     * Deletes the reservation document with the given key, but only if it is owned by the given task.
+     * The document is read first and removed with the CAS value it was read with, so a reservation that changes
+     * owner between the read and the remove is left in place.
+     *
+     * @param id     The key of the reservation document to delete.
+     * @param taskId The ID of the task the reservation must belong to.
+     * @return {@code true} if the reservation was deleted, {@code false} if it does not exist or belongs to another task.
+     */
+    boolean deleteIfOwnedBy(final String id, final String taskId);
+
+    /**
+     * Deletes the reservation document with the given key, but only if it is owned by the given task,
+     * without blocking the calling thread.
+     *
+     * @param id     The key of the reservation document to delete.
+     * @param taskId The ID of the task the reservation must belong to.
+     * @return A {@link Mono} emitting {@code true} if the reservation was deleted, or {@code false} if it does not
+     *         exist or belongs to another task.
+     */
+    Mono<Boolean> deleteIfOwnedByReactive(final String id, final String taskId);
+
+}
@@ -0,0 +1,97 @@
+package com.example.todowithcouchbase.task.repository;
+
+import com.example.todowithcouchbase.task.model.entity.TaskNameEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.couchbase.core.CouchbaseTemplate;
+import reactor.core.publisher.Mono;
+
+/**
+ * Implementation of {@link TaskNameRepositoryCustom} backed by {@link CouchbaseTemplate}.
+ * The insert is a single key-value insert, which Couchbase rejects atomically if the key already exists,
+ * and a reservation is only ever removed by the task that owns it, with a remove conditional on its CAS value.
+ */
+@RequiredArgsConstructor
+public class TaskNameRepositoryCustomImpl implements TaskNameRepositoryCustom {
+
+    private final CouchbaseTemplate couchbaseTemplate;
+
+    /**
+     * Inserts the given {@link TaskNameEntity} only if no document exists with the same key.
+     *
+     * @param taskNameEntity The reservation document to insert.
+     * @return The inserted {@link TaskNameEntity}.
+     * @throws org.springframework.dao.DuplicateKeyException If a document with the same key already exists.
+     */
+    @Override
+    public TaskNameEntity insert(TaskNameEntity taskNameEntity) {
+        return couchbaseTemplate.insertById(TaskNameEntity.class)
+                .one(taskNameEntity);
+    }
+
+    /**
+     * Inserts the given {@link TaskNameEntity} only if no document exists with the same key, without blocking
+     * the calling thread.
+     *
+     * @param taskNameEntity The reservation document to insert.
+     * @return A {@link Mono} emitting the inserted {@link TaskNameEntity}.
+     */
+    @Override
+    public Mono<TaskNameEntity> insertReactive(TaskNameEntity taskNameEntity) {
+        return couchbaseTemplate.reactive()
+                .insertById(TaskNameEntity.class)
+                .one(taskNameEntity);
+    }
+
+    /**
+     * Deletes the reservation document with the given key, but only if it is owned by the given task.
+     * The remove is conditional on the CAS value the reservation was read with.
+     *
+     * @param id     The key of the reservation document to delete.
+     * @param taskId The ID of the task the reservation must belong to.
+     * @return {@code true} if the reservation was deleted, {@code false} otherwise.
+     */
+    @Override
+    public boolean deleteIfOwnedBy(String id, String taskId) {
+        final TaskNameEntity reservation = couchbaseTemplate.findById(TaskNameEntity.class).one(id);
+
+        if (reservation == null || !taskId.equals(reservation.getTaskId())) {
+            return false;
+        }
+
+        try {
+            couchbaseTemplate.removeById(TaskNameEntity.class)
+                    .withCas(reservation.getVersion())
+                    .one(id);
+            return true;
+        } catch (OptimisticLockingFailureException | DataRetrievalFailureException exception) {
+            return false;
+        }
+    }
+
+    /**
+     * Deletes the reservation document with the given key, but only if it is owned by the given task,
+     * without blocking the calling thread. The remove is conditional on the CAS value the reservation was read with.
+     *
+     * @param id     The key of the reservation document to delete.
+     * @param taskId The ID of the task the reservation must belong to.
+     * @return A {@link Mono} emitting {@code true} if the reservation was deleted, {@code false} otherwise.
+     */
+    @Override
+    public Mono<Boolean> deleteIfOwnedByReactive(String id, String taskId) {
+        return couchbaseTemplate.reactive()
+                .findById(TaskNameEntity.class)
+                .one(id)
+                .filter(reservation -> taskId.equals(reservation.getTaskId()))
+                .flatMap(reservation -> couchbaseTemplate.reactive()
+                        .removeById(TaskNameEntity.class)
+                        .withCas(reservation.getVersion())
+                        .one(id)
+                        .thenReturn(true))
+                .onErrorResume(OptimisticLockingFailureException.class, exception -> Mono.just(false))
+                .onErrorResume(DataRetrievalFailureException.class, exception -> Mono.just(false))
+                .defaultIfEmpty(false);
+    }
+
+}
@@ -3,30 +3,56 @@ package com.example.todowithcouchbase.task.repository;
 
 import com.example.todowithcouchbase.task.model.entity.TaskEntity;
 import org.springframework.data.couchbase.repository.CouchbaseRepository;
+import org.springframework.data.couchbase.repository.Query;
 
-import java.util.Optional;
+import java.util.List;
 
 /**
  * Repository interface for managing {@link TaskEntity} entities in the Couchbase database.
- * This interface extends {@link CouchbaseRepository}, providing CRUD operations for {@link TaskEntity}.
- * It also defines custom query methods for working with tasks by name.
+ * This interface extends {@link CouchbaseRepository}, providing CRUD operations for {@link TaskEntity},
+ * and {@link TaskRepositoryCustom} for non-blocking inserts.
+ * It also defines custom query methods for reading tasks page by page in keyset (cursor) order.
+ * The keyset queries order by {@code createdAt} and the document key, which is served by
+ * a secondary index on {@code (createdAt, META().id)} in the task collection.
+ * Tasks are found by name through {@link TaskNameRepository} instead of a query.
  */
-public interface TaskRepository extends CouchbaseRepository<TaskEntity,String> {
+public interface TaskRepository extends CouchbaseRepository<TaskEntity,String>, TaskRepositoryCustom {
 
     /**
-     * Checks if a task with the specified name already exists in the database.
+     * Finds the first tasks in keyset order, which is the creation time followed by the document key.
      *
-     * @param name the name of the task to check for existence.
-     * @return {@code true} if a task with the specified name exists, {@code false} otherwise.
+     * @param limit the maximum number of tasks to return.
+     * @return a list of at most {@code limit} {@link TaskEntity} objects.
      */
-    boolean existsByName(String name);
+    @Query("#{#n1ql.selectEntity} WHERE #{#n1ql.filter} AND createdAt IS NOT MISSING " +
+            "ORDER BY createdAt, META().id LIMIT $1")
+    List<TaskEntity> findFirstTasksInKeysetOrder(int limit);
 
     /**
-     * Finds a task entity by its name.
+     * Finds the tasks that come after the given position in keyset order, which is the creation time followed by
+     * the document key. The position is sought through the index, so the cost does not grow with the number of
+     * tasks before it.
      *
-     * @param name the name of the task to find.
-     * @return an {@link Optional} containing the {@link TaskEntity} if found, or an empty {@link Optional} if not.
+     * @param createdAt the creation time of the last task of the previous page, in epoch milliseconds.
+     * @param id the ID of the last task of the previous page.
+     * @param limit the maximum number of tasks to return.
+     * @return a list of at most {@code limit} {@link TaskEntity} objects.
      */
-    Optional<TaskEntity> findTaskByName(String name);
+    @Query("#{#n1ql.selectEntity} WHERE #{#n1ql.filter} AND createdAt IS NOT MISSING " +
+            "AND (createdAt > $1 OR (createdAt = $1 AND META().id > $2)) " +
+            "ORDER BY createdAt, META().id LIMIT $3")
+    List<TaskEntity> findTasksAfterInKeysetOrder(long createdAt, String id, int limit);
+
+    /**
+     * Finds the tasks whose document key comes after the given key, in document key order.
+     * It is used by one-off migrations to walk every task one page at a time; the position is sought through
+     * the index, so the cost of a page does not grow with the number of tasks before it.
+     *
+     * @param afterId the document key of the last task of the previous page, or an empty string for the first page.
+     * @param limit the maximum number of tasks to return.
+     * @return a list of at most {@code limit} {@link TaskEntity} objects.
+     */
+    @Query("#{#n1ql.selectEntity} WHERE #{#n1ql.filter} AND META().id > $1 ORDER BY META().id LIMIT $2")
+    List<TaskEntity> findPageAfterId(String afterId, int limit);
 
 }
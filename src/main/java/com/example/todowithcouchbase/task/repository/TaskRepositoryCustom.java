@@ -0,0 +1,75 @@
+package com.example.todowithcouchbase.task.repository;
+
+import com.example.todowithcouchbase.task.model.entity.TaskEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Custom repository interface for {@link TaskEntity} operations that are not covered by
+ * {@link org.springframework.data.couchbase.repository.CouchbaseRepository}.
+ */
+public interface TaskRepositoryCustom {
+
+    /**
+     * Inserts the given {@link TaskEntity} without blocking the calling thread.
+     * Several inserts can be in flight at once, which lets bulk saves pipeline their writes to Couchbase.
+     *
+     * @param taskEntity The task to insert.
+     * @return A {@link Mono} emitting the inserted {@link TaskEntity}.
+     */
+    Mono<TaskEntity> insertReactive(final TaskEntity taskEntity);
+
+    /**
+     * Streams every task with a N1QL query whose rows are emitted as they arrive from the server.
+     * Rows are only requested as fast as the subscriber consumes them, so the whole result is never held in memory.
+     *
+     * @return A {@link Flux} emitting every {@link TaskEntity}.
+     */
+    Flux<TaskEntity> findAllReactive();
+
+    /**
+     * Reads the CAS value of the task document with the given ID without fetching its content.
+     * The CAS value changes on every write to the document, so it serves as a cheap version stamp.
+     *
+     * @param id The ID of the task.
+     * @return An {@link Optional} containing the CAS value, or {@link Optional#empty()} if the document does not exist.
+     */
+    Optional<Long> findCasById(final String id);
+
+    /**
+     * Removes the task document with the given ID only if its CAS value still equals the given one.
+     * The check and the removal happen in a single key-value operation, so the document does not have to be read first.
+     *
+     * @param id  The ID of the task.
+     * @param cas The CAS value the document is expected to have.
+     * @throws org.springframework.dao.OptimisticLockingFailureException If the document has a different CAS value.
+     * @throws org.springframework.dao.DataRetrievalFailureException If the document does not exist.
+     */
+    void deleteByIdWithCas(final String id, final long cas);
+
+    /**
+     * Reads only the name and the CAS value of the task document with the given ID with a sub-document lookup,
+     * so the amount of data read does not grow with the rest of the document.
+     *
+     * @param id The ID of the task.
+     * @return An {@link Optional} containing a {@link TaskEntity} with only its ID, name and version set,
+     *         or {@link Optional#empty()} if the document does not exist.
+     */
+    Optional<TaskEntity> findNameAndVersionById(final String id);
+
+    /**
+     * Writes only the given paths of the given task, together with its update audit fields, with a sub-document mutation.
+     * If the task carries a version, the mutation only succeeds if the document still has that CAS value.
+     *
+     * @param taskEntity   The task holding the ID, the new values of the given paths and, optionally, the expected version.
+     * @param replacePaths The document paths to replace.
+     * @return The given {@link TaskEntity} carrying the CAS value of the mutation as its version.
+     * @throws org.springframework.dao.OptimisticLockingFailureException If the document has a different CAS value.
+     * @throws org.springframework.dao.DataRetrievalFailureException If the document does not exist.
+     */
+    TaskEntity mutateIn(final TaskEntity taskEntity, final List<String> replacePaths);
+
+}
@@ -0,0 +1,137 @@
+package com.example.todowithcouchbase.task.repository;
+
+import com.couchbase.client.core.error.DocumentNotFoundException;
+import com.couchbase.client.java.kv.ExistsResult;
+import com.couchbase.client.java.kv.LookupInResult;
+import com.couchbase.client.java.kv.LookupInSpec;
+import com.example.todowithcouchbase.common.config.CouchbaseProperties;
+import com.example.todowithcouchbase.task.model.entity.TaskEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.couchbase.core.CouchbaseTemplate;
+import org.springframework.data.couchbase.core.ExecutableMutateInByIdOperation;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementation of {@link TaskRepositoryCustom} backed by the reactive side of {@link CouchbaseTemplate}
+ * and, for metadata and sub-document lookups, by the task collection of the underlying Couchbase SDK.
+ */
+@RequiredArgsConstructor
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    private static final String NAME_PATH = "name";
+    private static final String UPDATED_AT_PATH = "updatedAt";
+    private static final String UPDATED_BY_PATH = "updatedBy";
+
+    private final CouchbaseTemplate couchbaseTemplate;
+    private final CouchbaseProperties couchbaseProperties;
+
+    /**
+     * Inserts the given {@link TaskEntity} without blocking the calling thread.
+     *
+     * @param taskEntity The task to insert.
+     * @return A {@link Mono} emitting the inserted {@link TaskEntity}.
+     */
+    @Override
+    public Mono<TaskEntity> insertReactive(TaskEntity taskEntity) {
+        return couchbaseTemplate.reactive()
+                .insertById(TaskEntity.class)
+                .one(taskEntity);
+    }
+
+    /**
+     * Streams every task with a N1QL query through the reactive API, which emits rows with backpressure.
+     *
+     * @return A {@link Flux} emitting every {@link TaskEntity}.
+     */
+    @Override
+    public Flux<TaskEntity> findAllReactive() {
+        return couchbaseTemplate.reactive()
+                .findByQuery(TaskEntity.class)
+                .all();
+    }
+
+    /**
+     * Reads the CAS value of the task document with the given ID with a key-value exists lookup,
+     * which returns the document metadata only.
+     *
+     * @param id The ID of the task.
+     * @return An {@link Optional} containing the CAS value, or {@link Optional#empty()} if the document does not exist.
+     */
+    @Override
+    public Optional<Long> findCasById(String id) {
+        final ExistsResult existsResult = couchbaseTemplate.getCouchbaseClientFactory()
+                .withScope(couchbaseProperties.getScopes().getTaskScope())
+                .getCollection(couchbaseProperties.getCollections().getTaskCollection())
+                .exists(id);
+
+        return existsResult.exists() ? Optional.of(existsResult.cas()) : Optional.empty();
+    }
+
+    /**
+     * Removes the task document with the given ID only if its CAS value still equals the given one.
+     *
+     * @param id  The ID of the task.
+     * @param cas The CAS value the document is expected to have.
+     */
+    @Override
+    public void deleteByIdWithCas(String id, long cas) {
+        couchbaseTemplate.removeById(TaskEntity.class)
+                .withCas(cas)
+                .one(id);
+    }
+
+    /**
+     * Reads only the name and the CAS value of the task document with the given ID with a sub-document lookup.
+     *
+     * @param id The ID of the task.
+     * @return An {@link Optional} containing a {@link TaskEntity} with only its ID, name and version set,
+     *         or {@link Optional#empty()} if the document does not exist.
+     */
+    @Override
+    public Optional<TaskEntity> findNameAndVersionById(String id) {
+        try {
+            final LookupInResult lookupInResult = couchbaseTemplate.getCouchbaseClientFactory()
+                    .withScope(couchbaseProperties.getScopes().getTaskScope())
+                    .getCollection(couchbaseProperties.getCollections().getTaskCollection())
+                    .lookupIn(id, List.of(LookupInSpec.get(NAME_PATH)));
+
+            return Optional.of(
+                    TaskEntity.builder()
+                            .id(id)
+                            .name(lookupInResult.contentAs(0, String.class))
+                            .version(lookupInResult.cas())
+                            .build()
+            );
+        } catch (DocumentNotFoundException exception) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes only the given paths of the given task, together with its update audit fields, with a sub-document mutation.
+     * The values are encoded from the given entity after the entity events have run, so the audit fields are set
+     * by the same listener as for full saves.
+     *
+     * @param taskEntity   The task holding the ID, the new values of the given paths and, optionally, the expected version.
+     * @param replacePaths The document paths to replace.
+     * @return The given {@link TaskEntity} carrying the CAS value of the mutation as its version.
+     */
+    @Override
+    public TaskEntity mutateIn(TaskEntity taskEntity, List<String> replacePaths) {
+        ExecutableMutateInByIdOperation.MutateInByIdWithPaths<TaskEntity> mutateIn = couchbaseTemplate
+                .mutateInById(TaskEntity.class)
+                .withReplacePaths(replacePaths.toArray(String[]::new))
+                .withUpsertPaths(UPDATED_AT_PATH, UPDATED_BY_PATH);
+
+        if (taskEntity.getVersion() != null) {
+            mutateIn = mutateIn.withCasProvided();
+        }
+
+        return mutateIn.one(taskEntity);
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.example.todowithcouchbase.task.service;
+
+import com.example.todowithcouchbase.task.model.Task;
+import com.example.todowithcouchbase.task.model.dto.request.SaveTaskRequest;
+import com.example.todowithcouchbase.task.model.dto.request.UpdateTaskRequest;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link TaskService} for creating, reading, updating and deleting single tasks.
+ * Every method returns right away and completes once Couchbase has answered, so no thread waits on the database.
+ * Task names are kept unique through the same name reservation documents as in {@link TaskService}.
+ */
+public interface ReactiveTaskService {
+
+    /**
+     * Saves a new task to the database.
+     *
+     * @param taskRequest the request object containing the details of the task to be saved.
+     * @return a {@link Mono} emitting the saved {@link Task}.
+     */
+    Mono<Task> saveTaskToDatabase(final SaveTaskRequest taskRequest);
+
+    /**
+     * Retrieves a task by its ID.
+     *
+     * @param id the ID of the task to be retrieved.
+     * @return a {@link Mono} emitting the {@link Task} with the given ID.
+     */
+    Mono<Task> getTaskById(final String id);
+
+    /**
+     * Updates an existing task by its ID.
+     * The task is only updated if it still has the expected version and is not changed concurrently.
+     *
+     * @param id the ID of the task to be updated.
+     * @param updateTaskRequest the request object containing the updated details of the task.
+     * @param expectedVersion the version the task is expected to have, or {@code null} to accept any version.
+     * @return a {@link Mono} emitting the updated {@link Task}.
+     */
+    Mono<Task> updateTaskById(final String id, final UpdateTaskRequest updateTaskRequest, final Long expectedVersion);
+
+    /**
+     * Deletes a task by its ID.
+     * The task is only deleted if it still has the expected version and is not changed concurrently.
+     *
+     * @param id the ID of the task to be deleted.
+     * @param expectedVersion the version the task is expected to have, or {@code null} to accept any version.
+     * @return a {@link Mono} completing once the task is deleted.
+     */
+    Mono<Void> deleteTaskById(final String id, final Long expectedVersion);
+
+}
@@ -0,0 +1,35 @@
+package com.example.todowithcouchbase.task.service;
+
+import com.example.todowithcouchbase.task.model.BulkTaskResult;
+import com.example.todowithcouchbase.task.model.TaskImportSummary;
+import com.example.todowithcouchbase.task.model.dto.request.SaveTaskRequest;
+
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Service interface for saving many tasks in one call.
+ * Each task is saved on its own, so a batch can partly succeed; the outcome of every task is reported back.
+ */
+public interface TaskBulkService {
+
+    /**
+     * Saves the given tasks to the database.
+     * Tasks whose name is already taken, or appears more than once in the batch, are not saved.
+     *
+     * @param saveTaskRequests the requests containing the details of the tasks to be saved.
+     * @return a list of {@link BulkTaskResult} objects, one per request and in the same order.
+     */
+    List<BulkTaskResult> saveTasksToDatabase(final List<SaveTaskRequest> saveTaskRequests);
+
+    /**
+     * Saves the tasks read from the given newline-delimited JSON stream, one {@link SaveTaskRequest} per line.
+     * Lines that are not valid requests, or whose name is already taken, are rejected without stopping the import.
+     * Blank lines are skipped.
+     *
+     * @param inputStream the stream to read the tasks from.
+     * @return a {@link TaskImportSummary} counting the accepted and rejected lines.
+     */
+    TaskImportSummary importTasks(final InputStream inputStream);
+
+}
@@ -0,0 +1,70 @@
+package com.example.todowithcouchbase.task.service;
+
+import com.example.todowithcouchbase.task.model.Task;
+
+import java.util.Optional;
+
+/**
+ * Service interface for the in-process cache of tasks.
+ * It keeps tasks by their ID and task IDs by their normalized name, so that frequently read tasks
+ * can be served without a round trip to Couchbase.
+ */
+public interface TaskCacheService {
+
+    /**
+     * Returns the cached task with the given ID, if present and still valid.
+     *
+     * @param id The ID of the task.
+     * @return An {@link Optional} containing the cached {@link Task}, or {@link Optional#empty()} if not cached.
+     */
+    Optional<Task> get(String id);
+
+    /**
+     * Returns the cached ID of the task with the given name, if present.
+     *
+     * @param name The name of the task.
+     * @return An {@link Optional} containing the task ID, or {@link Optional#empty()} if not cached.
+     */
+    Optional<String> getTaskId(String name);
+
+    /**
+     * Returns the invalidation stamp of the task with the given ID. It is read before the task is read from the
+     * database and handed to {@link #put(Task, long)}, so a task read before a concurrent write is not cached.
+     *
+     * @param id The ID of the task.
+     * @return The current invalidation stamp of the task.
+     */
+    long getInvalidationStamp(String id);
+
+    /**
+     * Caches a task read from the database, unless the task was evicted or refreshed since the given stamp was read.
+     *
+     * @param task              The task to cache, carrying the version of the document it was read from.
+     * @param invalidationStamp The invalidation stamp read before the task was read from the database.
+     */
+    void put(Task task, long invalidationStamp);
+
+    /**
+     * Caches the ID of the task with the given name.
+     *
+     * @param name   The name of the task.
+     * @param taskId The ID of the task.
+     */
+    void putTaskId(String name, String taskId);
+
+    /**
+     * Refreshes the cache after the given task was written by this node.
+     *
+     * @param task The task that was written, carrying the version of the write.
+     */
+    void refresh(Task task);
+
+    /**
+     * Removes the given task and the ID cached for the given name.
+     *
+     * @param id   The ID of the task.
+     * @param name The name of the task.
+     */
+    void evict(String id, String name);
+
+}
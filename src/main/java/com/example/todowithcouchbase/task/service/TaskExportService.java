@@ -0,0 +1,20 @@
+package com.example.todowithcouchbase.task.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service interface for exporting every task in one response.
+ * Tasks are written as newline-delimited JSON while they are read, so an export never holds the whole collection.
+ */
+public interface TaskExportService {
+
+    /**
+     * Writes every task to the given output stream as newline-delimited JSON, one task per line.
+     *
+     * @param outputStream the stream the tasks are written to; it is flushed but not closed.
+     * @throws IOException if the tasks cannot be written to the stream.
+     */
+    void exportTasks(final OutputStream outputStream) throws IOException;
+
+}
@@ -0,0 +1,78 @@
+package com.example.todowithcouchbase.task.service;
+
+import com.example.todowithcouchbase.common.model.BackfillPage;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * Service interface for managing the name reservation documents of tasks.
+ * This service maps normalized task names to task IDs with key-value operations, so that a task can be
+ * found by name and a duplicate name can be rejected without running a query.
+ */
+public interface TaskNameService {
+
+    /**
+     * Reserves the given task name for the given task.
+     * The reservation is an insert-if-absent, so of two concurrent saves with the same task name
+     * only one succeeds.
+     *
+     * @param name   The task name to reserve.
+     * @param taskId The ID of the task the name belongs to.
+     * @throws com.example.todowithcouchbase.task.exception.TaskWithThisNameAlreadyExistException If the name is already taken.
+     */
+    void reserve(final String name, final String taskId);
+
+    /**
+     * Releases the reservation of the given task name, if it is owned by the given task.
+     * This method is used when a task is renamed or deleted, and to undo a reservation when the task
+     * it was made for could not be saved. A reservation owned by another task, such as one of several older
+     * tasks sharing a name, is left in place, so the name stays taken.
+     *
+     * @param name   The task name to release.
+     * @param taskId The ID of the task releasing the name.
+     */
+    void release(final String name, final String taskId);
+
+    /**
+     * Finds the ID of the task that owns the given name.
+     *
+     * @param name The task name to look up.
+     * @return An {@link Optional} containing the task ID, or {@link Optional#empty()} if no task owns the name.
+     */
+    Optional<String> findTaskIdByName(final String name);
+
+    /**
+     * Reserves the given task name for the given task without blocking the calling thread.
+     *
+     * @param name   The task name to reserve.
+     * @param taskId The ID of the task the name belongs to.
+     * @return A {@link Mono} completing once the name is reserved, or failing with
+     *         {@link com.example.todowithcouchbase.task.exception.TaskWithThisNameAlreadyExistException} if the name is already taken.
+     */
+    Mono<Void> reserveReactive(final String name, final String taskId);
+
+    /**
+     * Releases the reservation of the given task name, if it is owned by the given task,
+     * without blocking the calling thread.
+     *
+     * @param name   The task name to release.
+     * @param taskId The ID of the task releasing the name.
+     * @return A {@link Mono} completing once the reservation is released or found to belong to another task.
+     */
+    Mono<Void> releaseReactive(final String name, final String taskId);
+
+    /**
+     * Creates the missing reservation documents for one page of the tasks that were saved before reservation
+     * documents were introduced.
+     * This is a one-off migration triggered by an administrator. It walks the tasks in document key order,
+     * one page per call, and the caller continues with the returned key until no key is returned.
+     *
+     * @param after The document key of the last task of the previous page, or {@code null} for the first page.
+     * @param limit The maximum number of tasks to scan.
+     * @return A {@link BackfillPage} holding the number of scanned tasks, the number of created reservations,
+     *         and the key to continue after.
+     */
+    BackfillPage backfillTaskNames(final String after, final int limit);
+
+}
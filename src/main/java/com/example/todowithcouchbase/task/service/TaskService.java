@@ -3,10 +3,14 @@ package com.example.todowithcouchbase.task.service;
 import com.example.todowithcouchbase.common.model.CustomPage;
 import com.example.todowithcouchbase.common.model.dto.request.CustomPagingRequest;
 import com.example.todowithcouchbase.task.model.Task;
+import com.example.todowithcouchbase.task.model.TaskBatch;
 import com.example.todowithcouchbase.task.model.dto.request.GetTaskByNameRequest;
+import com.example.todowithcouchbase.task.model.dto.request.PatchTaskRequest;
 import com.example.todowithcouchbase.task.model.dto.request.SaveTaskRequest;
 import com.example.todowithcouchbase.task.model.dto.request.UpdateTaskRequest;
 
+import java.util.List;
+
 /**
  * Service interface for managing tasks in the system.
  * This interface defines the methods for CRUD operations on tasks,
@@ -24,6 +28,7 @@ public interface TaskService {
 
     /**
      * Retrieves all tasks with pagination support.
+     * Requests without a page number, or with a cursor, are served with keyset (cursor) pagination.
      *
      * @param customPagingRequest the request object containing paging parameters (e.g., page size, page number).
      * @return a {@link CustomPage} of tasks, containing a list of tasks and pagination details.
@@ -46,20 +51,45 @@ public interface TaskService {
      */
     Task getTaskById(final String id);
 
+    /**
+     * Retrieves several tasks by their IDs.
+     * IDs without a matching task are reported as missing instead of failing the whole request.
+     *
+     * @param ids the IDs of the tasks to be retrieved.
+     * @return a {@link TaskBatch} containing the found tasks and the missing IDs.
+     */
+    TaskBatch getTasksByIds(final List<String> ids);
+
     /**
      * Updates an existing task by its ID.
+     * The task is only updated if it still has the expected version and is not changed concurrently.
      *
      * @param id the ID of the task to be updated.
      * @param updateTaskRequest the request object containing the updated details of the task.
+     * @param expectedVersion the version the task is expected to have, or {@code null} to accept any version.
+     * @return the updated {@link Task} entity.
+     */
+    Task updateTaskById(final String id, final UpdateTaskRequest updateTaskRequest, final Long expectedVersion);
+
+    /**
+     * Partially updates an existing task by its ID.
+     * Only the fields given in the request are written, so the work done does not depend on the size of the task.
+     * The task is only updated if it still has the expected version and is not changed concurrently.
+     *
+     * @param id the ID of the task to be updated.
+     * @param patchTaskRequest the request object containing the fields of the task to be changed.
+     * @param expectedVersion the version the task is expected to have, or {@code null} to accept any version.
      * @return the updated {@link Task} entity.
      */
-    Task updateTaskById(final String id, final UpdateTaskRequest updateTaskRequest);
+    Task patchTaskById(final String id, final PatchTaskRequest patchTaskRequest, final Long expectedVersion);
 
     /**
      * Deletes a task by its ID.
+     * The task is only deleted if it still has the expected version and is not changed concurrently.
      *
      * @param id the ID of the task to be deleted.
+     * @param expectedVersion the version the task is expected to have, or {@code null} to accept any version.
      */
-    void deleteTaskById(String id);
+    void deleteTaskById(String id, final Long expectedVersion);
 
 }
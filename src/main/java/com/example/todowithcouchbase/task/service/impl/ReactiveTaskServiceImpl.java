@@ -0,0 +1,260 @@
+package com.example.todowithcouchbase.task.service.impl;
+
+import com.example.todowithcouchbase.common.exception.PreconditionFailedException;
+import com.example.todowithcouchbase.task.exception.TaskNotFoundException;
+import com.example.todowithcouchbase.task.exception.TaskWithThisNameAlreadyExistException;
+import com.example.todowithcouchbase.task.model.Task;
+import com.example.todowithcouchbase.task.model.dto.request.SaveTaskRequest;
+import com.example.todowithcouchbase.task.model.dto.request.UpdateTaskRequest;
+import com.example.todowithcouchbase.task.model.entity.TaskEntity;
+import com.example.todowithcouchbase.task.model.entity.TaskNameEntity;
+import com.example.todowithcouchbase.task.model.mapper.SaveTaskRequestToTaskEntityMapper;
+import com.example.todowithcouchbase.task.model.mapper.TaskEntityToTaskMapper;
+import com.example.todowithcouchbase.task.model.mapper.UpdateTaskRequestToTaskEntityMapper;
+import com.example.todowithcouchbase.task.repository.ReactiveTaskRepository;
+import com.example.todowithcouchbase.task.service.ReactiveTaskService;
+import com.example.todowithcouchbase.task.service.TaskCacheService;
+import com.example.todowithcouchbase.task.service.TaskNameService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service implementation of the reactive task API, backed by {@link ReactiveTaskRepository}.
+ * Couchbase calls are chained instead of awaited, so a request holds no thread while Couchbase is working on it
+ * and the number of requests in flight is not bounded by the number of servlet threads.
+ * Entities are converted, and their audit fields filled, on threads that carry the security context of the caller,
+ * in the same way as bulk saves, because the Couchbase I/O threads that complete the previous step do not.
+ * Reads go to Couchbase directly; writes refresh or invalidate the cache of {@link TaskCacheService},
+ * so the blocking API of the same node does not serve outdated tasks.
+ */
+@Slf4j
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveTaskServiceImpl implements ReactiveTaskService {
+
+    private final ReactiveTaskRepository reactiveTaskRepository;
+    private final TaskNameService taskNameService;
+    private final TaskCacheService taskCacheService;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final SaveTaskRequestToTaskEntityMapper saveTaskRequestToTaskEntityMapper =
+            SaveTaskRequestToTaskEntityMapper.initialize();
+
+    private final TaskEntityToTaskMapper taskEntityToTaskMapper =
+            TaskEntityToTaskMapper.initialize();
+
+    private final UpdateTaskRequestToTaskEntityMapper updateTaskRequestToTaskEntityMapper =
+            UpdateTaskRequestToTaskEntityMapper.initialize();
+
+    /**
+     * Saves a new task to the database.
+     * The task name is reserved before the task is saved, and the reservation is released again if saving fails.
+     * The saved task is put into the cache.
+     *
+     * @param taskRequest the request object containing the details of the task to be saved.
+     * @return a {@link Mono} emitting the saved {@link Task}, or failing with
+     *         {@link TaskWithThisNameAlreadyExistException} if a task with the given name already exists.
+     */
+    @Override
+    public Mono<Task> saveTaskToDatabase(final SaveTaskRequest taskRequest) {
+
+        final Scheduler scheduler = securityContextScheduler();
+        final String name = taskRequest.getName();
+
+        return Mono.defer(() -> {
+
+            final TaskEntity taskEntityToBeSaved = saveTaskRequestToTaskEntityMapper.mapForSaving(taskRequest);
+            taskEntityToBeSaved.setId(UUID.randomUUID().toString());
+
+            return taskNameService.reserveReactive(name, taskEntityToBeSaved.getId())
+                    .then(Mono.defer(() -> reactiveTaskRepository.save(taskEntityToBeSaved))
+                            .subscribeOn(scheduler)
+                            .onErrorResume(exception -> releaseName(name, taskEntityToBeSaved.getId()).then(Mono.error(exception))));
+
+        })
+                .map(taskEntityToTaskMapper::map)
+                .doOnNext(taskCacheService::refresh);
+
+    }
+
+    /**
+     * Retrieves a task by its ID with a single non-blocking key-value get.
+     *
+     * @param id the ID of the task to be retrieved.
+     * @return a {@link Mono} emitting the {@link Task} with the given ID, or failing with
+     *         {@link TaskNotFoundException} if the task does not exist.
+     */
+    @Override
+    public Mono<Task> getTaskById(final String id) {
+        return reactiveTaskRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new TaskNotFoundException("Task given id cant found")))
+                .map(taskEntityToTaskMapper::map);
+    }
+
+    /**
+     * Updates an existing task by its ID.
+     * The task is read, checked against the expected version and saved as a replace that is conditional on the
+     * version it was read with. If the name changes, the new name is reserved before the task is saved and
+     * the old name is released afterwards.
+     *
+     * @param id the ID of the task to be updated.
+     * @param updateTaskRequest the request object containing the updated details of the task.
+     * @param expectedVersion the version the task is expected to have, or {@code null} to accept any version.
+     * @return a {@link Mono} emitting the updated {@link Task}, or failing with {@link TaskNotFoundException},
+     *         {@link PreconditionFailedException} or {@link TaskWithThisNameAlreadyExistException}.
+     */
+    @Override
+    public Mono<Task> updateTaskById(final String id, final UpdateTaskRequest updateTaskRequest, final Long expectedVersion) {
+
+        final Scheduler scheduler = securityContextScheduler();
+
+        return reactiveTaskRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new TaskNotFoundException("Task given id cant found")))
+                .flatMap(taskEntity -> {
+
+                    if (expectedVersion != null && !expectedVersion.equals(taskEntity.getVersion())) {
+                        return Mono.error(new PreconditionFailedException("Task with given id = " + id + " has another version than expected"));
+                    }
+
+                    final String oldName = taskEntity.getName();
+                    final String newName = updateTaskRequest.getName();
+                    final boolean nameChanged = !TaskNameEntity.normalize(oldName).equals(TaskNameEntity.normalize(newName));
+
+                    final Mono<Void> reservation = nameChanged
+                            ? taskNameService.reserveReactive(newName, id)
+                            : Mono.empty();
+
+                    return reservation
+                            .then(Mono.defer(() -> {
+                                        updateTaskRequestToTaskEntityMapper.updateTaskMapper(taskEntity, updateTaskRequest);
+                                        return reactiveTaskRepository.save(taskEntity);
+                                    })
+                                    .subscribeOn(scheduler)
+                                    .onErrorResume(exception -> (nameChanged ? releaseName(newName, id) : Mono.<Void>empty())
+                                            .then(Mono.error(toUpdateException(id, oldName, exception)))))
+                            .flatMap(updatedTask -> (nameChanged ? releaseName(oldName, id) : Mono.<Void>empty())
+                                    .thenReturn(updatedTask))
+                            .map(taskEntityToTaskMapper::map)
+                            .doOnNext(task -> {
+                                taskCacheService.evict(id, oldName);
+                                taskCacheService.refresh(task);
+                            });
+
+                });
+
+    }
+
+    /**
+     * Deletes a task by its ID.
+     * If a version is expected, the task is removed in a single conditional remove without reading it first,
+     * otherwise it is read and removed with the version it was read with, and its name reservation is released.
+     *
+     * @param id the ID of the task to be deleted.
+     * @param expectedVersion the version the task is expected to have, or {@code null} to accept any version.
+     * @return a {@link Mono} completing once the task is deleted, or failing with
+     *         {@link TaskNotFoundException} or {@link PreconditionFailedException}.
+     */
+    @Override
+    public Mono<Void> deleteTaskById(final String id, final Long expectedVersion) {
+
+        if (expectedVersion != null) {
+            return reactiveTaskRepository.delete(
+                            TaskEntity.builder()
+                                    .id(id)
+                                    .version(expectedVersion)
+                                    .build()
+                    )
+                    .onErrorMap(OptimisticLockingFailureException.class,
+                            exception -> new PreconditionFailedException("Task with given id = " + id + " has another version than expected"))
+                    .onErrorMap(DataRetrievalFailureException.class,
+                            exception -> new TaskNotFoundException("With given id = " + id))
+                    .doFinally(signalType -> taskCacheService.evict(id, null));
+        }
+
+        return reactiveTaskRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new TaskNotFoundException("With given id = " + id)))
+                .flatMap(taskToBeDeleted -> reactiveTaskRepository.delete(taskToBeDeleted)
+                        .onErrorMap(OptimisticLockingFailureException.class,
+                                exception -> new PreconditionFailedException("Task with given id = " + id + " was changed concurrently"))
+                        .doFinally(signalType -> taskCacheService.evict(id, taskToBeDeleted.getName()))
+                        .then(taskNameService.releaseReactive(taskToBeDeleted.getName(), id)));
+
+    }
+
+    /**
+     * Stops the threads that convert tasks once the requests still in flight are done, waiting at most 5 seconds.
+     */
+    @PreDestroy
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Translates a failure to save an updated task. A concurrent change invalidates the cached task.
+     *
+     * @param id the ID of the task.
+     * @param oldName the name of the task before the update.
+     * @param exception the failure.
+     * @return the exception to report.
+     */
+    private Throwable toUpdateException(final String id, final String oldName, final Throwable exception) {
+
+        if (exception instanceof OptimisticLockingFailureException) {
+            taskCacheService.evict(id, oldName);
+            return new PreconditionFailedException("Task with given id = " + id + " was changed concurrently");
+        }
+
+        return exception;
+
+    }
+
+    /**
+     * Releases the reservation of the given task name, logging instead of failing if it cannot be released,
+     * so that the original failure is the one reported.
+     *
+     * @param name the task name to release.
+     * @param taskId the ID of the task releasing the name.
+     * @return a {@link Mono} completing once the reservation is released or the failure is logged.
+     */
+    private Mono<Void> releaseName(final String name, final String taskId) {
+        return taskNameService.releaseReactive(name, taskId)
+                .onErrorResume(releaseException -> {
+                    log.error("Task name reservation could not be released: {}", name, releaseException);
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Creates a scheduler whose threads carry the security context of the calling thread.
+     *
+     * @return the {@link Scheduler} carrying the security context of the caller.
+     */
+    private Scheduler securityContextScheduler() {
+        return Schedulers.fromExecutor(
+                new DelegatingSecurityContextExecutor(executor, SecurityContextHolder.getContext())
+        );
+    }
+
+}
@@ -0,0 +1,253 @@
+package com.example.todowithcouchbase.task.service.impl;
+
+import com.example.todowithcouchbase.task.exception.TaskWithThisNameAlreadyExistException;
+import com.example.todowithcouchbase.task.model.BulkTaskResult;
+import com.example.todowithcouchbase.task.model.TaskImportSummary;
+import com.example.todowithcouchbase.task.model.dto.request.SaveTaskRequest;
+import com.example.todowithcouchbase.task.model.entity.TaskEntity;
+import com.example.todowithcouchbase.task.model.entity.TaskNameEntity;
+import com.example.todowithcouchbase.task.model.mapper.SaveTaskRequestToTaskEntityMapper;
+import com.example.todowithcouchbase.task.repository.TaskRepository;
+import com.example.todowithcouchbase.task.service.TaskBulkService;
+import com.example.todowithcouchbase.task.service.TaskNameService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Service implementation for saving many tasks in one call.
+ * Names repeated within the batch are rejected up front. Every other task reserves its name and is inserted
+ * through the reactive Couchbase API, with up to the configured number of tasks in flight at once, so the
+ * key-value operations of a batch are pipelined instead of paying one round trip after another.
+ * The calling thread waits for the whole batch, so the endpoint keeps its synchronous contract.
+ * Work is dispatched on threads that carry the security context of the caller, so audit fields such as
+ * {@code createdBy} are filled in the same way as for a single save.
+ * Imports read their upload line by line and keep the same number of tasks in flight, but save them in any order
+ * and only count the outcomes, so neither the upload nor its results are held in memory.
+ */
+@Slf4j
+@Service
+public class TaskBulkServiceImpl implements TaskBulkService {
+
+    private static final String DUPLICATE_IN_BATCH_MESSAGE = "Task name appears more than once in the request";
+    private static final String INVALID_JSON_MESSAGE = "Line is not a valid task";
+
+    private final TaskRepository taskRepository;
+    private final TaskNameService taskNameService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int concurrency;
+    private final int maxReportedRejections;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final SaveTaskRequestToTaskEntityMapper saveTaskRequestToTaskEntityMapper =
+            SaveTaskRequestToTaskEntityMapper.initialize();
+
+    /**
+     * Constructs a new {@code TaskBulkServiceImpl}.
+     *
+     * @param taskRepository  The repository used to insert tasks.
+     * @param taskNameService The service used to reserve task names.
+     * @param objectMapper    The object mapper used to read imported lines.
+     * @param validator       The validator used to check imported lines.
+     * @param concurrency     The maximum number of tasks of one batch or import saved at the same time.
+     * @param maxReportedRejections The maximum number of rejected lines of one import reported with their reason.
+     */
+    public TaskBulkServiceImpl(final TaskRepository taskRepository,
+                               final TaskNameService taskNameService,
+                               final ObjectMapper objectMapper,
+                               final Validator validator,
+                               @Value("${task.bulk.concurrency:32}") final int concurrency,
+                               @Value("${task.import.max-reported-rejections:100}") final int maxReportedRejections) {
+        this.taskRepository = taskRepository;
+        this.taskNameService = taskNameService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.concurrency = concurrency;
+        this.maxReportedRejections = maxReportedRejections;
+    }
+
+    /**
+     * Saves the given tasks to the database.
+     *
+     * @param saveTaskRequests the requests containing the details of the tasks to be saved.
+     * @return a list of {@link BulkTaskResult} objects, one per request and in the same order.
+     */
+    @Override
+    public List<BulkTaskResult> saveTasksToDatabase(final List<SaveTaskRequest> saveTaskRequests) {
+
+        final Scheduler scheduler = Schedulers.fromExecutor(
+                new DelegatingSecurityContextExecutor(executor, SecurityContextHolder.getContext())
+        );
+
+        final Set<String> namesInBatch = new HashSet<>();
+        final List<Mono<BulkTaskResult>> saves = new ArrayList<>(saveTaskRequests.size());
+
+        for (int index = 0; index < saveTaskRequests.size(); index++) {
+            final SaveTaskRequest saveTaskRequest = saveTaskRequests.get(index);
+
+            if (!namesInBatch.add(TaskNameEntity.normalize(saveTaskRequest.getName()))) {
+                saves.add(Mono.just(BulkTaskResult.failure(index, saveTaskRequest.getName(), DUPLICATE_IN_BATCH_MESSAGE)));
+            } else {
+                saves.add(saveTask(index, saveTaskRequest, scheduler));
+            }
+        }
+
+        return Flux.fromIterable(saves)
+                .publishOn(scheduler)
+                .flatMapSequential(save -> save, concurrency)
+                .collectList()
+                .block();
+
+    }
+
+    /**
+     * Saves the tasks read from the given newline-delimited JSON stream.
+     * Lines are only read when there is room in the window of tasks in flight, so a large upload is consumed
+     * as fast as Couchbase accepts the writes instead of being buffered. The index of each rejection is the
+     * zero-based position of its line in the upload.
+     * Lines are requested on the scheduler carrying the security context of the caller, so blocking reads
+     * of the upload never run on a Couchbase I/O thread that completed an insert.
+     *
+     * @param inputStream the stream to read the tasks from.
+     * @return a {@link TaskImportSummary} counting the accepted and rejected lines.
+     */
+    @Override
+    public TaskImportSummary importTasks(final InputStream inputStream) {
+
+        final Scheduler scheduler = Schedulers.fromExecutor(
+                new DelegatingSecurityContextExecutor(executor, SecurityContextHolder.getContext())
+        );
+
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+
+        return Flux.fromStream(reader::lines)
+                .subscribeOn(scheduler)
+                .index()
+                .filter(line -> !line.getT2().isBlank())
+                .flatMap(line -> importLine(Math.toIntExact(line.getT1()), line.getT2(), scheduler), concurrency)
+                .collect(TaskImportSummary::new, (summary, result) -> summary.record(result, maxReportedRejections))
+                .block();
+
+    }
+
+    /**
+     * Stops the threads that save tasks once the batches and imports still in flight are done, waiting at most 5 seconds.
+     */
+    @PreDestroy
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Imports a single line of an upload.
+     * The line is read as a {@link SaveTaskRequest} and checked against its constraints before the task is saved.
+     *
+     * @param index     the position of the line in the upload.
+     * @param line      the content of the line.
+     * @param scheduler the scheduler carrying the security context of the caller.
+     * @return a {@link Mono} emitting the outcome of importing the line.
+     */
+    private Mono<BulkTaskResult> importLine(final int index, final String line, final Scheduler scheduler) {
+
+        final SaveTaskRequest saveTaskRequest;
+        try {
+            saveTaskRequest = objectMapper.readValue(line, SaveTaskRequest.class);
+        } catch (JsonProcessingException exception) {
+            return Mono.just(BulkTaskResult.failure(index, null, INVALID_JSON_MESSAGE));
+        }
+
+        if (saveTaskRequest == null) {
+            return Mono.just(BulkTaskResult.failure(index, null, INVALID_JSON_MESSAGE));
+        }
+
+        final Set<ConstraintViolation<SaveTaskRequest>> violations = validator.validate(saveTaskRequest);
+
+        if (!violations.isEmpty()) {
+            final String message = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+            return Mono.just(BulkTaskResult.failure(index, saveTaskRequest.getName(), message));
+        }
+
+        return saveTask(index, saveTaskRequest, scheduler);
+
+    }
+
+    /**
+     * Saves a single task of a batch or an import.
+     * The task name is reserved before the task is inserted, and the reservation is released again if the insert fails.
+     * Failures are turned into a failed {@link BulkTaskResult}, so one task cannot fail the whole batch.
+     * The insert is subscribed on the given scheduler rather than on the Couchbase I/O thread that completed the
+     * reservation, because the entity is converted, and its audit fields filled, when the insert is subscribed.
+     *
+     * @param index           the position of the task in the request.
+     * @param saveTaskRequest the request containing the details of the task.
+     * @param scheduler       the scheduler carrying the security context of the caller.
+     * @return a {@link Mono} emitting the outcome of saving the task.
+     */
+    private Mono<BulkTaskResult> saveTask(final int index,
+                                          final SaveTaskRequest saveTaskRequest,
+                                          final Scheduler scheduler) {
+
+        final String name = saveTaskRequest.getName();
+
+        return Mono.defer(() -> {
+
+            final TaskEntity taskEntityToBeSaved = saveTaskRequestToTaskEntityMapper.mapForSaving(saveTaskRequest);
+            taskEntityToBeSaved.setId(UUID.randomUUID().toString());
+
+            return taskNameService.reserveReactive(name, taskEntityToBeSaved.getId())
+                    .publishOn(scheduler)
+                    .then(Mono.defer(() -> taskRepository.insertReactive(taskEntityToBeSaved)
+                            .onErrorResume(exception -> taskNameService.releaseReactive(name, taskEntityToBeSaved.getId())
+                                    .onErrorResume(releaseException -> {
+                                        log.error("Task name reservation could not be released: {}", name, releaseException);
+                                        return Mono.empty();
+                                    })
+                                    .then(Mono.error(exception)))))
+                    .map(savedTaskEntity -> BulkTaskResult.success(index, name, savedTaskEntity.getId()))
+                    .onErrorResume(TaskWithThisNameAlreadyExistException.class,
+                            exception -> Mono.just(BulkTaskResult.failure(index, name, exception.getMessage().strip())))
+                    .onErrorResume(exception -> {
+                        log.error("Task could not be saved in bulk: {}", name, exception);
+                        return Mono.just(BulkTaskResult.failure(index, name, "Task could not be saved"));
+                    });
+
+        });
+
+    }
+
+}
@@ -0,0 +1,363 @@
+package com.example.todowithcouchbase.task.service.impl;
+
+import com.example.todowithcouchbase.task.model.CachedTask;
+import com.example.todowithcouchbase.task.model.Task;
+import com.example.todowithcouchbase.task.model.entity.TaskNameEntity;
+import com.example.todowithcouchbase.task.model.enums.TaskCacheConsistencyMode;
+import com.example.todowithcouchbase.task.repository.TaskRepository;
+import com.example.todowithcouchbase.task.service.TaskCacheService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Service implementation for the in-process cache of tasks.
+ * Tasks are kept by ID until their time to live passes, and task IDs are kept by normalized name.
+ * The number of entries in each map is capped; when a map is full, expired entries are purged first and,
+ * if there is still no room, arbitrary entries are evicted. A cached name only leads to a task if the cached
+ * task still carries that name, so a stale name entry can never return the wrong task.
+ * In {@link TaskCacheConsistencyMode#VERSION_STAMP} mode, every hit compares the version a task was cached with,
+ * which is the CAS value it was read or written with, against the current CAS value of the task document.
+ * A task read from the database is only cached if it was not evicted or refreshed while it was being read,
+ * which is tracked by striped invalidation stamps.
+ * Hits, misses, evictions and the size of each map are exported as Micrometer metrics.
+ */
+@Service
+public class TaskCacheServiceImpl implements TaskCacheService {
+
+    private static final String METRIC_PREFIX = "task.cache";
+    private static final int INVALIDATION_STRIPES = 64;
+
+    private final int maxSize;
+    private final Duration ttl;
+    private final TaskCacheConsistencyMode consistencyMode;
+    private final TaskRepository taskRepository;
+
+    private final Map<String, CachedTask> cachedTasks = new ConcurrentHashMap<>();
+    private final Map<String, String> cachedTaskIds = new ConcurrentHashMap<>();
+    private final AtomicLongArray invalidationStamps = new AtomicLongArray(INVALIDATION_STRIPES);
+
+    private final Counter taskHitCounter;
+    private final Counter taskMissCounter;
+    private final Counter nameHitCounter;
+    private final Counter nameMissCounter;
+    private final Counter expiredEvictionCounter;
+    private final Counter staleEvictionCounter;
+    private final Counter invalidatedEvictionCounter;
+    private final Counter sizeEvictionCounter;
+
+    /**
+     * Constructs a new {@code TaskCacheServiceImpl}.
+     *
+     * @param maxSize         The maximum number of entries kept in each of the task and name maps.
+     * @param ttlMillis       The time to live of a cached task in milliseconds.
+     * @param consistencyMode How changes made on other nodes are picked up.
+     * @param taskRepository  The repository used to read the CAS value of task documents.
+     * @param meterRegistry   The registry the cache metrics are exported to.
+     */
+    public TaskCacheServiceImpl(@Value("${task.cache.max-size:10000}") final int maxSize,
+                                @Value("${task.cache.ttl-millis:30000}") final long ttlMillis,
+                                @Value("${task.cache.consistency-mode:TTL}") final TaskCacheConsistencyMode consistencyMode,
+                                final TaskRepository taskRepository,
+                                final MeterRegistry meterRegistry) {
+
+        this.maxSize = maxSize;
+        this.ttl = Duration.ofMillis(ttlMillis);
+        this.consistencyMode = consistencyMode;
+        this.taskRepository = taskRepository;
+
+        Gauge.builder(METRIC_PREFIX + ".size", cachedTasks, Map::size)
+                .description("Number of entries in the task cache")
+                .tag("cache", "task")
+                .register(meterRegistry);
+
+        Gauge.builder(METRIC_PREFIX + ".size", cachedTaskIds, Map::size)
+                .description("Number of entries in the task cache")
+                .tag("cache", "task-name")
+                .register(meterRegistry);
+
+        this.taskHitCounter = getsCounter(meterRegistry, "task", "hit");
+        this.taskMissCounter = getsCounter(meterRegistry, "task", "miss");
+        this.nameHitCounter = getsCounter(meterRegistry, "task-name", "hit");
+        this.nameMissCounter = getsCounter(meterRegistry, "task-name", "miss");
+
+        this.expiredEvictionCounter = evictionsCounter(meterRegistry, "expired");
+        this.staleEvictionCounter = evictionsCounter(meterRegistry, "stale");
+        this.invalidatedEvictionCounter = evictionsCounter(meterRegistry, "invalidated");
+        this.sizeEvictionCounter = evictionsCounter(meterRegistry, "size");
+    }
+
+    /**
+     * Returns the cached task with the given ID, if present and still valid.
+     * An expired entry, or in {@link TaskCacheConsistencyMode#VERSION_STAMP} mode an entry whose document
+     * has changed or was deleted since it was cached, is removed when it is found.
+     *
+     * @param id The ID of the task.
+     * @return An {@link Optional} containing the cached {@link Task}, or {@link Optional#empty()} if not cached.
+     */
+    @Override
+    public Optional<Task> get(String id) {
+        final CachedTask cachedTask = cachedTasks.get(id);
+
+        if (cachedTask == null) {
+            taskMissCounter.increment();
+            return Optional.empty();
+        }
+
+        if (cachedTask.isExpired(Instant.now())) {
+            remove(id, cachedTask, expiredEvictionCounter);
+            taskMissCounter.increment();
+            return Optional.empty();
+        }
+
+        if (consistencyMode == TaskCacheConsistencyMode.VERSION_STAMP && !isCurrent(id, cachedTask)) {
+            remove(id, cachedTask, staleEvictionCounter);
+            taskMissCounter.increment();
+            return Optional.empty();
+        }
+
+        taskHitCounter.increment();
+        return Optional.of(cachedTask.getTask());
+    }
+
+    /**
+     * Returns the cached ID of the task with the given name, if present.
+     *
+     * @param name The name of the task.
+     * @return An {@link Optional} containing the task ID, or {@link Optional#empty()} if not cached.
+     */
+    @Override
+    public Optional<String> getTaskId(String name) {
+        final String taskId = cachedTaskIds.get(TaskNameEntity.normalize(name));
+
+        if (taskId == null) {
+            nameMissCounter.increment();
+            return Optional.empty();
+        }
+
+        nameHitCounter.increment();
+        return Optional.of(taskId);
+    }
+
+    /**
+     * Returns the invalidation stamp of the stripe the given task ID belongs to.
+     *
+     * @param id The ID of the task.
+     * @return The current invalidation stamp of the task.
+     */
+    @Override
+    public long getInvalidationStamp(String id) {
+        return invalidationStamps.get(stripe(id));
+    }
+
+    /**
+     * Caches a task read from the database until the time to live passes, unless the task was evicted or refreshed
+     * since the given stamp was read. The stamp is checked and the entry stored in one atomic step, so an eviction
+     * either rejects the entry or removes it right after it was stored.
+     * In {@link TaskCacheConsistencyMode#VERSION_STAMP} mode a task without a version cannot be checked later,
+     * so it is not cached.
+     *
+     * @param task              The task to cache, carrying the version of the document it was read from.
+     * @param invalidationStamp The invalidation stamp read before the task was read from the database.
+     */
+    @Override
+    public void put(Task task, long invalidationStamp) {
+        final CachedTask newCachedTask = newCachedTask(task);
+
+        if (newCachedTask == null) {
+            return;
+        }
+
+        final String id = task.getId();
+        cachedTasks.compute(id, (key, cachedTask) ->
+                invalidationStamps.get(stripe(id)) == invalidationStamp ? newCachedTask : cachedTask
+        );
+    }
+
+    /**
+     * Caches the ID of the task with the given name.
+     *
+     * @param name   The name of the task.
+     * @param taskId The ID of the task.
+     */
+    @Override
+    public void putTaskId(String name, String taskId) {
+        if (cachedTaskIds.size() >= maxSize) {
+            makeRoom(cachedTaskIds);
+        }
+
+        cachedTaskIds.put(TaskNameEntity.normalize(name), taskId);
+    }
+
+    /**
+     * Refreshes the cache after the given task was written by this node.
+     * The written task replaces the cached one, together with the CAS value returned by the write,
+     * and tasks read before the write are no longer cached.
+     *
+     * @param task The task that was written, carrying the version of the write.
+     */
+    @Override
+    public void refresh(Task task) {
+        invalidationStamps.incrementAndGet(stripe(task.getId()));
+
+        final CachedTask cachedTask = newCachedTask(task);
+        if (cachedTask != null) {
+            cachedTasks.put(task.getId(), cachedTask);
+        }
+
+        this.putTaskId(task.getName(), task.getId());
+    }
+
+    /**
+     * Removes the given task and the ID cached for the given name.
+     * Tasks read before the eviction are no longer cached.
+     *
+     * @param id   The ID of the task.
+     * @param name The name of the task.
+     */
+    @Override
+    public void evict(String id, String name) {
+        invalidationStamps.incrementAndGet(stripe(id));
+
+        final CachedTask cachedTask = cachedTasks.get(id);
+        if (cachedTask != null) {
+            remove(id, cachedTask, invalidatedEvictionCounter);
+        }
+
+        if (name != null) {
+            cachedTaskIds.remove(TaskNameEntity.normalize(name), id);
+        }
+    }
+
+    /**
+     * Builds the cache entry of the given task, expiring once the time to live passes, and makes room for it.
+     *
+     * @param task The task to cache.
+     * @return The cache entry, or {@code null} if the task cannot be cached.
+     */
+    private CachedTask newCachedTask(final Task task) {
+        final Long version = task.getVersion();
+
+        if (consistencyMode == TaskCacheConsistencyMode.VERSION_STAMP && version == null) {
+            return null;
+        }
+
+        final Instant now = Instant.now();
+
+        if (cachedTasks.size() >= maxSize) {
+            purgeExpiredTasks(now);
+            makeRoom(cachedTasks);
+        }
+
+        return CachedTask.builder()
+                .task(task)
+                .versionStamp(version == null ? 0L : version)
+                .expiresAt(now.plus(ttl))
+                .build();
+    }
+
+    /**
+     * Returns the invalidation stripe of the given task ID.
+     *
+     * @param id The ID of the task.
+     * @return The index of the stripe.
+     */
+    private static int stripe(final String id) {
+        return Math.floorMod(id.hashCode(), INVALIDATION_STRIPES);
+    }
+
+    /**
+     * Checks whether the document of the given cached task still has the CAS value it was cached with.
+     *
+     * @param id         The ID of the task.
+     * @param cachedTask The cached task.
+     * @return {@code true} if the document is unchanged, {@code false} if it changed or was deleted.
+     */
+    private boolean isCurrent(final String id, final CachedTask cachedTask) {
+        return taskRepository.findCasById(id)
+                .map(cas -> cas == cachedTask.getVersionStamp())
+                .orElse(false);
+    }
+
+    /**
+     * Removes the given entry from the task map, counting it as an eviction for the given reason.
+     *
+     * @param id         The ID of the task.
+     * @param cachedTask The entry expected under the ID.
+     * @param counter    The eviction counter of the reason.
+     */
+    private void remove(final String id, final CachedTask cachedTask, final Counter counter) {
+        if (cachedTasks.remove(id, cachedTask)) {
+            counter.increment();
+        }
+    }
+
+    /**
+     * Removes every expired entry from the task map.
+     *
+     * @param now The current point in time.
+     */
+    private void purgeExpiredTasks(final Instant now) {
+        cachedTasks.forEach((id, cachedTask) -> {
+            if (cachedTask.isExpired(now)) {
+                remove(id, cachedTask, expiredEvictionCounter);
+            }
+        });
+    }
+
+    /**
+     * Evicts arbitrary entries from the given map until there is room for one more entry.
+     *
+     * @param cache The map to make room in.
+     */
+    private void makeRoom(final Map<String, ?> cache) {
+        final Iterator<String> ids = cache.keySet().iterator();
+
+        while (cache.size() >= maxSize && ids.hasNext()) {
+            ids.next();
+            ids.remove();
+            sizeEvictionCounter.increment();
+        }
+    }
+
+    /**
+     * Registers the counter of cache lookups for the given cache and result.
+     *
+     * @param meterRegistry The registry the counter is registered in.
+     * @param cache         The name of the cache.
+     * @param result        Whether the lookups were hits or misses.
+     * @return The registered counter.
+     */
+    private static Counter getsCounter(final MeterRegistry meterRegistry, final String cache, final String result) {
+        return Counter.builder(METRIC_PREFIX + ".gets")
+                .description("Number of task cache lookups")
+                .tag("cache", cache)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registers the counter of cache evictions for the given reason.
+     *
+     * @param meterRegistry The registry the counter is registered in.
+     * @param reason        Why the entries were evicted.
+     * @return The registered counter.
+     */
+    private static Counter evictionsCounter(final MeterRegistry meterRegistry, final String reason) {
+        return Counter.builder(METRIC_PREFIX + ".evictions")
+                .description("Number of entries evicted from the task cache")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+}
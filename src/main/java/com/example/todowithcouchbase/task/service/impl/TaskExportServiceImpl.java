@@ -0,0 +1,83 @@
+package com.example.todowithcouchbase.task.service.impl;
+
+import com.example.todowithcouchbase.task.model.dto.response.TaskResponse;
+import com.example.todowithcouchbase.task.model.entity.TaskEntity;
+import com.example.todowithcouchbase.task.model.mapper.TaskEntityToTaskMapper;
+import com.example.todowithcouchbase.task.model.mapper.TaskToTaskResponseMapper;
+import com.example.todowithcouchbase.task.repository.TaskRepository;
+import com.example.todowithcouchbase.task.service.TaskExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Service implementation for exporting every task as newline-delimited JSON.
+ * Tasks are read from a streaming N1QL query and written to the output stream one by one. At most the configured
+ * number of tasks is requested ahead of the writer, so a slow client slows down the query instead of filling
+ * the heap, and memory use does not depend on the number of tasks.
+ */
+@Service
+public class TaskExportServiceImpl implements TaskExportService {
+
+    private static final int LINE_SEPARATOR = '\n';
+
+    private final TaskRepository taskRepository;
+    private final ObjectWriter objectWriter;
+    private final int prefetch;
+
+    private final TaskEntityToTaskMapper taskEntityToTaskMapper =
+            TaskEntityToTaskMapper.initialize();
+
+    private final TaskToTaskResponseMapper taskToTaskResponseMapper =
+            TaskToTaskResponseMapper.initialize();
+
+    /**
+     * Constructs a new {@code TaskExportServiceImpl}.
+     *
+     * @param taskRepository The repository used to read tasks.
+     * @param objectMapper   The object mapper used to write tasks as JSON.
+     * @param prefetch       The maximum number of tasks read ahead of the writer.
+     */
+    public TaskExportServiceImpl(final TaskRepository taskRepository,
+                                 final ObjectMapper objectMapper,
+                                 @Value("${task.export.prefetch:256}") final int prefetch) {
+        this.taskRepository = taskRepository;
+        this.objectWriter = objectMapper.writerFor(TaskResponse.class);
+        this.prefetch = prefetch;
+    }
+
+    /**
+     * Writes every task to the given output stream as newline-delimited JSON, one task per line.
+     * The query is cancelled if writing fails, for example because the client has gone away.
+     *
+     * @param outputStream the stream the tasks are written to; it is flushed but not closed.
+     * @throws IOException if the tasks cannot be written to the stream.
+     */
+    @Override
+    public void exportTasks(final OutputStream outputStream) throws IOException {
+
+        try (Stream<TaskEntity> taskEntities = taskRepository.findAllReactive().toStream(prefetch)) {
+
+            final Iterator<TaskEntity> iterator = taskEntities.iterator();
+
+            while (iterator.hasNext()) {
+                final TaskResponse taskResponse = taskToTaskResponseMapper.map(
+                        taskEntityToTaskMapper.map(iterator.next())
+                );
+                outputStream.write(objectWriter.writeValueAsBytes(taskResponse));
+                outputStream.write(LINE_SEPARATOR);
+            }
+
+        }
+
+        outputStream.flush();
+
+    }
+
+}
@@ -0,0 +1,226 @@
+package com.example.todowithcouchbase.task.service.impl;
+
+import com.example.todowithcouchbase.common.model.BackfillPage;
+import com.example.todowithcouchbase.task.exception.TaskWithThisNameAlreadyExistException;
+import com.example.todowithcouchbase.task.model.entity.TaskEntity;
+import com.example.todowithcouchbase.task.model.entity.TaskNameEntity;
+import com.example.todowithcouchbase.task.repository.TaskNameRepository;
+import com.example.todowithcouchbase.task.repository.TaskRepository;
+import com.example.todowithcouchbase.task.service.TaskNameService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service implementation for managing the name reservation documents of tasks.
+ * Each reservation document is keyed by the normalized task name, or its hash if it is too long,
+ * and holds the ID of the task that owns it.
+ * Reserving a name is a key-value insert that Couchbase rejects if the key already exists, and
+ * finding a task ID by name is a key-value get. Tasks saved before reservation documents were introduced
+ * are backfilled by a one-off migration that an administrator runs page by page, so no node scans every task on startup.
+ * A task deleted by a conditional remove leaves its reservation behind. Such an orphaned reservation is
+ * reclaimed when its name is reserved again: it is removed if it is older than a short grace period and
+ * its task no longer exists, and the name is then reserved anew. The grace period keeps the reservation of
+ * a task that is still being saved from being taken.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskNameServiceImpl implements TaskNameService {
+
+    private static final Duration ORPHANED_RESERVATION_GRACE_PERIOD = Duration.ofMinutes(1);
+
+    private final TaskNameRepository taskNameRepository;
+    private final TaskRepository taskRepository;
+
+    /**
+     * Reserves the given task name for the given task.
+     *
+     * @param name   The task name to reserve.
+     * @param taskId The ID of the task the name belongs to.
+     * @throws TaskWithThisNameAlreadyExistException If the name is already taken.
+     */
+    @Override
+    public void reserve(String name, String taskId) {
+        try {
+            taskNameRepository.insert(
+                    TaskNameEntity.builder()
+                            .id(TaskNameEntity.toKey(name))
+                            .taskId(taskId)
+                            .build()
+            );
+        } catch (DuplicateKeyException exception) {
+            if (!this.reclaimOrphanedReservation(name, taskId)) {
+                throw new TaskWithThisNameAlreadyExistException("With given task name = " + name);
+            }
+        }
+    }
+
+    /**
+     * Releases the reservation of the given task name, if it is owned by the given task.
+     *
+     * @param name   The task name to release.
+     * @param taskId The ID of the task releasing the name.
+     */
+    @Override
+    public void release(String name, String taskId) {
+        if (!taskNameRepository.deleteIfOwnedBy(TaskNameEntity.toKey(name), taskId)) {
+            log.debug("Reservation of task name {} is not owned by task {} and is kept", TaskNameEntity.normalize(name), taskId);
+        }
+    }
+
+    /**
+     * Finds the ID of the task that owns the given name.
+     *
+     * @param name The task name to look up.
+     * @return An {@link Optional} containing the task ID, or {@link Optional#empty()} if no task owns the name.
+     */
+    @Override
+    public Optional<String> findTaskIdByName(String name) {
+        return taskNameRepository.findById(TaskNameEntity.toKey(name))
+                .map(TaskNameEntity::getTaskId);
+    }
+
+    /**
+     * Reserves the given task name for the given task without blocking the calling thread.
+     * If the name is held by a reservation, checking whether it is orphaned takes blocking calls,
+     * so that check runs on the bounded elastic scheduler.
+     *
+     * @param name   The task name to reserve.
+     * @param taskId The ID of the task the name belongs to.
+     * @return A {@link Mono} completing once the name is reserved, or failing with
+     *         {@link TaskWithThisNameAlreadyExistException} if the name is already taken.
+     */
+    @Override
+    public Mono<Void> reserveReactive(String name, String taskId) {
+        return taskNameRepository.insertReactive(
+                        TaskNameEntity.builder()
+                                .id(TaskNameEntity.toKey(name))
+                                .taskId(taskId)
+                                .build()
+                )
+                .then()
+                .onErrorResume(DuplicateKeyException.class, exception -> Mono
+                        .fromCallable(() -> this.reclaimOrphanedReservation(name, taskId))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .flatMap(reclaimed -> reclaimed
+                                ? Mono.<Void>empty()
+                                : Mono.error(new TaskWithThisNameAlreadyExistException("With given task name = " + name))));
+    }
+
+    /**
+     * Releases the reservation of the given task name, if it is owned by the given task,
+     * without blocking the calling thread.
+     *
+     * @param name   The task name to release.
+     * @param taskId The ID of the task releasing the name.
+     * @return A {@link Mono} completing once the reservation is released or found to belong to another task.
+     */
+    @Override
+    public Mono<Void> releaseReactive(String name, String taskId) {
+        return taskNameRepository.deleteIfOwnedByReactive(TaskNameEntity.toKey(name), taskId)
+                .then();
+    }
+
+    /**
+     * Creates the missing reservation documents for one page of the tasks that were saved before reservation
+     * documents were introduced.
+     * Each reservation is a plain insert, so existing reservation documents are left untouched and running
+     * the same page again, or on several nodes at once, is safe.
+     * If older data holds several tasks with the same normalized name, only the first one gets the reservation.
+     *
+     * @param after The document key of the last task of the previous page, or {@code null} for the first page.
+     * @param limit The maximum number of tasks to scan.
+     * @return A {@link BackfillPage} holding the number of scanned tasks, the number of created reservations,
+     *         and the key to continue after, which is {@code null} once every task has been scanned.
+     */
+    @Override
+    public BackfillPage backfillTaskNames(String after, int limit) {
+
+        final List<TaskEntity> taskEntities = taskRepository.findPageAfterId(after == null ? "" : after, limit);
+
+        int createdCount = 0;
+        for (final TaskEntity taskEntity : taskEntities) {
+            try {
+                taskNameRepository.insert(
+                        TaskNameEntity.builder()
+                                .id(TaskNameEntity.toKey(taskEntity.getName()))
+                                .taskId(taskEntity.getId())
+                                .build()
+                );
+                createdCount++;
+            } catch (DuplicateKeyException ignored) {
+                // The reservation document already exists
+            }
+        }
+
+        final String nextAfter = taskEntities.size() < limit
+                ? null
+                : taskEntities.get(taskEntities.size() - 1).getId();
+
+        log.info("Task name backfill scanned {} tasks and created {} reservations", taskEntities.size(), createdCount);
+
+        return BackfillPage.builder()
+                .scannedCount(taskEntities.size())
+                .createdCount(createdCount)
+                .nextAfter(nextAfter)
+                .build();
+
+    }
+
+    /**
+     * Takes over the reservation of the given task name if it was left behind by a deleted task.
+     * The orphaned reservation is removed with its CAS value, so if another request reclaims or changes it
+     * at the same time, only one of them succeeds. The name is then reserved with a regular insert.
+     *
+     * @param name   The task name to reserve.
+     * @param taskId The ID of the task the name should belong to.
+     * @return {@code true} if the name is now reserved for the task, {@code false} if it is taken.
+     */
+    private boolean reclaimOrphanedReservation(final String name, final String taskId) {
+
+        final Optional<TaskNameEntity> reservation = taskNameRepository.findById(TaskNameEntity.toKey(name));
+
+        if (reservation.isEmpty()) {
+            return false;
+        }
+
+        if (taskId.equals(reservation.get().getTaskId())) {
+            return true;
+        }
+
+        final LocalDateTime createdAt = reservation.get().getCreatedAt();
+        final boolean withinGracePeriod = createdAt != null
+                && createdAt.isAfter(LocalDateTime.now().minus(ORPHANED_RESERVATION_GRACE_PERIOD));
+
+        if (withinGracePeriod || taskRepository.existsById(reservation.get().getTaskId())) {
+            return false;
+        }
+
+        try {
+            taskNameRepository.delete(reservation.get());
+            taskNameRepository.insert(
+                    TaskNameEntity.builder()
+                            .id(TaskNameEntity.toKey(name))
+                            .taskId(taskId)
+                            .build()
+            );
+        } catch (OptimisticLockingFailureException | DuplicateKeyException exception) {
+            return false;
+        }
+
+        log.info("Orphaned reservation of task name {} was reclaimed", TaskNameEntity.normalize(name));
+        return true;
+
+    }
+
+}
@@ -1,36 +1,56 @@
 package com.example.todowithcouchbase.task.service.impl;
 
+import com.example.todowithcouchbase.common.exception.PreconditionFailedException;
+import com.example.todowithcouchbase.common.model.CustomCursor;
 import com.example.todowithcouchbase.common.model.CustomPage;
+import com.example.todowithcouchbase.common.model.CustomPaging;
 import com.example.todowithcouchbase.common.model.dto.request.CustomPagingRequest;
 import com.example.todowithcouchbase.task.exception.TaskNotFoundException;
 import com.example.todowithcouchbase.task.exception.TaskWithThisNameAlreadyExistException;
 import com.example.todowithcouchbase.task.model.Task;
+import com.example.todowithcouchbase.task.model.TaskBatch;
 import com.example.todowithcouchbase.task.model.dto.request.GetTaskByNameRequest;
+import com.example.todowithcouchbase.task.model.dto.request.PatchTaskRequest;
 import com.example.todowithcouchbase.task.model.dto.request.SaveTaskRequest;
 import com.example.todowithcouchbase.task.model.dto.request.UpdateTaskRequest;
 import com.example.todowithcouchbase.task.model.entity.TaskEntity;
+import com.example.todowithcouchbase.task.model.entity.TaskNameEntity;
 import com.example.todowithcouchbase.task.model.mapper.ListTaskEntityToListTaskMapper;
 import com.example.todowithcouchbase.task.model.mapper.SaveTaskRequestToTaskEntityMapper;
 import com.example.todowithcouchbase.task.model.mapper.TaskEntityToTaskMapper;
 import com.example.todowithcouchbase.task.model.mapper.UpdateTaskRequestToTaskEntityMapper;
 import com.example.todowithcouchbase.task.repository.TaskRepository;
+import com.example.todowithcouchbase.task.service.TaskCacheService;
+import com.example.todowithcouchbase.task.service.TaskNameService;
 import com.example.todowithcouchbase.task.service.TaskService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
 
 /**
  * Service implementation for managing tasks in the system.
  * This interface defines the methods for CRUD operations on tasks,
  * including saving, retrieving, updating, and deleting tasks.
+ * Task names are kept unique through name reservation documents handled by {@link TaskNameService},
+ * so name checks and lookups by name are key-value operations instead of queries.
+ * Tasks read by ID or name are served through the in-process cache of {@link TaskCacheService},
+ * which is refreshed or invalidated on every write made through this service.
  */
 @Service
 @RequiredArgsConstructor
 public class TaskServiceImpl implements TaskService {
 
+    private static final String NAME_PATH = "name";
+
     private final TaskRepository taskRepository;
+    private final TaskNameService taskNameService;
+    private final TaskCacheService taskCacheService;
     private final SaveTaskRequestToTaskEntityMapper saveTaskRequestToTaskEntityMapper =
             SaveTaskRequestToTaskEntityMapper.initialize();
 
@@ -45,24 +65,39 @@ public class TaskServiceImpl implements TaskService {
 
     /**
      * Saves a new task to the database.
+     * The task name is reserved before the task is saved, and the reservation is released again if saving fails.
+     * The saved task is put into the cache.
      *
      * @param taskRequest the request object containing the details of the task to be saved.
      * @return the saved {@link Task} entity.
+     * @throws TaskWithThisNameAlreadyExistException if a task with the given name already exists.
      */
     @Override
     public Task saveTaskToDatabase(final SaveTaskRequest taskRequest) {
 
-        checkTaskNameUniqueness(taskRequest.getName());
-
         TaskEntity taskEntityToBeSaved=saveTaskRequestToTaskEntityMapper.mapForSaving(taskRequest);
-        taskRepository.save(taskEntityToBeSaved);
+        taskEntityToBeSaved.setId(UUID.randomUUID().toString());
+
+        taskNameService.reserve(taskRequest.getName(), taskEntityToBeSaved.getId());
+
+        try {
+            taskRepository.save(taskEntityToBeSaved);
+        } catch (RuntimeException exception) {
+            taskNameService.release(taskRequest.getName(), taskEntityToBeSaved.getId());
+            throw exception;
+        }
+
+        final Task savedTask = taskEntityToTaskMapper.map(taskEntityToBeSaved);
+
+        taskCacheService.refresh(savedTask);
 
-        return taskEntityToTaskMapper.map(taskEntityToBeSaved);
+        return savedTask;
 
     }
 
     /**
      * Retrieves all tasks with pagination support.
+     * Requests without a page number, or with a cursor, are served with keyset (cursor) pagination.
      *
      * @param customPagingRequest the request object containing paging parameters (e.g., page size, page number).
      * @return a {@link CustomPage} of tasks, containing a list of tasks and pagination details.
@@ -70,6 +105,10 @@ public class TaskServiceImpl implements TaskService {
     @Override
     public CustomPage<Task> getAllTasks(final CustomPagingRequest customPagingRequest) {
 
+        if (customPagingRequest.getPagination().usesCursor()) {
+            return getAllTasksByCursor(customPagingRequest.getPagination());
+        }
+
         Page<TaskEntity> taskEntitiesListPage = taskRepository.findAll(customPagingRequest.toPageable());
 
         if (taskEntitiesListPage.getContent().isEmpty()) {
@@ -85,6 +124,9 @@ public class TaskServiceImpl implements TaskService {
 
     /**
      * Retrieves a task by its name.
+     * The task is served from the cache when both its ID and the task itself are cached and the cached task
+     * still carries the requested name. Otherwise it is resolved through its name reservation document,
+     * so the lookup needs two key-value reads and no query, and the result is cached.
      *
      * @param getTaskByNameRequest the request object containing the name of the task to be retrieved.
      * @return the {@link Task} entity with the specified name.
@@ -92,77 +134,358 @@ public class TaskServiceImpl implements TaskService {
     @Override
     public Task getTaskByName(final GetTaskByNameRequest getTaskByNameRequest) {
 
-        TaskEntity taskFromDb = taskRepository.findTaskByName(getTaskByNameRequest.getName())
+        final String name = getTaskByNameRequest.getName();
+
+        final Optional<Task> cachedTask = taskCacheService.getTaskId(name)
+                .flatMap(taskCacheService::get)
+                .filter(task -> TaskNameEntity.normalize(task.getName()).equals(TaskNameEntity.normalize(name)));
+
+        if (cachedTask.isPresent()) {
+            return cachedTask.get();
+        }
+
+        final String taskId = taskNameService.findTaskIdByName(name)
                 .orElseThrow(()->new TaskNotFoundException("Task given name cant found"));
-        
-        return taskEntityToTaskMapper.map(taskFromDb);
+
+        final long invalidationStamp = taskCacheService.getInvalidationStamp(taskId);
+
+        TaskEntity taskFromDb = taskRepository.findById(taskId)
+                .orElseThrow(()->new TaskNotFoundException("Task given name cant found"));
+
+        final Task task = taskEntityToTaskMapper.map(taskFromDb);
+
+        taskCacheService.put(task, invalidationStamp);
+        taskCacheService.putTaskId(name, taskId);
+
+        return task;
 
     }
 
     /**
      * Retrieves a task by its ID.
      *
+     * The task is served from the cache when present; otherwise it is read from the database and cached.
+     *
      * @param id the ID of the task to be retrieved.
      * @return the {@link Task} entity with the specified ID.
      */
     @Override
     public Task getTaskById(String id) {
 
+        final Optional<Task> cachedTask = taskCacheService.get(id);
+
+        if (cachedTask.isPresent()) {
+            return cachedTask.get();
+        }
+
+        final long invalidationStamp = taskCacheService.getInvalidationStamp(id);
+
         TaskEntity taskFromDb = taskRepository.findById(id)
                 .orElseThrow(()->new TaskNotFoundException("Task given id cant found"));
 
-        return taskEntityToTaskMapper.map(taskFromDb);
+        final Task task = taskEntityToTaskMapper.map(taskFromDb);
+
+        taskCacheService.put(task, invalidationStamp);
+
+        return task;
+
+    }
+
+    /**
+     * Retrieves several tasks by their IDs.
+     * Repeated IDs are looked up once and the lookups are issued as parallel key-value gets by the repository,
+     * so the whole batch costs about one round trip instead of one per ID. The found tasks are returned in the
+     * order their IDs were requested, and IDs without a matching task are reported as missing instead of
+     * raising a {@link TaskNotFoundException}.
+     *
+     * @param ids the IDs of the tasks to be retrieved.
+     * @return a {@link TaskBatch} containing the found tasks and the missing IDs.
+     */
+    @Override
+    public TaskBatch getTasksByIds(List<String> ids) {
+
+        final Set<String> uniqueIds = new LinkedHashSet<>(ids);
+
+        final Map<String, TaskEntity> taskEntitiesById = new HashMap<>();
+        taskRepository.findAllById(uniqueIds)
+                .forEach(taskEntity -> taskEntitiesById.put(taskEntity.getId(), taskEntity));
+
+        final List<Task> tasks = new ArrayList<>(taskEntitiesById.size());
+        final List<String> missingIds = new ArrayList<>();
+
+        for (final String id : uniqueIds) {
+            final TaskEntity taskEntity = taskEntitiesById.get(id);
+            if (taskEntity == null) {
+                missingIds.add(id);
+            } else {
+                tasks.add(taskEntityToTaskMapper.map(taskEntity));
+            }
+        }
+
+        return TaskBatch.builder()
+                .tasks(tasks)
+                .missingIds(missingIds)
+                .build();
 
     }
 
     /**
      * Updates an existing task by its ID.
+     * When the name changes, the new name is reserved before the task is saved and the old name is released
+     * afterwards, so at no point can another task take either name. If saving fails, the new reservation is released.
+     * The task is replaced only if its CAS value is still the one it was read with, so concurrent updates cannot
+     * silently overwrite each other. If an expected version is given and the stored task has another one,
+     * nothing is written.
+     * Unlike a conditional delete, the task is read even when an expected version is given, because the old name
+     * is needed to release its reservation. A renamed task still exists, so a reservation left behind for its old
+     * name would never be reclaimed and the name could not be used again.
+     * The cached task and the ID cached for the old name are replaced by the updated task.
      *
      * @param id the ID of the task to be updated.
      * @param updateTaskRequest the request object containing the updated details of the task.
+     * @param expectedVersion the version the task is expected to have, or {@code null} to accept any version.
      * @return the updated {@link Task} entity.
+     * @throws TaskWithThisNameAlreadyExistException if another task with the given name already exists.
+     * @throws PreconditionFailedException if the task has another version than expected or was changed concurrently.
      */
     @Override
-    public Task updateTaskById(final String id, final UpdateTaskRequest updateTaskRequest) {
-
-        checkTaskNameUniqueness(updateTaskRequest.getName());
+    public Task updateTaskById(final String id, final UpdateTaskRequest updateTaskRequest, final Long expectedVersion) {
 
         TaskEntity taskEntity = taskRepository.findById(id)
                 .orElseThrow(()->new TaskNotFoundException("Task given id cant found"));
 
+        if (expectedVersion != null && !expectedVersion.equals(taskEntity.getVersion())) {
+            throw new PreconditionFailedException("Task with given id = " + id + " has another version than expected");
+        }
+
+        final String oldName = taskEntity.getName();
+        final String newName = updateTaskRequest.getName();
+        final boolean nameChanged = !TaskNameEntity.normalize(oldName).equals(TaskNameEntity.normalize(newName));
+
+        if (nameChanged) {
+            taskNameService.reserve(newName, id);
+        }
+
         updateTaskRequestToTaskEntityMapper.updateTaskMapper(taskEntity,updateTaskRequest);
 
-        TaskEntity updatedTask = taskRepository.save(taskEntity);
+        final TaskEntity updatedTask;
+        try {
+            updatedTask = taskRepository.save(taskEntity);
+        } catch (RuntimeException exception) {
+            if (nameChanged) {
+                taskNameService.release(newName, id);
+            }
+            if (exception instanceof OptimisticLockingFailureException) {
+                taskCacheService.evict(id, oldName);
+                throw new PreconditionFailedException("Task with given id = " + id + " was changed concurrently");
+            }
+            throw exception;
+        }
 
-        return taskEntityToTaskMapper.map(updatedTask);
+        if (nameChanged) {
+            taskNameService.release(oldName, id);
+        }
+
+        final Task task = taskEntityToTaskMapper.map(updatedTask);
+
+        taskCacheService.evict(id, oldName);
+        taskCacheService.refresh(task);
+
+        return task;
 
     }
 
     /**
      * Deletes a task by its ID.
+     * Without an expected version, the task is read first and removed only if its CAS value is still the one it was
+     * read with, and its name reservation is released right away.
+     * With an expected version, the task is removed with a single conditional key-value remove and is not read.
+     * Its name reservation is then left behind and reclaimed by {@link TaskNameService} the next time the name
+     * is reserved. In both cases the task is evicted from the cache.
      *
      * @param id the ID of the task to be deleted.
+     * @param expectedVersion the version the task is expected to have, or {@code null} to accept any version.
+     * @throws PreconditionFailedException if the task has another version than expected or was changed concurrently.
      */
     @Override
-    public void deleteTaskById(final String id) {
+    public void deleteTaskById(final String id, final Long expectedVersion) {
+
+        if (expectedVersion != null) {
+            deleteTaskByIdWithVersion(id, expectedVersion);
+            return;
+        }
 
         TaskEntity taskToBeDeleted = taskRepository.findById(id)
                 .orElseThrow(()->new TaskNotFoundException("With given id = " + id));
 
-        taskRepository.delete(taskToBeDeleted);
+        try {
+            taskRepository.delete(taskToBeDeleted);
+        } catch (OptimisticLockingFailureException exception) {
+            taskCacheService.evict(id, taskToBeDeleted.getName());
+            throw new PreconditionFailedException("Task with given id = " + id + " was changed concurrently");
+        }
+
+        taskCacheService.evict(id, taskToBeDeleted.getName());
+
+        taskNameService.release(taskToBeDeleted.getName(), id);
     }
 
     /**
-     * Checks the uniqueness of a task name in the repository.
-     * If a task with the given name already exists, a {@link TaskWithThisNameAlreadyExistException} is thrown.
+     * Partially updates an existing task by its ID.
+     * Only the name and the version of the task are read with a sub-document lookup, and only the changed paths
+     * together with the update audit fields are written with a sub-document mutation that is conditional on that version,
+     * so neither the payload nor the work on the server grows with the size of the task document.
+     * If the name changes, the new name is reserved before the task is changed and the old name is released afterwards.
+     * The patched task only holds the paths that were read and written, so it is not cached; the cached task is
+     * evicted instead and read in full by the next lookup.
      *
-     * @param taskName the name of the task to be checked for uniqueness.
-     * @throws TaskWithThisNameAlreadyExistException if a task with the given name already exists in the repository.
+     * @param id the ID of the task to be updated.
+     * @param patchTaskRequest the request object containing the fields of the task to be changed.
+     * @param expectedVersion the version the task is expected to have, or {@code null} to accept any version.
+     * @return the updated {@link Task} entity.
+     * @throws TaskNotFoundException if the task does not exist.
+     * @throws PreconditionFailedException if the task has another version than expected or is changed concurrently.
+     * @throws TaskWithThisNameAlreadyExistException if another task with the new name already exists.
      */
-    private void checkTaskNameUniqueness(final String taskName) {
-        if (taskRepository.existsByName(taskName)) {
-            throw new TaskWithThisNameAlreadyExistException("With given task name = " + taskName);
+    @Override
+    public Task patchTaskById(final String id, final PatchTaskRequest patchTaskRequest, final Long expectedVersion) {
+
+        final TaskEntity currentTask = taskRepository.findNameAndVersionById(id)
+                .orElseThrow(()->new TaskNotFoundException("Task given id cant found"));
+
+        if (expectedVersion != null && !expectedVersion.equals(currentTask.getVersion())) {
+            throw new PreconditionFailedException("Task with given id = " + id + " has another version than expected");
+        }
+
+        final String oldName = currentTask.getName();
+        final String newName = patchTaskRequest.getName();
+        final boolean nameChanged = !TaskNameEntity.normalize(oldName).equals(TaskNameEntity.normalize(newName));
+
+        if (nameChanged) {
+            taskNameService.reserve(newName, id);
         }
+
+        final TaskEntity patchedTask;
+        try {
+            patchedTask = taskRepository.mutateIn(
+                    TaskEntity.builder()
+                            .id(id)
+                            .name(newName)
+                            .version(currentTask.getVersion())
+                            .build(),
+                    List.of(NAME_PATH)
+            );
+        } catch (RuntimeException exception) {
+            if (nameChanged) {
+                taskNameService.release(newName, id);
+            }
+            if (exception instanceof OptimisticLockingFailureException) {
+                taskCacheService.evict(id, oldName);
+                throw new PreconditionFailedException("Task with given id = " + id + " was changed concurrently");
+            }
+            if (exception instanceof DataRetrievalFailureException) {
+                taskCacheService.evict(id, oldName);
+                throw new TaskNotFoundException("Task given id cant found");
+            }
+            throw exception;
+        }
+
+        if (nameChanged) {
+            taskNameService.release(oldName, id);
+        }
+
+        final Task task = taskEntityToTaskMapper.map(patchedTask);
+
+        taskCacheService.evict(id, oldName);
+
+        return task;
+
+    }
+
+    /**
+     * Removes the task with the given ID in a single conditional key-value remove.
+     *
+     * @param id the ID of the task to be deleted.
+     * @param expectedVersion the version the task is expected to have.
+     * @throws TaskNotFoundException if the task does not exist.
+     * @throws PreconditionFailedException if the task has another version than expected.
+     */
+    private void deleteTaskByIdWithVersion(final String id, final long expectedVersion) {
+
+        try {
+            taskRepository.deleteByIdWithCas(id, expectedVersion);
+        } catch (OptimisticLockingFailureException exception) {
+            throw new PreconditionFailedException("Task with given id = " + id + " has another version than expected");
+        } catch (DataRetrievalFailureException exception) {
+            throw new TaskNotFoundException("With given id = " + id);
+        } finally {
+            taskCacheService.evict(id, null);
+        }
+
+    }
+
+    /**
+     * Retrieves a page of tasks with keyset (cursor) pagination.
+     * Tasks are read in the order of their creation time and ID, starting after the position in the given cursor.
+     * One task more than the page size is read to find out whether there is a next page, without counting the tasks.
+     * The total element count is calculated only when it is requested.
+     *
+     * @param customPaging the paging parameters containing the page size and the optional cursor.
+     * @return a {@link CustomPage} of tasks, containing a list of tasks and the cursor of the next page.
+     */
+    private CustomPage<Task> getAllTasksByCursor(final CustomPaging customPaging) {
+
+        final int pageSize = customPaging.getPageSize();
+
+        final List<TaskEntity> taskEntities = customPaging.getCursor() == null
+                ? taskRepository.findFirstTasksInKeysetOrder(pageSize + 1)
+                : findTasksAfterCursor(CustomCursor.decode(customPaging.getCursor()), pageSize + 1);
+
+        if (taskEntities.isEmpty()) {
+            throw new TaskNotFoundException("Couldn't find any Task");
+        }
+
+        final boolean hasNextPage = taskEntities.size() > pageSize;
+
+        final List<TaskEntity> pageContent = hasNextPage ? taskEntities.subList(0, pageSize) : taskEntities;
+
+        final String nextCursor = hasNextPage ? toCursor(pageContent.get(pageContent.size() - 1)).encode() : null;
+
+        final Long totalElementCount = customPaging.shouldIncludeTotalCount() ? taskRepository.count() : null;
+
+        return CustomPage.of(
+                listTaskEntityToListTaskMapper.toTaskList(pageContent),
+                pageSize,
+                nextCursor,
+                totalElementCount
+        );
+
+    }
+
+    /**
+     * Finds the tasks that come after the position in the given cursor.
+     *
+     * @param cursor the cursor pointing at the last task of the previous page.
+     * @param limit the maximum number of tasks to return.
+     * @return a list of {@link TaskEntity} objects following the cursor.
+     */
+    private List<TaskEntity> findTasksAfterCursor(final CustomCursor cursor, final int limit) {
+        return taskRepository.findTasksAfterInKeysetOrder(cursor.getSortKey(), cursor.getId(), limit);
+    }
+
+    /**
+     * Creates the cursor pointing at the given task.
+     * The creation time is converted to epoch milliseconds in the system time zone, which is how it is stored in Couchbase.
+     *
+     * @param taskEntity the task the cursor points at.
+     * @return the {@link CustomCursor} of the task.
+     */
+    private CustomCursor toCursor(final TaskEntity taskEntity) {
+        final LocalDateTime createdAt = taskEntity.getCreatedAt();
+        return CustomCursor.builder()
+                .sortKey(createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+                .id(taskEntity.getId())
+                .build();
     }
 
 }
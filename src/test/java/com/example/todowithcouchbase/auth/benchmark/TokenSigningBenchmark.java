@@ -0,0 +1,119 @@
+package com.example.todowithcouchbase.auth.benchmark;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark comparing the cost of signing and verifying access tokens per signing algorithm.
+ * Each algorithm is measured with a freshly generated key pair of the type that selects it:
+ * RSA-2048 for RS256, EC P-256 for ES256 and Ed25519 for EdDSA.
+ * The benchmark is not part of the test suite; run it from the IDE through {@link #main(String[])}
+ * after {@code mvn test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenSigningBenchmark {
+
+    @Param({"RS256", "ES256", "EdDSA"})
+    private String algorithm;
+
+    private KeyPair keyPair;
+    private JwtParser jwtParser;
+    private String signedToken;
+
+    /**
+     * Generates the key pair for the benchmarked algorithm and signs the token used by the verification benchmark.
+     *
+     * @throws GeneralSecurityException If the key pair cannot be generated.
+     */
+    @Setup
+    public void setUp() throws GeneralSecurityException {
+        this.keyPair = generateKeyPair(algorithm);
+        this.jwtParser = Jwts.parser()
+                .verifyWith(keyPair.getPublic())
+                .build();
+        this.signedToken = sign();
+    }
+
+    /**
+     * Signs an access token shaped like the ones issued at login.
+     *
+     * @return The signed token.
+     */
+    @Benchmark
+    public String sign() {
+        final long currentTimeMillis = System.currentTimeMillis();
+        return Jwts.builder()
+                .header()
+                .type("Bearer")
+                .keyId("benchmark-key")
+                .and()
+                .id(UUID.randomUUID().toString())
+                .issuer("ISSUER")
+                .issuedAt(new Date(currentTimeMillis))
+                .expiration(new Date(currentTimeMillis + TimeUnit.MINUTES.toMillis(30)))
+                .claim("userId", UUID.randomUUID().toString())
+                .claim("userType", "USER")
+                .signWith(keyPair.getPrivate())
+                .compact();
+    }
+
+    /**
+     * Parses and verifies the signature of a previously signed token.
+     *
+     * @return The payload of the verified token.
+     */
+    @Benchmark
+    public Claims verify() {
+        return jwtParser.parseSignedClaims(signedToken).getPayload();
+    }
+
+    /**
+     * Runs the benchmark with the options declared on this class.
+     *
+     * @param args Command line arguments, ignored.
+     * @throws RunnerException If the benchmark fails to run.
+     */
+    public static void main(String[] args) throws RunnerException {
+        final Options options = new OptionsBuilder()
+                .include(TokenSigningBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    private static KeyPair generateKeyPair(final String algorithm) throws GeneralSecurityException {
+        return switch (algorithm) {
+            case "RS256" -> {
+                final KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+                keyPairGenerator.initialize(2048);
+                yield keyPairGenerator.generateKeyPair();
+            }
+            case "ES256" -> {
+                final KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+                keyPairGenerator.initialize(new ECGenParameterSpec("secp256r1"));
+                yield keyPairGenerator.generateKeyPair();
+            }
+            case "EdDSA" -> KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+            default -> throw new IllegalArgumentException("Unsupported algorithm: " + algorithm);
+        };
+    }
+
+}
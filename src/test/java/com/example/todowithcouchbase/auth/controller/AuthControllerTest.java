@@ -186,4 +186,29 @@ class AuthControllerTest extends AbstractRestControllerTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    void givenTokenInvalidateRequestWithAdminCreate_WhenLogoutFromAllSessionsForAdmin_ThenReturnSuccess() throws Exception {
+
+        // Given
+        TokenInvalidateRequest tokenInvalidateRequest = TokenInvalidateRequest.builder()
+                .accessToken("Bearer " + mockAdminToken.getAccessToken())
+                .refreshToken(mockAdminToken.getRefreshToken())
+                .build();
+
+        // When
+        doNothing().when(logoutService).logoutFromAllSessions(any(TokenInvalidateRequest.class));
+
+        // Then
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/authentication/user/logout-all")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(tokenInvalidateRequest)))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().json(objectMapper.writeValueAsString(CustomResponse.SUCCESS)));
+
+        // Verify
+        verify(logoutService, times(1)).logoutFromAllSessions(any(TokenInvalidateRequest.class));
+
+    }
+
+}
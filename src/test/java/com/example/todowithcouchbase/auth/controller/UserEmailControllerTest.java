@@ -0,0 +1,99 @@
+package com.example.todowithcouchbase.auth.controller;
+
+import com.example.todowithcouchbase.auth.service.UserEmailService;
+import com.example.todowithcouchbase.base.AbstractRestControllerTest;
+import com.example.todowithcouchbase.common.model.BackfillPage;
+import com.example.todowithcouchbase.common.model.dto.request.BackfillPageRequest;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+/**
+ * Integration test class for {@link UserEmailController}.
+ * This test class verifies that email lookup documents are backfilled page by page
+ * and that only administrators may run the backfill.
+ */
+class UserEmailControllerTest extends AbstractRestControllerTest {
+
+    @MockBean
+    private UserEmailService userEmailService;
+
+    @Test
+    void givenBackfillPageRequest_whenAdminBackfillsUserEmails_thenReturnBackfillPage() throws Exception {
+
+        // Given
+        final BackfillPageRequest request = BackfillPageRequest.builder()
+                .limit(100)
+                .build();
+
+        final BackfillPage backfillPage = BackfillPage.builder()
+                .scannedCount(40)
+                .createdCount(2)
+                .build();
+
+        // When
+        Mockito.when(userEmailService.backfillUserEmails(null, 100)).thenReturn(backfillPage);
+
+        // Then
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/users/email-lookups/backfill")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + mockAdminToken.getAccessToken()))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.isSuccess").value(true))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.response.scannedCount").value(40))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.response.createdCount").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.response.nextAfter").doesNotExist());
+
+        // Verify
+        Mockito.verify(userEmailService, Mockito.times(1)).backfillUserEmails(null, 100);
+
+    }
+
+    @Test
+    void givenBackfillPageRequest_whenUserBackfillsUserEmails_thenForbidden() throws Exception {
+
+        // Given
+        final BackfillPageRequest request = BackfillPageRequest.builder().build();
+
+        // Then
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/users/email-lookups/backfill")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + mockUserToken.getAccessToken()))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+
+        // Verify
+        Mockito.verify(userEmailService, Mockito.never()).backfillUserEmails(Mockito.any(), Mockito.anyInt());
+
+    }
+
+    @Test
+    void givenTooLargeLimit_whenAdminBackfillsUserEmails_thenBadRequest() throws Exception {
+
+        // Given
+        final BackfillPageRequest request = BackfillPageRequest.builder()
+                .limit(5000)
+                .build();
+
+        // Then
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/users/email-lookups/backfill")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + mockAdminToken.getAccessToken()))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        // Verify
+        Mockito.verify(userEmailService, Mockito.never()).backfillUserEmails(Mockito.any(), Mockito.anyInt());
+
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.example.todowithcouchbase.auth.security;
+
+import com.example.todowithcouchbase.auth.exception.PasswordHashingUnavailableException;
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link BoundedPasswordEncoder}.
+ * This test class verifies that hashing is delegated to the wrapped encoder, that hashing metrics are exported,
+ * and that calls are rejected as soon as the hashing queue is full.
+ */
+class BoundedPasswordEncoderTest extends AbstractBaseServiceTest {
+
+    @Mock
+    private PasswordEncoder delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private BoundedPasswordEncoder boundedPasswordEncoder;
+
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        boundedPasswordEncoder = new BoundedPasswordEncoder(delegate, 1, 1, meterRegistry);
+        callers = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        boundedPasswordEncoder.close();
+    }
+
+    @Test
+    void givenRawPassword_whenEncodeAndMatches_thenDelegateAndRecordHashTime() {
+
+        // Given
+        final String rawPassword = "password123";
+        final String encodedPassword = "encodedPassword";
+
+        // When
+        when(delegate.encode(rawPassword)).thenReturn(encodedPassword);
+        when(delegate.matches(rawPassword, encodedPassword)).thenReturn(true);
+
+        // Then
+        assertEquals(encodedPassword, boundedPasswordEncoder.encode(rawPassword));
+        assertTrue(boundedPasswordEncoder.matches(rawPassword, encodedPassword));
+
+        assertEquals(1, meterRegistry.get("auth.password.hashing.time").tag("operation", "encode").timer().count());
+        assertEquals(1, meterRegistry.get("auth.password.hashing.time").tag("operation", "matches").timer().count());
+        assertEquals(0, meterRegistry.get("auth.password.hashing.queue.depth").gauge().value());
+
+        // Verify
+        verify(delegate).encode(rawPassword);
+        verify(delegate).matches(rawPassword, encodedPassword);
+
+    }
+
+    @Test
+    void givenFullQueue_whenMatches_thenRejectImmediately() throws Exception {
+
+        // Given
+        final CountDownLatch hashingStarted = new CountDownLatch(1);
+        final CountDownLatch releaseHashing = new CountDownLatch(1);
+
+        when(delegate.matches(anyString(), anyString())).thenAnswer(invocation -> {
+            hashingStarted.countDown();
+            releaseHashing.await(5, TimeUnit.SECONDS);
+            return true;
+        });
+
+        // When
+        final Future<Boolean> running = callers.submit(() -> boundedPasswordEncoder.matches("first", "encoded"));
+        assertTrue(hashingStarted.await(5, TimeUnit.SECONDS));
+
+        final Future<Boolean> queued = callers.submit(() -> boundedPasswordEncoder.matches("second", "encoded"));
+        while (meterRegistry.get("auth.password.hashing.queue.depth").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        // Then
+        assertThrows(PasswordHashingUnavailableException.class,
+                () -> boundedPasswordEncoder.matches("third", "encoded"));
+        assertEquals(1, meterRegistry.get("auth.password.hashing.rejected").counter().count());
+
+        releaseHashing.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+
+        // Verify
+        verify(delegate, times(2)).matches(anyString(), eq("encoded"));
+
+    }
+
+}
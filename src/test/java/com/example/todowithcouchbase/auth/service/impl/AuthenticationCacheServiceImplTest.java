@@ -0,0 +1,125 @@
+package com.example.todowithcouchbase.auth.service.impl;
+
+import com.example.todowithcouchbase.auth.model.CachedAuthentication;
+import com.example.todowithcouchbase.auth.model.VerifiedToken;
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for {@link AuthenticationCacheServiceImpl}.
+ * This test class verifies that authentications are cached per bearer token, dropped when their token
+ * expires or is evicted, and that the number of cached entries is capped.
+ */
+class AuthenticationCacheServiceImplTest extends AbstractBaseServiceTest {
+
+    private AuthenticationCacheServiceImpl authenticationCacheService;
+
+    @BeforeEach
+    void setUp() {
+        authenticationCacheService = new AuthenticationCacheServiceImpl(2);
+    }
+
+    @Test
+    void givenCachedToken_whenGet_thenReturnCachedAuthentication() {
+
+        // Given
+        final VerifiedToken verifiedToken = verifiedToken("jwt-1", "token-id-1", 60_000);
+        final UsernamePasswordAuthenticationToken authentication = authentication();
+
+        // When
+        authenticationCacheService.put(verifiedToken, authentication);
+        final Optional<CachedAuthentication> cachedAuthentication = authenticationCacheService.get("jwt-1");
+
+        // Then
+        assertTrue(cachedAuthentication.isPresent());
+        assertSame(authentication, cachedAuthentication.get().getAuthentication());
+        assertEquals("token-id-1", cachedAuthentication.get().getVerifiedToken().getId());
+
+    }
+
+    @Test
+    void givenExpiredToken_whenGet_thenReturnEmpty() {
+
+        // Given
+        final VerifiedToken verifiedToken = verifiedToken("jwt-1", "token-id-1", -60_000);
+
+        // When
+        authenticationCacheService.put(verifiedToken, authentication());
+
+        // Then
+        assertTrue(authenticationCacheService.get("jwt-1").isEmpty());
+
+    }
+
+    @Test
+    void givenEvictedToken_whenGet_thenReturnEmpty() {
+
+        // Given
+        final VerifiedToken verifiedToken = verifiedToken("jwt-1", "token-id-1", 60_000);
+
+        // When
+        authenticationCacheService.put(verifiedToken, authentication());
+        authenticationCacheService.evict("jwt-1");
+
+        // Then
+        assertTrue(authenticationCacheService.get("jwt-1").isEmpty());
+
+    }
+
+    @Test
+    void givenFullCache_whenPut_thenDoNotCacheNewToken() {
+
+        // Given
+        authenticationCacheService.put(verifiedToken("jwt-1", "token-id-1", 60_000), authentication());
+        authenticationCacheService.put(verifiedToken("jwt-2", "token-id-2", 60_000), authentication());
+
+        // When
+        authenticationCacheService.put(verifiedToken("jwt-3", "token-id-3", 60_000), authentication());
+
+        // Then
+        assertTrue(authenticationCacheService.get("jwt-1").isPresent());
+        assertTrue(authenticationCacheService.get("jwt-2").isPresent());
+        assertTrue(authenticationCacheService.get("jwt-3").isEmpty());
+
+    }
+
+    @Test
+    void givenFullCacheWithExpiredToken_whenPut_thenReplaceExpiredToken() {
+
+        // Given
+        authenticationCacheService.put(verifiedToken("jwt-1", "token-id-1", -60_000), authentication());
+        authenticationCacheService.put(verifiedToken("jwt-2", "token-id-2", 60_000), authentication());
+
+        // When
+        authenticationCacheService.put(verifiedToken("jwt-3", "token-id-3", 60_000), authentication());
+
+        // Then
+        assertTrue(authenticationCacheService.get("jwt-2").isPresent());
+        assertTrue(authenticationCacheService.get("jwt-3").isPresent());
+
+    }
+
+    private static VerifiedToken verifiedToken(final String jwt, final String tokenId, final long expiresInMillis) {
+        return VerifiedToken.builder()
+                .jwt(jwt)
+                .payload(Jwts.claims()
+                        .id(tokenId)
+                        .expiration(new Date(System.currentTimeMillis() + expiresInMillis))
+                        .build())
+                .build();
+    }
+
+    private static UsernamePasswordAuthenticationToken authentication() {
+        return UsernamePasswordAuthenticationToken.authenticated("principal", null, List.of());
+    }
+
+}
@@ -1,17 +1,22 @@
 package com.example.todowithcouchbase.auth.service.impl;
 
 import com.example.todowithcouchbase.auth.exception.TokenAlreadyInvalidatedException;
+import com.example.todowithcouchbase.auth.model.VerifiedToken;
 import com.example.todowithcouchbase.auth.model.entity.InvalidTokenEntity;
 import com.example.todowithcouchbase.auth.repository.InvalidTokenRepository;
 import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import io.jsonwebtoken.Jwts;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
-import java.util.Optional;
+import java.util.Date;
+import java.util.List;
 import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -33,13 +38,16 @@ class InvalidTokenServiceImplTest extends AbstractBaseServiceTest {
     void invalidateTokens_ShouldSaveAllInvalidTokens() {
 
         // Given
-        Set<String> tokenIds = Set.of("token-id-1", "token-id-2");
+        Set<VerifiedToken> verifiedTokens = Set.of(
+                verifiedToken("token-id-1", 60_000),
+                verifiedToken("token-id-2", 60_000)
+        );
 
         // When
         when(invalidTokenRepository.saveAll(any(Set.class))).thenReturn(Collections.emptyList());
 
         // Then
-        invalidTokenService.invalidateTokens(tokenIds);
+        invalidTokenService.invalidateTokens(verifiedTokens);
 
         // Verify
         verify(invalidTokenRepository, times(1)).saveAll(any(Set.class));
@@ -47,13 +55,14 @@ class InvalidTokenServiceImplTest extends AbstractBaseServiceTest {
     }
 
     @Test
-    void checkForInvalidityOfToken_ShouldThrowExceptionIfTokenInvalid() {
+    void checkForInvalidityOfToken_ShouldThrowExceptionIfTokenInvalidated() {
 
         // Given
         String tokenId = "test-token-id";
 
         // When
-        when(invalidTokenRepository.findByTokenId(tokenId)).thenReturn(Optional.of(new InvalidTokenEntity()));
+        when(invalidTokenRepository.saveAll(any(Set.class))).thenReturn(Collections.emptyList());
+        invalidTokenService.invalidateTokens(Set.of(verifiedToken(tokenId, 60_000)));
 
         // Then
         assertThrows(TokenAlreadyInvalidatedException.class, () -> {
@@ -61,7 +70,7 @@ class InvalidTokenServiceImplTest extends AbstractBaseServiceTest {
         });
 
         // Verify
-        verify(invalidTokenRepository, times(1)).findByTokenId(tokenId);
+        verify(invalidTokenRepository, never()).existsById(anyString());
 
     }
 
@@ -71,15 +80,120 @@ class InvalidTokenServiceImplTest extends AbstractBaseServiceTest {
         // Given
         String tokenId = "test-token-id";
 
+        // When & Then
+        invalidTokenService.checkForInvalidityOfToken(tokenId);
+
+        // Verify
+        verify(invalidTokenRepository, never()).existsById(anyString());
+
+    }
+
+    @Test
+    void checkForInvalidityOfToken_ShouldNotThrowExceptionIfInvalidatedTokenExpired() {
+
+        // Given
+        String tokenId = "expired-token-id";
+
         // When
-        when(invalidTokenRepository.findByTokenId(tokenId)).thenReturn(Optional.empty());
+        when(invalidTokenRepository.saveAll(any(Set.class))).thenReturn(Collections.emptyList());
+        invalidTokenService.invalidateTokens(Set.of(verifiedToken(tokenId, -60_000)));
 
         // Then
-        invalidTokenService.checkForInvalidityOfToken(tokenId);
+        assertDoesNotThrow(() -> invalidTokenService.checkForInvalidityOfToken(tokenId));
+
+    }
+
+    @Test
+    void refreshInvalidTokens_ShouldLoadTokensInvalidatedOnOtherNodes() {
+
+        // Given
+        String tokenId = "remote-token-id";
+
+        InvalidTokenEntity invalidTokenEntity = InvalidTokenEntity.builder()
+                .id(tokenId)
+                .expiresAt(LocalDateTime.now().plusMinutes(5))
+                .build();
+
+        // When
+        when(invalidTokenRepository.findAllByExpiresAtAfter(any(LocalDateTime.class)))
+                .thenReturn(List.of(invalidTokenEntity));
+
+        invalidTokenService.refreshInvalidTokens();
+
+        // Then
+        assertThrows(TokenAlreadyInvalidatedException.class,
+                () -> invalidTokenService.checkForInvalidityOfToken(tokenId));
+
+        // Verify
+        verify(invalidTokenRepository, times(1)).findAllByExpiresAtAfter(any(LocalDateTime.class));
+
+    }
+
+    @Test
+    void invalidateTokens_ShouldKeyDocumentsByTokenIdWithRemainingLifetimeAsExpiry() {
+
+        // Given
+        String tokenId = "test-token-id";
+
+        // When
+        when(invalidTokenRepository.saveAll(any(Set.class))).thenReturn(Collections.emptyList());
+
+        // Then
+        invalidTokenService.invalidateTokens(Set.of(verifiedToken(tokenId, 120_000)));
 
         // Verify
-        verify(invalidTokenRepository, times(1)).findByTokenId(tokenId);
+        verify(invalidTokenRepository, times(1)).saveAll(argThat((Set<InvalidTokenEntity> entities) ->
+                entities.size() == 1 && entities.stream().allMatch(entity ->
+                        tokenId.equals(entity.getId())
+                                && entity.getExpiration() > 0
+                                && entity.getExpiration() <= 120
+                )
+        ));
+
+    }
+
+    @Test
+    void checkForInvalidityOfTokenInDatabase_ShouldThrowExceptionIfTokenExists() {
+
+        // Given
+        String tokenId = "remote-token-id";
+
+        // When
+        when(invalidTokenRepository.existsById(tokenId)).thenReturn(true);
+
+        // Then
+        assertThrows(TokenAlreadyInvalidatedException.class,
+                () -> invalidTokenService.checkForInvalidityOfTokenInDatabase(tokenId));
+
+        // Verify
+        verify(invalidTokenRepository, times(1)).existsById(tokenId);
+
+    }
+
+    @Test
+    void checkForInvalidityOfTokenInDatabase_ShouldNotThrowExceptionIfTokenDoesNotExist() {
+
+        // Given
+        String tokenId = "test-token-id";
+
+        // When
+        when(invalidTokenRepository.existsById(tokenId)).thenReturn(false);
+
+        // Then
+        assertDoesNotThrow(() -> invalidTokenService.checkForInvalidityOfTokenInDatabase(tokenId));
+
+        // Verify
+        verify(invalidTokenRepository, times(1)).existsById(tokenId);
+
+    }
 
+    private static VerifiedToken verifiedToken(final String tokenId, final long expiresInMillis) {
+        return VerifiedToken.builder()
+                .payload(Jwts.claims()
+                        .id(tokenId)
+                        .expiration(new Date(System.currentTimeMillis() + expiresInMillis))
+                        .build())
+                .build();
     }
 
-}
\ No newline at end of file
+}
@@ -7,6 +7,7 @@ import com.example.todowithcouchbase.auth.model.dto.request.LoginRequest;
 import com.example.todowithcouchbase.auth.model.entity.UserEntity;
 import com.example.todowithcouchbase.auth.repository.UserRepository;
 import com.example.todowithcouchbase.auth.service.TokenService;
+import com.example.todowithcouchbase.auth.service.UserEmailService;
 import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
 import com.example.todowithcouchbase.builder.AdminUserBuilder;
 import org.junit.jupiter.api.Test;
@@ -23,7 +24,7 @@ import static org.mockito.Mockito.*;
  * Unit test class for {@link LoginServiceImpl}.
  * This test class ensures the correct behavior of the login service, which handles the user login
  * process, including verifying credentials and generating authentication tokens.
- * It mocks the {@link UserRepository}, {@link PasswordEncoder}, and {@link TokenService}
+ * It mocks the {@link UserRepository}, {@link UserEmailService}, {@link PasswordEncoder}, and {@link TokenService}
  * to isolate the login logic from external dependencies.
  */
 class LoginServiceImplTest extends AbstractBaseServiceTest {
@@ -34,6 +35,9 @@ class LoginServiceImplTest extends AbstractBaseServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserEmailService userEmailService;
+
     @Mock
     private PasswordEncoder passwordEncoder;
 
@@ -58,7 +62,10 @@ class LoginServiceImplTest extends AbstractBaseServiceTest {
                 .build();
 
         // When
-        when(userRepository.findUserEntityByEmail(loginRequest.getEmail()))
+        when(userEmailService.findUserIdByEmail(loginRequest.getEmail()))
+                .thenReturn(Optional.of(adminEntity.getId()));
+
+        when(userRepository.findById(adminEntity.getId()))
                 .thenReturn(Optional.of(adminEntity));
 
         when(passwordEncoder.matches(loginRequest.getPassword(), adminEntity.getPassword()))
@@ -74,7 +81,8 @@ class LoginServiceImplTest extends AbstractBaseServiceTest {
         assertEquals(expectedToken.getAccessTokenExpiresAt(), actualToken.getAccessTokenExpiresAt());
 
         // Verify
-        verify(userRepository).findUserEntityByEmail(loginRequest.getEmail());
+        verify(userEmailService).findUserIdByEmail(loginRequest.getEmail());
+        verify(userRepository).findById(adminEntity.getId());
         verify(passwordEncoder).matches(loginRequest.getPassword(), adminEntity.getPassword());
         verify(tokenService).generateToken(adminEntity.getClaims());
 
@@ -90,7 +98,7 @@ class LoginServiceImplTest extends AbstractBaseServiceTest {
                 .build();
 
         // When
-        when(userRepository.findUserEntityByEmail(loginRequest.getEmail()))
+        when(userEmailService.findUserIdByEmail(loginRequest.getEmail()))
                 .thenReturn(Optional.empty());
 
         // Then
@@ -100,8 +108,8 @@ class LoginServiceImplTest extends AbstractBaseServiceTest {
         assertEquals("User not found!\n " + loginRequest.getEmail(), exception.getMessage());
 
         // Verify
-        verify(userRepository).findUserEntityByEmail(loginRequest.getEmail());
-        verifyNoInteractions(passwordEncoder, tokenService);
+        verify(userEmailService).findUserIdByEmail(loginRequest.getEmail());
+        verifyNoInteractions(userRepository, passwordEncoder, tokenService);
 
     }
 
@@ -115,12 +123,16 @@ class LoginServiceImplTest extends AbstractBaseServiceTest {
                 .build();
 
         final UserEntity adminEntity = UserEntity.builder()
+                .id("user-id")
                 .email(loginRequest.getEmail())
                 .password("encodedPassword")
                 .build();
 
         // When
-        when(userRepository.findUserEntityByEmail(loginRequest.getEmail()))
+        when(userEmailService.findUserIdByEmail(loginRequest.getEmail()))
+                .thenReturn(Optional.of(adminEntity.getId()));
+
+        when(userRepository.findById(adminEntity.getId()))
                 .thenReturn(Optional.of(adminEntity));
 
         when(passwordEncoder.matches(loginRequest.getPassword(), adminEntity.getPassword()))
@@ -133,7 +145,8 @@ class LoginServiceImplTest extends AbstractBaseServiceTest {
         assertNotNull(exception);
 
         // Verify
-        verify(userRepository).findUserEntityByEmail(loginRequest.getEmail());
+        verify(userEmailService).findUserIdByEmail(loginRequest.getEmail());
+        verify(userRepository).findById(adminEntity.getId());
         verify(passwordEncoder).matches(loginRequest.getPassword(), adminEntity.getPassword());
         verifyNoInteractions(tokenService);
 
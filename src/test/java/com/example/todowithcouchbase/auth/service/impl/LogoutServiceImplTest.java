@@ -1,8 +1,11 @@
 package com.example.todowithcouchbase.auth.service.impl;
 
+import com.example.todowithcouchbase.auth.model.VerifiedToken;
 import com.example.todowithcouchbase.auth.model.dto.request.TokenInvalidateRequest;
 import com.example.todowithcouchbase.auth.model.entity.UserEntity;
+import com.example.todowithcouchbase.auth.service.AuthenticationCacheService;
 import com.example.todowithcouchbase.auth.service.InvalidTokenService;
+import com.example.todowithcouchbase.auth.service.RevocationEpochService;
 import com.example.todowithcouchbase.auth.service.TokenService;
 import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
 import com.example.todowithcouchbase.builder.TokenBuilder;
@@ -34,6 +37,12 @@ class LogoutServiceImplTest extends AbstractBaseServiceTest {
     @Mock
     private InvalidTokenService invalidTokenService;
 
+    @Mock
+    private RevocationEpochService revocationEpochService;
+
+    @Mock
+    private AuthenticationCacheService authenticationCacheService;
+
     @Test
     void givenAccessTokenAndRefreshToken_whenLogoutForAdmin_thenReturnLogout() {
 
@@ -62,23 +71,75 @@ class LogoutServiceImplTest extends AbstractBaseServiceTest {
                 .refreshToken(refreshToken)
                 .build();
 
+        final VerifiedToken mockAccessToken = VerifiedToken.builder()
+                .jwt(accessToken)
+                .payload(mockAccessTokenClaims)
+                .build();
+
+        final VerifiedToken mockRefreshToken = VerifiedToken.builder()
+                .jwt(refreshToken)
+                .payload(mockRefreshTokenClaims)
+                .build();
+
         // When
-        doNothing().when(tokenService).verifyAndValidate(Set.of(accessToken, refreshToken));
-        when(tokenService.getPayload(accessToken)).thenReturn(mockAccessTokenClaims);
-        doNothing().when(invalidTokenService).checkForInvalidityOfToken(mockAccessTokenId);
-        when(tokenService.getPayload(refreshToken)).thenReturn(mockRefreshTokenClaims);
-        doNothing().when(invalidTokenService).checkForInvalidityOfToken(mockRefreshTokenId);
-        doNothing().when(invalidTokenService).invalidateTokens(Set.of(mockAccessTokenId, mockRefreshTokenId));
+        when(tokenService.verify(accessToken)).thenReturn(mockAccessToken);
+        doNothing().when(invalidTokenService).checkForInvalidityOfTokenInDatabase(mockAccessTokenId);
+        when(tokenService.verify(refreshToken)).thenReturn(mockRefreshToken);
+        doNothing().when(invalidTokenService).checkForInvalidityOfTokenInDatabase(mockRefreshTokenId);
+        doNothing().when(invalidTokenService).invalidateTokens(Set.of(mockAccessToken, mockRefreshToken));
+        doNothing().when(authenticationCacheService).evict(accessToken);
 
         // Then
         logoutService.logout(tokenInvalidateRequest);
 
         // Verify
-        verify(tokenService).verifyAndValidate(Set.of(accessToken, refreshToken));
-        verify(tokenService, times(2)).getPayload(anyString());
-        verify(invalidTokenService, times(2)).checkForInvalidityOfToken(anyString());
-        verify(invalidTokenService).invalidateTokens(anySet());
+        verify(tokenService, times(2)).verify(anyString());
+        verify(invalidTokenService, times(2)).checkForInvalidityOfTokenInDatabase(anyString());
+        verify(invalidTokenService).invalidateTokens(Set.of(mockAccessToken, mockRefreshToken));
+        verify(authenticationCacheService).evict(accessToken);
+
+    }
+
+    @Test
+    void givenAccessToken_whenLogoutFromAllSessions_thenRevokeAllTokensOfUser() {
+
+        // Given
+        final UserEntity mockUserEntity = new UserBuilder().withValidFields().build();
+
+        final Claims mockAccessTokenClaims = TokenBuilder.getValidClaims(
+                mockUserEntity.getId(),
+                mockUserEntity.getFirstName()
+        );
+
+        final String accessToken = "validAccessToken";
+
+        final TokenInvalidateRequest tokenInvalidateRequest = TokenInvalidateRequest.builder()
+                .accessToken(accessToken)
+                .refreshToken("validRefreshToken")
+                .build();
+
+        final VerifiedToken mockAccessToken = VerifiedToken.builder()
+                .jwt(accessToken)
+                .payload(mockAccessTokenClaims)
+                .build();
+
+        // When
+        when(tokenService.verify(accessToken)).thenReturn(mockAccessToken);
+        doNothing().when(invalidTokenService).checkForInvalidityOfTokenInDatabase(mockAccessToken.getId());
+        doNothing().when(revocationEpochService).checkForRevocationInDatabase(mockAccessToken);
+        doNothing().when(revocationEpochService).revokeAllTokens(mockUserEntity.getId());
+        doNothing().when(authenticationCacheService).evict(accessToken);
+
+        // Then
+        logoutService.logoutFromAllSessions(tokenInvalidateRequest);
+
+        // Verify
+        verify(tokenService, times(1)).verify(accessToken);
+        verify(invalidTokenService).checkForInvalidityOfTokenInDatabase(mockAccessToken.getId());
+        verify(revocationEpochService).checkForRevocationInDatabase(mockAccessToken);
+        verify(revocationEpochService).revokeAllTokens(mockUserEntity.getId());
+        verify(authenticationCacheService).evict(accessToken);
 
     }
 
-}
\ No newline at end of file
+}
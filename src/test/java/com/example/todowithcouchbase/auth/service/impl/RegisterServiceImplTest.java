@@ -8,6 +8,7 @@ import com.example.todowithcouchbase.auth.model.enums.UserType;
 import com.example.todowithcouchbase.auth.model.mapper.RegisterRequestToUserEntityMapper;
 import com.example.todowithcouchbase.auth.model.mapper.UserEntityToUserMapper;
 import com.example.todowithcouchbase.auth.repository.UserRepository;
+import com.example.todowithcouchbase.auth.service.UserEmailService;
 import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -17,6 +18,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -34,6 +37,9 @@ class RegisterServiceImplTest extends AbstractBaseServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserEmailService userEmailService;
+
     @Mock
     private PasswordEncoder passwordEncoder;
 
@@ -62,7 +68,7 @@ class RegisterServiceImplTest extends AbstractBaseServiceTest {
         final User expected = userEntityToUserMapper.map(userEntity);
 
         // When
-        when(userRepository.existsUserEntityByEmail(request.getEmail())).thenReturn(false);
+        doNothing().when(userEmailService).reserve(eq(request.getEmail()), anyString());
         when(passwordEncoder.encode(request.getPassword())).thenReturn(encodedPassword);
         when(userRepository.save(any(UserEntity.class))).thenReturn(userEntity);
 
@@ -76,7 +82,9 @@ class RegisterServiceImplTest extends AbstractBaseServiceTest {
         assertEquals(expected.getLastName(), result.getLastName());
 
         // Verify
+        verify(userEmailService).reserve(eq(request.getEmail()), anyString());
         verify(userRepository).save(any(UserEntity.class));
+        verify(userEmailService, never()).release(anyString());
 
     }
 
@@ -94,13 +102,41 @@ class RegisterServiceImplTest extends AbstractBaseServiceTest {
                 .build();
 
         // When
-        when(userRepository.existsUserEntityByEmail(request.getEmail())).thenReturn(true);
+        doThrow(new UserAlreadyExistException("The email is already used for another user : " + request.getEmail()))
+                .when(userEmailService).reserve(eq(request.getEmail()), anyString());
 
         // Then
         assertThrows(UserAlreadyExistException.class, () -> registerService.registerUser(request));
 
         // Verify
         verify(userRepository, never()).save(any(UserEntity.class));
+        verify(passwordEncoder, never()).encode(anyString());
+
+    }
+
+    @Test
+    void givenUserRegisterRequest_whenSaveFails_thenReleaseReservedEmail() {
+
+        // Given
+        final RegisterRequest request = RegisterRequest.builder()
+                .email("usertest@example.com")
+                .password("password123")
+                .firstName("User FirstName")
+                .lastName("User LastName")
+                .userType(UserType.USER)
+                .phoneNumber("1234567890")
+                .build();
+
+        // When
+        doNothing().when(userEmailService).reserve(eq(request.getEmail()), anyString());
+        when(passwordEncoder.encode(request.getPassword())).thenReturn("encodedPassword");
+        when(userRepository.save(any(UserEntity.class))).thenThrow(new RuntimeException("Database error"));
+
+        // Then
+        assertThrows(RuntimeException.class, () -> registerService.registerUser(request));
+
+        // Verify
+        verify(userEmailService).release(request.getEmail());
 
     }
 
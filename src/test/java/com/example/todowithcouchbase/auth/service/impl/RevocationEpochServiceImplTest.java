@@ -0,0 +1,329 @@
+package com.example.todowithcouchbase.auth.service.impl;
+
+import com.example.todowithcouchbase.auth.exception.TokenAlreadyInvalidatedException;
+import com.example.todowithcouchbase.auth.model.VerifiedToken;
+import com.example.todowithcouchbase.auth.model.entity.RevocationEpochEntity;
+import com.example.todowithcouchbase.auth.model.enums.TokenClaims;
+import com.example.todowithcouchbase.auth.repository.RevocationEpochRepository;
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link RevocationEpochServiceImpl}.
+ * This test class verifies that revocation epochs are read from and written to the database,
+ * and that tokens carrying an older epoch than the current one of their user are rejected.
+ */
+class RevocationEpochServiceImplTest extends AbstractBaseServiceTest {
+
+    private static final long REFRESH_OVERLAP_MILLIS = 60_000L;
+
+    private RevocationEpochServiceImpl revocationEpochService;
+
+    @Mock
+    private RevocationEpochRepository revocationEpochRepository;
+
+    @BeforeEach
+    void setUp() {
+        revocationEpochService = new RevocationEpochServiceImpl(revocationEpochRepository, REFRESH_OVERLAP_MILLIS);
+    }
+
+    @Test
+    void givenUserWithoutEpoch_whenGetCurrentEpoch_thenReturnZero() {
+
+        // Given
+        final String userId = UUID.randomUUID().toString();
+
+        // When
+        when(revocationEpochRepository.findById(userId)).thenReturn(Optional.empty());
+
+        // Then
+        assertEquals(0L, revocationEpochService.getCurrentEpoch(userId));
+
+        // Verify
+        verify(revocationEpochRepository, times(1)).findById(userId);
+
+    }
+
+    @Test
+    void givenUserWithEpoch_whenRevokeAllTokens_thenSaveIncreasedEpoch() {
+
+        // Given
+        final String userId = UUID.randomUUID().toString();
+
+        final RevocationEpochEntity revocationEpochEntity = RevocationEpochEntity.builder()
+                .id(userId)
+                .epoch(2L)
+                .build();
+
+        // When
+        when(revocationEpochRepository.findById(userId)).thenReturn(Optional.of(revocationEpochEntity));
+
+        // Then
+        revocationEpochService.revokeAllTokens(userId);
+
+        // Verify
+        final ArgumentCaptor<RevocationEpochEntity> captor = ArgumentCaptor.forClass(RevocationEpochEntity.class);
+        verify(revocationEpochRepository, times(1)).save(captor.capture());
+        assertEquals(userId, captor.getValue().getId());
+        assertEquals(3L, captor.getValue().getEpoch());
+
+    }
+
+    @Test
+    void givenEpochWrittenConcurrently_whenRevokeAllTokens_thenReadAgainAndSaveEpochAfterIt() {
+
+        // Given
+        final String userId = UUID.randomUUID().toString();
+
+        final RevocationEpochEntity readEpochEntity = RevocationEpochEntity.builder()
+                .id(userId)
+                .epoch(2L)
+                .version(10L)
+                .build();
+
+        final RevocationEpochEntity concurrentlyWrittenEpochEntity = RevocationEpochEntity.builder()
+                .id(userId)
+                .epoch(3L)
+                .version(11L)
+                .build();
+
+        final List<Long> savedEpochs = new ArrayList<>();
+
+        // When
+        when(revocationEpochRepository.findById(userId))
+                .thenReturn(Optional.of(readEpochEntity))
+                .thenReturn(Optional.of(concurrentlyWrittenEpochEntity));
+
+        when(revocationEpochRepository.save(any(RevocationEpochEntity.class)))
+                .thenAnswer(invocation -> {
+                    final RevocationEpochEntity entity = invocation.getArgument(0);
+                    savedEpochs.add(entity.getEpoch());
+                    if (entity.getVersion() == 10L) {
+                        throw new OptimisticLockingFailureException("CAS mismatch");
+                    }
+                    return entity;
+                });
+
+        // Then
+        revocationEpochService.revokeAllTokens(userId);
+
+        assertEquals(List.of(3L, 4L), savedEpochs);
+        assertThrows(TokenAlreadyInvalidatedException.class,
+                () -> revocationEpochService.checkForRevocation(verifiedToken(userId, 3L)));
+
+        // Verify
+        verify(revocationEpochRepository, times(2)).findById(userId);
+        verify(revocationEpochRepository, times(2)).save(any(RevocationEpochEntity.class));
+
+    }
+
+    @Test
+    void givenEpochInsertedConcurrently_whenRevokeAllTokens_thenReadAgainAndSaveEpochAfterIt() {
+
+        // Given
+        final String userId = UUID.randomUUID().toString();
+
+        final RevocationEpochEntity concurrentlyInsertedEpochEntity = RevocationEpochEntity.builder()
+                .id(userId)
+                .epoch(1L)
+                .version(11L)
+                .build();
+
+        // When
+        when(revocationEpochRepository.findById(userId))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(concurrentlyInsertedEpochEntity));
+
+        when(revocationEpochRepository.save(any(RevocationEpochEntity.class)))
+                .thenThrow(new DuplicateKeyException("Document exists"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Then
+        revocationEpochService.revokeAllTokens(userId);
+
+        // Verify
+        final ArgumentCaptor<RevocationEpochEntity> captor = ArgumentCaptor.forClass(RevocationEpochEntity.class);
+        verify(revocationEpochRepository, times(2)).save(captor.capture());
+        assertEquals(2L, captor.getValue().getEpoch());
+        assertEquals(11L, captor.getValue().getVersion());
+
+    }
+
+    @Test
+    void givenTokenIssuedBeforeRevocation_whenCheckForRevocation_thenThrowTokenAlreadyInvalidatedException() {
+
+        // Given
+        final String userId = UUID.randomUUID().toString();
+
+        final VerifiedToken verifiedToken = verifiedToken(userId, 0L);
+
+        // When
+        when(revocationEpochRepository.findById(userId)).thenReturn(Optional.empty());
+
+        revocationEpochService.revokeAllTokens(userId);
+
+        // Then
+        assertThrows(TokenAlreadyInvalidatedException.class,
+                () -> revocationEpochService.checkForRevocation(verifiedToken));
+
+        // Verify
+        verify(revocationEpochRepository, times(1)).save(any(RevocationEpochEntity.class));
+
+    }
+
+    @Test
+    void givenTokenIssuedAfterRevocation_whenCheckForRevocation_thenDoNothing() {
+
+        // Given
+        final String userId = UUID.randomUUID().toString();
+
+        final VerifiedToken verifiedToken = verifiedToken(userId, 1L);
+
+        // When
+        when(revocationEpochRepository.findById(userId)).thenReturn(Optional.empty());
+
+        revocationEpochService.revokeAllTokens(userId);
+
+        // Then
+        assertDoesNotThrow(() -> revocationEpochService.checkForRevocation(verifiedToken));
+
+    }
+
+    @Test
+    void givenEpochIncreasedOnAnotherNode_whenRefreshRevocationEpochs_thenRejectOlderToken() {
+
+        // Given
+        final String userId = UUID.randomUUID().toString();
+
+        final VerifiedToken verifiedToken = verifiedToken(userId, 1L);
+
+        final RevocationEpochEntity revocationEpochEntity = RevocationEpochEntity.builder()
+                .id(userId)
+                .epoch(2L)
+                .build();
+
+        // When
+        when(revocationEpochRepository.findAll()).thenReturn(List.of(revocationEpochEntity));
+
+        revocationEpochService.refreshRevocationEpochs();
+
+        // Then
+        assertThrows(TokenAlreadyInvalidatedException.class,
+                () -> revocationEpochService.checkForRevocation(verifiedToken));
+
+        // Verify
+        verify(revocationEpochRepository, times(1)).findAll();
+
+    }
+
+    @Test
+    void givenPreviousRefresh_whenRefreshRevocationEpochs_thenOnlyLoadEpochsUpdatedSinceThenMinusOverlap() {
+
+        // Given
+        final String userId = UUID.randomUUID().toString();
+
+        final VerifiedToken verifiedToken = verifiedToken(userId, 1L);
+
+        final Instant firstRefresh = Instant.parse("2024-01-01T10:00:00Z");
+        final LocalDateTime expectedSince = LocalDateTime.ofInstant(firstRefresh, ZoneOffset.UTC)
+                .minusNanos(REFRESH_OVERLAP_MILLIS * 1_000_000L);
+
+        final RevocationEpochEntity revocationEpochEntity = RevocationEpochEntity.builder()
+                .id(userId)
+                .epoch(2L)
+                .build();
+
+        // When
+        when(revocationEpochRepository.findAll()).thenReturn(List.of());
+        when(revocationEpochRepository.findAllByUpdatedAtAfter(expectedSince)).thenReturn(List.of(revocationEpochEntity));
+
+        ReflectionTestUtils.setField(revocationEpochService, "clock", Clock.fixed(firstRefresh, ZoneOffset.UTC));
+        revocationEpochService.refreshRevocationEpochs();
+
+        ReflectionTestUtils.setField(revocationEpochService, "clock",
+                Clock.fixed(firstRefresh.plusSeconds(30), ZoneOffset.UTC));
+        revocationEpochService.refreshRevocationEpochs();
+
+        // Then
+        assertThrows(TokenAlreadyInvalidatedException.class,
+                () -> revocationEpochService.checkForRevocation(verifiedToken));
+
+        // Verify
+        verify(revocationEpochRepository, times(1)).findAll();
+        verify(revocationEpochRepository, times(1)).findAllByUpdatedAtAfter(expectedSince);
+
+    }
+
+    @Test
+    void givenFailedFirstRefresh_whenRefreshRevocationEpochs_thenLoadAllEpochsAgain() {
+
+        // When
+        when(revocationEpochRepository.findAll())
+                .thenThrow(new RuntimeException("Couchbase unavailable"))
+                .thenReturn(List.of());
+
+        revocationEpochService.refreshRevocationEpochs();
+        revocationEpochService.refreshRevocationEpochs();
+
+        // Verify
+        verify(revocationEpochRepository, times(2)).findAll();
+        verify(revocationEpochRepository, never()).findAllByUpdatedAtAfter(any(LocalDateTime.class));
+
+    }
+
+    @Test
+    void givenTokenIssuedBeforeRevocationOnAnotherNode_whenCheckForRevocationInDatabase_thenThrowTokenAlreadyInvalidatedException() {
+
+        // Given
+        final String userId = UUID.randomUUID().toString();
+
+        final VerifiedToken verifiedToken = verifiedToken(userId, 0L);
+
+        final RevocationEpochEntity revocationEpochEntity = RevocationEpochEntity.builder()
+                .id(userId)
+                .epoch(1L)
+                .build();
+
+        // When
+        when(revocationEpochRepository.findById(userId)).thenReturn(Optional.of(revocationEpochEntity));
+
+        // Then
+        assertThrows(TokenAlreadyInvalidatedException.class,
+                () -> revocationEpochService.checkForRevocationInDatabase(verifiedToken));
+
+        // Verify
+        verify(revocationEpochRepository, times(1)).findById(userId);
+
+    }
+
+    private static VerifiedToken verifiedToken(final String userId, final long revocationEpoch) {
+        return VerifiedToken.builder()
+                .jwt("jwt")
+                .payload(Jwts.claims()
+                        .id(UUID.randomUUID().toString())
+                        .add(TokenClaims.USER_ID.getValue(), userId)
+                        .add(TokenClaims.REVOCATION_EPOCH.getValue(), revocationEpoch)
+                        .build())
+                .build();
+    }
+
+}
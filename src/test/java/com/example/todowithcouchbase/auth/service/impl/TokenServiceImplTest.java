@@ -2,22 +2,30 @@ package com.example.todowithcouchbase.auth.service.impl;
 
 import com.example.todowithcouchbase.auth.config.TokenConfigurationParameter;
 import com.example.todowithcouchbase.auth.model.Token;
+import com.example.todowithcouchbase.auth.model.VerifiedToken;
+import com.example.todowithcouchbase.auth.model.enums.TokenClaims;
+import com.example.todowithcouchbase.auth.model.enums.UserType;
 import com.example.todowithcouchbase.auth.service.InvalidTokenService;
+import com.example.todowithcouchbase.auth.service.RevocationEpochService;
 import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
 
 import java.security.KeyPair;
 import java.security.KeyPairGenerator;
 import java.security.PrivateKey;
 import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -27,12 +35,11 @@ import static org.mockito.ArgumentMatchers.anyString;
  * Unit test class for {@link TokenServiceImpl}.
  * This test class validates the functionality of the token service,
  * which is responsible for generating, validating, and managing tokens.
- * It mocks the {@link TokenConfigurationParameter} and {@link InvalidTokenService}
+ * It mocks the {@link TokenConfigurationParameter}, {@link InvalidTokenService} and {@link RevocationEpochService}
  * to test the token-related logic without dependencies on the actual configuration or token invalidation logic.
  */
 class TokenServiceImplTest extends AbstractBaseServiceTest {
 
-    @InjectMocks
     private TokenServiceImpl tokenService;
 
     @Mock
@@ -41,6 +48,26 @@ class TokenServiceImplTest extends AbstractBaseServiceTest {
     @Mock
     private InvalidTokenService invalidTokenService;
 
+    @Mock
+    private RevocationEpochService revocationEpochService;
+
+    private PrivateKey privateKey;
+
+    private PublicKey publicKey;
+
+    @BeforeEach
+    void setUp() {
+
+        KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.RS256);
+        privateKey = keyPair.getPrivate();
+        publicKey = keyPair.getPublic();
+
+        Mockito.when(tokenConfigurationParameter.getPublicKey()).thenReturn(publicKey);
+
+        tokenService = new TokenServiceImpl(tokenConfigurationParameter, invalidTokenService, revocationEpochService);
+
+    }
+
     @Test
     void testGenerateTokenWithoutRefreshToken() throws Exception {
 
@@ -70,6 +97,7 @@ class TokenServiceImplTest extends AbstractBaseServiceTest {
         Mockito.verify(tokenConfigurationParameter).getAccessTokenExpireMinute();
         Mockito.verify(tokenConfigurationParameter).getRefreshTokenExpireDay();
         Mockito.verify(tokenConfigurationParameter, Mockito.times(2)).getPrivateKey();
+        Mockito.verify(tokenConfigurationParameter, Mockito.times(2)).getIssuer();
 
     }
 
@@ -77,10 +105,6 @@ class TokenServiceImplTest extends AbstractBaseServiceTest {
     void testGenerateTokenWithRefreshToken() {
 
         // Given
-        KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.RS256);
-        PrivateKey privateKey = keyPair.getPrivate();
-        PublicKey publicKey = keyPair.getPublic();
-
         String refreshToken = Jwts.builder()
                 .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date())
@@ -93,11 +117,10 @@ class TokenServiceImplTest extends AbstractBaseServiceTest {
 
         // Mock the TokenConfigurationParameter to return the keys
         Mockito.when(tokenConfigurationParameter.getPrivateKey()).thenReturn(privateKey);
-        Mockito.when(tokenConfigurationParameter.getPublicKey()).thenReturn(publicKey);
         Mockito.when(tokenConfigurationParameter.getAccessTokenExpireMinute()).thenReturn(60);
         Mockito.when(tokenConfigurationParameter.getIssuer()).thenReturn("issuer");
-        Mockito.doNothing().when(invalidTokenService).checkForInvalidityOfToken(anyString());
-
+        Mockito.doNothing().when(invalidTokenService).checkForInvalidityOfTokenInDatabase(anyString());
+        Mockito.doNothing().when(revocationEpochService).checkForRevocationInDatabase(Mockito.any(VerifiedToken.class));
 
         // When
         Token token = tokenService.generateToken(claims, refreshToken);
@@ -110,7 +133,8 @@ class TokenServiceImplTest extends AbstractBaseServiceTest {
 
         // Verify
         Mockito.verify(tokenConfigurationParameter).getAccessTokenExpireMinute();
-        Mockito.verify(invalidTokenService).checkForInvalidityOfToken(anyString());
+        Mockito.verify(invalidTokenService).checkForInvalidityOfTokenInDatabase(anyString());
+        Mockito.verify(revocationEpochService).checkForRevocationInDatabase(Mockito.any(VerifiedToken.class));
 
     }
 
@@ -118,10 +142,6 @@ class TokenServiceImplTest extends AbstractBaseServiceTest {
     void testGetClaims() {
 
         // Given
-        KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.RS256);
-        PublicKey publicKey = keyPair.getPublic();
-        PrivateKey privateKey = keyPair.getPrivate();
-
         String jwt = Jwts.builder()
                 .setId(UUID.randomUUID().toString())
                 .setIssuer("issuer")
@@ -131,10 +151,7 @@ class TokenServiceImplTest extends AbstractBaseServiceTest {
                 .signWith(privateKey)
                 .compact();
 
-        // When
-        Mockito.when(tokenConfigurationParameter.getPublicKey()).thenReturn(publicKey);
-
-        // Then
+        // When & Then
         Jws<Claims> claims = tokenService.getClaims(jwt);
 
         assertNotNull(claims, "Claims should not be null");
@@ -142,7 +159,7 @@ class TokenServiceImplTest extends AbstractBaseServiceTest {
         assertEquals("subject", claims.getBody().getSubject(), "Subject should match");
 
         // Verify
-        Mockito.verify(tokenConfigurationParameter).getPublicKey();
+        Mockito.verify(tokenConfigurationParameter, Mockito.times(1)).getPublicKey();
 
     }
 
@@ -150,10 +167,6 @@ class TokenServiceImplTest extends AbstractBaseServiceTest {
     void testGetPayload() {
 
         // Given
-        KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.RS256);
-        PublicKey publicKey = keyPair.getPublic();
-        PrivateKey privateKey = keyPair.getPrivate();
-
         String jwt = Jwts.builder()
                 .setId(UUID.randomUUID().toString())
                 .setIssuer("issuer")
@@ -163,10 +176,7 @@ class TokenServiceImplTest extends AbstractBaseServiceTest {
                 .signWith(privateKey)
                 .compact();
 
-        // When
-        Mockito.when(tokenConfigurationParameter.getPublicKey()).thenReturn(publicKey);
-
-        // Then
+        // When & Then
         Claims payload = tokenService.getPayload(jwt);
 
 
@@ -175,7 +185,7 @@ class TokenServiceImplTest extends AbstractBaseServiceTest {
         assertEquals("subject", payload.getSubject(), "Subject should match");
 
         // Verify
-        Mockito.verify(tokenConfigurationParameter).getPublicKey();
+        Mockito.verify(tokenConfigurationParameter, Mockito.times(1)).getPublicKey();
 
     }
 
@@ -183,10 +193,6 @@ class TokenServiceImplTest extends AbstractBaseServiceTest {
     void testVerifyAndValidateSet() {
 
         // Given
-        KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.RS256);
-        PublicKey publicKey = keyPair.getPublic();
-        PrivateKey privateKey = keyPair.getPrivate();
-
         String jwt1 = Jwts.builder()
                 .setId(UUID.randomUUID().toString())
                 .setIssuer("issuer1")
@@ -205,16 +211,159 @@ class TokenServiceImplTest extends AbstractBaseServiceTest {
 
         Set<String> jwts = Set.of(jwt1, jwt2);
 
+        // When & Then
+        assertDoesNotThrow(() -> tokenService.verifyAndValidate(jwts), "All tokens should be valid");
+
+        // Verify
+        Mockito.verify(tokenConfigurationParameter, Mockito.times(1)).getPublicKey();
+
+    }
+
+    @Test
+    void testVerifyAndGetAuthenticationFromVerifiedToken() {
+
+        // Given
+        String tokenId = UUID.randomUUID().toString();
+
+        String jwt = Jwts.builder()
+                .header()
+                .type("Bearer")
+                .and()
+                .id(tokenId)
+                .issuer("issuer")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 60 * 60 * 1000)) // 1 hour
+                .claim(TokenClaims.USER_TYPE.getValue(), UserType.ADMIN.name())
+                .signWith(privateKey)
+                .compact();
+
         // When
-        Mockito.when(tokenConfigurationParameter.getPublicKey()).thenReturn(publicKey);
+        VerifiedToken verifiedToken = tokenService.verify(jwt);
+        UsernamePasswordAuthenticationToken authentication = tokenService.getAuthentication(verifiedToken);
 
         // Then
-        assertDoesNotThrow(() -> tokenService.verifyAndValidate(jwts), "All tokens should be valid");
+        assertEquals(jwt, verifiedToken.getJwt());
+        assertEquals(tokenId, verifiedToken.getId());
+        assertNotNull(verifiedToken.getExpiresAt());
+        assertTrue(authentication.isAuthenticated());
+        assertEquals(UserType.ADMIN.name(), authentication.getAuthorities().iterator().next().getAuthority());
+        assertEquals(jwt, ((Jwt) authentication.getPrincipal()).getTokenValue());
 
         // Verify
-        Mockito.verify(tokenConfigurationParameter, Mockito.times(2)).getPublicKey();
+        Mockito.verify(tokenConfigurationParameter, Mockito.times(1)).getPublicKey();
 
     }
 
+    @Test
+    void givenEs256KeyPairWithKeyId_whenGenerateToken_thenSignWithEs256AndVerifyByKeyId() throws Exception {
+
+        // Given
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+        keyPairGenerator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair ecKeyPair = keyPairGenerator.generateKeyPair();
+
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("USER_ID", "12345");
+
+        Mockito.when(tokenConfigurationParameter.getKeyId()).thenReturn("ec-key-1");
+        Mockito.when(tokenConfigurationParameter.getPrivateKey()).thenReturn(ecKeyPair.getPrivate());
+        Mockito.when(tokenConfigurationParameter.getPublicKeys()).thenReturn(Map.of("ec-key-1", ecKeyPair.getPublic()));
+        Mockito.when(tokenConfigurationParameter.getAccessTokenExpireMinute()).thenReturn(60);
+        Mockito.when(tokenConfigurationParameter.getRefreshTokenExpireDay()).thenReturn(7);
+        Mockito.when(tokenConfigurationParameter.getIssuer()).thenReturn("issuer");
+
+        TokenServiceImpl ecTokenService = new TokenServiceImpl(tokenConfigurationParameter, invalidTokenService, revocationEpochService);
+
+        // When
+        Token token = ecTokenService.generateToken(claims);
+        VerifiedToken verifiedToken = ecTokenService.verify(token.getAccessToken());
+
+        // Then
+        assertEquals("ES256", verifiedToken.getHeader().getAlgorithm());
+        assertEquals("ec-key-1", verifiedToken.getHeader().getKeyId());
+        assertEquals("12345", verifiedToken.getPayload().get("USER_ID"));
+
+    }
+
+    @Test
+    void givenEdDsaKeyPairWithKeyId_whenGenerateToken_thenSignWithEdDsaAndVerifyByKeyId() throws Exception {
+
+        // Given
+        KeyPair edKeyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("USER_ID", "12345");
+
+        Mockito.when(tokenConfigurationParameter.getKeyId()).thenReturn("ed-key-1");
+        Mockito.when(tokenConfigurationParameter.getPrivateKey()).thenReturn(edKeyPair.getPrivate());
+        Mockito.when(tokenConfigurationParameter.getPublicKeys()).thenReturn(Map.of("ed-key-1", edKeyPair.getPublic()));
+        Mockito.when(tokenConfigurationParameter.getAccessTokenExpireMinute()).thenReturn(60);
+        Mockito.when(tokenConfigurationParameter.getRefreshTokenExpireDay()).thenReturn(7);
+        Mockito.when(tokenConfigurationParameter.getIssuer()).thenReturn("issuer");
+
+        TokenServiceImpl edTokenService = new TokenServiceImpl(tokenConfigurationParameter, invalidTokenService, revocationEpochService);
+
+        // When
+        Token token = edTokenService.generateToken(claims);
+        VerifiedToken verifiedToken = edTokenService.verify(token.getAccessToken());
+
+        // Then
+        assertEquals("EdDSA", verifiedToken.getHeader().getAlgorithm());
+        assertEquals("ed-key-1", verifiedToken.getHeader().getKeyId());
+
+    }
+
+    @Test
+    void givenTokenSignedWithPreviousKey_whenVerify_thenLocateKeyByKeyId() {
+
+        // Given
+        KeyPair previousKeyPair = Keys.keyPairFor(SignatureAlgorithm.RS256);
+
+        Mockito.when(tokenConfigurationParameter.getPublicKeys()).thenReturn(Map.of(
+                "current-key", publicKey,
+                "previous-key", previousKeyPair.getPublic()
+        ));
+
+        TokenServiceImpl rotatingTokenService = new TokenServiceImpl(tokenConfigurationParameter, invalidTokenService, revocationEpochService);
+
+        String token = Jwts.builder()
+                .header()
+                .keyId("previous-key")
+                .and()
+                .id(UUID.randomUUID().toString())
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(previousKeyPair.getPrivate())
+                .compact();
+
+        // When
+        VerifiedToken verifiedToken = rotatingTokenService.verify(token);
+
+        // Then
+        assertEquals("previous-key", verifiedToken.getHeader().getKeyId());
+
+    }
+
+    @Test
+    void givenTokenWithUnknownKeyId_whenVerify_thenThrowUnsupportedJwtException() {
+
+        // Given
+        Mockito.when(tokenConfigurationParameter.getPublicKeys()).thenReturn(Map.of("current-key", publicKey));
+
+        TokenServiceImpl rotatingTokenService = new TokenServiceImpl(tokenConfigurationParameter, invalidTokenService, revocationEpochService);
+
+        String token = Jwts.builder()
+                .header()
+                .keyId("unknown-key")
+                .and()
+                .id(UUID.randomUUID().toString())
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(privateKey)
+                .compact();
+
+        // When & Then
+        assertThrows(UnsupportedJwtException.class, () -> rotatingTokenService.verify(token));
+
+    }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,231 @@
+package com.example.todowithcouchbase.auth.service.impl;
+
+import com.example.todowithcouchbase.auth.exception.UserAlreadyExistException;
+import com.example.todowithcouchbase.auth.model.entity.UserEmailEntity;
+import com.example.todowithcouchbase.auth.model.entity.UserEntity;
+import com.example.todowithcouchbase.auth.repository.UserEmailRepository;
+import com.example.todowithcouchbase.auth.repository.UserRepository;
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import com.example.todowithcouchbase.builder.UserBuilder;
+import com.example.todowithcouchbase.common.model.BackfillPage;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link UserEmailServiceImpl}.
+ * This test class verifies that email lookup documents are keyed by normalized email,
+ * that a taken email address is rejected, that users without a lookup document are found by an email query,
+ * and that missing lookup documents are backfilled one page at a time.
+ * It mocks the {@link UserEmailRepository} and {@link UserRepository} to isolate the service logic.
+ */
+class UserEmailServiceImplTest extends AbstractBaseServiceTest {
+
+    @InjectMocks
+    private UserEmailServiceImpl userEmailService;
+
+    @Mock
+    private UserEmailRepository userEmailRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Test
+    void givenFreeEmail_whenReserve_thenInsertLookupKeyedByNormalizedEmail() {
+
+        // Given
+        final String email = "  UserTest@Example.com ";
+        final String userId = "user-id";
+
+        // When
+        when(userEmailRepository.insert(any(UserEmailEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Then
+        assertDoesNotThrow(() -> userEmailService.reserve(email, userId));
+
+        // Verify
+        verify(userEmailRepository).insert(argThat(userEmailEntity ->
+                "usertest@example.com".equals(userEmailEntity.getId()) && userId.equals(userEmailEntity.getUserId())
+        ));
+
+    }
+
+    @Test
+    void givenTakenEmail_whenReserve_thenThrowUserAlreadyExistException() {
+
+        // Given
+        final String email = "usertest@example.com";
+
+        // When
+        when(userEmailRepository.insert(any(UserEmailEntity.class)))
+                .thenThrow(new DuplicateKeyException("Document exists"));
+
+        // Then
+        assertThrows(UserAlreadyExistException.class, () -> userEmailService.reserve(email, "user-id"));
+
+        // Verify
+        verify(userEmailRepository).insert(any(UserEmailEntity.class));
+
+    }
+
+    @Test
+    void givenEmailOfUserWithoutLookup_whenReserve_thenThrowUserAlreadyExistException() {
+
+        // Given
+        final UserEntity existingUser = new UserBuilder().withValidFields().build();
+
+        // When
+        when(userEmailRepository.findById(UserEmailEntity.toKey(existingUser.getEmail())))
+                .thenReturn(Optional.empty());
+        when(userRepository.findUserEntityByEmail(existingUser.getEmail())).thenReturn(Optional.of(existingUser));
+
+        // Then
+        assertThrows(UserAlreadyExistException.class,
+                () -> userEmailService.reserve(existingUser.getEmail(), "new-user-id"));
+
+        // Verify
+        verify(userEmailRepository).insert(argThat((UserEmailEntity userEmailEntity) ->
+                existingUser.getId().equals(userEmailEntity.getUserId())
+        ));
+        verify(userEmailRepository, never()).insert(argThat((UserEmailEntity userEmailEntity) ->
+                "new-user-id".equals(userEmailEntity.getUserId())
+        ));
+
+    }
+
+    @Test
+    void givenReservedEmail_whenRelease_thenDeleteLookupByNormalizedEmail() {
+
+        // Given
+        final String email = "UserTest@Example.com";
+
+        // When
+        doNothing().when(userEmailRepository).deleteById("usertest@example.com");
+
+        // Then
+        userEmailService.release(email);
+
+        // Verify
+        verify(userEmailRepository).deleteById("usertest@example.com");
+
+    }
+
+    @Test
+    void givenRegisteredEmail_whenFindUserIdByEmail_thenReturnUserId() {
+
+        // Given
+        final UserEmailEntity userEmailEntity = UserEmailEntity.builder()
+                .id("usertest@example.com")
+                .userId("user-id")
+                .build();
+
+        // When
+        when(userEmailRepository.findById("usertest@example.com")).thenReturn(Optional.of(userEmailEntity));
+
+        // Then
+        final Optional<String> userId = userEmailService.findUserIdByEmail("UserTest@Example.com");
+
+        assertEquals(Optional.of("user-id"), userId);
+
+        // Verify
+        verify(userEmailRepository).findById("usertest@example.com");
+        verify(userRepository, never()).findUserEntityByEmail(any());
+
+    }
+
+    @Test
+    void givenUnknownEmail_whenFindUserIdByEmail_thenReturnEmpty() {
+
+        // When
+        when(userEmailRepository.findById("unknown@example.com")).thenReturn(Optional.empty());
+
+        // Then
+        assertTrue(userEmailService.findUserIdByEmail("unknown@example.com").isEmpty());
+
+        // Verify
+        verify(userRepository).findUserEntityByEmail("unknown@example.com");
+        verify(userEmailRepository, never()).insert(any(UserEmailEntity.class));
+
+    }
+
+    @Test
+    void givenUserWithoutLookup_whenFindUserIdByEmail_thenReturnUserIdAndCreateLookup() {
+
+        // Given
+        final UserEntity userEntity = new UserBuilder().withValidFields().build();
+
+        // When
+        when(userEmailRepository.findById(UserEmailEntity.toKey(userEntity.getEmail())))
+                .thenReturn(Optional.empty());
+        when(userRepository.findUserEntityByEmail(userEntity.getEmail())).thenReturn(Optional.of(userEntity));
+
+        // Then
+        final Optional<String> userId = userEmailService.findUserIdByEmail(userEntity.getEmail());
+
+        assertEquals(Optional.of(userEntity.getId()), userId);
+
+        // Verify
+        verify(userEmailRepository).insert(argThat((UserEmailEntity userEmailEntity) ->
+                UserEmailEntity.toKey(userEntity.getEmail()).equals(userEmailEntity.getId())
+                        && userEntity.getId().equals(userEmailEntity.getUserId())
+        ));
+
+    }
+
+    @Test
+    void givenFullPageOfUsers_whenBackfillUserEmails_thenInsertMissingLookupsAndReturnNextKey() {
+
+        // Given
+        final UserEntity firstUser = new UserBuilder().withValidFields().build();
+        final UserEntity secondUser = new UserBuilder().withValidFields().build();
+
+        // When
+        when(userRepository.findPageAfterId("", 2)).thenReturn(List.of(firstUser, secondUser));
+        when(userEmailRepository.insert(any(UserEmailEntity.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0))
+                .thenThrow(new DuplicateKeyException("Document exists"));
+
+        // Then
+        final BackfillPage backfillPage = userEmailService.backfillUserEmails(null, 2);
+
+        assertEquals(2, backfillPage.getScannedCount());
+        assertEquals(1, backfillPage.getCreatedCount());
+        assertEquals(secondUser.getId(), backfillPage.getNextAfter());
+
+        // Verify
+        verify(userEmailRepository, times(2)).insert(any(UserEmailEntity.class));
+        verify(userRepository, never()).findAll();
+
+    }
+
+    @Test
+    void givenLastPageOfUsers_whenBackfillUserEmails_thenReturnNoNextKey() {
+
+        // Given
+        final String after = "last-user-id";
+
+        // When
+        when(userRepository.findPageAfterId(after, 2)).thenReturn(List.of());
+
+        // Then
+        final BackfillPage backfillPage = userEmailService.backfillUserEmails(after, 2);
+
+        assertEquals(0, backfillPage.getScannedCount());
+        assertEquals(0, backfillPage.getCreatedCount());
+        assertNull(backfillPage.getNextAfter());
+
+        // Verify
+        verify(userEmailRepository, never()).insert(any(UserEmailEntity.class));
+
+    }
+
+}
@@ -63,21 +63,33 @@ public abstract class AbstractTestContainerConfiguration {
 
         // Create scopes and collections (according to your configuration)
         createScopeAndCollection(collectionManager, "invalid-token-scope", "invalid-token-collection");
+        createScopeAndCollection(collectionManager, "invalid-token-scope", "revocation-epoch-collection");
         createScopeAndCollection(collectionManager, "user-scope", "user-collection");
+        createScopeAndCollection(collectionManager, "user-scope", "user-email-collection");
         createScopeAndCollection(collectionManager, "task-scope", "task-collection");
+        createScopeAndCollection(collectionManager, "task-scope", "task-name-collection");
         createScopeAndCollection(collectionManager, "log-scope", "log-collection");
+        createScopeAndCollection(collectionManager, "log-scope", "log-policy-collection");
 
         // Ensure all necessary collections exist
         ensureCollectionExists(bucket, "invalid-token-scope", "invalid-token-collection");
+        ensureCollectionExists(bucket, "invalid-token-scope", "revocation-epoch-collection");
         ensureCollectionExists(bucket, "user-scope", "user-collection");
+        ensureCollectionExists(bucket, "user-scope", "user-email-collection");
         ensureCollectionExists(bucket, "task-scope", "task-collection");
+        ensureCollectionExists(bucket, "task-scope", "task-name-collection");
         ensureCollectionExists(bucket, "log-scope", "log-collection");
+        ensureCollectionExists(bucket, "log-scope", "log-policy-collection");
 
         // Ensure primary indexes are created on all collections (across scopes)
         createPrimaryIndexIfNotExists(bucket, cluster, "invalid-token-scope", "invalid-token-collection");
+        createPrimaryIndexIfNotExists(bucket, cluster, "invalid-token-scope", "revocation-epoch-collection");
         createPrimaryIndexIfNotExists(bucket, cluster, "user-scope", "user-collection");
+        createPrimaryIndexIfNotExists(bucket, cluster, "user-scope", "user-email-collection");
         createPrimaryIndexIfNotExists(bucket, cluster, "task-scope", "task-collection");
+        createPrimaryIndexIfNotExists(bucket, cluster, "task-scope", "task-name-collection");
         createPrimaryIndexIfNotExists(bucket, cluster, "log-scope", "log-collection");
+        createPrimaryIndexIfNotExists(bucket, cluster, "log-scope", "log-policy-collection");
 
         cluster.disconnect();
     }
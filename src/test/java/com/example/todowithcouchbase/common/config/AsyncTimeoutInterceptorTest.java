@@ -0,0 +1,110 @@
+package com.example.todowithcouchbase.common.config;
+
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for {@link AsyncTimeoutInterceptor}.
+ * This test class verifies that the timeout of a handler method annotated with {@link AsyncTimeout}
+ * replaces the default timeout of its asynchronous request, and that other handler methods keep the default.
+ */
+class AsyncTimeoutInterceptorTest extends AbstractBaseServiceTest {
+
+    private static final long DEFAULT_TIMEOUT_MILLIS = 30_000L;
+
+    private final Callable<Void> task = () -> null;
+
+    private AsyncTimeoutInterceptor asyncTimeoutInterceptor;
+
+    private MockHttpServletRequest servletRequest;
+
+    private StandardServletAsyncWebRequest asyncWebRequest;
+
+    @BeforeEach
+    void setUp() {
+        asyncTimeoutInterceptor = new AsyncTimeoutInterceptor(
+                new MockEnvironment().withProperty("task.export.timeout-millis", "1800000")
+        );
+
+        servletRequest = new MockHttpServletRequest();
+        servletRequest.setAsyncSupported(true);
+        asyncWebRequest = new StandardServletAsyncWebRequest(servletRequest, new MockHttpServletResponse());
+        asyncWebRequest.setTimeout(DEFAULT_TIMEOUT_MILLIS);
+    }
+
+    @Test
+    void givenAnnotatedHandler_whenBeforeConcurrentHandling_thenApplyConfiguredTimeout() throws Exception {
+
+        // Given
+        servletRequest.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, handlerMethod("export"));
+
+        // When
+        asyncTimeoutInterceptor.beforeConcurrentHandling(asyncWebRequest, task);
+        asyncWebRequest.startAsync();
+
+        // Then
+        assertEquals(1_800_000L, servletRequest.getAsyncContext().getTimeout());
+
+    }
+
+    @Test
+    void givenHandlerWithoutTimeout_whenBeforeConcurrentHandling_thenApplyNoTimeout() throws Exception {
+
+        // Given
+        servletRequest.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, handlerMethod("unlimited"));
+
+        // When
+        asyncTimeoutInterceptor.beforeConcurrentHandling(asyncWebRequest, task);
+        asyncWebRequest.startAsync();
+
+        // Then
+        assertEquals(-1L, servletRequest.getAsyncContext().getTimeout());
+
+    }
+
+    @Test
+    void givenHandlerWithoutAnnotation_whenBeforeConcurrentHandling_thenKeepDefaultTimeout() throws Exception {
+
+        // Given
+        servletRequest.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, handlerMethod("other"));
+
+        // When
+        asyncTimeoutInterceptor.beforeConcurrentHandling(asyncWebRequest, task);
+        asyncWebRequest.startAsync();
+
+        // Then
+        assertEquals(DEFAULT_TIMEOUT_MILLIS, servletRequest.getAsyncContext().getTimeout());
+
+    }
+
+    private static HandlerMethod handlerMethod(final String name) throws NoSuchMethodException {
+        return new HandlerMethod(new SampleController(), SampleController.class.getDeclaredMethod(name));
+    }
+
+    private static class SampleController {
+
+        @AsyncTimeout("${task.export.timeout-millis}")
+        void export() {
+        }
+
+        @AsyncTimeout("0")
+        void unlimited() {
+        }
+
+        void other() {
+        }
+
+    }
+
+}
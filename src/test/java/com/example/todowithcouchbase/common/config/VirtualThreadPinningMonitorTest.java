@@ -0,0 +1,70 @@
+package com.example.todowithcouchbase.common.config;
+
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for {@link VirtualThreadPinningMonitor}.
+ * This test class verifies that a virtual thread blocking inside a {@code synchronized} block
+ * is captured through JFR and counted in the pinning metrics.
+ */
+class VirtualThreadPinningMonitorTest extends AbstractBaseServiceTest {
+
+    private static final long MAX_WAIT_MILLIS = 10_000;
+
+    private final Object monitor = new Object();
+
+    private MeterRegistry meterRegistry;
+
+    private VirtualThreadPinningMonitor virtualThreadPinningMonitor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        virtualThreadPinningMonitor = new VirtualThreadPinningMonitor(5, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        virtualThreadPinningMonitor.stop();
+    }
+
+    @Test
+    void givenVirtualThreadSleepingInSynchronizedBlock_whenMonitorRuns_thenCountPinning() throws InterruptedException {
+
+        // Given
+        virtualThreadPinningMonitor.start();
+
+        // When
+        Thread.ofVirtual().start(() -> {
+            synchronized (monitor) {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }).join();
+
+        // Then
+        final long deadline = System.currentTimeMillis() + MAX_WAIT_MILLIS;
+        while (pinnedCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+
+        assertTrue(pinnedCount() >= 1);
+        assertTrue(meterRegistry.get("jvm.threads.virtual.pinned.time").timer().count() >= 1);
+
+    }
+
+    private double pinnedCount() {
+        return meterRegistry.get("jvm.threads.virtual.pinned").counter().count();
+    }
+
+}
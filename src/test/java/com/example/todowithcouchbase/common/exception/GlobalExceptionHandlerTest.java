@@ -200,6 +200,29 @@ class GlobalExceptionHandlerTest extends AbstractRestControllerTest {
 
     }
 
+    @Test
+    void givenPasswordHashingUnavailableException_whenHandlePasswordHashingUnavailableException_thenRespondWithServiceUnavailable() {
+
+        // Given
+        PasswordHashingUnavailableException ex = new PasswordHashingUnavailableException();
+
+        CustomError expectedError = CustomError.builder()
+                .httpStatus(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(CustomError.Header.PROCESS_ERROR.getName())
+                .message("Too many authentication requests, please try again later!\n")
+                .isSuccess(false)
+                .build();
+
+        // When
+        ResponseEntity<CustomError> responseEntity = globalExceptionHandler.handlePasswordHashingUnavailableException(ex);
+
+        // Then
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        CustomError actualError = responseEntity.getBody();
+        checkCustomError(expectedError, actualError);
+
+    }
+
     @Test
     void givenTokenAlreadyInvalidatedException_whenHandleTokenAlreadyInvalidatedException_thenRespondWithBadRequest() {
 
@@ -314,6 +337,50 @@ class GlobalExceptionHandlerTest extends AbstractRestControllerTest {
 
     }
 
+    @Test
+    void givenInvalidCursorException_whenHandleInvalidCursorException_thenRespondWithBadRequest() {
+        // Given
+        InvalidCursorException ex = new InvalidCursorException("Cursor = abc");
+
+        CustomError expectedError = CustomError.builder()
+                .httpStatus(HttpStatus.BAD_REQUEST)
+                .header(CustomError.Header.VALIDATION_ERROR.getName())
+                .message("Paging cursor is not valid!\n Cursor = abc")
+                .isSuccess(false)
+                .build();
+
+        // When
+        ResponseEntity<CustomError> responseEntity = globalExceptionHandler.handleInvalidCursorException(ex);
+
+        // Then
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        CustomError actualError = responseEntity.getBody();
+        checkCustomError(expectedError, actualError);
+
+    }
+
+    @Test
+    void givenPreconditionFailedException_whenHandlePreconditionFailedException_thenRespondWithPreconditionFailed() {
+        // Given
+        PreconditionFailedException ex = new PreconditionFailedException("Version = 1");
+
+        CustomError expectedError = CustomError.builder()
+                .httpStatus(HttpStatus.PRECONDITION_FAILED)
+                .header(CustomError.Header.PRECONDITION_FAILED.getName())
+                .message("Precondition failed!\n Version = 1")
+                .isSuccess(false)
+                .build();
+
+        // When
+        ResponseEntity<CustomError> responseEntity = globalExceptionHandler.handlePreconditionFailedException(ex);
+
+        // Then
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        CustomError actualError = responseEntity.getBody();
+        checkCustomError(expectedError, actualError);
+
+    }
+
     @Test
     void givenUnAuthorizeAttemptException_whenHandleUnAuthorizeAttempt_thenRespondWithUnauthorized() {
         // Given
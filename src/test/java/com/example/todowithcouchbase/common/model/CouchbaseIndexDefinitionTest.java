@@ -0,0 +1,80 @@
+package com.example.todowithcouchbase.common.model;
+
+import com.example.todowithcouchbase.task.model.entity.TaskEntity;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test class for verifying the functionality of {@link CouchbaseIndexDefinition}.
+ * Ensures that the statements creating and explaining an index are built for the keyspace of its collection.
+ */
+class CouchbaseIndexDefinitionTest {
+
+    @Test
+    void givenPartialIndex_whenToCreateStatement_thenReturnDeferredCreateStatement() {
+
+        // Given
+        final CouchbaseIndexDefinition indexDefinition = CouchbaseIndexDefinition.builder()
+                .name("idx_task_created_at_id")
+                .scope("task-scope")
+                .collection("task-collection")
+                .field("createdAt")
+                .field("META().id")
+                .condition(CouchbaseIndexDefinition.classCondition(TaskEntity.class))
+                .build();
+
+        // When
+        final String statement = indexDefinition.toCreateStatement("todo_list");
+
+        // Then
+        assertEquals("CREATE INDEX `idx_task_created_at_id` ON `todo_list`.`task-scope`.`task-collection`"
+                        + "(createdAt, META().id) WHERE _class = \"" + TaskEntity.class.getName() + "\""
+                        + " WITH {\"defer_build\": true}",
+                statement);
+
+    }
+
+    @Test
+    void givenIndexWithoutCondition_whenToCreateStatement_thenReturnStatementWithoutWhereClause() {
+
+        // Given
+        final CouchbaseIndexDefinition indexDefinition = CouchbaseIndexDefinition.builder()
+                .name("idx_user_class")
+                .scope("user-scope")
+                .collection("user-collection")
+                .field("_class")
+                .build();
+
+        // When
+        final String statement = indexDefinition.toCreateStatement("todo_list");
+
+        // Then
+        assertEquals("CREATE INDEX `idx_user_class` ON `todo_list`.`user-scope`.`user-collection`(_class)"
+                        + " WITH {\"defer_build\": true}",
+                statement);
+
+    }
+
+    @Test
+    void givenQuery_whenToExplainStatement_thenReturnExplainStatementOnKeyspace() {
+
+        // Given
+        final CouchbaseIndexDefinition indexDefinition = CouchbaseIndexDefinition.builder()
+                .name("idx_user_class")
+                .scope("user-scope")
+                .collection("user-collection")
+                .field("_class")
+                .query("SELECT META().id FROM %s WHERE _class IS NOT MISSING")
+                .build();
+
+        // When
+        final String statement = indexDefinition.toExplainStatement("todo_list");
+
+        // Then
+        assertEquals("EXPLAIN SELECT META().id FROM `todo_list`.`user-scope`.`user-collection` WHERE _class IS NOT MISSING",
+                statement);
+
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.example.todowithcouchbase.common.util;
+
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for utility methods in {@link DocumentKeyUtil}.
+ * Ensures that values fitting into a document key are kept and that longer values are replaced by their hash.
+ */
+class DocumentKeyUtilTest extends AbstractBaseServiceTest {
+
+    @Test
+    void givenShortValue_whenToDocumentKey_thenReturnValue() {
+        assertEquals("task name", DocumentKeyUtil.toDocumentKey("task name"));
+    }
+
+    @Test
+    void givenValueOfMaximumKeyLength_whenToDocumentKey_thenReturnValue() {
+        final String value = "a".repeat(DocumentKeyUtil.MAX_KEY_BYTES);
+        assertEquals(value, DocumentKeyUtil.toDocumentKey(value));
+    }
+
+    @Test
+    void givenMultiByteValueOverMaximumKeyLength_whenToDocumentKey_thenReturnHashThatFitsIntoKey() {
+
+        // Given
+        final String value = "ğ".repeat(DocumentKeyUtil.MAX_KEY_BYTES / 2 + 1);
+
+        // When
+        final String documentKey = DocumentKeyUtil.toDocumentKey(value);
+
+        // Then
+        assertTrue(documentKey.startsWith("sha256:"));
+        assertTrue(documentKey.getBytes(StandardCharsets.UTF_8).length <= DocumentKeyUtil.MAX_KEY_BYTES);
+        assertEquals(documentKey, DocumentKeyUtil.toDocumentKey(value));
+        assertNotEquals(documentKey, DocumentKeyUtil.toDocumentKey(value + "ğ"));
+
+    }
+
+    @Test
+    void givenValueWithHashedKeyPrefix_whenToDocumentKey_thenReturnHashOfValue() {
+
+        // Given
+        final String hashedKey = DocumentKeyUtil.toDocumentKey("a".repeat(DocumentKeyUtil.MAX_KEY_BYTES + 1));
+
+        // Then
+        assertNotEquals(hashedKey, DocumentKeyUtil.toDocumentKey(hashedKey));
+
+    }
+
+}
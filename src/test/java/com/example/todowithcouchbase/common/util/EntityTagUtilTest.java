@@ -0,0 +1,40 @@
+package com.example.todowithcouchbase.common.util;
+
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import com.example.todowithcouchbase.common.exception.PreconditionFailedException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for utility methods in {@link EntityTagUtil}.
+ * Ensures that document versions are turned into strong entity tags and read back from {@code If-Match} headers.
+ */
+class EntityTagUtilTest extends AbstractBaseServiceTest {
+
+    @Test
+    void givenVersion_whenToEntityTag_thenReturnQuotedVersion() {
+        assertEquals("\"1712345\"", EntityTagUtil.toEntityTag(1712345L));
+        assertNull(EntityTagUtil.toEntityTag(null));
+    }
+
+    @Test
+    void givenStrongEntityTag_whenToExpectedVersion_thenReturnVersion() {
+        assertEquals(1712345L, EntityTagUtil.toExpectedVersion(" \"1712345\" "));
+    }
+
+    @Test
+    void givenMissingOrAnyIfMatch_whenToExpectedVersion_thenReturnNull() {
+        assertNull(EntityTagUtil.toExpectedVersion(null));
+        assertNull(EntityTagUtil.toExpectedVersion(""));
+        assertNull(EntityTagUtil.toExpectedVersion("*"));
+    }
+
+    @Test
+    void givenWeakOrForeignEntityTag_whenToExpectedVersion_thenThrowPreconditionFailedException() {
+        assertThrows(PreconditionFailedException.class, () -> EntityTagUtil.toExpectedVersion("W/\"1712345\""));
+        assertThrows(PreconditionFailedException.class, () -> EntityTagUtil.toExpectedVersion("\"abc\""));
+        assertThrows(PreconditionFailedException.class, () -> EntityTagUtil.toExpectedVersion("1712345"));
+    }
+
+}
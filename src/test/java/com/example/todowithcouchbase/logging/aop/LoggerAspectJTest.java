@@ -2,7 +2,13 @@ package com.example.todowithcouchbase.logging.aop;
 
 import com.example.todowithcouchbase.auth.exception.*;
 import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import com.example.todowithcouchbase.common.exception.InvalidCursorException;
+import com.example.todowithcouchbase.common.model.dto.response.CustomPagingResponse;
+import com.example.todowithcouchbase.common.model.dto.response.CustomResponse;
+import com.example.todowithcouchbase.logging.config.ResponseCaptureProperties;
 import com.example.todowithcouchbase.logging.entity.LogEntity;
+import com.example.todowithcouchbase.logging.model.enums.ResponseCaptureMode;
+import com.example.todowithcouchbase.logging.service.LogPolicyService;
 import com.example.todowithcouchbase.logging.service.LogService;
 import com.example.todowithcouchbase.task.exception.TaskNotFoundException;
 import com.example.todowithcouchbase.task.exception.TaskWithThisNameAlreadyExistException;
@@ -11,13 +17,18 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.Signature;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -27,11 +38,13 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
+import reactor.core.publisher.Mono;
 
 import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.IntStream;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -48,6 +61,15 @@ class LoggerAspectJTest extends AbstractBaseServiceTest {
     @Mock
     private LogService logService;
 
+    @Mock
+    private LogPolicyService logPolicyService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private ResponseCaptureProperties responseCaptureProperties = new ResponseCaptureProperties();
+
     @Mock
     private HttpServletRequest httpServletRequest;
 
@@ -76,6 +98,9 @@ class LoggerAspectJTest extends AbstractBaseServiceTest {
         when(servletRequestAttributes.getResponse()).thenReturn(httpServletResponse);
         RequestContextHolder.setRequestAttributes(servletRequestAttributes);
 
+        // Record every successful call unless a test suppresses it
+        when(logPolicyService.shouldRecordSuccess(any(), any())).thenReturn(true);
+
         // Mock JoinPoint signature
         when(joinPoint.getSignature()).thenReturn(signature);
         when(signature.getName()).thenReturn("testMethod");
@@ -222,20 +247,214 @@ class LoggerAspectJTest extends AbstractBaseServiceTest {
 
     }
 
+    @Test
+    public void testLogAfterReturning_LargeResponse_IsTruncatedAndStoredOnce() {
+
+        // Given
+        responseCaptureProperties.setMaxSize(100);
+        final List<String> items = IntStream.range(0, 1_000).mapToObj(index -> "item-" + index).toList();
+
+        // When
+        when(httpServletRequest.getRequestURL()).thenReturn(new StringBuffer("http://localhost/api/test"));
+        when(httpServletRequest.getMethod()).thenReturn("GET");
+        when(httpServletResponse.getStatus()).thenReturn(HttpStatus.OK.value());
+
+        // Then
+        loggerAspectJ.logAfterReturning(joinPoint, ResponseEntity.ok(items));
+
+        // Verify
+        final LogEntity logEntity = captureSavedLogEntity();
+        Assertions.assertTrue(logEntity.getResponse().startsWith("[\"item-0\",\"item-1\""));
+        Assertions.assertTrue(logEntity.getResponse().endsWith("...[truncated]"));
+        Assertions.assertEquals(100 + "...[truncated]".length(), logEntity.getResponse().length());
+        Assertions.assertNull(logEntity.getMessage());
+
+    }
+
+    @Test
+    public void testLogAfterReturning_SmallResponse_IsSerializedAsJson() {
+
+        // Given
+        final Map<String, String> body = Map.of("key", "value");
+
+        // When
+        when(httpServletRequest.getRequestURL()).thenReturn(new StringBuffer("http://localhost/api/test"));
+        when(httpServletRequest.getMethod()).thenReturn("GET");
+        when(httpServletResponse.getStatus()).thenReturn(HttpStatus.OK.value());
+
+        // Then
+        loggerAspectJ.logAfterReturning(joinPoint, body);
+
+        // Verify
+        Assertions.assertEquals("{\"key\":\"value\"}", captureSavedLogEntity().getResponse());
+
+    }
+
+    @Test
+    public void testLogAfterReturning_SummaryMode_RecordsItemCountOfPage() throws NoSuchMethodException {
+
+        // Given
+        final CustomPagingResponse<String> page = CustomPagingResponse.<String>builder()
+                .content(List.of("task-1", "task-2", "task-3"))
+                .pageNumber(1)
+                .pageSize(3)
+                .totalElementCount(10L)
+                .build();
+
+        final MethodSignature methodSignature = mock(MethodSignature.class);
+
+        // When
+        when(joinPoint.getSignature()).thenReturn(methodSignature);
+        when(methodSignature.getName()).thenReturn("summarized");
+        when(methodSignature.getDeclaringType()).thenReturn(LoggerAspectJ.class);
+        when(methodSignature.getMethod()).thenReturn(AnnotatedController.class.getDeclaredMethod("summarized"));
+        when(httpServletRequest.getRequestURL()).thenReturn(new StringBuffer("http://localhost/api/test"));
+        when(httpServletRequest.getMethod()).thenReturn("GET");
+        when(httpServletResponse.getStatus()).thenReturn(HttpStatus.OK.value());
+
+        // Then
+        loggerAspectJ.logAfterReturning(joinPoint, CustomResponse.successOf(page));
+
+        // Verify
+        Assertions.assertEquals("{\"itemCount\":3,\"pageNumber\":1,\"pageSize\":3,\"totalElementCount\":10}",
+                captureSavedLogEntity().getResponse());
+
+    }
+
+    @Test
+    public void testLogAfterReturning_NoneMode_RecordsNoResponse() throws NoSuchMethodException {
+
+        // Given
+        final MethodSignature methodSignature = mock(MethodSignature.class);
+
+        // When
+        when(joinPoint.getSignature()).thenReturn(methodSignature);
+        when(methodSignature.getName()).thenReturn("omitted");
+        when(methodSignature.getDeclaringType()).thenReturn(LoggerAspectJ.class);
+        when(methodSignature.getMethod()).thenReturn(AnnotatedController.class.getDeclaredMethod("omitted"));
+        when(httpServletRequest.getRequestURL()).thenReturn(new StringBuffer("http://localhost/api/test"));
+        when(httpServletRequest.getMethod()).thenReturn("POST");
+        when(httpServletResponse.getStatus()).thenReturn(HttpStatus.OK.value());
+
+        // Then
+        loggerAspectJ.logAfterReturning(joinPoint, "secret token");
+
+        // Verify
+        final LogEntity logEntity = captureSavedLogEntity();
+        Assertions.assertNull(logEntity.getResponse());
+        Assertions.assertEquals("omitted", logEntity.getOperation());
+
+    }
+
+    @Test
+    public void testLogAfterReturning_SuppressedByPolicy_DoesNotSaveLog() {
+
+        // Given
+        SecurityContextHolder.setContext(securityContext);
+
+        // When
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.getName()).thenReturn("testUser");
+        when(logPolicyService.shouldRecordSuccess("LoggerAspectJ#testMethod", "testUser")).thenReturn(false);
+
+        // Then
+        loggerAspectJ.logAfterReturning(joinPoint, "test response");
+
+        // Verify
+        verify(logPolicyService, times(1)).shouldRecordSuccess("LoggerAspectJ#testMethod", "testUser");
+        verify(logService, never()).saveLogToDatabase(any(LogEntity.class));
+
+    }
+
+    @Test
+    public void testLogMonoOutcome_Success_SavesLogOnlyOnceMonoCompletes() throws Throwable {
+
+        // Given
+        final ProceedingJoinPoint proceedingJoinPoint = mock(ProceedingJoinPoint.class);
+
+        // When
+        when(proceedingJoinPoint.getSignature()).thenReturn(signature);
+        when(proceedingJoinPoint.proceed()).thenReturn(Mono.just(ResponseEntity.status(HttpStatus.CREATED).body("created")));
+        when(httpServletRequest.getRequestURL()).thenReturn(new StringBuffer("http://localhost/api/test"));
+        when(httpServletRequest.getMethod()).thenReturn("POST");
+
+        final Object result = loggerAspectJ.logMonoOutcome(proceedingJoinPoint);
+
+        // Then
+        verify(logService, never()).saveLogToDatabase(any(LogEntity.class));
+
+        ((Mono<?>) result).block();
+
+        final LogEntity logEntity = captureSavedLogEntity();
+        Assertions.assertEquals("testMethod", logEntity.getOperation());
+        Assertions.assertEquals(HttpStatus.CREATED.name(), logEntity.getStatus());
+        Assertions.assertNull(logEntity.getErrorType());
+
+    }
+
+    @Test
+    public void testLogMonoOutcome_Error_SavesLogWithStatusOfSignalledException() throws Throwable {
+
+        // Given
+        final ProceedingJoinPoint proceedingJoinPoint = mock(ProceedingJoinPoint.class);
+        final TaskNotFoundException exception = new TaskNotFoundException("Task not found");
+
+        // When
+        when(proceedingJoinPoint.getSignature()).thenReturn(signature);
+        when(proceedingJoinPoint.proceed()).thenReturn(Mono.error(exception));
+        when(httpServletRequest.getRequestURL()).thenReturn(new StringBuffer("http://localhost/api/test"));
+        when(httpServletRequest.getMethod()).thenReturn("GET");
+
+        final Object result = loggerAspectJ.logMonoOutcome(proceedingJoinPoint);
+
+        // Then
+        Assertions.assertThrows(TaskNotFoundException.class, () -> ((Mono<?>) result).block());
+
+        final LogEntity logEntity = captureSavedLogEntity();
+        Assertions.assertEquals(TaskNotFoundException.STATUS.name(), logEntity.getStatus());
+        Assertions.assertEquals(TaskNotFoundException.class.getName(), logEntity.getErrorType());
+
+        // Verify
+        verify(logPolicyService, never()).shouldRecordSuccess(any(), any());
+
+    }
+
+    @Test
+    public void testLogMonoOutcome_SuppressedByPolicy_DoesNotSaveLog() throws Throwable {
+
+        // Given
+        final ProceedingJoinPoint proceedingJoinPoint = mock(ProceedingJoinPoint.class);
+
+        // When
+        when(proceedingJoinPoint.getSignature()).thenReturn(signature);
+        when(proceedingJoinPoint.proceed()).thenReturn(Mono.just("ok"));
+        when(httpServletRequest.getRequestURL()).thenReturn(new StringBuffer("http://localhost/api/test"));
+        when(httpServletRequest.getMethod()).thenReturn("GET");
+        when(logPolicyService.shouldRecordSuccess(any(), any())).thenReturn(false);
+
+        ((Mono<?>) loggerAspectJ.logMonoOutcome(proceedingJoinPoint)).block();
+
+        // Verify
+        verify(logService, never()).saveLogToDatabase(any(LogEntity.class));
+
+    }
+
     @Test
     public void testGetHttpStatusFromException_AllCases() {
 
         // Given
-        Map<Exception, String> testCases = Map.of(
-                new PasswordNotValidException("Invalid password"), PasswordNotValidException.STATUS.name(),
-                new RoleNotFoundException("Role not found"), RoleNotFoundException.STATUS.name(),
-                new TokenAlreadyInvalidatedException("Token already invalidated"), TokenAlreadyInvalidatedException.STATUS.name(),
-                new UserAlreadyExistException("User already exists"), UserAlreadyExistException.STATUS.name(),
-                new UserNotFoundException("User not found"), UserNotFoundException.STATUS.name(),
-                new UserStatusNotValidException("User status not valid"), UserStatusNotValidException.STATUS.name(),
-                new TaskNotFoundException("Task not found"), TaskNotFoundException.STATUS.name(),
-                new TaskWithThisNameAlreadyExistException("Task with this name already exists"), TaskWithThisNameAlreadyExistException.STATUS.name(),
-                new Exception("Unknown exception"), HttpStatus.INTERNAL_SERVER_ERROR.name()
+        Map<Exception, String> testCases = Map.ofEntries(
+                Map.entry(new PasswordNotValidException("Invalid password"), PasswordNotValidException.STATUS.name()),
+                Map.entry(new PasswordHashingUnavailableException("Password hashing is unavailable"), PasswordHashingUnavailableException.STATUS.name()),
+                Map.entry(new RoleNotFoundException("Role not found"), RoleNotFoundException.STATUS.name()),
+                Map.entry(new TokenAlreadyInvalidatedException("Token already invalidated"), TokenAlreadyInvalidatedException.STATUS.name()),
+                Map.entry(new UserAlreadyExistException("User already exists"), UserAlreadyExistException.STATUS.name()),
+                Map.entry(new UserNotFoundException("User not found"), UserNotFoundException.STATUS.name()),
+                Map.entry(new UserStatusNotValidException("User status not valid"), UserStatusNotValidException.STATUS.name()),
+                Map.entry(new TaskNotFoundException("Task not found"), TaskNotFoundException.STATUS.name()),
+                Map.entry(new TaskWithThisNameAlreadyExistException("Task with this name already exists"), TaskWithThisNameAlreadyExistException.STATUS.name()),
+                Map.entry(new InvalidCursorException("Cursor is not valid"), InvalidCursorException.STATUS.name()),
+                Map.entry(new Exception("Unknown exception"), HttpStatus.INTERNAL_SERVER_ERROR.name())
         );
 
         // When & Then
@@ -251,4 +470,27 @@ class LoggerAspectJTest extends AbstractBaseServiceTest {
 
     }
 
-}
\ No newline at end of file
+    private LogEntity captureSavedLogEntity() {
+        final ArgumentCaptor<LogEntity> captor = ArgumentCaptor.forClass(LogEntity.class);
+        verify(logService, times(1)).saveLogToDatabase(captor.capture());
+        return captor.getValue();
+    }
+
+    /**
+     * Controller stand-in whose methods choose how their responses are recorded.
+     */
+    private static class AnnotatedController {
+
+        @LogResponse(ResponseCaptureMode.SUMMARY)
+        void summarized() {
+
+        }
+
+        @LogResponse(ResponseCaptureMode.NONE)
+        void omitted() {
+
+        }
+
+    }
+
+}
@@ -0,0 +1,166 @@
+package com.example.todowithcouchbase.logging.controller;
+
+import com.example.todowithcouchbase.base.AbstractRestControllerTest;
+import com.example.todowithcouchbase.logging.model.LogPolicy;
+import com.example.todowithcouchbase.logging.model.dto.request.UpdateLogPolicyRequest;
+import com.example.todowithcouchbase.logging.service.LogPolicyService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+
+/**
+ * Integration test class for the {@link LogPolicyController}.
+ * This class tests the REST endpoints of the {@link LogPolicyController} to ensure that the log policy
+ * can be read and replaced by admins only, and that invalid policies are rejected.
+ */
+class LogPolicyControllerTest extends AbstractRestControllerTest {
+
+    @MockBean
+    private LogPolicyService logPolicyService;
+
+    @Test
+    void givenAdmin_whenGetPolicy_thenReturnCurrentPolicy() throws Exception {
+
+        // Given
+        final LogPolicy logPolicy = LogPolicy.builder()
+                .successSampleRate(0.5)
+                .endpointSampleRates(Map.of("TaskController#getAllTasks", 0.1))
+                .maxPerSecondPerUser(10)
+                .maxPerSecondPerEndpoint(100)
+                .build();
+
+        // When
+        Mockito.when(logPolicyService.getPolicy()).thenReturn(logPolicy);
+
+        // Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/logs/policy")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + mockAdminToken.getAccessToken()))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.isSuccess").value(true))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.response.successSampleRate").value(0.5))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.response.endpointSampleRates['TaskController#getAllTasks']").value(0.1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.response.maxPerSecondPerUser").value(10))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.response.maxPerSecondPerEndpoint").value(100));
+
+        // Verify
+        Mockito.verify(logPolicyService, Mockito.times(1)).getPolicy();
+
+    }
+
+    @Test
+    void givenAdminWithValidRequest_whenUpdatePolicy_thenReturnAppliedPolicy() throws Exception {
+
+        // Given
+        final UpdateLogPolicyRequest request = UpdateLogPolicyRequest.builder()
+                .successSampleRate(0.2)
+                .maxPerSecondPerUser(5)
+                .maxPerSecondPerEndpoint(0)
+                .build();
+
+        final LogPolicy logPolicy = LogPolicy.builder()
+                .successSampleRate(0.2)
+                .endpointSampleRates(Map.of())
+                .maxPerSecondPerUser(5)
+                .maxPerSecondPerEndpoint(0)
+                .build();
+
+        // When
+        Mockito.when(logPolicyService.updatePolicy(any(UpdateLogPolicyRequest.class))).thenReturn(logPolicy);
+
+        // Then
+        mockMvc.perform(MockMvcRequestBuilders.put("/api/v1/logs/policy")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + mockAdminToken.getAccessToken()))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.isSuccess").value(true))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.response.successSampleRate").value(0.2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.response.maxPerSecondPerUser").value(5));
+
+        // Verify
+        Mockito.verify(logPolicyService, Mockito.times(1)).updatePolicy(any(UpdateLogPolicyRequest.class));
+
+    }
+
+    @Test
+    void givenUser_whenUpdatePolicy_thenReturnForbidden() throws Exception {
+
+        // Given
+        final UpdateLogPolicyRequest request = UpdateLogPolicyRequest.builder()
+                .successSampleRate(0.0)
+                .maxPerSecondPerUser(0)
+                .maxPerSecondPerEndpoint(0)
+                .build();
+
+        // Then
+        mockMvc.perform(MockMvcRequestBuilders.put("/api/v1/logs/policy")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + mockUserToken.getAccessToken()))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+
+        // Verify
+        Mockito.verify(logPolicyService, Mockito.never()).updatePolicy(any(UpdateLogPolicyRequest.class));
+
+    }
+
+    @Test
+    void givenAdminWithSampleRateAboveOne_whenUpdatePolicy_thenReturnBadRequest() throws Exception {
+
+        // Given
+        final UpdateLogPolicyRequest request = UpdateLogPolicyRequest.builder()
+                .successSampleRate(1.5)
+                .maxPerSecondPerUser(0)
+                .maxPerSecondPerEndpoint(0)
+                .build();
+
+        // Then
+        mockMvc.perform(MockMvcRequestBuilders.put("/api/v1/logs/policy")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + mockAdminToken.getAccessToken()))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        // Verify
+        Mockito.verify(logPolicyService, Mockito.never()).updatePolicy(any(UpdateLogPolicyRequest.class));
+
+    }
+
+    @Test
+    void givenAdminWithEndpointKeyWithoutDeclaringType_whenUpdatePolicy_thenReturnBadRequest() throws Exception {
+
+        // Given
+        final UpdateLogPolicyRequest request = UpdateLogPolicyRequest.builder()
+                .successSampleRate(1.0)
+                .endpointSampleRates(Map.of("getAllTasks", 0.1))
+                .maxPerSecondPerUser(0)
+                .maxPerSecondPerEndpoint(0)
+                .build();
+
+        // Then
+        mockMvc.perform(MockMvcRequestBuilders.put("/api/v1/logs/policy")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + mockAdminToken.getAccessToken()))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        // Verify
+        Mockito.verify(logPolicyService, Mockito.never()).updatePolicy(any(UpdateLogPolicyRequest.class));
+
+    }
+
+}
@@ -0,0 +1,273 @@
+package com.example.todowithcouchbase.logging.service.impl;
+
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import com.example.todowithcouchbase.logging.config.LogPolicyProperties;
+import com.example.todowithcouchbase.logging.entity.LogPolicyEntity;
+import com.example.todowithcouchbase.logging.model.LogPolicy;
+import com.example.todowithcouchbase.logging.model.dto.request.UpdateLogPolicyRequest;
+import com.example.todowithcouchbase.logging.repository.LogPolicyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link LogPolicyServiceImpl}.
+ * This test class verifies that successful calls are sampled per endpoint and capped per user and endpoint,
+ * that suppressed calls are counted, and that a stored policy replaces the configured one without a restart.
+ */
+class LogPolicyServiceImplTest extends AbstractBaseServiceTest {
+
+    @Mock
+    private LogPolicyRepository logPolicyRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private LogPolicyProperties logPolicyProperties;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        logPolicyProperties = new LogPolicyProperties();
+    }
+
+    @Test
+    void givenDefaultPolicy_whenShouldRecordSuccess_thenRecordEveryCall() {
+
+        // Given
+        final LogPolicyServiceImpl logPolicyService = logPolicyService();
+
+        // When
+        for (int index = 0; index < 100; index++) {
+            assertTrue(logPolicyService.shouldRecordSuccess("TaskController#getAllTasks", "user@example.com"));
+        }
+
+        // Then
+        assertTrue(meterRegistry.find("log.policy.suppressed").counters().isEmpty());
+
+    }
+
+    @Test
+    void givenEndpointSampleRateOfZero_whenShouldRecordSuccess_thenSuppressOnlyThatEndpoint() {
+
+        // Given
+        logPolicyProperties.setEndpointSampleRates(Map.of("TaskController#getAllTasks", 0.0));
+        final LogPolicyServiceImpl logPolicyService = logPolicyService();
+
+        // When
+        final boolean sampledEndpoint = logPolicyService.shouldRecordSuccess("TaskController#getAllTasks", null);
+        final boolean otherEndpoint = logPolicyService.shouldRecordSuccess("TaskController#getTaskById", null);
+
+        // Then
+        assertFalse(sampledEndpoint);
+        assertTrue(otherEndpoint);
+        assertEquals(1.0, meterRegistry.get("log.policy.suppressed")
+                .tag("reason", "sampled")
+                .tag("operation", "TaskController#getAllTasks")
+                .counter().count());
+
+    }
+
+    @Test
+    void givenEndpointSampleRateOfZero_whenShouldRecordSuccessForMethodOfSameNameOnAnotherController_thenRecordCall() {
+
+        // Given
+        logPolicyProperties.setEndpointSampleRates(Map.of("TaskController#getTaskById", 0.0));
+        final LogPolicyServiceImpl logPolicyService = logPolicyService();
+
+        // When
+        final boolean sampledEndpoint = logPolicyService.shouldRecordSuccess("TaskController#getTaskById", null);
+        final boolean otherController = logPolicyService.shouldRecordSuccess("ReactiveTaskController#getTaskById", null);
+
+        // Then
+        assertFalse(sampledEndpoint);
+        assertTrue(otherController);
+
+    }
+
+    @Test
+    void givenEndpointCap_whenShouldRecordSuccessForMethodsOfSameNameOnDifferentControllers_thenCapEachSeparately() {
+
+        // Given
+        logPolicyProperties.setMaxPerSecondPerEndpoint(1);
+        final LogPolicyServiceImpl logPolicyService = logPolicyService();
+        ReflectionTestUtils.setField(logPolicyService, "clock", fixedClock(1_000L));
+
+        // When
+        final boolean first = logPolicyService.shouldRecordSuccess("TaskController#getTaskById", null);
+        final boolean otherController = logPolicyService.shouldRecordSuccess("ReactiveTaskController#getTaskById", null);
+        final boolean second = logPolicyService.shouldRecordSuccess("TaskController#getTaskById", null);
+
+        // Then
+        assertTrue(first);
+        assertTrue(otherController);
+        assertFalse(second);
+
+    }
+
+    @Test
+    void givenUserCap_whenShouldRecordSuccessWithinOneSecond_thenSuppressCallsOverCapOfThatUser() {
+
+        // Given
+        logPolicyProperties.setMaxPerSecondPerUser(2);
+        final LogPolicyServiceImpl logPolicyService = logPolicyService();
+        ReflectionTestUtils.setField(logPolicyService, "clock", fixedClock(1_000L));
+
+        // When
+        final boolean first = logPolicyService.shouldRecordSuccess("TaskController#getTaskById", "user@example.com");
+        final boolean second = logPolicyService.shouldRecordSuccess("TaskController#getTaskById", "user@example.com");
+        final boolean third = logPolicyService.shouldRecordSuccess("TaskController#getTaskById", "user@example.com");
+        final boolean otherUser = logPolicyService.shouldRecordSuccess("TaskController#getTaskById", "other@example.com");
+
+        ReflectionTestUtils.setField(logPolicyService, "clock", fixedClock(2_000L));
+        final boolean nextSecond = logPolicyService.shouldRecordSuccess("TaskController#getTaskById", "user@example.com");
+
+        // Then
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        assertTrue(otherUser);
+        assertTrue(nextSecond);
+        assertEquals(1.0, meterRegistry.get("log.policy.suppressed").tag("reason", "user-rate").counter().count());
+
+    }
+
+    @Test
+    void givenEndpointCap_whenShouldRecordSuccessWithinOneSecond_thenSuppressCallsOverCapOfThatEndpoint() {
+
+        // Given
+        logPolicyProperties.setMaxPerSecondPerEndpoint(1);
+        final LogPolicyServiceImpl logPolicyService = logPolicyService();
+        ReflectionTestUtils.setField(logPolicyService, "clock", fixedClock(1_000L));
+
+        // When
+        final boolean first = logPolicyService.shouldRecordSuccess("TaskController#getAllTasks", "user@example.com");
+        final boolean second = logPolicyService.shouldRecordSuccess("TaskController#getAllTasks", "other@example.com");
+        final boolean otherEndpoint = logPolicyService.shouldRecordSuccess("TaskController#getTaskById", "user@example.com");
+
+        // Then
+        assertTrue(first);
+        assertFalse(second);
+        assertTrue(otherEndpoint);
+        assertEquals(1.0, meterRegistry.get("log.policy.suppressed").tag("reason", "endpoint-rate").counter().count());
+
+    }
+
+    @Test
+    void givenStoredPolicy_whenRefreshPolicy_thenApplyStoredPolicy() {
+
+        // Given
+        final LogPolicyServiceImpl logPolicyService = logPolicyService();
+
+        final LogPolicyEntity logPolicyEntity = LogPolicyEntity.builder()
+                .id(LogPolicyEntity.ID)
+                .successSampleRate(0.0)
+                .endpointSampleRates(Map.of("TaskController#deleteTaskById", 1.0))
+                .maxPerSecondPerUser(5)
+                .maxPerSecondPerEndpoint(50)
+                .build();
+
+        // When
+        when(logPolicyRepository.findById(LogPolicyEntity.ID)).thenReturn(Optional.of(logPolicyEntity));
+
+        logPolicyService.refreshPolicy();
+
+        // Then
+        final LogPolicy logPolicy = logPolicyService.getPolicy();
+        assertEquals(0.0, logPolicy.getSuccessSampleRate());
+        assertEquals(5, logPolicy.getMaxPerSecondPerUser());
+        assertEquals(50, logPolicy.getMaxPerSecondPerEndpoint());
+        assertFalse(logPolicyService.shouldRecordSuccess("TaskController#getAllTasks", null));
+        assertTrue(logPolicyService.shouldRecordSuccess("TaskController#deleteTaskById", null));
+
+        // Verify
+        verify(logPolicyRepository, times(1)).findById(LogPolicyEntity.ID);
+
+    }
+
+    @Test
+    void givenStoredPolicyDeleted_whenRefreshPolicy_thenFallBackToConfiguredPolicy() {
+
+        // Given
+        logPolicyProperties.setSuccessSampleRate(0.5);
+        final LogPolicyServiceImpl logPolicyService = logPolicyService();
+
+        // When
+        when(logPolicyRepository.findById(LogPolicyEntity.ID)).thenReturn(Optional.empty());
+
+        logPolicyService.refreshPolicy();
+
+        // Then
+        assertEquals(0.5, logPolicyService.getPolicy().getSuccessSampleRate());
+
+    }
+
+    @Test
+    void givenDatabaseError_whenRefreshPolicy_thenKeepCurrentPolicy() {
+
+        // Given
+        logPolicyProperties.setMaxPerSecondPerUser(3);
+        final LogPolicyServiceImpl logPolicyService = logPolicyService();
+
+        // When
+        when(logPolicyRepository.findById(LogPolicyEntity.ID)).thenThrow(new RuntimeException("Database error"));
+
+        // Then
+        assertDoesNotThrow(logPolicyService::refreshPolicy);
+        assertEquals(3, logPolicyService.getPolicy().getMaxPerSecondPerUser());
+
+    }
+
+    @Test
+    void givenUpdateLogPolicyRequest_whenUpdatePolicy_thenStoreAndApplyPolicy() {
+
+        // Given
+        final LogPolicyServiceImpl logPolicyService = logPolicyService();
+
+        final UpdateLogPolicyRequest request = UpdateLogPolicyRequest.builder()
+                .successSampleRate(0.1)
+                .endpointSampleRates(Map.of("TaskController#getAllTasks", 0.01))
+                .maxPerSecondPerUser(10)
+                .maxPerSecondPerEndpoint(100)
+                .build();
+
+        // When
+        when(logPolicyRepository.save(any(LogPolicyEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        final LogPolicy logPolicy = logPolicyService.updatePolicy(request);
+
+        // Then
+        assertEquals(0.1, logPolicy.getSuccessSampleRate());
+        assertEquals(0.01, logPolicy.getSampleRate("TaskController#getAllTasks"));
+        assertEquals(0.1, logPolicy.getSampleRate("TaskController#getTaskById"));
+        assertSame(logPolicy, logPolicyService.getPolicy());
+
+        // Verify
+        final ArgumentCaptor<LogPolicyEntity> captor = ArgumentCaptor.forClass(LogPolicyEntity.class);
+        verify(logPolicyRepository, times(1)).save(captor.capture());
+        assertEquals(LogPolicyEntity.ID, captor.getValue().getId());
+        assertEquals(10, captor.getValue().getMaxPerSecondPerUser());
+
+    }
+
+    private LogPolicyServiceImpl logPolicyService() {
+        return new LogPolicyServiceImpl(logPolicyRepository, logPolicyProperties, meterRegistry);
+    }
+
+    private static Clock fixedClock(final long epochMillis) {
+        return Clock.fixed(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+
+}
@@ -0,0 +1,216 @@
+package com.example.todowithcouchbase.logging.service.impl;
+
+import com.couchbase.client.core.error.CollectionExistsException;
+import com.couchbase.client.java.Bucket;
+import com.couchbase.client.java.Collection;
+import com.couchbase.client.java.Scope;
+import com.couchbase.client.java.kv.ExistsOptions;
+import com.couchbase.client.java.manager.collection.CollectionManager;
+import com.couchbase.client.java.manager.collection.CollectionSpec;
+import com.couchbase.client.java.manager.collection.ScopeSpec;
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import com.example.todowithcouchbase.common.config.CouchbaseProperties;
+import com.example.todowithcouchbase.logging.config.LogRetentionProperties;
+import com.example.todowithcouchbase.logging.entity.LogEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link LogRetentionServiceImpl}.
+ * This test class verifies that log entries expire by the status class of their call, that they are written
+ * to the collection of their day once it exists, and that daily collections are created ahead of time
+ * and dropped once every entry they hold has expired.
+ */
+class LogRetentionServiceImplTest extends AbstractBaseServiceTest {
+
+    private static final String LOG_SCOPE = "log-scope";
+
+    @Mock
+    private Bucket bucket;
+
+    @Mock
+    private CollectionManager collectionManager;
+
+    @Mock
+    private Scope scope;
+
+    @Mock
+    private Collection collection;
+
+    private LogRetentionProperties logRetentionProperties;
+
+    private LogRetentionServiceImpl logRetentionService;
+
+    @BeforeEach
+    void setUp() {
+        final CouchbaseProperties couchbaseProperties = new CouchbaseProperties();
+        final CouchbaseProperties.Scopes scopes = new CouchbaseProperties.Scopes();
+        scopes.setLogScope(LOG_SCOPE);
+        final CouchbaseProperties.Collections collections = new CouchbaseProperties.Collections();
+        collections.setLogCollection("log-collection");
+        couchbaseProperties.setScopes(scopes);
+        couchbaseProperties.setCollections(collections);
+
+        logRetentionProperties = new LogRetentionProperties();
+        logRetentionService = new LogRetentionServiceImpl(bucket, couchbaseProperties, logRetentionProperties);
+
+        when(bucket.collections()).thenReturn(collectionManager);
+        when(bucket.scope(LOG_SCOPE)).thenReturn(scope);
+        when(scope.collection(anyString())).thenReturn(collection);
+    }
+
+    @Test
+    void givenEntriesOfEachStatusClass_whenGetExpiry_thenReturnExpiryOfTheirClass() {
+
+        // Given
+        final LogEntity success = LogEntity.builder().status("OK").build();
+        final LogEntity clientError = LogEntity.builder().status("NOT_FOUND").errorType("TaskNotFoundException").build();
+        final LogEntity serverError = LogEntity.builder().status("INTERNAL_SERVER_ERROR").errorType("RuntimeException").build();
+        final LogEntity unknownError = LogEntity.builder().errorType("RuntimeException").build();
+
+        // Then
+        assertEquals(Duration.ofDays(7), logRetentionService.getExpiry(success));
+        assertEquals(Duration.ofDays(30), logRetentionService.getExpiry(clientError));
+        assertEquals(Duration.ofDays(90), logRetentionService.getExpiry(serverError));
+        assertEquals(Duration.ofDays(90), logRetentionService.getExpiry(unknownError));
+
+    }
+
+    @Test
+    void givenDailyCollectionCreatedAtStartup_whenGetCollectionName_thenReturnCollectionOfTheDay() {
+
+        // Given
+        logRetentionProperties.setDailyCollections(true);
+        ReflectionTestUtils.setField(logRetentionService, "clock", fixedClock(LocalDate.of(2026, 10, 16)));
+        final LogEntity first = LogEntity.builder().time(LocalDateTime.of(2026, 10, 16, 9, 30)).build();
+        final LogEntity second = LogEntity.builder().time(LocalDateTime.of(2026, 10, 16, 23, 59)).build();
+
+        // When
+        when(collectionManager.getAllScopes()).thenReturn(List.of());
+
+        logRetentionService.createCollectionsAtStartup();
+
+        final String firstCollection = logRetentionService.getCollectionName(first);
+        final String secondCollection = logRetentionService.getCollectionName(second);
+
+        // Then
+        assertEquals("log-collection-20261016", firstCollection);
+        assertEquals("log-collection-20261016", secondCollection);
+
+        // Verify
+        verify(collectionManager, times(1)).createCollection(LOG_SCOPE, "log-collection-20261016");
+        verify(collection, times(2)).exists(anyString(), any(ExistsOptions.class));
+
+    }
+
+    @Test
+    void givenDailyCollectionNotCreatedYet_whenGetCollectionName_thenReturnLogCollectionWithoutCreatingIt() {
+
+        // Given
+        logRetentionProperties.setDailyCollections(true);
+        final LogEntity logEntity = LogEntity.builder().time(LocalDateTime.of(2026, 10, 16, 9, 30)).build();
+
+        // Then
+        assertEquals("log-collection", logRetentionService.getCollectionName(logEntity));
+
+        // Verify
+        verifyNoInteractions(collectionManager);
+
+    }
+
+    @Test
+    void givenCollectionCreatedByAnotherNode_whenRollCollections_thenUseExistingCollection() {
+
+        // Given
+        logRetentionProperties.setDailyCollections(true);
+        logRetentionProperties.setPrecreateDays(0);
+        ReflectionTestUtils.setField(logRetentionService, "clock", fixedClock(LocalDate.of(2026, 10, 16)));
+        final LogEntity logEntity = LogEntity.builder().time(LocalDateTime.of(2026, 10, 16, 9, 30)).build();
+
+        // When
+        when(collectionManager.getAllScopes()).thenReturn(List.of());
+        doThrow(new CollectionExistsException("log-collection-20261016", null))
+                .when(collectionManager).createCollection(LOG_SCOPE, "log-collection-20261016");
+
+        logRetentionService.rollCollections();
+
+        // Then
+        assertEquals("log-collection-20261016", logRetentionService.getCollectionName(logEntity));
+
+    }
+
+    @Test
+    void givenDailyCollectionsDisabled_whenGetCollectionName_thenReturnLogCollection() {
+
+        // Given
+        logRetentionProperties.setDailyCollections(false);
+        final LogEntity logEntity = LogEntity.builder().time(LocalDateTime.of(2026, 10, 16, 9, 30)).build();
+
+        // Then
+        assertEquals("log-collection", logRetentionService.getCollectionName(logEntity));
+
+        // Verify
+        verify(collectionManager, never()).createCollection(anyString(), anyString());
+
+    }
+
+    @Test
+    void givenExpiredDailyCollections_whenRollCollections_thenPrecreateComingDayAndDropExpiredDays() {
+
+        // Given
+        logRetentionProperties.setDailyCollections(true);
+        logRetentionProperties.setSuccessTtl(Duration.ofDays(1));
+        logRetentionProperties.setClientErrorTtl(Duration.ofDays(2));
+        logRetentionProperties.setServerErrorTtl(Duration.ofDays(3));
+        ReflectionTestUtils.setField(logRetentionService, "clock", fixedClock(LocalDate.of(2026, 10, 16)));
+
+        final ScopeSpec logScope = ScopeSpec.create(LOG_SCOPE, Set.of(
+                CollectionSpec.create("log-collection", LOG_SCOPE),
+                CollectionSpec.create("log-policy-collection", LOG_SCOPE),
+                CollectionSpec.create("log-collection-20261011", LOG_SCOPE),
+                CollectionSpec.create("log-collection-20261012", LOG_SCOPE),
+                CollectionSpec.create("log-collection-20261013", LOG_SCOPE),
+                CollectionSpec.create("log-collection-20261016", LOG_SCOPE)
+        ));
+
+        // When
+        when(collectionManager.getAllScopes()).thenReturn(List.of(logScope));
+
+        logRetentionService.rollCollections();
+
+        // Then
+        verify(collectionManager, never()).createCollection(LOG_SCOPE, "log-collection-20261016");
+        verify(collectionManager).createCollection(LOG_SCOPE, "log-collection-20261017");
+
+        // Verify
+        verify(collectionManager).dropCollection(LOG_SCOPE, "log-collection-20261011");
+        verify(collectionManager).dropCollection(LOG_SCOPE, "log-collection-20261012");
+        verify(collectionManager, never()).dropCollection(LOG_SCOPE, "log-collection-20261013");
+        verify(collectionManager, never()).dropCollection(LOG_SCOPE, "log-collection-20261016");
+        verify(collectionManager, never()).dropCollection(eq(LOG_SCOPE), eq("log-collection"));
+        verify(collectionManager, never()).dropCollection(eq(LOG_SCOPE), eq("log-policy-collection"));
+
+    }
+
+    private static Clock fixedClock(final LocalDate day) {
+        final ZoneId zone = ZoneId.systemDefault();
+        return Clock.fixed(day.atTime(12, 0).atZone(zone).toInstant(), zone);
+    }
+
+}
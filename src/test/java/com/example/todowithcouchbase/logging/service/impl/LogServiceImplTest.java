@@ -0,0 +1,311 @@
+package com.example.todowithcouchbase.logging.service.impl;
+
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import com.example.todowithcouchbase.logging.config.LogWriterProperties;
+import com.example.todowithcouchbase.logging.entity.LogEntity;
+import com.example.todowithcouchbase.logging.model.enums.LogOverflowPolicy;
+import com.example.todowithcouchbase.logging.repository.LogRepository;
+import com.example.todowithcouchbase.logging.model.QueuedLog;
+import com.example.todowithcouchbase.logging.service.LogRetentionService;
+import com.example.todowithcouchbase.logging.service.LogSpillService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link LogServiceImpl}.
+ * This test class verifies that log entries are written in the background into the collection and with the expiry
+ * chosen for them, that entries still queued are flushed on shutdown, that entries which do not fit into the
+ * queue are dropped according to the overflow policy, and that entries are spilled instead of lost when the queue
+ * is full or Couchbase fails to write them.
+ */
+class LogServiceImplTest extends AbstractBaseServiceTest {
+
+    @Mock
+    private LogRepository logRepository;
+
+    @Mock
+    private LogRetentionService logRetentionService;
+
+    @Mock
+    private LogSpillService logSpillService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private LogWriterProperties logWriterProperties;
+
+    private LogServiceImpl logService;
+
+    private final CountDownLatch writeLatch = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        logWriterProperties = new LogWriterProperties();
+        logWriterProperties.setFlushIntervalMillis(50);
+
+        when(logRetentionService.getCollectionName(any(LogEntity.class))).thenReturn("log-collection-20261016");
+        when(logRetentionService.getExpiry(any(LogEntity.class))).thenReturn(Duration.ofDays(7));
+    }
+
+    @AfterEach
+    void tearDown() {
+        writeLatch.countDown();
+        if (logService != null) {
+            logService.close();
+        }
+    }
+
+    @Test
+    void givenFullBatch_whenSaveLogToDatabase_thenWriteInBackground() {
+
+        // Given
+        logWriterProperties.setBatchSize(3);
+        logService = new LogServiceImpl(logRepository, logRetentionService, logSpillService, logWriterProperties, meterRegistry);
+
+        // When
+        when(logRepository.upsertReactive(any(LogEntity.class), anyString(), any(Duration.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        for (int index = 0; index < 3; index++) {
+            logService.saveLogToDatabase(logEntity("operation-" + index));
+        }
+
+        // Then
+        verify(logRepository, timeout(5000).times(3)).upsertReactive(any(LogEntity.class), anyString(), any(Duration.class));
+
+    }
+
+    @Test
+    void givenQueuedEntries_whenClose_thenFlushQueueBeforeStopping() {
+
+        // Given
+        logWriterProperties.setFlushIntervalMillis(60_000);
+        logWriterProperties.setBatchSize(100);
+        logService = new LogServiceImpl(logRepository, logRetentionService, logSpillService, logWriterProperties, meterRegistry);
+
+        final LogEntity logEntity = logEntity("operation");
+
+        // When
+        when(logRepository.upsertReactive(any(LogEntity.class), anyString(), any(Duration.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        logService.saveLogToDatabase(logEntity);
+        logService.close();
+
+        // Then
+        assertNotNull(logEntity.getTime());
+        assertEquals(0.0, meterRegistry.get("log.writer.queue.depth").gauge().value());
+
+        // Verify
+        verify(logRepository, times(1)).upsertReactive(logEntity, "log-collection-20261016", Duration.ofDays(7));
+
+    }
+
+    @Test
+    void givenFullQueueAndDropPolicy_whenSaveLogToDatabase_thenDropEntry() {
+
+        // Given
+        logWriterProperties.setQueueCapacity(1);
+        logWriterProperties.setBatchSize(1);
+        logWriterProperties.setOverflowPolicy(LogOverflowPolicy.DROP);
+        logService = new LogServiceImpl(logRepository, logRetentionService, logSpillService, logWriterProperties, meterRegistry);
+
+        // When
+        when(logRepository.upsertReactive(any(LogEntity.class), anyString(), any(Duration.class))).thenAnswer(invocation -> blockedWrite(invocation.getArgument(0)));
+
+        logService.saveLogToDatabase(logEntity("in-flight"));
+        verify(logRepository, timeout(5000).times(1)).upsertReactive(any(LogEntity.class), anyString(), any(Duration.class));
+
+        logService.saveLogToDatabase(logEntity("queued"));
+        logService.saveLogToDatabase(logEntity("dropped"));
+
+        // Then
+        assertEquals(1.0, meterRegistry.get("log.writer.dropped").tag("reason", "full").counter().count());
+        assertEquals(1.0, meterRegistry.get("log.writer.queue.depth").gauge().value());
+
+        // Verify
+        writeLatch.countDown();
+        verify(logRepository, timeout(5000).times(2)).upsertReactive(any(LogEntity.class), anyString(), any(Duration.class));
+
+    }
+
+    @Test
+    void givenHalfFullQueueAndSamplePolicy_whenSaveLogToDatabase_thenQueueOneInSampleRateEntries() {
+
+        // Given
+        logWriterProperties.setQueueCapacity(10);
+        logWriterProperties.setBatchSize(1);
+        logWriterProperties.setSampleRate(3);
+        logWriterProperties.setOverflowPolicy(LogOverflowPolicy.SAMPLE);
+        logService = new LogServiceImpl(logRepository, logRetentionService, logSpillService, logWriterProperties, meterRegistry);
+
+        // When
+        when(logRepository.upsertReactive(any(LogEntity.class), anyString(), any(Duration.class))).thenAnswer(invocation -> blockedWrite(invocation.getArgument(0)));
+
+        logService.saveLogToDatabase(logEntity("in-flight"));
+        verify(logRepository, timeout(5000).times(1)).upsertReactive(any(LogEntity.class), anyString(), any(Duration.class));
+
+        for (int index = 0; index < 5; index++) {
+            logService.saveLogToDatabase(logEntity("below-half-" + index));
+        }
+
+        for (int index = 0; index < 6; index++) {
+            logService.saveLogToDatabase(logEntity("sampled-" + index));
+        }
+
+        // Then
+        assertEquals(7.0, meterRegistry.get("log.writer.queue.depth").gauge().value());
+        assertEquals(4.0, meterRegistry.get("log.writer.dropped").tag("reason", "sampled").counter().count());
+
+    }
+
+    @Test
+    void givenFullQueueAndBlockPolicy_whenSaveLogToDatabase_thenDropEntryAfterTimeout() {
+
+        // Given
+        logWriterProperties.setQueueCapacity(1);
+        logWriterProperties.setBatchSize(1);
+        logWriterProperties.setBlockTimeoutMillis(10);
+        logWriterProperties.setOverflowPolicy(LogOverflowPolicy.BLOCK);
+        logService = new LogServiceImpl(logRepository, logRetentionService, logSpillService, logWriterProperties, meterRegistry);
+
+        // When
+        when(logRepository.upsertReactive(any(LogEntity.class), anyString(), any(Duration.class))).thenAnswer(invocation -> blockedWrite(invocation.getArgument(0)));
+
+        logService.saveLogToDatabase(logEntity("in-flight"));
+        verify(logRepository, timeout(5000).times(1)).upsertReactive(any(LogEntity.class), anyString(), any(Duration.class));
+
+        logService.saveLogToDatabase(logEntity("queued"));
+        logService.saveLogToDatabase(logEntity("timed-out"));
+
+        // Then
+        assertEquals(1.0, meterRegistry.get("log.writer.dropped").tag("reason", "timeout").counter().count());
+
+    }
+
+    @Test
+    void givenFailingWrite_whenSaveLogToDatabase_thenCountFailureAndKeepWriting() {
+
+        // Given
+        logWriterProperties.setBatchSize(1);
+        logService = new LogServiceImpl(logRepository, logRetentionService, logSpillService, logWriterProperties, meterRegistry);
+
+        // When
+        when(logRepository.upsertReactive(any(LogEntity.class), anyString(), any(Duration.class)))
+                .thenReturn(Mono.error(new RuntimeException("Database error")))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        logService.saveLogToDatabase(logEntity("failed"));
+        logService.saveLogToDatabase(logEntity("written"));
+        logService.close();
+
+        // Then
+        assertEquals(1.0, meterRegistry.get("log.writer.failed").counter().count());
+
+        // Verify
+        verify(logRepository, times(2)).upsertReactive(any(LogEntity.class), anyString(), any(Duration.class));
+
+    }
+
+    @Test
+    void givenFullQueueAndSpillFile_whenSaveLogToDatabase_thenSpillEntryInsteadOfDropping() {
+
+        // Given
+        logWriterProperties.setQueueCapacity(1);
+        logWriterProperties.setBatchSize(1);
+        logWriterProperties.setOverflowPolicy(LogOverflowPolicy.DROP);
+        logService = new LogServiceImpl(logRepository, logRetentionService, logSpillService, logWriterProperties, meterRegistry);
+
+        // When
+        when(logSpillService.spill(any(QueuedLog.class))).thenReturn(true);
+        when(logRepository.upsertReactive(any(LogEntity.class), anyString(), any(Duration.class))).thenAnswer(invocation -> blockedWrite(invocation.getArgument(0)));
+
+        logService.saveLogToDatabase(logEntity("in-flight"));
+        verify(logRepository, timeout(5000).times(1)).upsertReactive(any(LogEntity.class), anyString(), any(Duration.class));
+
+        logService.saveLogToDatabase(logEntity("queued"));
+        logService.saveLogToDatabase(logEntity("spilled"));
+
+        // Then
+        assertEquals(0.0, meterRegistry.get("log.writer.dropped").tag("reason", "full").counter().count());
+
+        // Verify
+        verify(logSpillService, times(1)).spill(argThat(queuedLog -> "spilled".equals(queuedLog.getLogEntity().getOperation())));
+
+    }
+
+    @Test
+    void givenFailingWrite_whenSaveLogToDatabase_thenSpillFailedEntry() {
+
+        // Given
+        logWriterProperties.setBatchSize(1);
+        logService = new LogServiceImpl(logRepository, logRetentionService, logSpillService, logWriterProperties, meterRegistry);
+
+        final LogEntity logEntity = logEntity("failed");
+
+        // When
+        when(logRepository.upsertReactive(any(LogEntity.class), anyString(), any(Duration.class)))
+                .thenReturn(Mono.error(new RuntimeException("Database error")));
+
+        logService.saveLogToDatabase(logEntity);
+        logService.close();
+
+        // Then
+        assertEquals(1.0, meterRegistry.get("log.writer.failed").counter().count());
+
+        // Verify
+        verify(logSpillService, times(1)).spillAfterFailure(argThat(queuedLog -> queuedLog.getLogEntity() == logEntity));
+
+    }
+
+    @Test
+    void givenUnavailableStore_whenSaveLogToDatabase_thenSpillBatchWithoutWriting() {
+
+        // Given
+        logWriterProperties.setBatchSize(2);
+        logService = new LogServiceImpl(logRepository, logRetentionService, logSpillService, logWriterProperties, meterRegistry);
+
+        // When
+        when(logSpillService.isStoreUnavailable()).thenReturn(true);
+        when(logSpillService.spill(any(QueuedLog.class))).thenReturn(true);
+
+        logService.saveLogToDatabase(logEntity("first"));
+        logService.saveLogToDatabase(logEntity("second"));
+        logService.close();
+
+        // Then
+        assertEquals(0.0, meterRegistry.get("log.writer.dropped").tag("reason", "unavailable").counter().count());
+
+        // Verify
+        verify(logSpillService, times(2)).spill(any(QueuedLog.class));
+        verify(logRepository, never()).upsertReactive(any(LogEntity.class), anyString(), any(Duration.class));
+
+    }
+
+    private Mono<LogEntity> blockedWrite(final LogEntity logEntity) {
+        return Mono.fromCallable(() -> {
+            writeLatch.await();
+            return logEntity;
+        });
+    }
+
+    private static LogEntity logEntity(final String operation) {
+        return LogEntity.builder()
+                .operation(operation)
+                .build();
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.example.todowithcouchbase.logging.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for {@link LogSpillSegment}.
+ * This test class verifies that records survive reopening a segment, and that a segment is unmapped
+ * before its file is deleted and cannot be used afterwards.
+ */
+class LogSpillSegmentTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void givenAppendedRecords_whenOpenSegmentAgain_thenReadRecordsInOrder() throws IOException {
+
+        // Given
+        final Path path = directory.resolve("log-spill-00000000000000000000.seg");
+        final LogSpillSegment segment = LogSpillSegment.create(path, 0, 64);
+
+        // When
+        assertTrue(segment.append(bytes("first")));
+        assertTrue(segment.append(bytes("second")));
+        segment.force();
+        segment.close();
+
+        final LogSpillSegment reopenedSegment = LogSpillSegment.open(path, 0);
+
+        // Then
+        assertEquals(2, reopenedSegment.getRecordCount());
+        assertEquals(List.of("first", "second"), reopenedSegment.readRecords().stream()
+                .map(payload -> new String(payload, StandardCharsets.UTF_8))
+                .toList());
+
+    }
+
+    @Test
+    void givenSegment_whenDelete_thenUnmapSegmentAndRemoveFile() throws IOException {
+
+        // Given
+        final Path path = directory.resolve("log-spill-00000000000000000001.seg");
+        final LogSpillSegment segment = LogSpillSegment.create(path, 1, 64);
+        assertTrue(segment.append(bytes("record")));
+
+        // When
+        segment.delete();
+
+        // Then
+        assertFalse(Files.exists(path));
+        assertThrows(IllegalStateException.class, () -> segment.append(bytes("late")));
+        assertThrows(IllegalStateException.class, segment::readRecords);
+        assertThrows(IllegalStateException.class, segment::force);
+        assertDoesNotThrow(segment::close);
+
+    }
+
+    private static byte[] bytes(final String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
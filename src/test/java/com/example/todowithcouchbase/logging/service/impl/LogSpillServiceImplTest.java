@@ -0,0 +1,287 @@
+package com.example.todowithcouchbase.logging.service.impl;
+
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import com.example.todowithcouchbase.logging.config.LogSpillProperties;
+import com.example.todowithcouchbase.logging.entity.LogEntity;
+import com.example.todowithcouchbase.logging.model.QueuedLog;
+import com.example.todowithcouchbase.logging.repository.LogRepository;
+import com.example.todowithcouchbase.logging.service.LogRetentionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link LogSpillServiceImpl}.
+ * This test class verifies that log entries are appended to memory-mapped segments, that segments are rotated and
+ * capped, that segments survive a restart, and that the replayer uploads and deletes them once Couchbase accepts
+ * writes again.
+ */
+class LogSpillServiceImplTest extends AbstractBaseServiceTest {
+
+    @TempDir
+    private Path directory;
+
+    @Mock
+    private LogRepository logRepository;
+
+    @Mock
+    private LogRetentionService logRetentionService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private LogSpillProperties logSpillProperties;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        logSpillProperties = new LogSpillProperties();
+        logSpillProperties.setDirectory(directory.toString());
+        logSpillProperties.setSegmentSizeBytes(1024);
+        logSpillProperties.setMaxSegments(2);
+
+        when(logRetentionService.getCollectionName(any(LogEntity.class))).thenReturn("log-collection-20261016");
+        when(logRetentionService.getExpiry(any(LogEntity.class))).thenReturn(Duration.ofDays(7));
+    }
+
+    @Test
+    void givenSpilledEntries_whenReplay_thenUploadEntriesAndDeleteSegment() throws IOException {
+
+        // Given
+        final LogSpillServiceImpl logSpillService = logSpillService();
+
+        // When
+        when(logRepository.upsertReactive(any(LogEntity.class), anyString(), any(Duration.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        assertTrue(logSpillService.spill(queuedLog("first")));
+        assertTrue(logSpillService.spill(queuedLog("second")));
+        assertEquals(2.0, meterRegistry.get("log.spill.pending").gauge().value());
+
+        logSpillService.replay();
+
+        // Then
+        assertEquals(0.0, meterRegistry.get("log.spill.pending").gauge().value());
+        assertEquals(2.0, meterRegistry.get("log.spill.replayed").counter().count());
+        assertEquals(1, segmentCount(), "only the segment created ahead of time is left");
+
+        // Verify
+        final ArgumentCaptor<LogEntity> captor = ArgumentCaptor.forClass(LogEntity.class);
+        verify(logRepository, times(2)).upsertReactive(captor.capture(), eq("log-collection-20261016"), any(Duration.class));
+        assertEquals(List.of("first", "second"), captor.getAllValues().stream().map(LogEntity::getOperation).toList());
+        assertNotNull(captor.getAllValues().get(0).getId());
+        assertEquals("anonymousUser", captor.getAllValues().get(0).getCreatedBy());
+
+    }
+
+    @Test
+    void givenFailingUpload_whenReplay_thenKeepSegmentAndStoreUnavailable() throws IOException {
+
+        // Given
+        final LogSpillServiceImpl logSpillService = logSpillService();
+
+        // When
+        when(logRepository.upsertReactive(any(LogEntity.class), anyString(), any(Duration.class)))
+                .thenReturn(Mono.error(new RuntimeException("Database error")));
+
+        assertTrue(logSpillService.spillAfterFailure(queuedLog("failed")));
+
+        logSpillService.replay();
+
+        // Then
+        assertTrue(logSpillService.isStoreUnavailable());
+        assertEquals(1.0, meterRegistry.get("log.spill.pending").gauge().value());
+        assertEquals(2, segmentCount(), "the sealed segment and the segment created ahead of time are left");
+
+    }
+
+    @Test
+    void givenRecoveredStore_whenReplay_thenUploadSameDocumentAndStoreAvailable() {
+
+        // Given
+        final LogSpillServiceImpl logSpillService = logSpillService();
+
+        // When
+        when(logRepository.upsertReactive(any(LogEntity.class), anyString(), any(Duration.class)))
+                .thenReturn(Mono.error(new RuntimeException("Database error")))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        logSpillService.spillAfterFailure(queuedLog("failed"));
+        logSpillService.replay();
+        logSpillService.replay();
+
+        // Then
+        assertFalse(logSpillService.isStoreUnavailable());
+        assertEquals(0.0, meterRegistry.get("log.spill.pending").gauge().value());
+
+        // Verify
+        final ArgumentCaptor<LogEntity> captor = ArgumentCaptor.forClass(LogEntity.class);
+        verify(logRepository, times(2)).upsertReactive(captor.capture(), anyString(), any(Duration.class));
+        assertEquals(captor.getAllValues().get(0).getId(), captor.getAllValues().get(1).getId());
+
+    }
+
+    @Test
+    void givenFullSegments_whenSpill_thenRotateUpToMaxSegmentsAndDropTheRest() throws IOException {
+
+        // Given
+        final LogSpillServiceImpl logSpillService = logSpillService();
+
+        // When
+        int spilled = 0;
+        for (int index = 0; index < 50; index++) {
+            if (logSpillService.spill(queuedLog("operation-" + index))) {
+                spilled++;
+            }
+        }
+
+        // Then
+        assertTrue(spilled > 0 && spilled < 50);
+        assertEquals(3, segmentCount(), "two full segments and the segment created ahead of time exist");
+        assertEquals(spilled, (int) meterRegistry.get("log.spill.pending").gauge().value());
+        assertEquals(50 - spilled, (int) meterRegistry.get("log.spill.dropped").tag("reason", "full").counter().count());
+
+    }
+
+    @Test
+    void givenNextSegmentNotReady_whenSegmentIsFull_thenDropEntryWithoutCreatingSegmentOnCallerThread() throws IOException {
+
+        // Given
+        final LogSpillServiceImpl logSpillService = logSpillService();
+        final List<Runnable> allocations = new ArrayList<>();
+        ReflectionTestUtils.setField(logSpillService, "segmentAllocator", (Executor) allocations::add);
+
+        // When
+        int spilled = 0;
+        while (logSpillService.spill(queuedLog("operation-" + spilled))) {
+            spilled++;
+        }
+
+        // Then
+        assertTrue(spilled > 0);
+        assertEquals(1, segmentCount(), "no segment is created on the spilling thread");
+        assertEquals(1.0, meterRegistry.get("log.spill.dropped").tag("reason", "unallocated").counter().count());
+        assertEquals(1, allocations.size());
+
+        allocations.get(0).run();
+
+        assertEquals(2, segmentCount());
+        assertTrue(logSpillService.spill(queuedLog("after-allocation")));
+
+    }
+
+    @Test
+    void givenSegmentsOfEarlierRun_whenReplay_thenUploadRecoveredEntries() {
+
+        // Given
+        final LogSpillServiceImpl earlierRun = new LogSpillServiceImpl(
+                logRepository, logRetentionService, objectMapper, logSpillProperties, new SimpleMeterRegistry());
+        earlierRun.spill(queuedLog("first"));
+        earlierRun.spill(queuedLog("second"));
+        earlierRun.close();
+
+        final LogSpillServiceImpl logSpillService = logSpillService();
+
+        // When
+        when(logRepository.upsertReactive(any(LogEntity.class), anyString(), any(Duration.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        logSpillService.replay();
+
+        // Then
+        assertEquals(2.0, meterRegistry.get("log.spill.replayed").counter().count());
+        assertEquals(0.0, meterRegistry.get("log.spill.pending").gauge().value());
+
+        // Verify
+        verify(logRepository, times(2)).upsertReactive(any(LogEntity.class), anyString(), any(Duration.class));
+
+    }
+
+    @Test
+    void givenExpiredEntry_whenReplay_thenSkipEntry() {
+
+        // Given
+        final LogSpillServiceImpl logSpillService = logSpillService();
+
+        final LogEntity logEntity = LogEntity.builder()
+                .operation("expired")
+                .time(LocalDateTime.now().minusDays(8))
+                .build();
+
+        // When
+        logSpillService.spill(QueuedLog.builder().logEntity(logEntity).securityContext(new SecurityContextImpl()).build());
+        logSpillService.replay();
+
+        // Then
+        assertEquals(1.0, meterRegistry.get("log.spill.expired").counter().count());
+
+        // Verify
+        verify(logRepository, never()).upsertReactive(any(LogEntity.class), anyString(), any(Duration.class));
+
+    }
+
+    @Test
+    void givenSpillDisabled_whenSpill_thenReturnFalse() throws IOException {
+
+        // Given
+        logSpillProperties.setEnabled(false);
+        final LogSpillServiceImpl logSpillService = logSpillService();
+
+        // Then
+        assertFalse(logSpillService.spill(queuedLog("operation")));
+        assertEquals(0, segmentCount());
+
+    }
+
+    private LogSpillServiceImpl logSpillService() {
+        final LogSpillServiceImpl logSpillService =
+                new LogSpillServiceImpl(logRepository, logRetentionService, objectMapper, logSpillProperties, meterRegistry);
+        ReflectionTestUtils.setField(logSpillService, "segmentAllocator", (Executor) Runnable::run);
+        return logSpillService;
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.count();
+        }
+    }
+
+    private static QueuedLog queuedLog(final String operation) {
+        return QueuedLog.builder()
+                .logEntity(LogEntity.builder()
+                        .operation(operation)
+                        .status("OK")
+                        .time(LocalDateTime.now())
+                        .build())
+                .securityContext(new SecurityContextImpl())
+                .build();
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.example.todowithcouchbase.task.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark comparing how long a burst of blocking requests takes on a platform-thread pool sized like
+ * the default Tomcat pool and on one virtual thread per request, as with {@code spring.threads.virtual.enabled}.
+ * Each request models a task endpoint: a little CPU work around a blocking Couchbase round trip of the given latency.
+ * With platform threads the burst is served in waves of the pool size, while virtual threads release their
+ * carrier thread during the round trip, so the whole burst waits on Couchbase at the same time.
+ * The benchmark is not part of the test suite; run it from the IDE through {@link #main(String[])}
+ * after {@code mvn test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RequestThreadModelBenchmark {
+
+    private static final int TOMCAT_DEFAULT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    private String threadModel;
+
+    @Param({"1000", "5000"})
+    private int burstSize;
+
+    @Param({"5"})
+    private int couchbaseLatencyMillis;
+
+    private ExecutorService executorService;
+
+    /**
+     * Creates the executor of the benchmarked thread model.
+     */
+    @Setup
+    public void setUp() {
+        this.executorService = switch (threadModel) {
+            case "platform" -> Executors.newFixedThreadPool(TOMCAT_DEFAULT_MAX_THREADS);
+            case "virtual" -> Executors.newVirtualThreadPerTaskExecutor();
+            default -> throw new IllegalArgumentException("Unsupported thread model: " + threadModel);
+        };
+    }
+
+    /**
+     * Shuts down the executor of the benchmarked thread model.
+     */
+    @TearDown
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    /**
+     * Submits a burst of requests at once and waits until all of them are answered.
+     *
+     * @return The sum of the request results, so the work cannot be optimized away.
+     * @throws ExecutionException   If a request fails.
+     * @throws InterruptedException If the wait is interrupted.
+     */
+    @Benchmark
+    public long burst() throws ExecutionException, InterruptedException {
+
+        final List<Future<Long>> responses = new ArrayList<>(burstSize);
+
+        for (int request = 0; request < burstSize; request++) {
+            final long seed = request;
+            responses.add(executorService.submit(() -> handleRequest(seed)));
+        }
+
+        long sum = 0;
+        for (final Future<Long> response : responses) {
+            sum += response.get();
+        }
+        return sum;
+
+    }
+
+    /**
+     * Runs the benchmark with the options declared on this class.
+     *
+     * @param args Command line arguments, ignored.
+     * @throws RunnerException If the benchmark fails to run.
+     */
+    public static void main(String[] args) throws RunnerException {
+        final Options options = new OptionsBuilder()
+                .include(RequestThreadModelBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    private long handleRequest(final long seed) throws InterruptedException {
+        long hash = seed;
+        for (int round = 0; round < 1_000; round++) {
+            hash = hash * 31 + round;
+        }
+        Thread.sleep(couchbaseLatencyMillis);
+        return hash;
+    }
+
+}
@@ -1,20 +1,32 @@
 package com.example.todowithcouchbase.task.controller;
 
 import com.example.todowithcouchbase.base.AbstractRestControllerTest;
+import com.example.todowithcouchbase.common.exception.PreconditionFailedException;
+import com.example.todowithcouchbase.common.model.BackfillPage;
 import com.example.todowithcouchbase.common.model.CustomPage;
 import com.example.todowithcouchbase.common.model.CustomPaging;
+import com.example.todowithcouchbase.common.model.dto.request.BackfillPageRequest;
 import com.example.todowithcouchbase.common.model.dto.response.CustomPagingResponse;
 import com.example.todowithcouchbase.task.exception.TaskNotFoundException;
 import com.example.todowithcouchbase.task.exception.TaskWithThisNameAlreadyExistException;
+import com.example.todowithcouchbase.task.model.BulkTaskResult;
 import com.example.todowithcouchbase.task.model.Task;
+import com.example.todowithcouchbase.task.model.TaskBatch;
+import com.example.todowithcouchbase.task.model.TaskImportSummary;
 import com.example.todowithcouchbase.task.model.dto.request.GetTaskByNameRequest;
+import com.example.todowithcouchbase.task.model.dto.request.GetTasksByIdsRequest;
+import com.example.todowithcouchbase.task.model.dto.request.PatchTaskRequest;
 import com.example.todowithcouchbase.task.model.dto.request.SaveTaskRequest;
+import com.example.todowithcouchbase.task.model.dto.request.SaveTasksRequest;
 import com.example.todowithcouchbase.task.model.dto.request.TaskPagingRequest;
 import com.example.todowithcouchbase.task.model.dto.request.UpdateTaskRequest;
 import com.example.todowithcouchbase.task.model.dto.response.TaskResponse;
 import com.example.todowithcouchbase.task.model.entity.TaskEntity;
 import com.example.todowithcouchbase.task.model.mapper.CustomPageTaskToCustomPagingTaskResponseMapper;
 import com.example.todowithcouchbase.task.model.mapper.TaskToTaskResponseMapper;
+import com.example.todowithcouchbase.task.service.TaskBulkService;
+import com.example.todowithcouchbase.task.service.TaskExportService;
+import com.example.todowithcouchbase.task.service.TaskNameService;
 import com.example.todowithcouchbase.task.service.TaskService;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -24,15 +36,19 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.io.OutputStream;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 
 /**
  * Integration test class for the {@link TaskController}.
@@ -44,6 +60,15 @@ class TaskControllerTest extends AbstractRestControllerTest {
     @MockBean
     private TaskService taskService;
 
+    @MockBean
+    private TaskBulkService taskBulkService;
+
+    @MockBean
+    private TaskExportService taskExportService;
+
+    @MockBean
+    private TaskNameService taskNameService;
+
     private final TaskToTaskResponseMapper taskToTaskResponseMapper =  TaskToTaskResponseMapper.initialize();
 
     private final CustomPageTaskToCustomPagingTaskResponseMapper customPageTaskToCustomPagingTaskResponseMapper =
@@ -86,6 +111,49 @@ class TaskControllerTest extends AbstractRestControllerTest {
 
     }
 
+    @Test
+    void givenValidTasksRequestWithAdminCreate_whenCreateTasksInBulk_thenReturnResultPerTask() throws Exception{
+
+        // Given
+        final SaveTasksRequest request = SaveTasksRequest.builder()
+                .tasks(List.of(
+                        SaveTaskRequest.builder().name("task-name-1").build(),
+                        SaveTaskRequest.builder().name("task-name-2").build()
+                ))
+                .build();
+
+        final String createdTaskId = UUID.randomUUID().toString();
+
+        final List<BulkTaskResult> results = List.of(
+                BulkTaskResult.success(0, "task-name-1", createdTaskId),
+                BulkTaskResult.failure(1, "task-name-2", "With given task name = task-name-2")
+        );
+
+        // When
+        Mockito.when(taskBulkService.saveTasksToDatabase(anyList()))
+                .thenReturn(results);
+
+        // Then
+        mockMvc.perform(
+                MockMvcRequestBuilders
+                        .post("/api/v1/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .header(HttpHeaders.AUTHORIZATION,"Bearer " + mockAdminToken.getAccessToken())
+
+        ).andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.isSuccess").value(true))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.response[0].id").value(createdTaskId))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.response[0].success").value(true))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.response[1].success").value(false));
+
+        // Verify
+        Mockito.verify(taskBulkService,Mockito.times(1))
+                .saveTasksToDatabase(anyList());
+
+    }
+
     @Test
     void givenValidTaskRequest_WhenWithUserCreate_ThenThrowUnAuthorizeException() throws Exception{
 
@@ -157,7 +225,7 @@ class TaskControllerTest extends AbstractRestControllerTest {
         Page<TaskEntity> taskEntityPage = new PageImpl<>(taskEntities, PageRequest.of(1, 1), taskEntities.size());
 
         List<Task> taskDomainModels = taskEntities.stream()
-                .map(entity -> new Task(entity.getId(), entity.getName()))
+                .map(entity -> new Task(entity.getId(), entity.getName(), entity.getVersion()))
                 .collect(Collectors.toList());
 
         CustomPage<Task> taskPage = CustomPage.of(taskDomainModels, taskEntityPage);
@@ -208,7 +276,7 @@ class TaskControllerTest extends AbstractRestControllerTest {
         Page<TaskEntity> taskEntityPage = new PageImpl<>(taskEntities, PageRequest.of(1, 1), taskEntities.size());
 
         List<Task> taskDomainModels = taskEntities.stream()
-                .map(entity -> new Task(entity.getId(), entity.getName()))
+                .map(entity -> new Task(entity.getId(), entity.getName(), entity.getVersion()))
                 .collect(Collectors.toList());
 
         CustomPage<Task> taskPage = CustomPage.of(taskDomainModels, taskEntityPage);
@@ -234,6 +302,28 @@ class TaskControllerTest extends AbstractRestControllerTest {
         Mockito.verify(taskService, Mockito.times(1)).getAllTasks(any(TaskPagingRequest.class));
     }
 
+    @Test
+    void givenTaskPagingRequestWithoutPageSize_whenGetTasks_thenReturnBadRequest() throws Exception {
+
+        // Given
+        TaskPagingRequest pagingRequest = TaskPagingRequest.builder()
+                .pagination(CustomPaging.builder().build())
+                .build();
+
+        // Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(pagingRequest))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + mockUserToken.getAccessToken()))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.isSuccess").value(false));
+
+        // Verify
+        Mockito.verify(taskService, Mockito.never()).getAllTasks(any(TaskPagingRequest.class));
+
+    }
+
     @Test
     void givenTaskPagingRequest_WhenUnauthorized_thenThrowUnauthorized() throws Exception {
 
@@ -449,6 +539,42 @@ class TaskControllerTest extends AbstractRestControllerTest {
     }
 
 
+    @Test
+    void givenExistingAndMissingIds_whenGetTasksByIds_thenReturnFoundTasksAndMissingIds() throws Exception {
+
+        // Given
+        final String existingTaskId = UUID.randomUUID().toString();
+        final String missingTaskId = UUID.randomUUID().toString();
+
+        final GetTasksByIdsRequest request = GetTasksByIdsRequest.builder()
+                .ids(List.of(existingTaskId, missingTaskId))
+                .build();
+
+        final TaskBatch taskBatch = TaskBatch.builder()
+                .tasks(List.of(Task.builder().id(existingTaskId).name("Mock Task").build()))
+                .missingIds(List.of(missingTaskId))
+                .build();
+
+        // When
+        Mockito.when(taskService.getTasksByIds(anyList())).thenReturn(taskBatch);
+
+        // Then
+        mockMvc.perform(MockMvcRequestBuilders
+                        .post("/api/v1/tasks/batch-get")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + mockUserToken.getAccessToken()))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.isSuccess").value(true))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.response.tasks[0].id").value(existingTaskId))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.response.missingIds[0]").value(missingTaskId));
+
+        // Verify
+        Mockito.verify(taskService, Mockito.times(1)).getTasksByIds(anyList());
+
+    }
+
     @Test
     void givenNonExistentId_whenGetTaskByIdWithUser_thenThrowTaskNotFoundException() throws Exception {
 
@@ -519,7 +645,7 @@ class TaskControllerTest extends AbstractRestControllerTest {
                 .build();
 
         // When
-        Mockito.when(taskService.updateTaskById(Mockito.anyString(),Mockito.any(UpdateTaskRequest.class)))
+        Mockito.when(taskService.updateTaskById(Mockito.anyString(),Mockito.any(UpdateTaskRequest.class),Mockito.any()))
                 .thenReturn(expectedTask);
 
         // Then
@@ -539,7 +665,70 @@ class TaskControllerTest extends AbstractRestControllerTest {
 
         // Verify
         Mockito.verify(taskService,Mockito.times(1))
-                .updateTaskById(Mockito.anyString(),any(UpdateTaskRequest.class));
+                .updateTaskById(Mockito.anyString(),any(UpdateTaskRequest.class),Mockito.any());
+
+    }
+
+    @Test
+    void givenIfMatchHeader_whenUpdateTask_thenPassExpectedVersionAndReturnNewETag() throws Exception{
+
+        // Given
+        final String mockId = UUID.randomUUID().toString();
+
+        final UpdateTaskRequest request = UpdateTaskRequest.builder()
+                .name("task-name")
+                .build();
+
+        final Task expectedTask = Task.builder()
+                .id(mockId)
+                .name(request.getName())
+                .version(43L)
+                .build();
+
+        // When
+        Mockito.when(taskService.updateTaskById(Mockito.eq(mockId), Mockito.any(UpdateTaskRequest.class), Mockito.eq(42L)))
+                .thenReturn(expectedTask);
+
+        // Then
+        mockMvc.perform(
+                        MockMvcRequestBuilders
+                                .put("/api/v1/tasks/{id}",mockId)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request))
+                                .header(HttpHeaders.IF_MATCH, "\"42\"")
+                                .header(HttpHeaders.AUTHORIZATION,"Bearer " + mockAdminToken.getAccessToken())
+
+                ).andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"43\""))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.response.id").value(expectedTask.getId()));
+
+        // Verify
+        Mockito.verify(taskService,Mockito.times(1))
+                .updateTaskById(Mockito.eq(mockId), Mockito.any(UpdateTaskRequest.class), Mockito.eq(42L));
+
+    }
+
+    @Test
+    void givenOutdatedIfMatchHeader_whenAdminDeletesTask_thenPreconditionFailed() throws Exception {
+
+        // Given
+        final String taskId = UUID.randomUUID().toString();
+
+        // When
+        Mockito.doThrow(new PreconditionFailedException("Task with given id = " + taskId + " has another version than expected"))
+                .when(taskService).deleteTaskById(taskId, 42L);
+
+        // Then
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/tasks/{id}", taskId)
+                        .header(HttpHeaders.IF_MATCH, "\"42\"")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + mockAdminToken.getAccessToken()))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isPreconditionFailed())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.isSuccess").value(false));
+
+        // Verify
+        Mockito.verify(taskService, Mockito.times(1)).deleteTaskById(taskId, 42L);
 
     }
 
@@ -554,7 +743,7 @@ class TaskControllerTest extends AbstractRestControllerTest {
                 .build();
 
         // When
-        Mockito.when(taskService.updateTaskById(Mockito.anyString(), Mockito.any(UpdateTaskRequest.class)))
+        Mockito.when(taskService.updateTaskById(Mockito.anyString(), Mockito.any(UpdateTaskRequest.class), Mockito.any()))
                 .thenThrow(new TaskWithThisNameAlreadyExistException("With given task name = " + request.getName()));
 
         // Then
@@ -573,7 +762,7 @@ class TaskControllerTest extends AbstractRestControllerTest {
 
         // Verify
         Mockito.verify(taskService, Mockito.times(1))
-                .updateTaskById(Mockito.anyString(), Mockito.any(UpdateTaskRequest.class));
+                .updateTaskById(Mockito.anyString(), Mockito.any(UpdateTaskRequest.class), Mockito.any());
 
     }
 
@@ -590,7 +779,7 @@ class TaskControllerTest extends AbstractRestControllerTest {
         final String expectedMessage = "Task not found!\n Task not found with ID: " + nonExistentTaskId;
 
         // When
-        Mockito.when(taskService.updateTaskById(Mockito.anyString(), Mockito.any(UpdateTaskRequest.class)))
+        Mockito.when(taskService.updateTaskById(Mockito.anyString(), Mockito.any(UpdateTaskRequest.class), Mockito.any()))
                 .thenThrow(new TaskNotFoundException("Task not found with ID: " + nonExistentTaskId));
 
         // Then
@@ -608,7 +797,7 @@ class TaskControllerTest extends AbstractRestControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.isSuccess").value(false));
 
         // Verify
-        Mockito.verify(taskService, Mockito.times(1)).updateTaskById(Mockito.anyString(), Mockito.any(UpdateTaskRequest.class));
+        Mockito.verify(taskService, Mockito.times(1)).updateTaskById(Mockito.anyString(), Mockito.any(UpdateTaskRequest.class), Mockito.any());
 
     }
 
@@ -632,7 +821,7 @@ class TaskControllerTest extends AbstractRestControllerTest {
                 .andExpect(MockMvcResultMatchers.status().isForbidden());
 
         // Verify
-        Mockito.verify(taskService,Mockito.never()).updateTaskById(Mockito.anyString(),Mockito.any());
+        Mockito.verify(taskService,Mockito.never()).updateTaskById(Mockito.anyString(),Mockito.any(),Mockito.any());
 
     }
 
@@ -654,7 +843,193 @@ class TaskControllerTest extends AbstractRestControllerTest {
                 .andExpect(MockMvcResultMatchers.status().isUnauthorized());
 
         // Verify
-        Mockito.verify(taskService,Mockito.never()).updateTaskById(Mockito.anyString(),Mockito.any());
+        Mockito.verify(taskService,Mockito.never()).updateTaskById(Mockito.anyString(),Mockito.any(),Mockito.any());
+
+    }
+
+    @Test
+    void givenPatchTaskRequestWithIfMatchHeader_whenPatchTask_thenReturnPatchedTaskWithNewETag() throws Exception{
+
+        // Given
+        final String mockId = UUID.randomUUID().toString();
+
+        final PatchTaskRequest request = PatchTaskRequest.builder()
+                .name("task-name")
+                .build();
+
+        final Task expectedTask = Task.builder()
+                .id(mockId)
+                .name(request.getName())
+                .version(43L)
+                .build();
+
+        // When
+        Mockito.when(taskService.patchTaskById(Mockito.eq(mockId), Mockito.any(PatchTaskRequest.class), Mockito.eq(42L)))
+                .thenReturn(expectedTask);
+
+        // Then
+        mockMvc.perform(
+                        MockMvcRequestBuilders
+                                .patch("/api/v1/tasks/{id}",mockId)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request))
+                                .header(HttpHeaders.IF_MATCH, "\"42\"")
+                                .header(HttpHeaders.AUTHORIZATION,"Bearer " + mockAdminToken.getAccessToken())
+
+                ).andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"43\""))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.isSuccess").value(true))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.response.id").value(expectedTask.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.response.name").value(expectedTask.getName()));
+
+        // Verify
+        Mockito.verify(taskService,Mockito.times(1))
+                .patchTaskById(Mockito.eq(mockId),any(PatchTaskRequest.class),Mockito.eq(42L));
+
+    }
+
+    @Test
+    void givenEmptyPatchTaskRequest_whenPatchTask_thenReturnBadRequest() throws Exception{
+
+        // Given
+        final String mockId = UUID.randomUUID().toString();
+
+        // Then
+        mockMvc.perform(
+                        MockMvcRequestBuilders
+                                .patch("/api/v1/tasks/{id}",mockId)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{}")
+                                .header(HttpHeaders.AUTHORIZATION,"Bearer " + mockAdminToken.getAccessToken())
+
+                ).andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        // Verify
+        Mockito.verify(taskService,Mockito.never()).patchTaskById(Mockito.anyString(),Mockito.any(),Mockito.any());
+
+    }
+
+    @Test
+    void givenTasks_whenExportTasks_thenStreamNewlineDelimitedJson() throws Exception {
+
+        // When
+        Mockito.doAnswer(invocation -> {
+            final OutputStream outputStream = invocation.getArgument(0);
+            outputStream.write("{\"id\":\"id-1\",\"name\":\"task-1\"}\n".getBytes());
+            return null;
+        }).when(taskExportService).exportTasks(Mockito.any());
+
+        // Then
+        final MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/tasks/export")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + mockUserToken.getAccessToken()))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(MockMvcResultMatchers.content().string("{\"id\":\"id-1\",\"name\":\"task-1\"}\n"));
+
+        // Verify
+        Mockito.verify(taskExportService, Mockito.times(1)).exportTasks(Mockito.any());
+
+    }
+
+    @Test
+    void givenExportRequest_whenExportTasks_thenApplyExportTimeoutInsteadOfDefault() throws Exception {
+
+        // Then
+        final MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/tasks/export")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + mockUserToken.getAccessToken()))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        assertEquals(1_800_000L, mvcResult.getRequest().getAsyncContext().getTimeout());
+
+    }
+
+    @Test
+    void givenNdjsonUpload_whenAdminImportsTasks_thenReturnImportSummary() throws Exception {
+
+        // Given
+        final TaskImportSummary summary = TaskImportSummary.builder()
+                .acceptedCount(2)
+                .rejectedCount(0)
+                .build();
+
+        // When
+        Mockito.when(taskBulkService.importTasks(Mockito.any())).thenReturn(summary);
+
+        // Then
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/tasks/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"name\":\"task-1\"}\n{\"name\":\"task-2\"}\n")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + mockAdminToken.getAccessToken()))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.isSuccess").value(true))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.response.acceptedCount").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.response.rejectedCount").value(0));
+
+        // Verify
+        Mockito.verify(taskBulkService, Mockito.times(1)).importTasks(Mockito.any());
+
+    }
+
+    @Test
+    void givenBackfillPageRequest_whenAdminBackfillsTaskNames_thenReturnBackfillPage() throws Exception {
+
+        // Given
+        final BackfillPageRequest request = BackfillPageRequest.builder()
+                .after("last-task-id")
+                .limit(100)
+                .build();
+
+        final BackfillPage backfillPage = BackfillPage.builder()
+                .scannedCount(100)
+                .createdCount(3)
+                .nextAfter("next-task-id")
+                .build();
+
+        // When
+        Mockito.when(taskNameService.backfillTaskNames("last-task-id", 100)).thenReturn(backfillPage);
+
+        // Then
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/tasks/name-reservations/backfill")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + mockAdminToken.getAccessToken()))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.isSuccess").value(true))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.response.scannedCount").value(100))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.response.createdCount").value(3))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.response.nextAfter").value("next-task-id"));
+
+        // Verify
+        Mockito.verify(taskNameService, Mockito.times(1)).backfillTaskNames("last-task-id", 100);
+
+    }
+
+    @Test
+    void givenBackfillPageRequest_whenUserBackfillsTaskNames_thenForbidden() throws Exception {
+
+        // Given
+        final BackfillPageRequest request = BackfillPageRequest.builder().build();
+
+        // Then
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/tasks/name-reservations/backfill")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + mockUserToken.getAccessToken()))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+
+        // Verify
+        Mockito.verify(taskNameService, Mockito.never()).backfillTaskNames(Mockito.any(), Mockito.anyInt());
 
     }
 
@@ -664,7 +1039,7 @@ class TaskControllerTest extends AbstractRestControllerTest {
         final String taskId = UUID.randomUUID().toString();
 
         // When
-        Mockito.doNothing().when(taskService).deleteTaskById(taskId);
+        Mockito.doNothing().when(taskService).deleteTaskById(taskId, null);
 
         // Then
         mockMvc.perform(MockMvcRequestBuilders
@@ -677,7 +1052,7 @@ class TaskControllerTest extends AbstractRestControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.response").value("Task with id " + taskId + "is deleted"));
 
         // Verify
-        Mockito.verify(taskService, Mockito.times(1)).deleteTaskById(taskId);
+        Mockito.verify(taskService, Mockito.times(1)).deleteTaskById(taskId, null);
 
     }
 
@@ -695,7 +1070,7 @@ class TaskControllerTest extends AbstractRestControllerTest {
                 .andExpect(MockMvcResultMatchers.status().isForbidden());
 
         // Verify
-        Mockito.verify(taskService, Mockito.never()).deleteTaskById(taskId);
+        Mockito.verify(taskService, Mockito.never()).deleteTaskById(taskId, null);
 
     }
 
@@ -712,7 +1087,7 @@ class TaskControllerTest extends AbstractRestControllerTest {
                 .andExpect(MockMvcResultMatchers.status().isUnauthorized());
 
         // Verify
-        Mockito.verify(taskService, Mockito.never()).deleteTaskById(taskId);
+        Mockito.verify(taskService, Mockito.never()).deleteTaskById(taskId, null);
 
     }
 
@@ -725,7 +1100,7 @@ class TaskControllerTest extends AbstractRestControllerTest {
 
         // When
         Mockito.doThrow(new TaskNotFoundException())
-                .when(taskService).deleteTaskById(taskId);
+                .when(taskService).deleteTaskById(taskId, null);
 
         // Then
         mockMvc.perform(MockMvcRequestBuilders
@@ -738,7 +1113,7 @@ class TaskControllerTest extends AbstractRestControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.message").value(expectedMessage));
 
         // Verify
-        Mockito.verify(taskService, Mockito.times(1)).deleteTaskById(taskId);
+        Mockito.verify(taskService, Mockito.times(1)).deleteTaskById(taskId, null);
 
     }
 
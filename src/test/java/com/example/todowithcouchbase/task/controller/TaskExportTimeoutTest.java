@@ -0,0 +1,75 @@
+package com.example.todowithcouchbase.task.controller;
+
+import com.example.todowithcouchbase.base.AbstractRestControllerTest;
+import com.example.todowithcouchbase.task.service.TaskExportService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.OutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Integration test class for the timeout of the task export of {@link TaskController}.
+ * The application runs on a real servlet container with a short default timeout for asynchronous requests,
+ * so this test verifies that an export streaming for longer than that default is completed instead of cut off.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.mvc.async.request-timeout=1000",
+                "task.export.timeout-millis=20000"
+        }
+)
+class TaskExportTimeoutTest extends AbstractRestControllerTest {
+
+    private static final long STREAMING_MILLIS = 3_000L;
+
+    @MockBean
+    private TaskExportService taskExportService;
+
+    @Autowired
+    private TestRestTemplate testRestTemplate;
+
+    @Test
+    void givenExportLongerThanDefaultTimeout_whenExportTasks_thenStreamEveryTask() throws Exception {
+
+        // When
+        Mockito.doAnswer(invocation -> {
+            final OutputStream outputStream = invocation.getArgument(0);
+            outputStream.write("{\"id\":\"id-1\",\"name\":\"task-1\"}\n".getBytes());
+            outputStream.flush();
+            Thread.sleep(STREAMING_MILLIS);
+            outputStream.write("{\"id\":\"id-2\",\"name\":\"task-2\"}\n".getBytes());
+            return null;
+        }).when(taskExportService).exportTasks(Mockito.any());
+
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(mockUserToken.getAccessToken());
+
+        // Then
+        final ResponseEntity<String> response = testRestTemplate.exchange(
+                "/api/v1/tasks/export", HttpMethod.GET, new HttpEntity<>(headers), String.class
+        );
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(
+                "{\"id\":\"id-1\",\"name\":\"task-1\"}\n{\"id\":\"id-2\",\"name\":\"task-2\"}\n",
+                response.getBody()
+        );
+
+        // Verify
+        Mockito.verify(taskExportService, Mockito.times(1)).exportTasks(Mockito.any());
+
+    }
+
+}
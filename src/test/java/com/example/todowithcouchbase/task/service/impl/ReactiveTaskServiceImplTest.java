@@ -0,0 +1,295 @@
+package com.example.todowithcouchbase.task.service.impl;
+
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import com.example.todowithcouchbase.common.exception.PreconditionFailedException;
+import com.example.todowithcouchbase.task.exception.TaskNotFoundException;
+import com.example.todowithcouchbase.task.exception.TaskWithThisNameAlreadyExistException;
+import com.example.todowithcouchbase.task.model.Task;
+import com.example.todowithcouchbase.task.model.dto.request.SaveTaskRequest;
+import com.example.todowithcouchbase.task.model.dto.request.UpdateTaskRequest;
+import com.example.todowithcouchbase.task.model.entity.TaskEntity;
+import com.example.todowithcouchbase.task.repository.ReactiveTaskRepository;
+import com.example.todowithcouchbase.task.service.TaskCacheService;
+import com.example.todowithcouchbase.task.service.TaskNameService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link ReactiveTaskServiceImpl}.
+ * This test class verifies that the reactive task operations reserve and release task names in the same way
+ * as the blocking ones, and that missing tasks and version conflicts are reported with the same exceptions.
+ * It mocks the {@link ReactiveTaskRepository}, {@link TaskNameService} and {@link TaskCacheService} to isolate the service logic.
+ */
+class ReactiveTaskServiceImplTest extends AbstractBaseServiceTest {
+
+    @InjectMocks
+    private ReactiveTaskServiceImpl reactiveTaskService;
+
+    @Mock
+    private ReactiveTaskRepository reactiveTaskRepository;
+
+    @Mock
+    private TaskNameService taskNameService;
+
+    @Mock
+    private TaskCacheService taskCacheService;
+
+    @AfterEach
+    void tearDown() {
+        reactiveTaskService.close();
+    }
+
+    @Test
+    void givenFreeTaskName_whenSaveTaskToDatabase_thenReserveNameAndReturnSavedTask() {
+
+        // Given
+        final SaveTaskRequest saveTaskRequest = SaveTaskRequest.builder()
+                .name("task")
+                .build();
+
+        // When
+        when(taskNameService.reserveReactive(eq("task"), anyString())).thenReturn(Mono.empty());
+        when(reactiveTaskRepository.save(any(TaskEntity.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // Then
+        final Task task = reactiveTaskService.saveTaskToDatabase(saveTaskRequest).block();
+
+        assertNotNull(task);
+        assertNotNull(task.getId());
+        assertEquals("task", task.getName());
+
+        // Verify
+        verify(reactiveTaskRepository, times(1)).save(any(TaskEntity.class));
+        verify(taskCacheService, times(1)).refresh(task);
+        verify(taskNameService, never()).releaseReactive(anyString(), anyString());
+
+    }
+
+    @Test
+    void givenTakenTaskName_whenSaveTaskToDatabase_thenFailWithoutSavingOrReleasing() {
+
+        // Given
+        final SaveTaskRequest saveTaskRequest = SaveTaskRequest.builder()
+                .name("taken")
+                .build();
+
+        // When
+        when(taskNameService.reserveReactive(eq("taken"), anyString()))
+                .thenReturn(Mono.error(new TaskWithThisNameAlreadyExistException("With given task name = taken")));
+
+        // Then
+        final Mono<Task> save = reactiveTaskService.saveTaskToDatabase(saveTaskRequest);
+
+        assertThrows(TaskWithThisNameAlreadyExistException.class, save::block);
+
+        // Verify
+        verify(reactiveTaskRepository, never()).save(any(TaskEntity.class));
+        verify(taskNameService, never()).releaseReactive(anyString(), anyString());
+
+    }
+
+    @Test
+    void givenFailingSave_whenSaveTaskToDatabase_thenReleaseNameAndFail() {
+
+        // Given
+        final SaveTaskRequest saveTaskRequest = SaveTaskRequest.builder()
+                .name("task")
+                .build();
+
+        // When
+        when(taskNameService.reserveReactive(eq("task"), anyString())).thenReturn(Mono.empty());
+        when(taskNameService.releaseReactive(eq("task"), anyString())).thenReturn(Mono.empty());
+        when(reactiveTaskRepository.save(any(TaskEntity.class)))
+                .thenReturn(Mono.error(new DataRetrievalFailureException("Couchbase is not available")));
+
+        // Then
+        final Mono<Task> save = reactiveTaskService.saveTaskToDatabase(saveTaskRequest);
+
+        assertThrows(DataRetrievalFailureException.class, save::block);
+
+        // Verify
+        verify(taskNameService, times(1)).releaseReactive(eq("task"), anyString());
+
+    }
+
+    @Test
+    void givenMissingTask_whenGetTaskById_thenThrowTaskNotFoundException() {
+
+        // Given
+        final String id = UUID.randomUUID().toString();
+
+        // When
+        when(reactiveTaskRepository.findById(id)).thenReturn(Mono.empty());
+
+        // Then
+        final Mono<Task> task = reactiveTaskService.getTaskById(id);
+
+        assertThrows(TaskNotFoundException.class, task::block);
+
+    }
+
+    @Test
+    void givenNewName_whenUpdateTaskById_thenReserveNewNameAndReleaseOldName() {
+
+        // Given
+        final String id = UUID.randomUUID().toString();
+
+        final TaskEntity taskEntity = TaskEntity.builder()
+                .id(id)
+                .name("before")
+                .version(5L)
+                .build();
+
+        final UpdateTaskRequest updateTaskRequest = UpdateTaskRequest.builder()
+                .name("after")
+                .build();
+
+        // When
+        when(reactiveTaskRepository.findById(id)).thenReturn(Mono.just(taskEntity));
+        when(taskNameService.reserveReactive("after", id)).thenReturn(Mono.empty());
+        when(taskNameService.releaseReactive(eq("before"), anyString())).thenReturn(Mono.empty());
+        when(reactiveTaskRepository.save(taskEntity)).thenReturn(Mono.just(taskEntity));
+
+        // Then
+        final Task task = reactiveTaskService.updateTaskById(id, updateTaskRequest, 5L).block();
+
+        assertNotNull(task);
+        assertEquals("after", task.getName());
+
+        // Verify
+        verify(taskNameService, times(1)).releaseReactive(eq("before"), anyString());
+        verify(taskCacheService, times(1)).evict(id, "before");
+        verify(taskCacheService, times(1)).refresh(task);
+
+    }
+
+    @Test
+    void givenOutdatedExpectedVersion_whenUpdateTaskById_thenThrowPreconditionFailedException() {
+
+        // Given
+        final String id = UUID.randomUUID().toString();
+
+        final TaskEntity taskEntity = TaskEntity.builder()
+                .id(id)
+                .name("before")
+                .version(6L)
+                .build();
+
+        final UpdateTaskRequest updateTaskRequest = UpdateTaskRequest.builder()
+                .name("after")
+                .build();
+
+        // When
+        when(reactiveTaskRepository.findById(id)).thenReturn(Mono.just(taskEntity));
+
+        // Then
+        final Mono<Task> update = reactiveTaskService.updateTaskById(id, updateTaskRequest, 5L);
+
+        assertThrows(PreconditionFailedException.class, update::block);
+
+        // Verify
+        verify(reactiveTaskRepository, never()).save(any(TaskEntity.class));
+        verifyNoInteractions(taskNameService);
+
+    }
+
+    @Test
+    void givenConcurrentChange_whenUpdateTaskById_thenReleaseNewNameAndThrowPreconditionFailedException() {
+
+        // Given
+        final String id = UUID.randomUUID().toString();
+
+        final TaskEntity taskEntity = TaskEntity.builder()
+                .id(id)
+                .name("before")
+                .version(5L)
+                .build();
+
+        final UpdateTaskRequest updateTaskRequest = UpdateTaskRequest.builder()
+                .name("after")
+                .build();
+
+        // When
+        when(reactiveTaskRepository.findById(id)).thenReturn(Mono.just(taskEntity));
+        when(taskNameService.reserveReactive("after", id)).thenReturn(Mono.empty());
+        when(taskNameService.releaseReactive(eq("after"), anyString())).thenReturn(Mono.empty());
+        when(reactiveTaskRepository.save(taskEntity))
+                .thenReturn(Mono.error(new OptimisticLockingFailureException("CAS mismatch")));
+
+        // Then
+        final Mono<Task> update = reactiveTaskService.updateTaskById(id, updateTaskRequest, null);
+
+        assertThrows(PreconditionFailedException.class, update::block);
+
+        // Verify
+        verify(taskNameService, times(1)).releaseReactive(eq("after"), anyString());
+        verify(taskNameService, never()).releaseReactive(eq("before"), anyString());
+        verify(taskCacheService, times(1)).evict(id, "before");
+
+    }
+
+    @Test
+    void givenOutdatedExpectedVersion_whenDeleteTaskById_thenThrowPreconditionFailedException() {
+
+        // Given
+        final String id = UUID.randomUUID().toString();
+
+        // When
+        when(reactiveTaskRepository.delete(any(TaskEntity.class)))
+                .thenReturn(Mono.error(new OptimisticLockingFailureException("CAS mismatch")));
+
+        // Then
+        final Mono<Void> delete = reactiveTaskService.deleteTaskById(id, 5L);
+
+        assertThrows(PreconditionFailedException.class, delete::block);
+
+        // Verify
+        verify(reactiveTaskRepository, never()).findById(anyString());
+        verify(reactiveTaskRepository, times(1)).delete(argThat((TaskEntity taskEntity) ->
+                id.equals(taskEntity.getId()) && Long.valueOf(5L).equals(taskEntity.getVersion())));
+        verify(taskCacheService, times(1)).evict(id, null);
+
+    }
+
+    @Test
+    void givenTaskWithoutExpectedVersion_whenDeleteTaskById_thenDeleteTaskAndReleaseName() {
+
+        // Given
+        final String id = UUID.randomUUID().toString();
+
+        final TaskEntity taskEntity = TaskEntity.builder()
+                .id(id)
+                .name("task")
+                .version(5L)
+                .build();
+
+        // When
+        when(reactiveTaskRepository.findById(id)).thenReturn(Mono.just(taskEntity));
+        when(reactiveTaskRepository.delete(taskEntity)).thenReturn(Mono.empty());
+        when(taskNameService.releaseReactive(eq("task"), anyString())).thenReturn(Mono.empty());
+
+        // Then
+        reactiveTaskService.deleteTaskById(id, null).block();
+
+        // Verify
+        verify(reactiveTaskRepository, times(1)).delete(taskEntity);
+        verify(taskNameService, times(1)).releaseReactive(eq("task"), anyString());
+        verify(taskCacheService, times(1)).evict(id, "task");
+
+    }
+
+}
@@ -0,0 +1,282 @@
+package com.example.todowithcouchbase.task.service.impl;
+
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import com.example.todowithcouchbase.task.exception.TaskWithThisNameAlreadyExistException;
+import com.example.todowithcouchbase.task.model.BulkTaskResult;
+import com.example.todowithcouchbase.task.model.TaskImportSummary;
+import com.example.todowithcouchbase.task.model.dto.request.SaveTaskRequest;
+import com.example.todowithcouchbase.task.model.entity.TaskEntity;
+import com.example.todowithcouchbase.task.repository.TaskRepository;
+import com.example.todowithcouchbase.task.service.TaskNameService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link TaskBulkServiceImpl}.
+ * This test class verifies that every task of a batch is reported in request order, that names repeated
+ * within the batch or already taken are rejected per task, and that a failed insert releases its name reservation.
+ * It also verifies that imported lines are validated one by one and counted in the import summary.
+ * It mocks the {@link TaskRepository} and {@link TaskNameService} to isolate the service logic.
+ */
+class TaskBulkServiceImplTest extends AbstractBaseServiceTest {
+
+    private TaskBulkServiceImpl taskBulkService;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskNameService taskNameService;
+
+    @BeforeEach
+    void setUp() {
+        taskBulkService = new TaskBulkServiceImpl(
+                taskRepository,
+                taskNameService,
+                new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                4,
+                1
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskBulkService.close();
+    }
+
+    @Test
+    void whenClose_thenShutDownExecutor() {
+
+        // When
+        taskBulkService.close();
+
+        // Then
+        final ExecutorService executor = (ExecutorService) ReflectionTestUtils.getField(taskBulkService, "executor");
+
+        assertNotNull(executor);
+        assertTrue(executor.isTerminated());
+
+    }
+
+    @Test
+    void givenTasksWithFreeNames_whenSaveTasksToDatabase_thenReturnSuccessForEachTaskInOrder() {
+
+        // Given
+        final List<SaveTaskRequest> requests = List.of(
+                SaveTaskRequest.builder().name("task-1").build(),
+                SaveTaskRequest.builder().name("task-2").build(),
+                SaveTaskRequest.builder().name("task-3").build()
+        );
+
+        // When
+        when(taskNameService.reserveReactive(anyString(), anyString())).thenReturn(Mono.empty());
+        when(taskRepository.insertReactive(any(TaskEntity.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // Then
+        final List<BulkTaskResult> results = taskBulkService.saveTasksToDatabase(requests);
+
+        assertEquals(3, results.size());
+        for (int index = 0; index < results.size(); index++) {
+            assertEquals(index, results.get(index).getIndex());
+            assertEquals(requests.get(index).getName(), results.get(index).getName());
+            assertTrue(results.get(index).isSuccess());
+            assertNotNull(results.get(index).getId());
+        }
+
+        // Verify
+        verify(taskNameService, times(3)).reserveReactive(anyString(), anyString());
+        verify(taskRepository, times(3)).insertReactive(any(TaskEntity.class));
+        verify(taskNameService, never()).releaseReactive(anyString(), anyString());
+
+    }
+
+    @Test
+    void givenTaskNameRepeatedInBatch_whenSaveTasksToDatabase_thenRejectRepeatedTask() {
+
+        // Given
+        final List<SaveTaskRequest> requests = List.of(
+                SaveTaskRequest.builder().name("Task").build(),
+                SaveTaskRequest.builder().name(" task ").build()
+        );
+
+        // When
+        when(taskNameService.reserveReactive(anyString(), anyString())).thenReturn(Mono.empty());
+        when(taskRepository.insertReactive(any(TaskEntity.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // Then
+        final List<BulkTaskResult> results = taskBulkService.saveTasksToDatabase(requests);
+
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertNull(results.get(1).getId());
+
+        // Verify
+        verify(taskNameService, times(1)).reserveReactive(eq("Task"), anyString());
+        verify(taskRepository, times(1)).insertReactive(any(TaskEntity.class));
+
+    }
+
+    @Test
+    void givenTakenTaskName_whenSaveTasksToDatabase_thenReportFailureAndSaveOthers() {
+
+        // Given
+        final List<SaveTaskRequest> requests = List.of(
+                SaveTaskRequest.builder().name("taken").build(),
+                SaveTaskRequest.builder().name("free").build()
+        );
+
+        // When
+        when(taskNameService.reserveReactive(eq("taken"), anyString()))
+                .thenReturn(Mono.error(new TaskWithThisNameAlreadyExistException("With given task name = taken")));
+        when(taskNameService.reserveReactive(eq("free"), anyString())).thenReturn(Mono.empty());
+        when(taskRepository.insertReactive(any(TaskEntity.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // Then
+        final List<BulkTaskResult> results = taskBulkService.saveTasksToDatabase(requests);
+
+        assertFalse(results.get(0).isSuccess());
+        assertTrue(results.get(0).getMessage().contains("taken"));
+        assertTrue(results.get(1).isSuccess());
+
+        // Verify
+        verify(taskRepository, times(1)).insertReactive(any(TaskEntity.class));
+        verify(taskNameService, never()).releaseReactive(anyString(), anyString());
+
+    }
+
+    @Test
+    void givenFailingInsert_whenSaveTasksToDatabase_thenReleaseNameAndReportFailure() {
+
+        // Given
+        final List<SaveTaskRequest> requests = List.of(
+                SaveTaskRequest.builder().name("task").build()
+        );
+
+        // When
+        when(taskNameService.reserveReactive(eq("task"), anyString())).thenReturn(Mono.empty());
+        when(taskRepository.insertReactive(any(TaskEntity.class)))
+                .thenReturn(Mono.error(new IllegalStateException("Database error")));
+        when(taskNameService.releaseReactive(eq("task"), anyString())).thenReturn(Mono.empty());
+
+        // Then
+        final List<BulkTaskResult> results = taskBulkService.saveTasksToDatabase(requests);
+
+        assertEquals(1, results.size());
+        assertFalse(results.get(0).isSuccess());
+
+        // Verify
+        verify(taskNameService, times(1)).releaseReactive(eq("task"), anyString());
+
+    }
+
+    @Test
+    void givenValidLines_whenImportTasks_thenAcceptEveryLine() {
+
+        // Given
+        final InputStream inputStream = ndjson(
+                """
+                {"name":"task-1"}
+
+                {"name":"task-2"}
+                {"name":"task-3"}
+                """
+        );
+
+        // When
+        when(taskNameService.reserveReactive(anyString(), anyString())).thenReturn(Mono.empty());
+        when(taskRepository.insertReactive(any(TaskEntity.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // Then
+        final TaskImportSummary summary = taskBulkService.importTasks(inputStream);
+
+        assertEquals(3, summary.getAcceptedCount());
+        assertEquals(0, summary.getRejectedCount());
+        assertTrue(summary.getRejections().isEmpty());
+
+        // Verify
+        verify(taskRepository, times(3)).insertReactive(any(TaskEntity.class));
+
+    }
+
+    @Test
+    void givenInvalidLines_whenImportTasks_thenRejectThemAndReportFirstRejection() {
+
+        // Given
+        final InputStream inputStream = ndjson(
+                """
+                {"name":"task-1"}
+                not json
+                {"name":" "}
+                """
+        );
+
+        // When
+        when(taskNameService.reserveReactive(anyString(), anyString())).thenReturn(Mono.empty());
+        when(taskRepository.insertReactive(any(TaskEntity.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // Then
+        final TaskImportSummary summary = taskBulkService.importTasks(inputStream);
+
+        assertEquals(1, summary.getAcceptedCount());
+        assertEquals(2, summary.getRejectedCount());
+        assertEquals(1, summary.getRejections().size());
+        assertFalse(summary.getRejections().get(0).isSuccess());
+
+        // Verify
+        verify(taskNameService, times(1)).reserveReactive(eq("task-1"), anyString());
+        verify(taskRepository, times(1)).insertReactive(any(TaskEntity.class));
+
+    }
+
+    @Test
+    void givenLineWithTakenName_whenImportTasks_thenRejectLineWithReason() {
+
+        // Given
+        final InputStream inputStream = ndjson("{\"name\":\"taken\"}\n");
+
+        // When
+        when(taskNameService.reserveReactive(eq("taken"), anyString()))
+                .thenReturn(Mono.error(new TaskWithThisNameAlreadyExistException("With given task name = taken")));
+
+        // Then
+        final TaskImportSummary summary = taskBulkService.importTasks(inputStream);
+
+        assertEquals(0, summary.getAcceptedCount());
+        assertEquals(1, summary.getRejectedCount());
+        assertEquals(0, summary.getRejections().get(0).getIndex());
+        assertEquals("taken", summary.getRejections().get(0).getName());
+
+        // Verify
+        verify(taskRepository, never()).insertReactive(any(TaskEntity.class));
+
+    }
+
+    private static InputStream ndjson(final String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,260 @@
+package com.example.todowithcouchbase.task.service.impl;
+
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import com.example.todowithcouchbase.task.model.Task;
+import com.example.todowithcouchbase.task.model.enums.TaskCacheConsistencyMode;
+import com.example.todowithcouchbase.task.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link TaskCacheServiceImpl}.
+ * This test class verifies that tasks and task IDs are cached, that entries are dropped when they expire,
+ * are invalidated or no longer match the document version, that the cache size is capped,
+ * and that hits and misses are counted.
+ */
+class TaskCacheServiceImplTest extends AbstractBaseServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void givenCachedTask_whenGet_thenReturnCachedTaskAndCountHit() {
+
+        // Given
+        final TaskCacheServiceImpl taskCacheService = taskCacheService(10, 60_000, TaskCacheConsistencyMode.TTL);
+        final Task task = task("Task");
+
+        // When
+        taskCacheService.put(task, taskCacheService.getInvalidationStamp(task.getId()));
+        final Optional<Task> cachedTask = taskCacheService.get(task.getId());
+
+        // Then
+        assertTrue(cachedTask.isPresent());
+        assertSame(task, cachedTask.get());
+        assertEquals(1.0, meterRegistry.get("task.cache.gets").tag("cache", "task").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("task.cache.size").tag("cache", "task").gauge().value());
+
+        // Verify
+        verify(taskRepository, never()).findCasById(anyString());
+
+    }
+
+    @Test
+    void givenExpiredTask_whenGet_thenReturnEmptyAndCountEviction() {
+
+        // Given
+        final TaskCacheServiceImpl taskCacheService = taskCacheService(10, 0, TaskCacheConsistencyMode.TTL);
+        final Task task = task("Task");
+
+        // When
+        taskCacheService.put(task, taskCacheService.getInvalidationStamp(task.getId()));
+
+        // Then
+        assertTrue(taskCacheService.get(task.getId()).isEmpty());
+        assertEquals(1.0, meterRegistry.get("task.cache.gets").tag("cache", "task").tag("result", "miss").counter().count());
+        assertEquals(1.0, meterRegistry.get("task.cache.evictions").tag("reason", "expired").counter().count());
+
+    }
+
+    @Test
+    void givenEvictedTask_whenGet_thenReturnEmptyAndForgetName() {
+
+        // Given
+        final TaskCacheServiceImpl taskCacheService = taskCacheService(10, 60_000, TaskCacheConsistencyMode.TTL);
+        final Task task = task("Task");
+
+        // When
+        taskCacheService.refresh(task);
+        taskCacheService.evict(task.getId(), task.getName());
+
+        // Then
+        assertTrue(taskCacheService.get(task.getId()).isEmpty());
+        assertTrue(taskCacheService.getTaskId(task.getName()).isEmpty());
+
+    }
+
+    @Test
+    void givenTaskEvictedWhileBeingRead_whenPut_thenDoNotCacheStaleTask() {
+
+        // Given
+        final TaskCacheServiceImpl taskCacheService = taskCacheService(10, 60_000, TaskCacheConsistencyMode.TTL);
+        final Task task = task("Task");
+
+        // When
+        final long invalidationStamp = taskCacheService.getInvalidationStamp(task.getId());
+        taskCacheService.evict(task.getId(), task.getName());
+        taskCacheService.put(task, invalidationStamp);
+
+        // Then
+        assertTrue(taskCacheService.get(task.getId()).isEmpty());
+
+    }
+
+    @Test
+    void givenTaskRefreshedWhileBeingRead_whenPut_thenKeepRefreshedTask() {
+
+        // Given
+        final TaskCacheServiceImpl taskCacheService = taskCacheService(10, 60_000, TaskCacheConsistencyMode.TTL);
+        final Task staleTask = task("Task");
+        final Task refreshedTask = Task.builder()
+                .id(staleTask.getId())
+                .name("Renamed Task")
+                .build();
+
+        // When
+        final long invalidationStamp = taskCacheService.getInvalidationStamp(staleTask.getId());
+        taskCacheService.refresh(refreshedTask);
+        taskCacheService.put(staleTask, invalidationStamp);
+
+        // Then
+        assertSame(refreshedTask, taskCacheService.get(staleTask.getId()).orElseThrow());
+
+    }
+
+    @Test
+    void givenRefreshedTask_whenGetTaskIdWithDifferentCase_thenReturnTaskId() {
+
+        // Given
+        final TaskCacheServiceImpl taskCacheService = taskCacheService(10, 60_000, TaskCacheConsistencyMode.TTL);
+        final Task task = task("Task");
+
+        // When
+        taskCacheService.refresh(task);
+
+        // Then
+        assertEquals(Optional.of(task.getId()), taskCacheService.getTaskId("  TASK "));
+        assertTrue(taskCacheService.get(task.getId()).isPresent());
+
+    }
+
+    @Test
+    void givenFullCache_whenPut_thenKeepSizeCapped() {
+
+        // Given
+        final TaskCacheServiceImpl taskCacheService = taskCacheService(2, 60_000, TaskCacheConsistencyMode.TTL);
+        final Task firstTask = task("First Task");
+        final Task secondTask = task("Second Task");
+        final Task thirdTask = task("Third Task");
+
+        // When
+        taskCacheService.put(firstTask, taskCacheService.getInvalidationStamp(firstTask.getId()));
+        taskCacheService.put(secondTask, taskCacheService.getInvalidationStamp(secondTask.getId()));
+        taskCacheService.put(thirdTask, taskCacheService.getInvalidationStamp(thirdTask.getId()));
+
+        // Then
+        assertTrue(taskCacheService.get(thirdTask.getId()).isPresent());
+        assertEquals(2.0, meterRegistry.get("task.cache.size").tag("cache", "task").gauge().value());
+        assertEquals(1.0, meterRegistry.get("task.cache.evictions").tag("reason", "size").counter().count());
+
+    }
+
+    @Test
+    void givenVersionStampModeAndUnchangedDocument_whenGet_thenReturnCachedTask() {
+
+        // Given
+        final TaskCacheServiceImpl taskCacheService = taskCacheService(10, 60_000, TaskCacheConsistencyMode.VERSION_STAMP);
+        final Task task = task("Task");
+
+        task.setVersion(42L);
+
+        // When
+        when(taskRepository.findCasById(task.getId())).thenReturn(Optional.of(42L));
+
+        taskCacheService.put(task, taskCacheService.getInvalidationStamp(task.getId()));
+
+        // Then
+        assertTrue(taskCacheService.get(task.getId()).isPresent());
+
+        // Verify
+        verify(taskRepository, times(1)).findCasById(task.getId());
+
+    }
+
+    @Test
+    void givenVersionStampModeAndChangedDocument_whenGet_thenReturnEmptyAndCountStaleEviction() {
+
+        // Given
+        final TaskCacheServiceImpl taskCacheService = taskCacheService(10, 60_000, TaskCacheConsistencyMode.VERSION_STAMP);
+        final Task task = task("Task");
+
+        task.setVersion(42L);
+
+        // When
+        when(taskRepository.findCasById(task.getId())).thenReturn(Optional.of(43L));
+
+        taskCacheService.put(task, taskCacheService.getInvalidationStamp(task.getId()));
+
+        // Then
+        assertTrue(taskCacheService.get(task.getId()).isEmpty());
+        assertEquals(1.0, meterRegistry.get("task.cache.evictions").tag("reason", "stale").counter().count());
+
+    }
+
+    @Test
+    void givenVersionStampModeAndTaskWithoutVersion_whenPut_thenDoNotCacheTask() {
+
+        // Given
+        final TaskCacheServiceImpl taskCacheService = taskCacheService(10, 60_000, TaskCacheConsistencyMode.VERSION_STAMP);
+        final Task task = task("Task");
+
+        // When
+        taskCacheService.put(task, taskCacheService.getInvalidationStamp(task.getId()));
+
+        // Then
+        assertTrue(taskCacheService.get(task.getId()).isEmpty());
+
+        // Verify
+        verify(taskRepository, never()).findCasById(anyString());
+
+    }
+
+    @Test
+    void givenVersionStampMode_whenRefreshWithWrittenVersion_thenServeWrittenTask() {
+
+        // Given
+        final TaskCacheServiceImpl taskCacheService = taskCacheService(10, 60_000, TaskCacheConsistencyMode.VERSION_STAMP);
+        final Task task = task("Task");
+        task.setVersion(43L);
+
+        // When
+        when(taskRepository.findCasById(task.getId())).thenReturn(Optional.of(43L));
+
+        taskCacheService.refresh(task);
+
+        // Then
+        assertTrue(taskCacheService.get(task.getId()).isPresent());
+        assertEquals(Optional.of(task.getId()), taskCacheService.getTaskId(task.getName()));
+
+    }
+
+    private TaskCacheServiceImpl taskCacheService(final int maxSize,
+                                                  final long ttlMillis,
+                                                  final TaskCacheConsistencyMode consistencyMode) {
+        return new TaskCacheServiceImpl(maxSize, ttlMillis, consistencyMode, taskRepository, meterRegistry);
+    }
+
+    private static Task task(final String name) {
+        return Task.builder()
+                .id(UUID.randomUUID().toString())
+                .name(name)
+                .build();
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.example.todowithcouchbase.task.service.impl;
+
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import com.example.todowithcouchbase.task.model.entity.TaskEntity;
+import com.example.todowithcouchbase.task.repository.TaskRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link TaskExportServiceImpl}.
+ * This test class verifies that tasks are written as one JSON object per line, and that the query
+ * is cancelled when the output stream fails.
+ * It mocks the {@link TaskRepository} to isolate the service logic.
+ */
+class TaskExportServiceImplTest extends AbstractBaseServiceTest {
+
+    private TaskExportServiceImpl taskExportService;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @BeforeEach
+    void setUp() {
+        taskExportService = new TaskExportServiceImpl(taskRepository, new ObjectMapper(), 2);
+    }
+
+    @Test
+    void givenTasks_whenExportTasks_thenWriteOneJsonLinePerTask() throws IOException {
+
+        // Given
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        when(taskRepository.findAllReactive()).thenReturn(Flux.just(
+                TaskEntity.builder().id("id-1").name("task-1").build(),
+                TaskEntity.builder().id("id-2").name("task-2").build(),
+                TaskEntity.builder().id("id-3").name("task-3").build()
+        ));
+
+        // Then
+        taskExportService.exportTasks(outputStream);
+
+        assertEquals(
+                """
+                {"id":"id-1","name":"task-1"}
+                {"id":"id-2","name":"task-2"}
+                {"id":"id-3","name":"task-3"}
+                """,
+                outputStream.toString(StandardCharsets.UTF_8)
+        );
+
+        // Verify
+        verify(taskRepository, times(1)).findAllReactive();
+
+    }
+
+    @Test
+    void givenNoTasks_whenExportTasks_thenWriteNothing() throws IOException {
+
+        // Given
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        when(taskRepository.findAllReactive()).thenReturn(Flux.empty());
+
+        // Then
+        taskExportService.exportTasks(outputStream);
+
+        assertEquals(0, outputStream.size());
+
+    }
+
+    @Test
+    void givenFailingOutputStream_whenExportTasks_thenCancelQuery() {
+
+        // Given
+        final AtomicBoolean cancelled = new AtomicBoolean(false);
+
+        final OutputStream failingOutputStream = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        // When
+        when(taskRepository.findAllReactive()).thenReturn(
+                Flux.range(0, 1_000)
+                        .<TaskEntity>map(index -> TaskEntity.builder().id("id-" + index).name("task-" + index).build())
+                        .doOnCancel(() -> cancelled.set(true))
+        );
+
+        // Then
+        assertThrows(IOException.class, () -> taskExportService.exportTasks(failingOutputStream));
+
+        assertTrue(cancelled.get());
+
+    }
+
+}
@@ -0,0 +1,279 @@
+package com.example.todowithcouchbase.task.service.impl;
+
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import com.example.todowithcouchbase.builder.TaskEntityBuilder;
+import com.example.todowithcouchbase.common.model.BackfillPage;
+import com.example.todowithcouchbase.task.exception.TaskWithThisNameAlreadyExistException;
+import com.example.todowithcouchbase.task.model.entity.TaskEntity;
+import com.example.todowithcouchbase.task.model.entity.TaskNameEntity;
+import com.example.todowithcouchbase.task.repository.TaskNameRepository;
+import com.example.todowithcouchbase.task.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.dao.DuplicateKeyException;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link TaskNameServiceImpl}.
+ * This test class verifies that name reservation documents are keyed by normalized task name,
+ * that a taken task name is rejected, that reservations orphaned by deleted tasks are reclaimed,
+ * and that missing reservation documents are backfilled one page at a time.
+ * It mocks the {@link TaskNameRepository} and {@link TaskRepository} to isolate the service logic.
+ */
+class TaskNameServiceImplTest extends AbstractBaseServiceTest {
+
+    @InjectMocks
+    private TaskNameServiceImpl taskNameService;
+
+    @Mock
+    private TaskNameRepository taskNameRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Test
+    void givenFreeTaskName_whenReserve_thenInsertReservationKeyedByNormalizedName() {
+
+        // Given
+        final String name = "  Buy Milk ";
+        final String taskId = "task-id";
+
+        // When
+        when(taskNameRepository.insert(any(TaskNameEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Then
+        assertDoesNotThrow(() -> taskNameService.reserve(name, taskId));
+
+        // Verify
+        verify(taskNameRepository).insert(argThat(taskNameEntity ->
+                "buy milk".equals(taskNameEntity.getId()) && taskId.equals(taskNameEntity.getTaskId())
+        ));
+
+    }
+
+    @Test
+    void givenTakenTaskName_whenReserve_thenThrowTaskWithThisNameAlreadyExistException() {
+
+        // Given
+        final String name = "buy milk";
+
+        // When
+        when(taskNameRepository.insert(any(TaskNameEntity.class)))
+                .thenThrow(new DuplicateKeyException("Document exists"));
+
+        // Then
+        assertThrows(TaskWithThisNameAlreadyExistException.class, () -> taskNameService.reserve(name, "task-id"));
+
+        // Verify
+        verify(taskNameRepository).insert(any(TaskNameEntity.class));
+
+    }
+
+    @Test
+    void givenNameReservedByDeletedTask_whenReserve_thenReclaimReservation() {
+
+        // Given
+        final TaskNameEntity orphanedReservation = TaskNameEntity.builder()
+                .id("buy milk")
+                .taskId("deleted-task-id")
+                .version(5L)
+                .createdAt(LocalDateTime.now().minusHours(1))
+                .build();
+
+        // When
+        when(taskNameRepository.insert(any(TaskNameEntity.class)))
+                .thenThrow(new DuplicateKeyException("Document exists"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(taskNameRepository.findById("buy milk")).thenReturn(Optional.of(orphanedReservation));
+        when(taskRepository.existsById("deleted-task-id")).thenReturn(false);
+
+        // Then
+        assertDoesNotThrow(() -> taskNameService.reserve("Buy Milk", "task-id"));
+
+        // Verify
+        verify(taskNameRepository).delete(orphanedReservation);
+        verify(taskNameRepository, times(2)).insert(any(TaskNameEntity.class));
+
+    }
+
+    @Test
+    void givenFreshReservationOfUnsavedTask_whenReserve_thenThrowTaskWithThisNameAlreadyExistException() {
+
+        // Given
+        final TaskNameEntity freshReservation = TaskNameEntity.builder()
+                .id("buy milk")
+                .taskId("unsaved-task-id")
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        // When
+        when(taskNameRepository.insert(any(TaskNameEntity.class)))
+                .thenThrow(new DuplicateKeyException("Document exists"));
+        when(taskNameRepository.findById("buy milk")).thenReturn(Optional.of(freshReservation));
+
+        // Then
+        assertThrows(TaskWithThisNameAlreadyExistException.class,
+                () -> taskNameService.reserve("Buy Milk", "task-id"));
+
+        // Verify
+        verify(taskRepository, never()).existsById(any());
+        verify(taskNameRepository, never()).delete(any(TaskNameEntity.class));
+
+    }
+
+    @Test
+    void givenTakenTaskName_whenReserveReactive_thenFailWithTaskWithThisNameAlreadyExistException() {
+
+        // When
+        when(taskNameRepository.insertReactive(any(TaskNameEntity.class)))
+                .thenReturn(Mono.error(new DuplicateKeyException("Document exists")));
+
+        // Then
+        assertThrows(TaskWithThisNameAlreadyExistException.class,
+                () -> taskNameService.reserveReactive("Buy Milk", "task-id").block());
+
+        // Verify
+        verify(taskNameRepository).insertReactive(argThat(taskNameEntity -> "buy milk".equals(taskNameEntity.getId())));
+
+    }
+
+    @Test
+    void givenReservedTaskName_whenRelease_thenDeleteReservationOwnedByTask() {
+
+        // Given
+        final String name = "Buy Milk";
+
+        // When
+        when(taskNameRepository.deleteIfOwnedBy("buy milk", "task-id")).thenReturn(true);
+
+        // Then
+        taskNameService.release(name, "task-id");
+
+        // Verify
+        verify(taskNameRepository).deleteIfOwnedBy("buy milk", "task-id");
+        verify(taskNameRepository, never()).deleteById(any());
+
+    }
+
+    @Test
+    void givenTaskNameReservedByAnotherTask_whenRelease_thenKeepReservation() {
+
+        // When
+        when(taskNameRepository.deleteIfOwnedBy("buy milk", "duplicate-task-id")).thenReturn(false);
+
+        // Then
+        assertDoesNotThrow(() -> taskNameService.release("Buy Milk", "duplicate-task-id"));
+
+        // Verify
+        verify(taskNameRepository, never()).deleteById(any());
+        verify(taskNameRepository, never()).delete(any(TaskNameEntity.class));
+
+    }
+
+    @Test
+    void givenTaskNameReservedByAnotherTask_whenReleaseReactive_thenCompleteAndKeepReservation() {
+
+        // When
+        when(taskNameRepository.deleteIfOwnedByReactive("buy milk", "duplicate-task-id")).thenReturn(Mono.just(false));
+
+        // Then
+        assertDoesNotThrow(() -> taskNameService.releaseReactive("Buy Milk", "duplicate-task-id").block());
+
+        // Verify
+        verify(taskNameRepository).deleteIfOwnedByReactive("buy milk", "duplicate-task-id");
+
+    }
+
+    @Test
+    void givenReservedTaskName_whenFindTaskIdByName_thenReturnTaskId() {
+
+        // Given
+        final TaskNameEntity taskNameEntity = TaskNameEntity.builder()
+                .id("buy milk")
+                .taskId("task-id")
+                .build();
+
+        // When
+        when(taskNameRepository.findById("buy milk")).thenReturn(Optional.of(taskNameEntity));
+
+        // Then
+        final Optional<String> taskId = taskNameService.findTaskIdByName("Buy Milk");
+
+        assertEquals(Optional.of("task-id"), taskId);
+
+        // Verify
+        verify(taskNameRepository).findById("buy milk");
+
+    }
+
+    @Test
+    void givenUnknownTaskName_whenFindTaskIdByName_thenReturnEmpty() {
+
+        // When
+        when(taskNameRepository.findById("unknown")).thenReturn(Optional.empty());
+
+        // Then
+        assertTrue(taskNameService.findTaskIdByName("unknown").isEmpty());
+
+    }
+
+    @Test
+    void givenFullPageOfTasks_whenBackfillTaskNames_thenInsertMissingReservationsAndReturnNextKey() {
+
+        // Given
+        final TaskEntity firstTaskEntity = new TaskEntityBuilder().withValidFields();
+        final TaskEntity secondTaskEntity = new TaskEntityBuilder().withValidFields();
+
+        // When
+        when(taskRepository.findPageAfterId("", 2)).thenReturn(List.of(firstTaskEntity, secondTaskEntity));
+        when(taskNameRepository.insert(any(TaskNameEntity.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0))
+                .thenThrow(new DuplicateKeyException("Document exists"));
+
+        // Then
+        final BackfillPage backfillPage = taskNameService.backfillTaskNames(null, 2);
+
+        assertEquals(2, backfillPage.getScannedCount());
+        assertEquals(1, backfillPage.getCreatedCount());
+        assertEquals(secondTaskEntity.getId(), backfillPage.getNextAfter());
+
+        // Verify
+        verify(taskNameRepository, times(2)).insert(any(TaskNameEntity.class));
+        verify(taskRepository, never()).findAll();
+
+    }
+
+    @Test
+    void givenLastPageOfTasks_whenBackfillTaskNames_thenReturnNoNextKey() {
+
+        // Given
+        final String after = "last-task-id";
+        final TaskEntity taskEntity = new TaskEntityBuilder().withValidFields();
+
+        // When
+        when(taskRepository.findPageAfterId(after, 2)).thenReturn(List.of(taskEntity));
+        when(taskNameRepository.insert(any(TaskNameEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Then
+        final BackfillPage backfillPage = taskNameService.backfillTaskNames(after, 2);
+
+        assertEquals(1, backfillPage.getScannedCount());
+        assertEquals(1, backfillPage.getCreatedCount());
+        assertNull(backfillPage.getNextAfter());
+
+        // Verify
+        verify(taskRepository).findPageAfterId(after, 2);
+
+    }
+
+}
@@ -4,12 +4,17 @@ import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
 import com.example.todowithcouchbase.builder.SaveTaskRequestBuilder;
 import com.example.todowithcouchbase.builder.TaskEntityBuilder;
 import com.example.todowithcouchbase.builder.UpdateTaskRequestBuilder;
+import com.example.todowithcouchbase.common.exception.InvalidCursorException;
+import com.example.todowithcouchbase.common.exception.PreconditionFailedException;
+import com.example.todowithcouchbase.common.model.CustomCursor;
 import com.example.todowithcouchbase.common.model.CustomPage;
 import com.example.todowithcouchbase.common.model.CustomPaging;
 import com.example.todowithcouchbase.task.exception.TaskNotFoundException;
 import com.example.todowithcouchbase.task.exception.TaskWithThisNameAlreadyExistException;
 import com.example.todowithcouchbase.task.model.Task;
+import com.example.todowithcouchbase.task.model.TaskBatch;
 import com.example.todowithcouchbase.task.model.dto.request.GetTaskByNameRequest;
+import com.example.todowithcouchbase.task.model.dto.request.PatchTaskRequest;
 import com.example.todowithcouchbase.task.model.dto.request.SaveTaskRequest;
 import com.example.todowithcouchbase.task.model.dto.request.TaskPagingRequest;
 import com.example.todowithcouchbase.task.model.dto.request.UpdateTaskRequest;
@@ -18,15 +23,21 @@ import com.example.todowithcouchbase.task.model.mapper.ListTaskEntityToListTaskM
 import com.example.todowithcouchbase.task.model.mapper.SaveTaskRequestToTaskEntityMapper;
 import com.example.todowithcouchbase.task.model.mapper.TaskEntityToTaskMapper;
 import com.example.todowithcouchbase.task.repository.TaskRepository;
+import com.example.todowithcouchbase.task.service.TaskCacheService;
+import com.example.todowithcouchbase.task.service.TaskNameService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -46,6 +57,12 @@ class TaskServiceImplTest extends AbstractBaseServiceTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private TaskNameService taskNameService;
+
+    @Mock
+    private TaskCacheService taskCacheService;
+
 
     private final SaveTaskRequestToTaskEntityMapper saveTaskRequestToTaskEntityMapper =
             SaveTaskRequestToTaskEntityMapper.initialize();
@@ -68,17 +85,19 @@ class TaskServiceImplTest extends AbstractBaseServiceTest {
         final Task mockTask = taskEntityToTaskMapper.map(mockTaskEntity);
 
         // When
-        Mockito.when(taskRepository.existsByName(Mockito.anyString())).thenReturn(false);
+        Mockito.doNothing().when(taskNameService).reserve(Mockito.eq(request.getName()), Mockito.anyString());
         Mockito.when(taskRepository.save(any(TaskEntity.class))).thenReturn(mockTaskEntity);
 
         // Then
         Task response = taskService.saveTaskToDatabase(request);
 
         Assertions.assertEquals(mockTask.getName(),response.getName());
+        Assertions.assertNotNull(response.getId());
 
         // Verify
         Mockito.verify(taskRepository,Mockito.times(1)).save(any(TaskEntity.class));
-        Mockito.verify(taskRepository, Mockito.times(1)).existsByName(Mockito.anyString());
+        Mockito.verify(taskNameService, Mockito.times(1)).reserve(request.getName(), response.getId());
+        Mockito.verify(taskNameService, Mockito.never()).release(Mockito.anyString(), Mockito.anyString());
 
     }
 
@@ -90,17 +109,38 @@ class TaskServiceImplTest extends AbstractBaseServiceTest {
                 .withValidFields().build();
 
         // When
-        Mockito.when(taskRepository.existsByName(request.getName())).thenReturn(true);
+        Mockito.doThrow(new TaskWithThisNameAlreadyExistException("With given task name = " + request.getName()))
+                .when(taskNameService).reserve(Mockito.eq(request.getName()), Mockito.anyString());
 
         // Then
         Assertions.assertThrowsExactly(TaskWithThisNameAlreadyExistException.class,()->taskService.saveTaskToDatabase(request));
 
         // Verify
-        Mockito.verify(taskRepository,Mockito.times(1)).existsByName(Mockito.anyString());
+        Mockito.verify(taskNameService,Mockito.times(1)).reserve(Mockito.eq(request.getName()), Mockito.anyString());
         Mockito.verify(taskRepository,Mockito.times(0)).save(any(TaskEntity.class));
 
     }
 
+    @Test
+    void givenValidTaskCreateRequest_whenSaveFails_ThenReleaseTaskName(){
+
+        // Given
+        final SaveTaskRequest request = new SaveTaskRequestBuilder()
+                .withValidFields().build();
+
+        // When
+        Mockito.doNothing().when(taskNameService).reserve(Mockito.eq(request.getName()), Mockito.anyString());
+        Mockito.when(taskRepository.save(any(TaskEntity.class))).thenThrow(new IllegalStateException("Database error"));
+
+        // Then
+        Assertions.assertThrows(IllegalStateException.class, ()->taskService.saveTaskToDatabase(request));
+
+        // Verify
+        Mockito.verify(taskRepository,Mockito.times(1)).save(any(TaskEntity.class));
+        Mockito.verify(taskNameService,Mockito.times(1)).release(Mockito.eq(request.getName()), Mockito.anyString());
+
+    }
+
     @Test
     void givenTaskPagingRequest_WhenTaskPageList_ThenReturnCustomPageTaskList() {
 
@@ -139,6 +179,108 @@ class TaskServiceImplTest extends AbstractBaseServiceTest {
 
     }
 
+    @Test
+    void givenTaskPagingRequestWithoutPageNumber_WhenTaskPageList_ThenReturnFirstPageWithNextCursor() {
+
+        // Given
+        final TaskPagingRequest pagingRequest = TaskPagingRequest.builder()
+                .pagination(
+                        CustomPaging.builder()
+                                .pageSize(2)
+                                .build()
+                ).build();
+
+        final LocalDateTime createdAt = LocalDateTime.now().withNano(0);
+
+        final TaskEntity firstTaskEntity = new TaskEntityBuilder().withValidFields();
+        firstTaskEntity.setCreatedAt(createdAt);
+        final TaskEntity secondTaskEntity = new TaskEntityBuilder().withValidFields();
+        secondTaskEntity.setCreatedAt(createdAt.plusSeconds(1));
+        final TaskEntity thirdTaskEntity = new TaskEntityBuilder().withValidFields();
+        thirdTaskEntity.setCreatedAt(createdAt.plusSeconds(2));
+
+        // When
+        Mockito.when(taskRepository.findFirstTasksInKeysetOrder(3))
+                .thenReturn(List.of(firstTaskEntity, secondTaskEntity, thirdTaskEntity));
+
+        // Then
+        CustomPage<Task> result = taskService.getAllTasks(pagingRequest);
+
+        Assertions.assertEquals(2, result.getContent().size());
+        Assertions.assertEquals(secondTaskEntity.getId(), result.getContent().get(1).getId());
+        Assertions.assertNull(result.getTotalElementCount());
+
+        final CustomCursor nextCursor = CustomCursor.decode(result.getNextCursor());
+        Assertions.assertEquals(secondTaskEntity.getId(), nextCursor.getId());
+        Assertions.assertEquals(
+                createdAt.plusSeconds(1).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+                nextCursor.getSortKey()
+        );
+
+        // Verify
+        Mockito.verify(taskRepository, Mockito.times(1)).findFirstTasksInKeysetOrder(3);
+        Mockito.verify(taskRepository, Mockito.never()).findAll(any(Pageable.class));
+        Mockito.verify(taskRepository, Mockito.never()).count();
+
+    }
+
+    @Test
+    void givenTaskPagingRequestWithCursor_WhenLastTaskPageList_ThenReturnPageWithoutNextCursor() {
+
+        // Given
+        final String lastTaskId = UUID.randomUUID().toString();
+
+        final TaskPagingRequest pagingRequest = TaskPagingRequest.builder()
+                .pagination(
+                        CustomPaging.builder()
+                                .pageSize(2)
+                                .cursor(new CustomCursor(1000L, lastTaskId).encode())
+                                .includeTotalCount(true)
+                                .build()
+                ).build();
+
+        final TaskEntity taskEntity = new TaskEntityBuilder().withValidFields();
+        taskEntity.setCreatedAt(LocalDateTime.now());
+
+        // When
+        Mockito.when(taskRepository.findTasksAfterInKeysetOrder(1000L, lastTaskId, 3))
+                .thenReturn(List.of(taskEntity));
+        Mockito.when(taskRepository.count()).thenReturn(3L);
+
+        // Then
+        CustomPage<Task> result = taskService.getAllTasks(pagingRequest);
+
+        Assertions.assertEquals(1, result.getContent().size());
+        Assertions.assertNull(result.getNextCursor());
+        Assertions.assertEquals(3L, result.getTotalElementCount());
+        Assertions.assertEquals(2, result.getTotalPageCount());
+
+        // Verify
+        Mockito.verify(taskRepository, Mockito.times(1)).findTasksAfterInKeysetOrder(1000L, lastTaskId, 3);
+        Mockito.verify(taskRepository, Mockito.times(1)).count();
+
+    }
+
+    @Test
+    void givenTaskPagingRequestWithInvalidCursor_WhenTaskPageList_ThenThrowInvalidCursorException() {
+
+        // Given
+        final TaskPagingRequest pagingRequest = TaskPagingRequest.builder()
+                .pagination(
+                        CustomPaging.builder()
+                                .pageSize(2)
+                                .cursor("not-a-cursor")
+                                .build()
+                ).build();
+
+        // Then
+        Assertions.assertThrows(InvalidCursorException.class, () -> taskService.getAllTasks(pagingRequest));
+
+        // Verify
+        Mockito.verifyNoInteractions(taskRepository);
+
+    }
+
     @Test
     void givenTaskPagingRequest_WhenNoTaskPageList_ThenThrowTaskNotFoundException() {
 
@@ -171,14 +313,18 @@ class TaskServiceImplTest extends AbstractBaseServiceTest {
         final String taskName = "Test Task";
         final GetTaskByNameRequest request = new GetTaskByNameRequest(taskName);
 
+        final String taskId = UUID.randomUUID().toString();
+
         final TaskEntity mockTaskEntity = new TaskEntityBuilder()
+                .withId(taskId)
                 .withName(taskName)
                 .build();
 
         final Task expectedTask = taskEntityToTaskMapper.map(mockTaskEntity);
 
         // When
-        Mockito.when(taskRepository.findTaskByName(taskName))
+        Mockito.when(taskNameService.findTaskIdByName(taskName)).thenReturn(Optional.of(taskId));
+        Mockito.when(taskRepository.findById(taskId))
                 .thenReturn(Optional.of(mockTaskEntity));
 
         // Then
@@ -188,7 +334,8 @@ class TaskServiceImplTest extends AbstractBaseServiceTest {
         Assertions.assertEquals(expectedTask.getName(), response.getName());
 
         // Verify
-        Mockito.verify(taskRepository, Mockito.times(1)).findTaskByName(taskName);
+        Mockito.verify(taskNameService, Mockito.times(1)).findTaskIdByName(taskName);
+        Mockito.verify(taskRepository, Mockito.times(1)).findById(taskId);
 
     }
 
@@ -200,14 +347,15 @@ class TaskServiceImplTest extends AbstractBaseServiceTest {
         final GetTaskByNameRequest request = new GetTaskByNameRequest(taskName);
 
         // When
-        Mockito.when(taskRepository.findTaskByName(taskName)).thenReturn(Optional.empty());
+        Mockito.when(taskNameService.findTaskIdByName(taskName)).thenReturn(Optional.empty());
 
         // Then
         Assertions.assertThrows(TaskNotFoundException.class,
                 () -> taskService.getTaskByName(request));
 
         // Verify
-        Mockito.verify(taskRepository, Mockito.times(1)).findTaskByName(taskName);
+        Mockito.verify(taskNameService, Mockito.times(1)).findTaskIdByName(taskName);
+        Mockito.verify(taskRepository, Mockito.never()).findById(Mockito.anyString());
 
     }
 
@@ -234,6 +382,64 @@ class TaskServiceImplTest extends AbstractBaseServiceTest {
 
         // Verify
         Mockito.verify(taskRepository, Mockito.times(1)).findById(mockId);
+        Mockito.verify(taskCacheService, Mockito.times(1)).put(any(Task.class), Mockito.anyLong());
+
+    }
+
+    @Test
+    void givenCachedId_whenGetById_thenReturnCachedTaskWithoutReadingDatabase() {
+
+        // Given
+        final String mockId = UUID.randomUUID().toString();
+
+        final Task cachedTask = Task.builder()
+                .id(mockId)
+                .name("Cached Task")
+                .build();
+
+        // When
+        Mockito.when(taskCacheService.get(mockId))
+                .thenReturn(Optional.of(cachedTask));
+
+        // Then
+        final Task result = taskService.getTaskById(mockId);
+
+        Assertions.assertSame(cachedTask, result);
+
+        // Verify
+        Mockito.verify(taskRepository, Mockito.never()).findById(any());
+        Mockito.verify(taskCacheService, Mockito.never()).put(any(Task.class), Mockito.anyLong());
+
+    }
+
+    @Test
+    void givenCachedNameOfRenamedTask_whenGetTaskByName_thenReadTaskThroughNameReservation() {
+
+        // Given
+        final String mockId = UUID.randomUUID().toString();
+        final String requestedName = "Old Name";
+
+        final GetTaskByNameRequest request = new GetTaskByNameRequest(requestedName);
+
+        final Task cachedTask = Task.builder()
+                .id(mockId)
+                .name("New Name")
+                .build();
+
+        // When
+        Mockito.when(taskCacheService.getTaskId(requestedName))
+                .thenReturn(Optional.of(mockId));
+        Mockito.when(taskCacheService.get(mockId))
+                .thenReturn(Optional.of(cachedTask));
+        Mockito.when(taskNameService.findTaskIdByName(requestedName))
+                .thenReturn(Optional.empty());
+
+        // Then
+        Assertions.assertThrows(TaskNotFoundException.class, () -> taskService.getTaskByName(request));
+
+        // Verify
+        Mockito.verify(taskNameService, Mockito.times(1)).findTaskIdByName(requestedName);
+        Mockito.verify(taskRepository, Mockito.never()).findById(any());
 
     }
 
@@ -256,6 +462,63 @@ class TaskServiceImplTest extends AbstractBaseServiceTest {
 
     }
 
+    @Test
+    void givenExistingAndMissingIds_whenGetTasksByIds_thenReturnFoundTasksInRequestOrderAndMissingIds() {
+
+        // Given
+        final String firstId = UUID.randomUUID().toString();
+        final String secondId = UUID.randomUUID().toString();
+        final String missingId = UUID.randomUUID().toString();
+
+        final TaskEntity firstTaskEntity = new TaskEntityBuilder()
+                .withValidFields();
+        firstTaskEntity.setId(firstId);
+
+        final TaskEntity secondTaskEntity = new TaskEntityBuilder()
+                .withValidFields();
+        secondTaskEntity.setId(secondId);
+
+        final List<String> ids = List.of(secondId, missingId, firstId, secondId);
+
+        // When
+        Mockito.when(taskRepository.findAllById(any()))
+                .thenReturn(List.of(firstTaskEntity, secondTaskEntity));
+
+        // Then
+        final TaskBatch result = taskService.getTasksByIds(ids);
+
+        Assertions.assertEquals(2, result.getTasks().size());
+        Assertions.assertEquals(secondId, result.getTasks().get(0).getId());
+        Assertions.assertEquals(firstId, result.getTasks().get(1).getId());
+        Assertions.assertEquals(List.of(missingId), result.getMissingIds());
+
+        // Verify
+        Mockito.verify(taskRepository, Mockito.times(1)).findAllById(any());
+        Mockito.verify(taskRepository, Mockito.never()).findById(any());
+
+    }
+
+    @Test
+    void givenOnlyMissingIds_whenGetTasksByIds_thenReturnAllIdsAsMissing() {
+
+        // Given
+        final List<String> ids = List.of(UUID.randomUUID().toString(), UUID.randomUUID().toString());
+
+        // When
+        Mockito.when(taskRepository.findAllById(any()))
+                .thenReturn(Collections.emptyList());
+
+        // Then
+        final TaskBatch result = taskService.getTasksByIds(ids);
+
+        Assertions.assertTrue(result.getTasks().isEmpty());
+        Assertions.assertEquals(ids, result.getMissingIds());
+
+        // Verify
+        Mockito.verify(taskRepository, Mockito.times(1)).findAllById(any());
+
+    }
+
     @Test
     void givenValidUpdateTaskRequest_whenUpdateTaskRequest_thenReturnTaskResponse(){
 
@@ -284,7 +547,7 @@ class TaskServiceImplTest extends AbstractBaseServiceTest {
                 .thenReturn(mockTaskEntityAfterUpdate);
 
         // Then
-        final Task taskResponse = taskService.updateTaskById(mockId, mockUpdateTaskRequest);
+        final Task taskResponse = taskService.updateTaskById(mockId, mockUpdateTaskRequest, null);
 
         Assertions.assertNotNull(taskResponse);
         Assertions.assertEquals(mockUpdatedTask.getName(), taskResponse.getName());
@@ -292,6 +555,73 @@ class TaskServiceImplTest extends AbstractBaseServiceTest {
         // Verify
         Mockito.verify(taskRepository, Mockito.times(1)).findById(mockId);
         Mockito.verify(taskRepository, Mockito.times(1)).save(mockTaskEntityBeforeUpdate);
+        Mockito.verify(taskNameService, Mockito.times(1)).reserve(mockUpdateTaskRequest.getName(), mockId);
+        Mockito.verify(taskNameService, Mockito.times(1)).release(Mockito.eq("beforeTask"), Mockito.anyString());
+
+    }
+
+    @Test
+    void givenUpdateTaskRequestWithTakenName_whenUpdateTaskRequest_thenThrowTaskWithThisNameAlreadyExistException(){
+
+        // Given
+        final String mockId = UUID.randomUUID().toString();
+
+        final UpdateTaskRequest mockUpdateTaskRequest = new UpdateTaskRequestBuilder()
+                .withValidFields()
+                .build();
+
+        final TaskEntity mockTaskEntity = new TaskEntityBuilder()
+                .withName("beforeTask")
+                .build();
+
+        // When
+        Mockito.when(taskRepository.findById(mockId))
+                .thenReturn(Optional.of(mockTaskEntity));
+
+        Mockito.doThrow(new TaskWithThisNameAlreadyExistException("With given task name = " + mockUpdateTaskRequest.getName()))
+                .when(taskNameService).reserve(mockUpdateTaskRequest.getName(), mockId);
+
+        // Then
+        Assertions.assertThrows(TaskWithThisNameAlreadyExistException.class,
+                ()->taskService.updateTaskById(mockId, mockUpdateTaskRequest, null));
+
+        Assertions.assertEquals("beforeTask", mockTaskEntity.getName());
+
+        // Verify
+        Mockito.verify(taskRepository, Mockito.never()).save(Mockito.any(TaskEntity.class));
+        Mockito.verify(taskNameService, Mockito.never()).release(Mockito.anyString(), Mockito.anyString());
+
+    }
+
+    @Test
+    void givenUpdateTaskRequestWithSameName_whenUpdateTaskRequest_thenKeepNameReservation(){
+
+        // Given
+        final String mockId = UUID.randomUUID().toString();
+
+        final UpdateTaskRequest mockUpdateTaskRequest = UpdateTaskRequest.builder()
+                .name("Same Task")
+                .build();
+
+        final TaskEntity mockTaskEntity = new TaskEntityBuilder()
+                .withName("same task")
+                .build();
+
+        // When
+        Mockito.when(taskRepository.findById(mockId))
+                .thenReturn(Optional.of(mockTaskEntity));
+
+        Mockito.when(taskRepository.save(mockTaskEntity))
+                .thenReturn(mockTaskEntity);
+
+        // Then
+        final Task taskResponse = taskService.updateTaskById(mockId, mockUpdateTaskRequest, null);
+
+        Assertions.assertEquals("Same Task", taskResponse.getName());
+
+        // Verify
+        Mockito.verify(taskRepository, Mockito.times(1)).save(mockTaskEntity);
+        Mockito.verifyNoInteractions(taskNameService);
 
     }
 
@@ -311,7 +641,7 @@ class TaskServiceImplTest extends AbstractBaseServiceTest {
 
         // Then
         Assertions.assertThrows(TaskNotFoundException.class,
-                ()->taskService.updateTaskById(mockId,mockUpdateTaskRequest));
+                ()->taskService.updateTaskById(mockId,mockUpdateTaskRequest, null));
 
         // Verify
         Mockito.verify(taskRepository,Mockito.times(1)).findById(mockId);
@@ -319,6 +649,146 @@ class TaskServiceImplTest extends AbstractBaseServiceTest {
 
     }
 
+    @Test
+    void givenPatchTaskRequestWithNewName_whenPatchTaskById_thenMutateOnlyNamePath(){
+
+        // Given
+        final String mockId = UUID.randomUUID().toString();
+
+        final PatchTaskRequest mockPatchTaskRequest = PatchTaskRequest.builder()
+                .name("patchedTask")
+                .build();
+
+        final TaskEntity mockCurrentTask = TaskEntity.builder()
+                .id(mockId)
+                .name("beforeTask")
+                .version(5L)
+                .build();
+
+        final TaskEntity mockPatchedTask = TaskEntity.builder()
+                .id(mockId)
+                .name("patchedTask")
+                .version(6L)
+                .build();
+
+        // When
+        Mockito.when(taskRepository.findNameAndVersionById(mockId))
+                .thenReturn(Optional.of(mockCurrentTask));
+
+        Mockito.when(taskRepository.mutateIn(any(TaskEntity.class), Mockito.eq(List.of("name"))))
+                .thenReturn(mockPatchedTask);
+
+        // Then
+        final Task taskResponse = taskService.patchTaskById(mockId, mockPatchTaskRequest, 5L);
+
+        Assertions.assertEquals("patchedTask", taskResponse.getName());
+        Assertions.assertEquals(6L, taskResponse.getVersion());
+
+        // Verify
+        Mockito.verify(taskRepository, Mockito.never()).findById(mockId);
+        Mockito.verify(taskRepository, Mockito.times(1)).mutateIn(
+                Mockito.argThat(taskEntity -> mockId.equals(taskEntity.getId())
+                        && "patchedTask".equals(taskEntity.getName())
+                        && Long.valueOf(5L).equals(taskEntity.getVersion())),
+                Mockito.eq(List.of("name"))
+        );
+        Mockito.verify(taskNameService, Mockito.times(1)).reserve("patchedTask", mockId);
+        Mockito.verify(taskNameService, Mockito.times(1)).release(Mockito.eq("beforeTask"), Mockito.anyString());
+        Mockito.verify(taskCacheService, Mockito.times(1)).evict(mockId, "beforeTask");
+        Mockito.verify(taskCacheService, Mockito.never()).refresh(Mockito.any());
+        Mockito.verify(taskCacheService, Mockito.never()).put(Mockito.any(), Mockito.anyLong());
+
+    }
+
+    @Test
+    void givenOutdatedExpectedVersion_whenPatchTaskById_thenThrowPreconditionFailedException(){
+
+        // Given
+        final String mockId = UUID.randomUUID().toString();
+
+        final PatchTaskRequest mockPatchTaskRequest = PatchTaskRequest.builder()
+                .name("patchedTask")
+                .build();
+
+        final TaskEntity mockCurrentTask = TaskEntity.builder()
+                .id(mockId)
+                .name("beforeTask")
+                .version(6L)
+                .build();
+
+        // When
+        Mockito.when(taskRepository.findNameAndVersionById(mockId))
+                .thenReturn(Optional.of(mockCurrentTask));
+
+        // Then
+        Assertions.assertThrows(PreconditionFailedException.class,
+                ()->taskService.patchTaskById(mockId, mockPatchTaskRequest, 5L));
+
+        // Verify
+        Mockito.verify(taskRepository, Mockito.never()).mutateIn(any(TaskEntity.class), any());
+        Mockito.verifyNoInteractions(taskNameService);
+
+    }
+
+    @Test
+    void givenConcurrentChange_whenPatchTaskById_thenReleaseNewNameAndThrowPreconditionFailedException(){
+
+        // Given
+        final String mockId = UUID.randomUUID().toString();
+
+        final PatchTaskRequest mockPatchTaskRequest = PatchTaskRequest.builder()
+                .name("patchedTask")
+                .build();
+
+        final TaskEntity mockCurrentTask = TaskEntity.builder()
+                .id(mockId)
+                .name("beforeTask")
+                .version(5L)
+                .build();
+
+        // When
+        Mockito.when(taskRepository.findNameAndVersionById(mockId))
+                .thenReturn(Optional.of(mockCurrentTask));
+
+        Mockito.when(taskRepository.mutateIn(any(TaskEntity.class), any()))
+                .thenThrow(new OptimisticLockingFailureException("CAS mismatch"));
+
+        // Then
+        Assertions.assertThrows(PreconditionFailedException.class,
+                ()->taskService.patchTaskById(mockId, mockPatchTaskRequest, null));
+
+        // Verify
+        Mockito.verify(taskNameService, Mockito.times(1)).reserve("patchedTask", mockId);
+        Mockito.verify(taskNameService, Mockito.times(1)).release(Mockito.eq("patchedTask"), Mockito.anyString());
+        Mockito.verify(taskNameService, Mockito.never()).release(Mockito.eq("beforeTask"), Mockito.anyString());
+        Mockito.verify(taskCacheService, Mockito.times(1)).evict(mockId, "beforeTask");
+
+    }
+
+    @Test
+    void givenMissingTask_whenPatchTaskById_thenThrowTaskNotFoundException(){
+
+        // Given
+        final String mockId = UUID.randomUUID().toString();
+
+        final PatchTaskRequest mockPatchTaskRequest = PatchTaskRequest.builder()
+                .name("patchedTask")
+                .build();
+
+        // When
+        Mockito.when(taskRepository.findNameAndVersionById(mockId))
+                .thenReturn(Optional.empty());
+
+        // Then
+        Assertions.assertThrows(TaskNotFoundException.class,
+                ()->taskService.patchTaskById(mockId, mockPatchTaskRequest, null));
+
+        // Verify
+        Mockito.verify(taskRepository, Mockito.never()).mutateIn(any(TaskEntity.class), any());
+        Mockito.verifyNoInteractions(taskNameService);
+
+    }
+
     @Test
     void givenValidTaskId_whenDeleteTaskById_thenDeleteTaskSuccessfully() {
 
@@ -327,17 +797,19 @@ class TaskServiceImplTest extends AbstractBaseServiceTest {
 
         final TaskEntity mockTaskEntity = TaskEntity.builder()
                 .id(taskId)
+                .name("taskName")
                 .build();
 
         // When
         Mockito.when(taskRepository.findById(taskId)).thenReturn(Optional.of(mockTaskEntity));
 
         // Then
-        taskService.deleteTaskById(taskId);
+        taskService.deleteTaskById(taskId, null);
 
         // Verify
         Mockito.verify(taskRepository, Mockito.times(1)).findById(taskId);
         Mockito.verify(taskRepository, Mockito.times(1)).delete(mockTaskEntity);
+        Mockito.verify(taskNameService, Mockito.times(1)).release(Mockito.eq("taskName"), Mockito.anyString());
 
     }
 
@@ -351,7 +823,7 @@ class TaskServiceImplTest extends AbstractBaseServiceTest {
 
         // When
         TaskNotFoundException exception = Assertions.assertThrows(TaskNotFoundException.class, () -> {
-            taskService.deleteTaskById(taskId);
+            taskService.deleteTaskById(taskId, null);
         });
 
         // Then
@@ -363,5 +835,126 @@ class TaskServiceImplTest extends AbstractBaseServiceTest {
 
     }
 
+    @Test
+    void givenOutdatedExpectedVersion_whenUpdateTaskRequest_thenThrowPreconditionFailedException(){
+
+        // Given
+        final String mockId = UUID.randomUUID().toString();
+
+        final UpdateTaskRequest mockUpdateTaskRequest = new UpdateTaskRequestBuilder()
+                .withValidFields()
+                .build();
+
+        final TaskEntity mockTaskEntity = TaskEntity.builder()
+                .id(mockId)
+                .name("beforeTask")
+                .version(2L)
+                .build();
+
+        // When
+        Mockito.when(taskRepository.findById(mockId))
+                .thenReturn(Optional.of(mockTaskEntity));
+
+        // Then
+        Assertions.assertThrows(PreconditionFailedException.class,
+                ()->taskService.updateTaskById(mockId, mockUpdateTaskRequest, 1L));
+
+        // Verify
+        Mockito.verify(taskNameService, Mockito.never()).reserve(any(), any());
+        Mockito.verify(taskRepository, Mockito.never()).save(any(TaskEntity.class));
+
+    }
+
+    @Test
+    void givenConcurrentChange_whenUpdateTaskRequest_thenReleaseNewNameAndThrowPreconditionFailedException(){
+
+        // Given
+        final String mockId = UUID.randomUUID().toString();
+
+        final UpdateTaskRequest mockUpdateTaskRequest = new UpdateTaskRequestBuilder()
+                .withName("afterTask")
+                .build();
+
+        final TaskEntity mockTaskEntity = TaskEntity.builder()
+                .id(mockId)
+                .name("beforeTask")
+                .version(2L)
+                .build();
+
+        // When
+        Mockito.when(taskRepository.findById(mockId))
+                .thenReturn(Optional.of(mockTaskEntity));
+
+        Mockito.when(taskRepository.save(mockTaskEntity))
+                .thenThrow(new OptimisticLockingFailureException("CAS mismatch"));
+
+        // Then
+        Assertions.assertThrows(PreconditionFailedException.class,
+                ()->taskService.updateTaskById(mockId, mockUpdateTaskRequest, 2L));
+
+        // Verify
+        Mockito.verify(taskNameService, Mockito.times(1)).reserve("afterTask", mockId);
+        Mockito.verify(taskNameService, Mockito.times(1)).release(Mockito.eq("afterTask"), Mockito.anyString());
+        Mockito.verify(taskNameService, Mockito.never()).release(Mockito.eq("beforeTask"), Mockito.anyString());
+        Mockito.verify(taskCacheService, Mockito.times(1)).evict(mockId, "beforeTask");
+
+    }
+
+    @Test
+    void givenExpectedVersion_whenDeleteTaskById_thenRemoveWithCasWithoutReadingTask() {
+
+        // Given
+        final String taskId = UUID.randomUUID().toString();
+
+        // When
+        taskService.deleteTaskById(taskId, 7L);
+
+        // Then
+        Mockito.verify(taskRepository, Mockito.times(1)).deleteByIdWithCas(taskId, 7L);
+
+        // Verify
+        Mockito.verify(taskRepository, Mockito.never()).findById(any());
+        Mockito.verify(taskNameService, Mockito.never()).release(any(), any());
+        Mockito.verify(taskCacheService, Mockito.times(1)).evict(taskId, null);
+
+    }
+
+    @Test
+    void givenOutdatedExpectedVersion_whenDeleteTaskById_thenThrowPreconditionFailedException() {
+
+        // Given
+        final String taskId = UUID.randomUUID().toString();
+
+        // When
+        Mockito.doThrow(new OptimisticLockingFailureException("CAS mismatch"))
+                .when(taskRepository).deleteByIdWithCas(taskId, 7L);
+
+        // Then
+        Assertions.assertThrows(PreconditionFailedException.class,
+                ()->taskService.deleteTaskById(taskId, 7L));
+
+        // Verify
+        Mockito.verify(taskCacheService, Mockito.times(1)).evict(taskId, null);
+
+    }
+
+    @Test
+    void givenExpectedVersionOfMissingTask_whenDeleteTaskById_thenThrowTaskNotFoundException() {
+
+        // Given
+        final String taskId = UUID.randomUUID().toString();
+
+        // When
+        Mockito.doThrow(new DataRetrievalFailureException("Document not found"))
+                .when(taskRepository).deleteByIdWithCas(taskId, 7L);
+
+        // Then
+        Assertions.assertThrows(TaskNotFoundException.class,
+                ()->taskService.deleteTaskById(taskId, 7L));
+
+        // Verify
+        Mockito.verify(taskRepository, Mockito.times(1)).deleteByIdWithCas(taskId, 7L);
+
+    }
 
 }